@@ -8,4 +8,11 @@ import intellispaces.common.templateengine.expression.Expression;
 public interface MarkerPrint extends TemplateElement {
 
   Expression outputExpression();
+
+  /**
+   * Width of the text before the marker in its row.<p/>
+   *
+   * Second and next rows of the multiline value are indented by this width.
+   */
+  int indentation();
 }
@@ -28,4 +28,15 @@ public interface TemplateElement {
    * @throws ResolveTemplateException throws if template element can't be resolved to string.
    */
   String resolve(Map<String, Value> variables) throws ResolveTemplateException;
+
+  /**
+   * Resolves template element and appends result to string builder.
+   *
+   * @param variables resolving variables.
+   * @param sb output string builder.
+   * @throws ResolveTemplateException throws if template element can't be resolved to string.
+   */
+  default void resolve(Map<String, Value> variables, StringBuilder sb) throws ResolveTemplateException {
+    sb.append(resolve(variables));
+  }
 }
@@ -5,5 +5,10 @@ package intellispaces.common.templateengine.element;
  */
 public interface TextElement extends TemplateElement {
 
-  String text();
+  /**
+   * Element text.
+   *
+   * <p>The text can be a slice of the template source.
+   */
+  CharSequence text();
 }
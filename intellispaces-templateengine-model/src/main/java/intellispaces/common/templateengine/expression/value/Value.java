@@ -75,6 +75,26 @@ public interface Value extends CommonValue {
   @Override
   StringValue capitalizeFirstLetter() throws ResolveTemplateException;
 
+  @Override
+  default StringValue concat(CommonValue value) throws ResolveTemplateException {
+    if (value instanceof Value) {
+      return concat((Value) value);
+    }
+    throw UnexpectedViolationException.withMessage("Expected instance of the {0} class", Value.class.getSimpleName());
+  }
+
+  /**
+   * Concatenates current string value and string representation of the given value.
+   *
+   * <p>This operation is applicable for string. Characters of the large strings are not copied,
+   * so repeated concatenation takes linear time.
+   *
+   * @param value the value.
+   * @return concatenated string.
+   * @throws ResolveTemplateException throws if operation is not applicable for this value.
+   */
+  StringValue concat(Value value) throws ResolveTemplateException;
+
   @Override
   Value invert() throws ResolveTemplateException;
 
@@ -107,6 +127,170 @@ public interface Value extends CommonValue {
    */
   Value find(Value element) throws ResolveTemplateException;
 
+  @Override
+  default Value slice(CommonValue beginIndex, CommonValue endIndex) throws ResolveTemplateException {
+    if (beginIndex instanceof Value && endIndex instanceof Value) {
+      return slice((Value) beginIndex, (Value) endIndex);
+    }
+    throw UnexpectedViolationException.withMessage("Expected instance of the {0} class", Value.class.getSimpleName());
+  }
+
+  /**
+   * Returns part of the current value between given indexes.
+   *
+   * <p>This operation is applicable for string and list. Indexes are clamped to the bounds of the value.
+   * Characters and elements are not copied.
+   *
+   * @param beginIndex the beginning index, inclusive.
+   * @param endIndex the ending index, exclusive.
+   * @return part of the value.
+   * @throws ResolveTemplateException throws if operation is not applicable for this value.
+   */
+  Value slice(Value beginIndex, Value endIndex) throws ResolveTemplateException;
+
+  @Override
+  default Value filter(CommonValue key) throws ResolveTemplateException {
+    if (key instanceof Value) {
+      return filter((Value) key);
+    }
+    throw UnexpectedViolationException.withMessage("Expected instance of the {0} class", Value.class.getSimpleName());
+  }
+
+  /**
+   * Selects elements, which have <code>true</code> value of the given key.
+   *
+   * <p>This operation is applicable for list and map. Map entries are selected by their values.
+   * Operation is lazy for list: elements are selected while the result is iterated.
+   *
+   * @param key the key or index of the element field.
+   * @return selected elements.
+   * @throws ResolveTemplateException throws if operation is not applicable for this value.
+   */
+  Value filter(Value key) throws ResolveTemplateException;
+
+  @Override
+  default Value filter(CommonValue key, CommonValue value) throws ResolveTemplateException {
+    if (key instanceof Value && value instanceof Value) {
+      return filter((Value) key, (Value) value);
+    }
+    throw UnexpectedViolationException.withMessage("Expected instance of the {0} class", Value.class.getSimpleName());
+  }
+
+  /**
+   * Selects elements, which have given value of the given key.
+   *
+   * <p>This operation is applicable for list and map. Map entries are selected by their values.
+   * Operation is lazy for list: elements are selected while the result is iterated.
+   *
+   * @param key the key or index of the element field.
+   * @param value the expected value.
+   * @return selected elements.
+   * @throws ResolveTemplateException throws if operation is not applicable for this value.
+   */
+  Value filter(Value key, Value value) throws ResolveTemplateException;
+
+  @Override
+  default Value map(CommonValue key) throws ResolveTemplateException {
+    if (key instanceof Value) {
+      return map((Value) key);
+    }
+    throw UnexpectedViolationException.withMessage("Expected instance of the {0} class", Value.class.getSimpleName());
+  }
+
+  /**
+   * Replaces elements by values of the given key.
+   *
+   * <p>This operation is applicable for list and map. Map entries keep their keys.
+   * Operation is lazy for list.
+   *
+   * @param key the key or index of the element field.
+   * @return values of the key.
+   * @throws ResolveTemplateException throws if operation is not applicable for this value.
+   */
+  Value map(Value key) throws ResolveTemplateException;
+
+  @Override
+  default Value limit(CommonValue limit) throws ResolveTemplateException {
+    if (limit instanceof Value) {
+      return limit((Value) limit);
+    }
+    throw UnexpectedViolationException.withMessage("Expected instance of the {0} class", Value.class.getSimpleName());
+  }
+
+  /**
+   * Returns at most given number of the first elements.
+   *
+   * <p>This operation is applicable for list and map. Operation is lazy for list:
+   * elements following the limit are not touched.
+   *
+   * @param limit maximal number of the elements.
+   * @return first elements.
+   * @throws ResolveTemplateException throws if operation is not applicable for this value.
+   */
+  Value limit(Value limit) throws ResolveTemplateException;
+
+  @Override
+  default Value skip(CommonValue number) throws ResolveTemplateException {
+    if (number instanceof Value) {
+      return skip((Value) number);
+    }
+    throw UnexpectedViolationException.withMessage("Expected instance of the {0} class", Value.class.getSimpleName());
+  }
+
+  /**
+   * Returns elements following given number of the first elements.
+   *
+   * <p>This operation is applicable for list and map. Operation is lazy for list.
+   *
+   * @param number number of the skipped elements.
+   * @return rest elements.
+   * @throws ResolveTemplateException throws if operation is not applicable for this value.
+   */
+  Value skip(Value number) throws ResolveTemplateException;
+
+  @Override
+  default Value sortBy(CommonValue key) throws ResolveTemplateException {
+    if (key instanceof Value) {
+      return sortBy((Value) key);
+    }
+    throw UnexpectedViolationException.withMessage("Expected instance of the {0} class", Value.class.getSimpleName());
+  }
+
+  /**
+   * Sorts elements by values of the given key.
+   *
+   * <p>This operation is applicable for list and map. Map entries are sorted by their values.
+   * Sorting is stable, elements without the key are placed last.
+   *
+   * @param key the key or index of the element field.
+   * @return sorted elements.
+   * @throws ResolveTemplateException throws if operation is not applicable for this value or keys are not comparable.
+   */
+  Value sortBy(Value key) throws ResolveTemplateException;
+
+  /**
+   * Removes repeated elements.
+   *
+   * <p>This operation is applicable for list and map. Map entries are compared by their values.
+   * Operation is lazy for list.
+   *
+   * @return distinct elements.
+   * @throws ResolveTemplateException throws if operation is not applicable for this value.
+   */
+  @Override
+  Value distinct() throws ResolveTemplateException;
+
+  /**
+   * Reverses order of the elements.
+   *
+   * <p>This operation is applicable for list and map.
+   *
+   * @return reversed elements.
+   * @throws ResolveTemplateException throws if operation is not applicable for this value.
+   */
+  @Override
+  Value reverse() throws ResolveTemplateException;
+
   @Override
   IntegerValue index() throws ResolveTemplateException;
 
@@ -72,12 +72,32 @@ public interface CommonValue {
 
   CommonValue capitalizeFirstLetter() throws ResolveTemplateException;
 
+  CommonValue concat(CommonValue value) throws ResolveTemplateException;
+
   CommonValue invert() throws ResolveTemplateException;
 
   CommonValue get(CommonValue key) throws ResolveTemplateException;
 
   CommonValue find(CommonValue value) throws ResolveTemplateException;
 
+  CommonValue slice(CommonValue beginIndex, CommonValue endIndex) throws ResolveTemplateException;
+
+  CommonValue filter(CommonValue key) throws ResolveTemplateException;
+
+  CommonValue filter(CommonValue key, CommonValue value) throws ResolveTemplateException;
+
+  CommonValue map(CommonValue key) throws ResolveTemplateException;
+
+  CommonValue limit(CommonValue limit) throws ResolveTemplateException;
+
+  CommonValue skip(CommonValue number) throws ResolveTemplateException;
+
+  CommonValue sortBy(CommonValue key) throws ResolveTemplateException;
+
+  CommonValue distinct() throws ResolveTemplateException;
+
+  CommonValue reverse() throws ResolveTemplateException;
+
   CommonValue index() throws ResolveTemplateException;
 
   CommonValue isFirst() throws ResolveTemplateException;
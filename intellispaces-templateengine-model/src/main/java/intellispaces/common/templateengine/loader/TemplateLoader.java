@@ -0,0 +1,30 @@
+package intellispaces.common.templateengine.loader;
+
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.template.Template;
+
+/**
+ * Template loader.
+ *
+ * <p>Loader resolves templates by names and parses them on first use.
+ */
+public interface TemplateLoader extends AutoCloseable {
+
+  /**
+   * Returns template by name.
+   *
+   * <p>When hot reload is enabled, the returned template can be replaced by newer version
+   * after the template file is changed. Template returned before stays usable.
+   *
+   * @param name template name.
+   * @return parsed template.
+   * @throws ParseTemplateException throws when template is not found or can't be parsed.
+   */
+  Template get(String name) throws ParseTemplateException;
+
+  /**
+   * Stops watching template files.
+   */
+  @Override
+  void close();
+}
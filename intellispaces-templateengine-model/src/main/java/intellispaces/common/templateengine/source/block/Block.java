@@ -26,14 +26,18 @@ public interface Block {
 
   /**
    * Block wording.
+   *
+   * <p>The wording is a slice of the template source, characters are not copied.
    */
-  String wording();
+  CharSequence wording();
 
   /**
    * Block value.
    *
    * <p>For marker blocks the value is wording between starting <code>{{</code> and finishing <code>}}</code>.
    * For other blocks value is full text of the block and value equals to <code>this.text()</code>.
+   *
+   * <p>The value is a slice of the template source, characters are not copied.
    */
-  String value();
+  CharSequence value();
 }
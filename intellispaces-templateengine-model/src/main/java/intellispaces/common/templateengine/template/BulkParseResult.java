@@ -0,0 +1,42 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Result of bulk template parsing.
+ */
+public interface BulkParseResult {
+
+  /**
+   * Successfully parsed templates by template names.
+   */
+  Map<String, Template> templates();
+
+  /**
+   * Parsing errors by template names.
+   */
+  Map<String, ParseTemplateException> errors();
+
+  /**
+   * Number of distinct expressions of all templates.
+   */
+  int numExpressions();
+
+  /**
+   * Time spent to read template sources and split them into text blocks.
+   */
+  Duration lexTime();
+
+  /**
+   * Time spent to analyze text blocks and statements.
+   */
+  Duration analyzeTime();
+
+  /**
+   * Time spent to compile expressions.
+   */
+  Duration compileTime();
+}
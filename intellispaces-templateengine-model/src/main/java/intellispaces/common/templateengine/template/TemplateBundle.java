@@ -0,0 +1,27 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+
+import java.util.Set;
+
+/**
+ * Bundle of pre-parsed templates.
+ *
+ * <p>Templates are materialized on first request.
+ */
+public interface TemplateBundle {
+
+  /**
+   * Names of the bundle templates.
+   */
+  Set<String> names();
+
+  /**
+   * Returns template by name.
+   *
+   * @param name template name.
+   * @return the template.
+   * @throws ParseTemplateException throws when template is not found or bundle entry is invalid.
+   */
+  Template get(String name) throws ParseTemplateException;
+}
@@ -0,0 +1,48 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+
+/**
+ * Cache of parsed templates keyed by template source.
+ */
+public interface TemplateCache {
+
+  /**
+   * Returns parsed template from cache or parses the template source and puts result to cache.
+   *
+   * <p>When several threads request the same template source at once, the source is parsed once.
+   *
+   * @param source template source.
+   * @return parsed template.
+   * @throws ParseTemplateException throws when template can't be parsed.
+   */
+  Template get(String source) throws ParseTemplateException;
+
+  /**
+   * Maximum number of strongly referenced templates.
+   *
+   * <p>Least recently used templates over this number are referenced softly,
+   * so they can be reclaimed by garbage collector under memory pressure.
+   */
+  int maxSize();
+
+  /**
+   * Number of strongly referenced templates.
+   */
+  int size();
+
+  /**
+   * Number of requests served without template parsing.
+   */
+  long hitCount();
+
+  /**
+   * Number of requests which caused template parsing.
+   */
+  long missCount();
+
+  /**
+   * Removes all templates from cache.
+   */
+  void clear();
+}
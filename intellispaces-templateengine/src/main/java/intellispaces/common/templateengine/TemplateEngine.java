@@ -1,12 +1,79 @@
 package intellispaces.common.templateengine;
 
+import intellispaces.common.templateengine.binary.TemplateBundleFunctions;
 import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.template.BulkParseFunctions;
+import intellispaces.common.templateengine.template.BulkParseResult;
 import intellispaces.common.templateengine.template.Template;
+import intellispaces.common.templateengine.template.TemplateBundle;
+import intellispaces.common.templateengine.template.TemplateCache;
+import intellispaces.common.templateengine.template.TemplateCaches;
 import intellispaces.common.templateengine.template.Templates;
 
+import java.io.Reader;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
 public interface TemplateEngine {
 
   static Template parseTemplate(String source) throws ParseTemplateException  {
-    return Templates.of(source);
+    return TemplateCaches.common().get(source);
+  }
+
+  static Template parseTemplate(Path path) throws ParseTemplateException  {
+    return Templates.of(path);
+  }
+
+  static Template parseTemplate(Path path, Charset charset) throws ParseTemplateException  {
+    return Templates.of(path, charset);
+  }
+
+  static Template parseMappedTemplate(Path path) throws ParseTemplateException  {
+    return Templates.ofMapped(path);
+  }
+
+  static Template parseMappedTemplate(Path path, Charset charset) throws ParseTemplateException  {
+    return Templates.ofMapped(path, charset);
+  }
+
+  static Template parseTemplate(Reader reader) throws ParseTemplateException  {
+    return Templates.of(reader);
+  }
+
+  static Template parseTemplate(ReadableByteChannel channel) throws ParseTemplateException  {
+    return Templates.of(channel);
+  }
+
+  static BulkParseResult parseAll(Map<String, String> sources) throws ParseTemplateException  {
+    return parseAll(sources, ForkJoinPool.commonPool());
+  }
+
+  static BulkParseResult parseAll(
+      Map<String, String> sources, ExecutorService executor
+  ) throws ParseTemplateException  {
+    return BulkParseFunctions.parseTemplates(sources, executor);
+  }
+
+  static BulkParseResult parseAll(Path directory) throws ParseTemplateException  {
+    return parseAll(directory, StandardCharsets.UTF_8, ForkJoinPool.commonPool());
+  }
+
+  static BulkParseResult parseAll(
+      Path directory, Charset charset, ExecutorService executor
+  ) throws ParseTemplateException  {
+    return BulkParseFunctions.parseTemplates(directory, charset, executor);
+  }
+
+  static TemplateBundle openTemplateBundle(Path path) throws ParseTemplateException {
+    return TemplateBundleFunctions.openBundle(path);
+  }
+
+  static TemplateCache templateCache() {
+    return TemplateCaches.common();
   }
 }
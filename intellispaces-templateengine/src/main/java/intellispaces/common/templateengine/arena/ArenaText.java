@@ -0,0 +1,80 @@
+package intellispaces.common.templateengine.arena;
+
+import java.nio.CharBuffer;
+
+/**
+ * Text stored in the text arena.
+ *
+ * <p>Text refers to the range of the arena chunk and does not copy characters.
+ */
+final class ArenaText implements CharSequence {
+  private final CharBuffer chunk;
+  private final int offset;
+  private final int length;
+  private final int hash;
+
+  ArenaText(CharBuffer chunk, int offset, int length, int hash) {
+    this.chunk = chunk;
+    this.offset = offset;
+    this.length = length;
+    this.hash = hash;
+  }
+
+  int hash() {
+    return hash;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return chunk.get(offset + index);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    return toString().subSequence(start, end);
+  }
+
+  boolean contentEquals(CharSequence text) {
+    if (text.length() != length) {
+      return false;
+    }
+    for (int index = 0; index < length; index++) {
+      if (chunk.get(offset + index) != text.charAt(index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Appends text to string builder by bulk copy.
+   *
+   * <p>Off-heap chunk is appended as char sequence, so no intermediate array is allocated.
+   * Chunk position is always zero, because the arena writes and reads chunks by absolute indexes.
+   */
+  void appendTo(StringBuilder sb) {
+    if (chunk.hasArray()) {
+      sb.append(chunk.array(), chunk.arrayOffset() + offset, length);
+    } else {
+      sb.append(chunk, offset, offset + length);
+    }
+  }
+
+  @Override
+  public String toString() {
+    if (chunk.hasArray()) {
+      return new String(chunk.array(), chunk.arrayOffset() + offset, length);
+    }
+    var chars = new char[length];
+    chunk.get(offset, chars, 0, length);
+    return new String(chars);
+  }
+}
@@ -0,0 +1,13 @@
+package intellispaces.common.templateengine.arena;
+
+/**
+ * Holder of the common text arena.
+ */
+final class CommonTextArena {
+
+  private CommonTextArena() {}
+
+  static final TextArena INSTANCE = "OffHeap".equals(System.getProperty("intellispaces.templateengine.textArena"))
+      ? TextArena.offHeap()
+      : TextArena.heap();
+}
@@ -0,0 +1,212 @@
+package intellispaces.common.templateengine.arena;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * Arena of the static template texts.
+ *
+ * <p>Texts are deduplicated by content: equal texts are stored once and are represented by the one
+ * {@link CharSequence} instance. Characters are stored in chunks, which are allocated in heap or,
+ * for off-heap arena, in direct buffers outside the GC-managed heap.
+ *
+ * <p>Texts are referred weakly, so the text is removed from the arena when no template uses it.
+ * Chunk is reclaimed by garbage collector when all its texts are removed, so the arena does not grow
+ * when templates are reloaded. The arena is thread-safe.
+ */
+public final class TextArena {
+  private final boolean offHeap;
+  private CharBuffer chunk;
+  private int chunkPosition;
+  private ArenaTextReference[] table = new ArenaTextReference[INITIAL_TABLE_SIZE];
+  private final ReferenceQueue<ArenaText> referenceQueue = new ReferenceQueue<>();
+  private int numUsedSlots;
+  private int numTexts;
+  private long numChars;
+
+  private TextArena(boolean offHeap) {
+    this.offHeap = offHeap;
+  }
+
+  /**
+   * Creates arena storing texts in heap.
+   */
+  public static TextArena heap() {
+    return new TextArena(false);
+  }
+
+  /**
+   * Creates arena storing texts in direct buffers.
+   */
+  public static TextArena offHeap() {
+    return new TextArena(true);
+  }
+
+  public boolean isOffHeap() {
+    return offHeap;
+  }
+
+  /**
+   * Number of the distinct texts in arena.
+   */
+  public synchronized int numTexts() {
+    purge();
+    return numTexts;
+  }
+
+  /**
+   * Number of the characters of all distinct texts.
+   */
+  public synchronized long numChars() {
+    purge();
+    return numChars;
+  }
+
+  /**
+   * Returns arena text equal to the given text.
+   *
+   * <p>Text is added to arena when arena does not contain equal text yet.
+   *
+   * @param text the text.
+   * @return arena text.
+   */
+  public synchronized CharSequence intern(CharSequence text) {
+    if (text instanceof ArenaText) {
+      return text;
+    }
+    purge();
+    int hash = hash(text);
+    int mask = table.length - 1;
+    int slot = hash & mask;
+    int freeSlot = -1;
+    while (table[slot] != null) {
+      ArenaTextReference reference = table[slot];
+      ArenaText arenaText = reference.get();
+      if (arenaText == null) {
+        // Slot of the removed text is reused, but probing continues, because equal text can follow
+        if (freeSlot < 0) {
+          freeSlot = slot;
+        }
+      } else if (reference.hash == hash && arenaText.contentEquals(text)) {
+        return arenaText;
+      }
+      slot = (slot + 1) & mask;
+    }
+    ArenaText arenaText = store(text, hash);
+    if (freeSlot >= 0) {
+      slot = freeSlot;
+    } else {
+      numUsedSlots++;
+    }
+    table[slot] = new ArenaTextReference(arenaText, referenceQueue);
+    numTexts++;
+    numChars += text.length();
+    if (numUsedSlots * 2 > table.length) {
+      rehash();
+    }
+    return arenaText;
+  }
+
+  /**
+   * Returns weak reference of the arena to the text.
+   *
+   * @param text the arena text.
+   * @return reference or <code>null</code> if arena does not refer the text.
+   */
+  synchronized Reference<ArenaText> referenceOf(CharSequence text) {
+    if (!(text instanceof ArenaText)) {
+      return null;
+    }
+    int mask = table.length - 1;
+    int slot = ((ArenaText) text).hash() & mask;
+    while (table[slot] != null) {
+      if (table[slot].get() == text) {
+        return table[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return null;
+  }
+
+  private void purge() {
+    ArenaTextReference reference;
+    while ((reference = (ArenaTextReference) referenceQueue.poll()) != null) {
+      numTexts--;
+      numChars -= reference.length;
+    }
+  }
+
+  private ArenaText store(CharSequence text, int hash) {
+    int length = text.length();
+    if (length > CHUNK_SIZE / 4) {
+      // Large text occupies own chunk
+      CharBuffer largeChunk = allocate(length);
+      largeChunk.put(text.toString());
+      return new ArenaText(largeChunk, 0, length, hash);
+    }
+    if (chunk == null || chunkPosition + length > chunk.capacity()) {
+      chunk = allocate(CHUNK_SIZE);
+      chunkPosition = 0;
+    }
+    for (int index = 0; index < length; index++) {
+      chunk.put(chunkPosition + index, text.charAt(index));
+    }
+    var arenaText = new ArenaText(chunk, chunkPosition, length, hash);
+    chunkPosition += length;
+    return arenaText;
+  }
+
+  private CharBuffer allocate(int numChars) {
+    if (offHeap) {
+      return ByteBuffer.allocateDirect(numChars * Character.BYTES).asCharBuffer();
+    }
+    return CharBuffer.allocate(numChars);
+  }
+
+  private void rehash() {
+    ArenaTextReference[] oldTable = table;
+    // Slots of the removed texts are dropped, so table grows only when live texts fill it
+    int tableSize = oldTable.length;
+    while (numTexts * 4 > tableSize) {
+      tableSize *= 2;
+    }
+    table = new ArenaTextReference[tableSize];
+    numUsedSlots = 0;
+    int mask = table.length - 1;
+    for (ArenaTextReference reference : oldTable) {
+      if (reference != null && reference.get() != null) {
+        int slot = reference.hash & mask;
+        while (table[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        table[slot] = reference;
+        numUsedSlots++;
+      }
+    }
+  }
+
+  private static int hash(CharSequence text) {
+    int hash = 0;
+    for (int index = 0; index < text.length(); index++) {
+      hash = 31 * hash + text.charAt(index);
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private static final class ArenaTextReference extends WeakReference<ArenaText> {
+    private final int hash;
+    private final int length;
+
+    ArenaTextReference(ArenaText arenaText, ReferenceQueue<ArenaText> referenceQueue) {
+      super(arenaText, referenceQueue);
+      this.hash = arenaText.hash();
+      this.length = arenaText.length();
+    }
+  }
+
+  private static final int CHUNK_SIZE = 64 * 1024;
+  private static final int INITIAL_TABLE_SIZE = 256;
+}
@@ -0,0 +1,33 @@
+package intellispaces.common.templateengine.arena;
+
+/**
+ * Text arena functions.
+ */
+public interface TextArenas {
+
+  /**
+   * Common arena of the engine.
+   *
+   * <p>Arena is off-heap when system property <code>intellispaces.templateengine.textArena</code>
+   * is <code>OffHeap</code>, otherwise arena is in heap.
+   */
+  static TextArena common() {
+    return CommonTextArena.INSTANCE;
+  }
+
+  /**
+   * Appends text to string builder.
+   *
+   * <p>Arena texts are appended by bulk copy.
+   *
+   * @param sb string builder.
+   * @param text the text.
+   */
+  static void append(StringBuilder sb, CharSequence text) {
+    if (text instanceof ArenaText) {
+      ((ArenaText) text).appendTo(sb);
+    } else {
+      sb.append(text);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package intellispaces.common.templateengine.binary;
+
+/**
+ * Binary template format constants.
+ *
+ * <p>Layout of the binary template:
+ * <pre>
+ *   int     magic
+ *   short   format version
+ *   varint  number of strings
+ *   string  strings...             (varint length in UTF-8 bytes, bytes)
+ *   varint  number of source elements
+ *   element source elements...
+ *   varint  number of template elements
+ *   element template elements...
+ * </pre>
+ *
+ * <p>Sizes, indexes, positions and integer literals are written as variable-length integers,
+ * by groups of 7 bits, lower groups first. Integer literals are zigzag-encoded.
+ *
+ * <p>Source elements are the elements of the template before statement analysis.
+ * Template elements refer to the source elements by index, when possible.
+ * All strings, including texts, statements and names, are referred by index in the string table.
+ * Print markers keep precomputed indentation, so templates without source elements are restored as well.
+ */
+final class BinaryTemplateFormat {
+
+  private BinaryTemplateFormat() {}
+
+  static final int MAGIC = 0x49545450;
+  static final short VERSION = 2;
+
+  static final byte ELEMENT_REFERENCE = 0;
+  static final byte ELEMENT_TEXT = 1;
+  static final byte ELEMENT_MARKER_PRINT = 2;
+  static final byte ELEMENT_MARKER_SET = 3;
+  static final byte ELEMENT_MARKER_FORMAT = 4;
+  static final byte ELEMENT_MARKER_FOREACH = 5;
+  static final byte ELEMENT_MARKER_WHEN = 6;
+  static final byte ELEMENT_MARKER_ELSE = 7;
+  static final byte ELEMENT_MARKER_END = 8;
+  static final byte ELEMENT_STATEMENT_FORMAT = 9;
+  static final byte ELEMENT_STATEMENT_FOREACH = 10;
+  static final byte ELEMENT_STATEMENT_WHEN = 11;
+
+  static final byte OPERAND_VARIABLE = 0;
+  static final byte OPERAND_LITERAL = 1;
+
+  static final byte VALUE_VOID = 0;
+  static final byte VALUE_BOOLEAN = 1;
+  static final byte VALUE_INTEGER = 2;
+  static final byte VALUE_REAL = 3;
+  static final byte VALUE_STRING = 4;
+  static final byte VALUE_LIST = 5;
+  static final byte VALUE_MAP = 6;
+}
@@ -0,0 +1,102 @@
+package intellispaces.common.templateengine.binary;
+
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.expression.ExpressionCompilationQueue;
+import intellispaces.common.templateengine.template.Template;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Functions to write parsed templates to compact binary format and read them back.
+ *
+ * <p>Reading of the binary template does not split or analyze template source.
+ * Expressions are compiled on first resolving.
+ */
+public final class BinaryTemplateFunctions {
+
+  private BinaryTemplateFunctions() {}
+
+  /**
+   * Writes template to binary format.
+   *
+   * @param template the template.
+   * @param outputStream output stream.
+   * @throws IOException throws when template can't be written.
+   */
+  public static void writeTemplate(Template template, OutputStream outputStream) throws IOException {
+    new BinaryTemplateWriter().write(template, outputStream);
+  }
+
+  /**
+   * Writes template to binary format.
+   *
+   * @param template the template.
+   * @return binary template.
+   */
+  public static byte[] writeTemplate(Template template) {
+    var outputStream = new ByteArrayOutputStream();
+    try {
+      writeTemplate(template, outputStream);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return outputStream.toByteArray();
+  }
+
+  /**
+   * Reads template from binary format.
+   *
+   * @param bytes binary template.
+   * @return the template.
+   * @throws ParseTemplateException throws when binary template is invalid.
+   */
+  public static Template readTemplate(byte[] bytes) throws ParseTemplateException {
+    return readTemplate(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Reads template from memory-mapped binary template file.
+   *
+   * @param path the file path.
+   * @return the template.
+   * @throws ParseTemplateException throws when file can't be read or binary template is invalid.
+   */
+  public static Template readTemplate(Path path) throws ParseTemplateException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return readTemplate(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } catch (IOException e) {
+      throw ParseTemplateException.withCauseAndMessage(e, "Failed to read binary template file {0}", path);
+    }
+  }
+
+  /**
+   * Reads template from binary format.
+   *
+   * <p>The buffer position is moved to the end of the binary template.
+   *
+   * @param buffer buffer of binary template.
+   * @return the template.
+   * @throws ParseTemplateException throws when binary template is invalid.
+   */
+  public static Template readTemplate(ByteBuffer buffer) throws ParseTemplateException {
+    return readTemplate(buffer, ExpressionCompilationQueue.create());
+  }
+
+  static Template readTemplate(
+      ByteBuffer buffer, ExpressionCompilationQueue compilationQueue
+  ) throws ParseTemplateException {
+    try {
+      return new BinaryTemplateReader(buffer, compilationQueue).read();
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw ParseTemplateException.withCauseAndMessage(e, "Invalid binary template. Unexpected end of data");
+    }
+  }
+}
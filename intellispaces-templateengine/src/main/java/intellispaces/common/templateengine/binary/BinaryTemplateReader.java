@@ -0,0 +1,310 @@
+package intellispaces.common.templateengine.binary;
+
+import intellispaces.common.templateengine.element.ElementContexts;
+import intellispaces.common.templateengine.element.ElseMarkers;
+import intellispaces.common.templateengine.element.EndMarkers;
+import intellispaces.common.templateengine.element.ForeachMarkers;
+import intellispaces.common.templateengine.element.ForeachStatements;
+import intellispaces.common.templateengine.element.FormatMarkers;
+import intellispaces.common.templateengine.element.FormatStatements;
+import intellispaces.common.templateengine.element.MarkerFormatType;
+import intellispaces.common.templateengine.element.MarkerFormatTypes;
+import intellispaces.common.templateengine.element.PrintMarkers;
+import intellispaces.common.templateengine.element.SetMarkers;
+import intellispaces.common.templateengine.element.StatementWhenBranch;
+import intellispaces.common.templateengine.element.TemplateElement;
+import intellispaces.common.templateengine.element.TemplateElementContext;
+import intellispaces.common.templateengine.element.TextElements;
+import intellispaces.common.templateengine.element.WhenBranchStatements;
+import intellispaces.common.templateengine.element.WhenMarkers;
+import intellispaces.common.templateengine.element.WhenStatements;
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.expression.Expression;
+import intellispaces.common.templateengine.expression.ExpressionCompilationQueue;
+import intellispaces.common.templateengine.expression.Expressions;
+import intellispaces.common.templateengine.expression.Literals;
+import intellispaces.common.templateengine.expression.Operand;
+import intellispaces.common.templateengine.expression.Variables;
+import intellispaces.common.templateengine.expression.value.BooleanValues;
+import intellispaces.common.templateengine.expression.value.IntegerValues;
+import intellispaces.common.templateengine.expression.value.ListValues;
+import intellispaces.common.templateengine.expression.value.MapValues;
+import intellispaces.common.templateengine.expression.value.RealValues;
+import intellispaces.common.templateengine.expression.value.StringValues;
+import intellispaces.common.templateengine.expression.value.Value;
+import intellispaces.common.templateengine.expression.value.VoidValues;
+import intellispaces.common.templateengine.template.Template;
+import intellispaces.common.templateengine.template.Templates;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reader of template from binary format.
+ *
+ * <p>Expressions are not compiled while reading, they are compiled on first resolving.
+ *
+ * @see BinaryTemplateFormat
+ */
+final class BinaryTemplateReader {
+  private final ByteBuffer buffer;
+  private final ExpressionCompilationQueue compilationQueue;
+  private String[] strings;
+  private List<TemplateElement> sourceElements;
+
+  BinaryTemplateReader(ByteBuffer buffer, ExpressionCompilationQueue compilationQueue) {
+    this.buffer = buffer;
+    this.compilationQueue = compilationQueue;
+  }
+
+  Template read() throws ParseTemplateException {
+    int magic = buffer.getInt();
+    if (magic != BinaryTemplateFormat.MAGIC) {
+      throw ParseTemplateException.withMessage("Invalid binary template. Unexpected magic number {0}",
+          Integer.toHexString(magic));
+    }
+    short version = buffer.getShort();
+    if (version != BinaryTemplateFormat.VERSION) {
+      throw ParseTemplateException.withMessage("Unsupported binary template version {0}", version);
+    }
+    readStrings();
+
+    // Elements refer to the list of source elements in their contexts, so list is filled in place
+    var elements = new TemplateElement[readSize()];
+    sourceElements = Arrays.asList(elements);
+    for (int index = 0; index < elements.length; index++) {
+      elements[index] = readElement(false);
+    }
+    return Templates.of(readElements());
+  }
+
+  private void readStrings() throws ParseTemplateException {
+    strings = new String[readSize()];
+    for (int index = 0; index < strings.length; index++) {
+      int length = readSize();
+      if (buffer.hasArray()) {
+        strings[index] = new String(
+            buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8
+        );
+        buffer.position(buffer.position() + length);
+      } else {
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        strings[index] = new String(bytes, StandardCharsets.UTF_8);
+      }
+    }
+  }
+
+  private List<TemplateElement> readElements() throws ParseTemplateException {
+    int size = readSize();
+    List<TemplateElement> elements = new ArrayList<>(size);
+    for (int index = 0; index < size; index++) {
+      elements.add(readElement(true));
+    }
+    return elements;
+  }
+
+  private TemplateElement readElement(boolean referenceAllowed) throws ParseTemplateException {
+    byte kind = buffer.get();
+    switch (kind) {
+      case BinaryTemplateFormat.ELEMENT_REFERENCE:
+        if (!referenceAllowed) {
+          break;
+        }
+        return sourceElements.get(readUnsignedInt());
+      case BinaryTemplateFormat.ELEMENT_TEXT:
+        return TextElements.build()
+            .context(readContext())
+            .text(readString())
+            .get();
+      case BinaryTemplateFormat.ELEMENT_MARKER_PRINT:
+        return PrintMarkers.build()
+            .context(readContext())
+            .outputExpression(readExpression())
+            .indentation(readUnsignedInt())
+            .get();
+      case BinaryTemplateFormat.ELEMENT_MARKER_SET:
+        return SetMarkers.build()
+            .context(readContext())
+            .valueName(readString())
+            .valueExpression(readExpression())
+            .get();
+      case BinaryTemplateFormat.ELEMENT_MARKER_FORMAT:
+        return FormatMarkers.build()
+            .context(readContext())
+            .types(readFormatTypes())
+            .get();
+      case BinaryTemplateFormat.ELEMENT_MARKER_FOREACH:
+        return ForeachMarkers.build()
+            .context(readContext())
+            .itemName(readString())
+            .collectionExpression(readExpression())
+            .get();
+      case BinaryTemplateFormat.ELEMENT_MARKER_WHEN:
+        return WhenMarkers.build()
+            .context(readContext())
+            .condition(readExpression())
+            .get();
+      case BinaryTemplateFormat.ELEMENT_MARKER_ELSE:
+        return ElseMarkers.build()
+            .context(readContext())
+            .condition(readOptionalExpression())
+            .get();
+      case BinaryTemplateFormat.ELEMENT_MARKER_END:
+        return EndMarkers.build()
+            .context(readContext())
+            .get();
+      case BinaryTemplateFormat.ELEMENT_STATEMENT_FORMAT:
+        return FormatStatements.build()
+            .context(readContext())
+            .types(readFormatTypes())
+            .subElements(readElements())
+            .get();
+      case BinaryTemplateFormat.ELEMENT_STATEMENT_FOREACH:
+        return ForeachStatements.build()
+            .context(readContext())
+            .itemName(readString())
+            .collectionExpression(readExpression())
+            .subElements(readElements())
+            .get();
+      case BinaryTemplateFormat.ELEMENT_STATEMENT_WHEN:
+        TemplateElementContext context = readContext();
+        int numBranches = readSize();
+        List<StatementWhenBranch> branches = new ArrayList<>(numBranches);
+        for (int index = 0; index < numBranches; index++) {
+          branches.add(readBranch());
+        }
+        return WhenStatements.build()
+            .context(context)
+            .branches(branches)
+            .defaultBranch(buffer.get() != 0 ? readBranch() : null)
+            .get();
+      default:
+        break;
+    }
+    throw ParseTemplateException.withMessage("Invalid binary template. Unexpected element kind {0}", kind);
+  }
+
+  private StatementWhenBranch readBranch() throws ParseTemplateException {
+    return WhenBranchStatements.build()
+        .condition(readOptionalExpression())
+        .subElements(readElements())
+        .get();
+  }
+
+  private TemplateElementContext readContext() throws ParseTemplateException {
+    int offset = readUnsignedInt();
+    int row = readUnsignedInt();
+    int column = readUnsignedInt();
+    int elementIndex = readUnsignedInt();
+    var builder = ElementContexts.build()
+        .position(offset, row, column)
+        .templateElements(sourceElements);
+    if (elementIndex != 0) {
+      builder.elementIndex(elementIndex - 1);
+    }
+    return builder.get();
+  }
+
+  private List<MarkerFormatType> readFormatTypes() throws ParseTemplateException {
+    int size = readSize();
+    List<MarkerFormatType> types = new ArrayList<>(size);
+    for (int index = 0; index < size; index++) {
+      types.add(MarkerFormatTypes.valueOf(readString()));
+    }
+    return types;
+  }
+
+  private Expression readOptionalExpression() throws ParseTemplateException {
+    return buffer.get() != 0 ? readExpression() : null;
+  }
+
+  private Expression readExpression() throws ParseTemplateException {
+    String statement = readString();
+    String preparedStatement = readString();
+    int numOperands = readSize();
+    List<Operand> operands = new ArrayList<>(numOperands);
+    for (int index = 0; index < numOperands; index++) {
+      byte kind = buffer.get();
+      if (kind == BinaryTemplateFormat.OPERAND_VARIABLE) {
+        operands.add(Variables.build().name(readString()).get());
+      } else if (kind == BinaryTemplateFormat.OPERAND_LITERAL) {
+        operands.add(Literals.build().value(readValue()).get());
+      } else {
+        throw ParseTemplateException.withMessage("Invalid binary template. Unexpected operand kind {0}", kind);
+      }
+    }
+    return Expressions.build()
+        .statement(statement)
+        .preparedStatement(preparedStatement)
+        .compiledExpression(compilationQueue.enqueue(preparedStatement))
+        .operands(operands)
+        .get();
+  }
+
+  private Value readValue() throws ParseTemplateException {
+    byte kind = buffer.get();
+    switch (kind) {
+      case BinaryTemplateFormat.VALUE_VOID:
+        return VoidValues.get();
+      case BinaryTemplateFormat.VALUE_BOOLEAN:
+        return BooleanValues.of(buffer.get() != 0);
+      case BinaryTemplateFormat.VALUE_INTEGER:
+        return IntegerValues.of(readSignedInt());
+      case BinaryTemplateFormat.VALUE_REAL:
+        return RealValues.of(buffer.getDouble());
+      case BinaryTemplateFormat.VALUE_STRING:
+        return StringValues.of(readString());
+      case BinaryTemplateFormat.VALUE_LIST:
+        int listSize = readSize();
+        List<Value> list = new ArrayList<>(listSize);
+        for (int index = 0; index < listSize; index++) {
+          list.add(readValue());
+        }
+        return ListValues.of(list);
+      case BinaryTemplateFormat.VALUE_MAP:
+        int mapSize = readSize();
+        Map<Value, Value> map = new HashMap<>();
+        for (int index = 0; index < mapSize; index++) {
+          map.put(readValue(), readValue());
+        }
+        return MapValues.of(map);
+      default:
+        throw ParseTemplateException.withMessage("Invalid binary template. Unexpected value kind {0}", kind);
+    }
+  }
+
+  private String readString() throws ParseTemplateException {
+    return strings[readUnsignedInt()];
+  }
+
+  private int readSize() throws ParseTemplateException {
+    int size = readUnsignedInt();
+    if (size < 0 || size > buffer.remaining()) {
+      throw ParseTemplateException.withMessage("Invalid binary template. Unexpected size {0}", size);
+    }
+    return size;
+  }
+
+  private int readSignedInt() throws ParseTemplateException {
+    int value = readUnsignedInt();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private int readUnsignedInt() throws ParseTemplateException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      byte b = buffer.get();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw ParseTemplateException.withMessage("Invalid binary template. Malformed integer");
+  }
+}
@@ -0,0 +1,300 @@
+package intellispaces.common.templateengine.binary;
+
+import intellispaces.common.base.exception.UnexpectedViolationException;
+import intellispaces.common.templateengine.element.MarkerElse;
+import intellispaces.common.templateengine.element.MarkerForeach;
+import intellispaces.common.templateengine.element.MarkerFormat;
+import intellispaces.common.templateengine.element.MarkerFormatType;
+import intellispaces.common.templateengine.element.MarkerPrint;
+import intellispaces.common.templateengine.element.MarkerSet;
+import intellispaces.common.templateengine.element.MarkerWhen;
+import intellispaces.common.templateengine.element.StatementForeach;
+import intellispaces.common.templateengine.element.StatementFormat;
+import intellispaces.common.templateengine.element.StatementWhen;
+import intellispaces.common.templateengine.element.StatementWhenBranch;
+import intellispaces.common.templateengine.element.TemplateElement;
+import intellispaces.common.templateengine.element.TemplateElementContext;
+import intellispaces.common.templateengine.element.TemplateElementTypes;
+import intellispaces.common.templateengine.element.TextElement;
+import intellispaces.common.templateengine.expression.Expression;
+import intellispaces.common.templateengine.expression.Operand;
+import intellispaces.common.templateengine.expression.value.BooleanValue;
+import intellispaces.common.templateengine.expression.value.IntegerValue;
+import intellispaces.common.templateengine.expression.value.ListValue;
+import intellispaces.common.templateengine.expression.value.MapValue;
+import intellispaces.common.templateengine.expression.value.RealValue;
+import intellispaces.common.templateengine.expression.value.StringValue;
+import intellispaces.common.templateengine.expression.value.Value;
+import intellispaces.common.templateengine.expression.value.ValueTypes;
+import intellispaces.common.templateengine.source.position.Position;
+import intellispaces.common.templateengine.template.Template;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writer of template to binary format.
+ *
+ * @see BinaryTemplateFormat
+ */
+final class BinaryTemplateWriter {
+  private final Map<String, Integer> strings = new LinkedHashMap<>();
+  private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+  private final DataOutputStream out = new DataOutputStream(body);
+  private List<TemplateElement> sourceElements = List.of();
+
+  void write(Template template, OutputStream outputStream) throws IOException {
+    sourceElements = findSourceElements(template.elements());
+    writeUnsignedInt(sourceElements.size());
+    for (TemplateElement element : sourceElements) {
+      writeElement(element, false);
+    }
+    writeElements(template.elements());
+
+    var target = new DataOutputStream(outputStream);
+    target.writeInt(BinaryTemplateFormat.MAGIC);
+    target.writeShort(BinaryTemplateFormat.VERSION);
+    var stringTable = new ByteArrayOutputStream();
+    writeUnsignedInt(stringTable, strings.size());
+    for (String string : strings.keySet()) {
+      byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+      writeUnsignedInt(stringTable, bytes.length);
+      stringTable.write(bytes);
+    }
+    stringTable.writeTo(target);
+    body.writeTo(target);
+    target.flush();
+  }
+
+  /**
+   * Finds list of the template elements before statement analysis.
+   *
+   * <p>Source elements are referenced by contexts of the text and marker elements.
+   */
+  private static List<TemplateElement> findSourceElements(List<TemplateElement> elements) {
+    for (TemplateElement element : elements) {
+      if (element.context().elementIndex() != null) {
+        return element.context().templateElements();
+      }
+      List<TemplateElement> sourceElements = findSourceElements(getSubElements(element));
+      if (!sourceElements.isEmpty()) {
+        return sourceElements;
+      }
+    }
+    return List.of();
+  }
+
+  private static List<TemplateElement> getSubElements(TemplateElement element) {
+    if (element.type() == TemplateElementTypes.StatementFormat) {
+      return ((StatementFormat) element).subElements();
+    } else if (element.type() == TemplateElementTypes.StatementForeach) {
+      return ((StatementForeach) element).subElements();
+    } else if (element.type() == TemplateElementTypes.StatementWhen) {
+      StatementWhen statement = (StatementWhen) element;
+      List<TemplateElement> subElements = new ArrayList<>();
+      for (StatementWhenBranch branch : statement.branches()) {
+        subElements.addAll(branch.subElements());
+      }
+      if (statement.defaultBranch() != null) {
+        subElements.addAll(statement.defaultBranch().subElements());
+      }
+      return subElements;
+    }
+    return List.of();
+  }
+
+  private void writeElements(List<TemplateElement> elements) throws IOException {
+    writeUnsignedInt(elements.size());
+    for (TemplateElement element : elements) {
+      writeElement(element, true);
+    }
+  }
+
+  private void writeElement(TemplateElement element, boolean referenceAllowed) throws IOException {
+    Integer elementIndex = element.context().elementIndex();
+    if (referenceAllowed
+        && elementIndex != null
+        && elementIndex < sourceElements.size()
+        && sourceElements.get(elementIndex) == element
+    ) {
+      out.writeByte(BinaryTemplateFormat.ELEMENT_REFERENCE);
+      writeUnsignedInt(elementIndex);
+      return;
+    }
+
+    if (element.type() == TemplateElementTypes.Text) {
+      out.writeByte(BinaryTemplateFormat.ELEMENT_TEXT);
+      writeContext(element.context());
+      writeString(((TextElement) element).text().toString());
+    } else if (element.type() == TemplateElementTypes.MarkerPrint) {
+      out.writeByte(BinaryTemplateFormat.ELEMENT_MARKER_PRINT);
+      writeContext(element.context());
+      writeExpression(((MarkerPrint) element).outputExpression());
+      writeUnsignedInt(((MarkerPrint) element).indentation());
+    } else if (element.type() == TemplateElementTypes.MarkerSet) {
+      MarkerSet marker = (MarkerSet) element;
+      out.writeByte(BinaryTemplateFormat.ELEMENT_MARKER_SET);
+      writeContext(element.context());
+      writeString(marker.valueName());
+      writeExpression(marker.valueExpression());
+    } else if (element.type() == TemplateElementTypes.MarkerFormat) {
+      out.writeByte(BinaryTemplateFormat.ELEMENT_MARKER_FORMAT);
+      writeContext(element.context());
+      writeFormatTypes(((MarkerFormat) element).types());
+    } else if (element.type() == TemplateElementTypes.MarkerForeach) {
+      MarkerForeach marker = (MarkerForeach) element;
+      out.writeByte(BinaryTemplateFormat.ELEMENT_MARKER_FOREACH);
+      writeContext(element.context());
+      writeString(marker.itemName());
+      writeExpression(marker.collectionExpression());
+    } else if (element.type() == TemplateElementTypes.MarkerWhen) {
+      out.writeByte(BinaryTemplateFormat.ELEMENT_MARKER_WHEN);
+      writeContext(element.context());
+      writeExpression(((MarkerWhen) element).condition());
+    } else if (element.type() == TemplateElementTypes.MarkerElse) {
+      out.writeByte(BinaryTemplateFormat.ELEMENT_MARKER_ELSE);
+      writeContext(element.context());
+      writeOptionalExpression(((MarkerElse) element).condition());
+    } else if (element.type() == TemplateElementTypes.MarkerEnd) {
+      out.writeByte(BinaryTemplateFormat.ELEMENT_MARKER_END);
+      writeContext(element.context());
+    } else if (element.type() == TemplateElementTypes.StatementFormat) {
+      StatementFormat statement = (StatementFormat) element;
+      out.writeByte(BinaryTemplateFormat.ELEMENT_STATEMENT_FORMAT);
+      writeContext(element.context());
+      writeFormatTypes(statement.types());
+      writeElements(statement.subElements());
+    } else if (element.type() == TemplateElementTypes.StatementForeach) {
+      StatementForeach statement = (StatementForeach) element;
+      out.writeByte(BinaryTemplateFormat.ELEMENT_STATEMENT_FOREACH);
+      writeContext(element.context());
+      writeString(statement.itemName());
+      writeExpression(statement.collectionExpression());
+      writeElements(statement.subElements());
+    } else if (element.type() == TemplateElementTypes.StatementWhen) {
+      StatementWhen statement = (StatementWhen) element;
+      out.writeByte(BinaryTemplateFormat.ELEMENT_STATEMENT_WHEN);
+      writeContext(element.context());
+      writeUnsignedInt(statement.branches().size());
+      for (StatementWhenBranch branch : statement.branches()) {
+        writeBranch(branch);
+      }
+      out.writeBoolean(statement.defaultBranch() != null);
+      if (statement.defaultBranch() != null) {
+        writeBranch(statement.defaultBranch());
+      }
+    } else {
+      throw UnexpectedViolationException.withMessage("Unsupported template element type {0}",
+          element.type().name());
+    }
+  }
+
+  private void writeBranch(StatementWhenBranch branch) throws IOException {
+    writeOptionalExpression(branch.condition());
+    writeElements(branch.subElements());
+  }
+
+  private void writeContext(TemplateElementContext context) throws IOException {
+    Position position = context.position();
+    writeUnsignedInt(position.offset());
+    writeUnsignedInt(position.row());
+    writeUnsignedInt(position.column());
+    // Zero means no index
+    writeUnsignedInt(context.elementIndex() != null ? context.elementIndex() + 1 : 0);
+  }
+
+  private void writeFormatTypes(List<MarkerFormatType> types) throws IOException {
+    writeUnsignedInt(types.size());
+    for (MarkerFormatType type : types) {
+      writeString(type.name());
+    }
+  }
+
+  private void writeOptionalExpression(Expression expression) throws IOException {
+    out.writeBoolean(expression != null);
+    if (expression != null) {
+      writeExpression(expression);
+    }
+  }
+
+  private void writeExpression(Expression expression) throws IOException {
+    writeString(expression.statement());
+    writeString(expression.preparedStatement());
+    writeUnsignedInt(expression.operands().size());
+    for (Operand operand : expression.operands()) {
+      if (operand.isVariable()) {
+        out.writeByte(BinaryTemplateFormat.OPERAND_VARIABLE);
+        writeString(operand.asVariable().name());
+      } else {
+        out.writeByte(BinaryTemplateFormat.OPERAND_LITERAL);
+        writeValue(operand.asLiteral().value());
+      }
+    }
+  }
+
+  private void writeValue(Value value) throws IOException {
+    if (value.type() == ValueTypes.Void) {
+      out.writeByte(BinaryTemplateFormat.VALUE_VOID);
+    } else if (value.type() == ValueTypes.Boolean) {
+      out.writeByte(BinaryTemplateFormat.VALUE_BOOLEAN);
+      out.writeBoolean(((BooleanValue) value).get());
+    } else if (value.type() == ValueTypes.Integer) {
+      out.writeByte(BinaryTemplateFormat.VALUE_INTEGER);
+      writeSignedInt(((IntegerValue) value).get());
+    } else if (value.type() == ValueTypes.Real) {
+      out.writeByte(BinaryTemplateFormat.VALUE_REAL);
+      out.writeDouble(((RealValue) value).get());
+    } else if (value.type() == ValueTypes.String) {
+      out.writeByte(BinaryTemplateFormat.VALUE_STRING);
+      writeString(((StringValue) value).get());
+    } else if (value.type() == ValueTypes.List) {
+      List<Value> list = ((ListValue) value).get();
+      out.writeByte(BinaryTemplateFormat.VALUE_LIST);
+      writeUnsignedInt(list.size());
+      for (Value element : list) {
+        writeValue(element);
+      }
+    } else if (value.type() == ValueTypes.Map) {
+      Map<Value, Value> map = ((MapValue) value).get();
+      out.writeByte(BinaryTemplateFormat.VALUE_MAP);
+      writeUnsignedInt(map.size());
+      for (Map.Entry<Value, Value> entry : map.entrySet()) {
+        writeValue(entry.getKey());
+        writeValue(entry.getValue());
+      }
+    } else {
+      throw UnexpectedViolationException.withMessage("Unsupported literal value type {0}",
+          value.type().typename());
+    }
+  }
+
+  private void writeSignedInt(int value) {
+    writeUnsignedInt((value << 1) ^ (value >> 31));
+  }
+
+  private void writeUnsignedInt(int value) {
+    writeUnsignedInt(body, value);
+  }
+
+  /**
+   * Writes integer by groups of 7 bits, lower groups first.
+   */
+  private static void writeUnsignedInt(ByteArrayOutputStream outputStream, int value) {
+    while ((value & ~0x7F) != 0) {
+      outputStream.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    outputStream.write(value);
+  }
+
+  private void writeString(String string) throws IOException {
+    writeUnsignedInt(strings.computeIfAbsent(string, s -> strings.size()));
+  }
+}
@@ -0,0 +1,157 @@
+package intellispaces.common.templateengine.binary;
+
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.template.Template;
+import intellispaces.common.templateengine.template.TemplateBundle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Functions to write and open template bundles.
+ *
+ * <p>Layout of the bundle:
+ * <pre>
+ *   int     magic
+ *   short   format version
+ *   int     number of entries
+ *   entry   index entries...      (int name length in UTF-8 bytes, name bytes, int offset, int length)
+ *   bytes   binary templates...
+ * </pre>
+ *
+ * <p>Offsets are counted from the bundle beginning.
+ * Every binary template is self-contained, see {@link BinaryTemplateFormat}.
+ */
+public final class TemplateBundleFunctions {
+
+  private TemplateBundleFunctions() {}
+
+  /**
+   * Writes templates to bundle.
+   *
+   * @param templates templates by names.
+   * @param outputStream output stream.
+   * @throws IOException throws when bundle can't be written.
+   */
+  public static void writeBundle(Map<String, Template> templates, OutputStream outputStream) throws IOException {
+    List<byte[]> names = new ArrayList<>(templates.size());
+    List<byte[]> entries = new ArrayList<>(templates.size());
+    int indexLength = 0;
+    for (Map.Entry<String, Template> entry : templates.entrySet()) {
+      byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+      names.add(name);
+      entries.add(BinaryTemplateFunctions.writeTemplate(entry.getValue()));
+      indexLength += Integer.BYTES + name.length + Integer.BYTES + Integer.BYTES;
+    }
+
+    var out = new DataOutputStream(outputStream);
+    out.writeInt(BUNDLE_MAGIC);
+    out.writeShort(BUNDLE_VERSION);
+    out.writeInt(names.size());
+    long offset = HEADER_LENGTH + indexLength;
+    for (int index = 0; index < names.size(); index++) {
+      if (offset + entries.get(index).length > Integer.MAX_VALUE) {
+        throw new IOException("Template bundle is too large");
+      }
+      out.writeInt(names.get(index).length);
+      out.write(names.get(index));
+      out.writeInt((int) offset);
+      out.writeInt(entries.get(index).length);
+      offset += entries.get(index).length;
+    }
+    for (byte[] entry : entries) {
+      out.write(entry);
+    }
+    out.flush();
+  }
+
+  /**
+   * Writes templates to bundle.
+   *
+   * @param templates templates by names.
+   * @return the bundle.
+   */
+  public static byte[] writeBundle(Map<String, Template> templates) {
+    var outputStream = new ByteArrayOutputStream();
+    try {
+      writeBundle(templates, outputStream);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return outputStream.toByteArray();
+  }
+
+  /**
+   * Opens memory-mapped bundle file.
+   *
+   * <p>Only bundle index is read on opening.
+   *
+   * @param path the bundle file path.
+   * @return the bundle.
+   * @throws ParseTemplateException throws when bundle can't be read or is invalid.
+   */
+  public static TemplateBundle openBundle(Path path) throws ParseTemplateException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw ParseTemplateException.withMessage("Template bundle {0} is too large", path);
+      }
+      return openBundle(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } catch (IOException e) {
+      throw ParseTemplateException.withCauseAndMessage(e, "Failed to read template bundle {0}", path);
+    }
+  }
+
+  /**
+   * Opens bundle.
+   *
+   * @param buffer the bundle buffer.
+   * @return the bundle.
+   * @throws ParseTemplateException throws when bundle is invalid.
+   */
+  public static TemplateBundle openBundle(ByteBuffer buffer) throws ParseTemplateException {
+    ByteBuffer bundleBuffer = buffer.slice();
+    try {
+      int magic = bundleBuffer.getInt();
+      if (magic != BUNDLE_MAGIC) {
+        throw ParseTemplateException.withMessage("Invalid template bundle. Unexpected magic number {0}",
+            Integer.toHexString(magic));
+      }
+      short version = bundleBuffer.getShort();
+      if (version != BUNDLE_VERSION) {
+        throw ParseTemplateException.withMessage("Unsupported template bundle version {0}", version);
+      }
+      int numEntries = bundleBuffer.getInt();
+      Map<String, TemplateBundleImpl.Entry> entries = new HashMap<>();
+      for (int index = 0; index < numEntries; index++) {
+        var name = new byte[bundleBuffer.getInt()];
+        bundleBuffer.get(name);
+        int offset = bundleBuffer.getInt();
+        int length = bundleBuffer.getInt();
+        if (offset < 0 || length < 0 || offset > bundleBuffer.limit() - length) {
+          throw ParseTemplateException.withMessage("Invalid template bundle. Entry is out of bundle bounds");
+        }
+        entries.put(new String(name, StandardCharsets.UTF_8), new TemplateBundleImpl.Entry(offset, length));
+      }
+      return new TemplateBundleImpl(bundleBuffer, entries);
+    } catch (BufferUnderflowException | NegativeArraySizeException e) {
+      throw ParseTemplateException.withCauseAndMessage(e, "Invalid template bundle. Unexpected end of data");
+    }
+  }
+
+  private static final int BUNDLE_MAGIC = 0x49545442;
+  private static final short BUNDLE_VERSION = 1;
+  private static final int HEADER_LENGTH = Integer.BYTES + Short.BYTES + Integer.BYTES;
+}
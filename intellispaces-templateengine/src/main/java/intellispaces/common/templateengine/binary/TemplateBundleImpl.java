@@ -0,0 +1,65 @@
+package intellispaces.common.templateengine.binary;
+
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.expression.ExpressionCompilationQueue;
+import intellispaces.common.templateengine.template.Template;
+import intellispaces.common.templateengine.template.TemplateBundle;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Template bundle.
+ *
+ * <p>Bundle keeps the buffer and index only. Every template is read from the buffer on first request.
+ * Templates of the bundle share expression compilation queue, so identical expressions are compiled once.
+ */
+class TemplateBundleImpl implements TemplateBundle {
+  private final ByteBuffer buffer;
+  private final Map<String, Entry> entries;
+  private final ExpressionCompilationQueue compilationQueue = ExpressionCompilationQueue.create();
+
+  TemplateBundleImpl(ByteBuffer buffer, Map<String, Entry> entries) {
+    this.buffer = buffer;
+    this.entries = entries;
+  }
+
+  @Override
+  public Set<String> names() {
+    return Collections.unmodifiableSet(entries.keySet());
+  }
+
+  @Override
+  public Template get(String name) throws ParseTemplateException {
+    Entry entry = entries.get(name);
+    if (entry == null) {
+      throw ParseTemplateException.withMessage("Template {0} is not found in bundle", name);
+    }
+    Template template = entry.template;
+    if (template == null) {
+      synchronized (entry) {
+        template = entry.template;
+        if (template == null) {
+          template = BinaryTemplateFunctions.readTemplate(
+              buffer.slice(entry.offset, entry.length), compilationQueue
+          );
+          entry.template = template;
+        }
+      }
+    }
+    return template;
+  }
+
+  static final class Entry {
+    private final int offset;
+    private final int length;
+    private volatile Template template;
+
+    Entry(int offset, int length) {
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+}
@@ -1,8 +1,20 @@
 package intellispaces.common.templateengine.element;
 
+import intellispaces.common.templateengine.source.position.PositionTable;
+
 public interface ElementContexts {
 
   static ElementContextBuilder build() {
     return new ElementContextBuilder();
   }
+
+  /**
+   * Returns context that keeps position in the side table and does not refer to template elements.
+   *
+   * @param positions table of positions.
+   * @param positionIndex index of the element position in table.
+   */
+  static TemplateElementContext slim(PositionTable positions, int positionIndex) {
+    return new SlimElementContextImpl(positions, positionIndex);
+  }
 }
@@ -1,13 +1,17 @@
 package intellispaces.common.templateengine.element;
 
+import intellispaces.common.templateengine.arena.TextArenas;
 import intellispaces.common.templateengine.exception.ResolveTemplateException;
 import intellispaces.common.templateengine.expression.ResolveExpressionFunctions;
+import intellispaces.common.templateengine.expression.value.ItemCursor;
 import intellispaces.common.templateengine.expression.value.ItemValues;
 import intellispaces.common.templateengine.expression.value.Value;
+import intellispaces.common.templateengine.expression.value.ValueFunctions;
 import intellispaces.common.templateengine.source.SourceFunctions;
 import intellispaces.common.base.text.TextFunctions;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -17,100 +21,185 @@ import java.util.Map;
 public interface ElementFunctions {
 
   static String resolve(TextElement element, Map<String, Value> variables) {
-    return element.text();
+    return element.text().toString();
+  }
+
+  static void resolve(TextElement element, Map<String, Value> variables, StringBuilder sb) {
+    TextArenas.append(sb, element.text());
   }
 
   static String resolve(MarkerPrint marker, Map<String, Value> variables) throws ResolveTemplateException {
     String value = ResolveExpressionFunctions.resolveExpressionToString(marker.outputExpression(), variables);
 
-    int elementIndex = marker.context().elementIndex();
-    if (elementIndex > 0) {
-      TemplateElement prevElement = marker.context().templateElements().get(elementIndex - 1);
-      if (prevElement.type() == TemplateElementTypes.Text) {
-        String tail = SourceFunctions.getTailBeforeLinebreak(((TextElement) prevElement).text());
-        if (!tail.isEmpty()) {
-          String gap = TextFunctions.createBlankString(tail.length());
-          String[] rows = value.split("\n");
-
-          var sb = new StringBuilder();
-          for (int ind = 0; ind < rows.length; ind++) {
-            if (ind != 0) {
-              sb.append(gap);
-            }
-            sb.append(rows[ind]);
-            if (ind != rows.length - 1) {
-              sb.append("\n");
-            }
-          }
-          return sb.toString();
+    return indent(value, marker.indentation());
+  }
+
+  static void resolve(
+      MarkerPrint marker, Map<String, Value> variables, StringBuilder sb
+  ) throws ResolveTemplateException {
+    int mark = sb.length();
+    ResolveExpressionFunctions.resolveExpressionToString(marker.outputExpression(), variables, sb);
+    indent(sb, mark, marker.indentation());
+  }
+
+  /**
+   * Indents second and next rows of the printed value.
+   *
+   * @param value printed value.
+   * @param indentation width of the indentation.
+   * @return indented value.
+   */
+  static String indent(String value, int indentation) {
+    if (indentation > 0) {
+      String gap = TextFunctions.createBlankString(indentation);
+      String[] rows = value.split("\n");
+
+      var sb = new StringBuilder();
+      for (int ind = 0; ind < rows.length; ind++) {
+        if (ind != 0) {
+          sb.append(gap);
+        }
+        sb.append(rows[ind]);
+        if (ind != rows.length - 1) {
+          sb.append("\n");
         }
       }
+      return sb.toString();
     }
     return value;
   }
 
+  /**
+   * Indents second and next rows of the value printed to string builder.
+   *
+   * <p>String builder is changed only when printed value is multiline.
+   *
+   * @param sb string builder.
+   * @param mark offset of the printed value in the string builder.
+   * @param indentation width of the indentation.
+   */
+  static void indent(StringBuilder sb, int mark, int indentation) {
+    if (indentation > 0 && sb.indexOf("\n", mark) >= 0) {
+      String value = sb.substring(mark);
+      sb.setLength(mark);
+      sb.append(indent(value, indentation));
+    }
+  }
+
+  /**
+   * Removes line breaks from the tail of the string builder.
+   *
+   * @param sb string builder.
+   * @param mark offset of the tail in the string builder.
+   */
+  static void removeLinebreaks(StringBuilder sb, int mark) {
+    int length = sb.length();
+    int target = mark;
+    for (int source = mark; source < length; source++) {
+      char ch = sb.charAt(source);
+      if (ch != '\n' && ch != '\r') {
+        sb.setCharAt(target++, ch);
+      }
+    }
+    sb.setLength(target);
+  }
+
+  /**
+   * Computes indentation of the print marker by preceding text element.
+   *
+   * @param marker print marker.
+   * @return width of the text before the marker in its row.
+   */
+  static int getIndentation(MarkerPrint marker) {
+    Integer elementIndex = marker.context().elementIndex();
+    if (elementIndex != null && elementIndex > 0) {
+      TemplateElement prevElement = marker.context().templateElements().get(elementIndex - 1);
+      if (prevElement.type() == TemplateElementTypes.Text) {
+        return SourceFunctions.getTailBeforeLinebreak(((TextElement) prevElement).text()).length();
+      }
+    }
+    return 0;
+  }
+
   static String resolve(MarkerSet marker, Map<String, Value> variables) throws ResolveTemplateException {
     Value value = ResolveExpressionFunctions.resolveExpression(marker.valueExpression(), variables);
-    variables.put(marker.valueName(), value);
+    variables.put(marker.valueName(), ItemCursor.capture(value));
     return "";
   }
 
   static String resolve(StatementFormat statement, Map<String, Value> variables) throws ResolveTemplateException {
     var sb = new StringBuilder();
+    resolve(statement, variables, sb);
+    return sb.toString();
+  }
+
+  static void resolve(
+      StatementFormat statement, Map<String, Value> variables, StringBuilder sb
+  ) throws ResolveTemplateException {
+    int mark = sb.length();
     List<TemplateElement> elements = statement.subElements();
     for (TemplateElement element : elements) {
-      sb.append(resolve(element, variables));
+      element.resolve(variables, sb);
     }
 
-    String text = sb.toString();
     if (statement.types().contains(MarkerFormatTypes.nobr)) {
-      text = text.replaceAll("[\\n\\r]+", "");
+      removeLinebreaks(sb, mark);
     }
-    return text;
   }
 
   static String resolve(StatementForeach statement, Map<String, Value> variables) throws ResolveTemplateException {
     var sb = new StringBuilder();
+    resolve(statement, variables, sb);
+    return sb.toString();
+  }
+
+  static void resolve(
+      StatementForeach statement, Map<String, Value> variables, StringBuilder sb
+  ) throws ResolveTemplateException {
     Map<String, Value> subParams = new HashMap<>(variables);
     List<Value> values = ResolveExpressionFunctions.resolveExpressionToList(statement.collectionExpression(), variables);
     if (values != null) {
+      ItemCursor cursor = ItemValues.cursor();
+      // Elements are pulled one ahead, so lazy elements of pipeline operations are computed in single pass
+      Iterator<Value> iterator = values.iterator();
       int index = 0;
-      for (Value value : values) {
-        subParams.put(
-            statement.itemName(),
-            ItemValues.build()
-                .value(value)
-                .index(index)
-                .first(index == 0)
-                .last(index == values.size() - 1)
-                .get()
-        );
+      while (ValueFunctions.hasNextElement(iterator)) {
+        Value value = ValueFunctions.nextElement(iterator);
+        cursor.move(value, index, !ValueFunctions.hasNextElement(iterator));
         index++;
 
+        // Cursor is put on each iteration, because item variable can be reassigned in the loop body
+        subParams.put(statement.itemName(), cursor);
+
         for (TemplateElement element : statement.subElements()) {
-          sb.append(element.resolve(subParams));
+          element.resolve(subParams, sb);
         }
       }
     }
-    return sb.toString();
   }
 
   static String resolve(StatementWhen statement, Map<String, Value> variables) throws ResolveTemplateException {
     var sb = new StringBuilder();
+    resolve(statement, variables, sb);
+    return sb.toString();
+  }
+
+  static void resolve(
+      StatementWhen statement, Map<String, Value> variables, StringBuilder sb
+  ) throws ResolveTemplateException {
     for (StatementWhenBranch branch : statement.branches()) {
       if (ResolveExpressionFunctions.resolveExpressionToBoolean(branch.condition(), variables)) {
         for (TemplateElement element : branch.subElements()) {
-          sb.append(resolve(element, variables));
+          element.resolve(variables, sb);
         }
-        return sb.toString();
+        return;
       }
     }
     if (statement.defaultBranch() != null) {
       for (TemplateElement element : statement.defaultBranch().subElements()) {
-        sb.append(resolve(element, variables));
+        element.resolve(variables, sb);
       }
     }
-    return sb.toString();
   }
 
   static String resolve(MarkerElse element, Map<String, Value> variables) {
@@ -48,4 +48,9 @@ class ForeachStatementImpl extends AbstractElement implements StatementForeach {
   public String resolve(Map<String, Value> variables) throws ResolveTemplateException {
     return ElementFunctions.resolve(this, variables);
   }
+
+  @Override
+  public void resolve(Map<String, Value> variables, StringBuilder sb) throws ResolveTemplateException {
+    ElementFunctions.resolve(this, variables, sb);
+  }
 }
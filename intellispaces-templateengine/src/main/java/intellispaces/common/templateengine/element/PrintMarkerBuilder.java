@@ -7,6 +7,7 @@ import java.util.Objects;
 public final class PrintMarkerBuilder {
   private TemplateElementContext context;
   private Expression outputExpression;
+  private int indentation = PrintMarkerImpl.UNKNOWN_INDENTATION;
 
   PrintMarkerBuilder() {}
 
@@ -20,9 +21,19 @@ public final class PrintMarkerBuilder {
     return this;
   }
 
+  /**
+   * Sets precomputed indentation.
+   *
+   * <p>When indentation is not set, it is computed by preceding text element referred via element context.
+   */
+  public PrintMarkerBuilder indentation(int indentation) {
+    this.indentation = indentation;
+    return this;
+  }
+
   public MarkerPrint get() {
     validate();
-    return new PrintMarkerImpl(context, outputExpression);
+    return new PrintMarkerImpl(context, outputExpression, indentation);
   }
 
   private void validate() {
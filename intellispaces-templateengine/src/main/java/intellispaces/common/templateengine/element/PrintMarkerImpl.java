@@ -8,10 +8,12 @@ import java.util.Map;
 
 class PrintMarkerImpl extends AbstractElement implements MarkerPrint {
   private final Expression outputExpression;
+  private final int indentation;
 
-  PrintMarkerImpl(TemplateElementContext context, Expression outputExpression) {
+  PrintMarkerImpl(TemplateElementContext context, Expression outputExpression, int indentation) {
     super(context);
     this.outputExpression = outputExpression;
+    this.indentation = indentation;
   }
 
   @Override
@@ -24,13 +26,25 @@ class PrintMarkerImpl extends AbstractElement implements MarkerPrint {
     return outputExpression;
   }
 
+  @Override
+  public int indentation() {
+    return indentation != UNKNOWN_INDENTATION ? indentation : ElementFunctions.getIndentation(this);
+  }
+
   @Override
   public String resolve(Map<String, Value> variables) throws ResolveTemplateException {
     return ElementFunctions.resolve(this, variables);
   }
 
+  @Override
+  public void resolve(Map<String, Value> variables, StringBuilder sb) throws ResolveTemplateException {
+    ElementFunctions.resolve(this, variables, sb);
+  }
+
   @Override
   public String toString() {
     return "{{print " + outputExpression.statement() + "}}";
   }
+
+  static final int UNKNOWN_INDENTATION = -1;
 }
@@ -0,0 +1,36 @@
+package intellispaces.common.templateengine.element;
+
+import intellispaces.common.templateengine.source.position.Position;
+import intellispaces.common.templateengine.source.position.PositionTable;
+
+import java.util.List;
+
+/**
+ * Element context of the slim template.
+ *
+ * <p>Context does not refer to template elements. Position is kept in the side table.
+ */
+class SlimElementContextImpl implements TemplateElementContext {
+  private final PositionTable positions;
+  private final int positionIndex;
+
+  SlimElementContextImpl(PositionTable positions, int positionIndex) {
+    this.positions = positions;
+    this.positionIndex = positionIndex;
+  }
+
+  @Override
+  public Position position() {
+    return positions.get(positionIndex);
+  }
+
+  @Override
+  public List<TemplateElement> templateElements() {
+    return List.of();
+  }
+
+  @Override
+  public Integer elementIndex() {
+    return null;
+  }
+}
@@ -4,7 +4,7 @@ import java.util.Objects;
 
 public final class TextElementBuilder {
   private TemplateElementContext context;
-  private String text;
+  private CharSequence text;
 
   TextElementBuilder() {}
 
@@ -13,7 +13,7 @@ public final class TextElementBuilder {
     return this;
   }
 
-  public TextElementBuilder text(String text) {
+  public TextElementBuilder text(CharSequence text) {
     this.text = text;
     return this;
   }
@@ -5,9 +5,9 @@ import intellispaces.common.templateengine.expression.value.Value;
 import java.util.Map;
 
 class TextElementImpl extends AbstractElement implements TextElement {
-  private final String text;
+  private final CharSequence text;
 
-  TextElementImpl(TemplateElementContext context, String text) {
+  TextElementImpl(TemplateElementContext context, CharSequence text) {
     super(context);
     this.text = text;
   }
@@ -18,7 +18,7 @@ class TextElementImpl extends AbstractElement implements TextElement {
   }
 
   @Override
-  public String text() {
+  public CharSequence text() {
     return text;
   }
 
@@ -27,8 +27,13 @@ class TextElementImpl extends AbstractElement implements TextElement {
     return ElementFunctions.resolve(this, variables);
   }
 
+  @Override
+  public void resolve(Map<String, Value> variables, StringBuilder sb) {
+    ElementFunctions.resolve(this, variables, sb);
+  }
+
   @Override
   public String toString() {
-    return text;
+    return text.toString();
   }
 }
@@ -37,4 +37,9 @@ class WhenStatementImpl extends AbstractElement implements StatementWhen {
   public String resolve(Map<String, Value> variables) throws ResolveTemplateException {
     return ElementFunctions.resolve(this, variables);
   }
+
+  @Override
+  public void resolve(Map<String, Value> variables, StringBuilder sb) throws ResolveTemplateException {
+    ElementFunctions.resolve(this, variables, sb);
+  }
 }
@@ -0,0 +1,28 @@
+package intellispaces.common.templateengine.expression;
+
+/**
+ * Expression compilation mode.
+ */
+public enum CompilationMode {
+
+  /**
+   * Expressions are compiled while template is parsed.
+   */
+  Eager,
+
+  /**
+   * Expressions are compiled on first resolving.
+   *
+   * <p>Identical expressions of the template are compiled once.
+   * Expression compilation errors are thrown on template resolving.
+   */
+  Lazy,
+
+  /**
+   * Expressions are interpreted.
+   *
+   * <p>Classes are not generated at runtime, so the mode works without Java compiler,
+   * for example, in GraalVM native image. The mode is default when Java compiler is not available.
+   */
+  Interpreted
+}
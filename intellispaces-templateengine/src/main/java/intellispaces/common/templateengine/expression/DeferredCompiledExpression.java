@@ -0,0 +1,69 @@
+package intellispaces.common.templateengine.expression;
+
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.exception.ResolveTemplateException;
+import intellispaces.common.templateengine.expression.interpretation.InterpretFunctions;
+import intellispaces.common.templateengine.expression.value.Value;
+
+/**
+ * Compiled expression whose compilation is postponed.
+ *
+ * <p>The target expression is set by {@link ExpressionCompilationQueue#compile} or
+ * is compiled on first resolving. The target is published via volatile field,
+ * so concurrent first resolvings are safe. They can compile the same statement,
+ * but the statement cache returns the one compiled expression.
+ *
+ * <p>Expression of the {@link CompilationMode#Interpreted interpreted} mode is interpreted on first resolving.
+ *
+ * <p>Compilation error is remembered, so the failed statement is not compiled again on each resolving.
+ */
+final class DeferredCompiledExpression implements CompiledExpression {
+  private final String preparedStatement;
+  private final CompilationMode compilationMode;
+  private volatile CompiledExpression compiledExpression;
+  private volatile ParseTemplateException compilationError;
+
+  DeferredCompiledExpression(String preparedStatement, CompilationMode compilationMode) {
+    this.preparedStatement = preparedStatement;
+    this.compilationMode = compilationMode;
+  }
+
+  String preparedStatement() {
+    return preparedStatement;
+  }
+
+  boolean isCompiled() {
+    return compiledExpression != null;
+  }
+
+  void setCompiledExpression(CompiledExpression compiledExpression) {
+    this.compiledExpression = compiledExpression;
+  }
+
+  void setCompilationError(ParseTemplateException compilationError) {
+    this.compilationError = compilationError;
+  }
+
+  @Override
+  public Value resolve(Value[] operands) throws ResolveTemplateException {
+    CompiledExpression target = compiledExpression;
+    if (target == null) {
+      ParseTemplateException error = compilationError;
+      if (error == null) {
+        try {
+          target = (compilationMode == CompilationMode.Interpreted
+              ? InterpretFunctions.interpretExpression(preparedStatement)
+              : ParseExpressionFunctions.compileExpression(preparedStatement));
+          compiledExpression = target;
+        } catch (ParseTemplateException e) {
+          error = e;
+          compilationError = e;
+        }
+      }
+      if (error != null) {
+        throw ResolveTemplateException.withCauseAndMessage(error, "Failed to compile expression {0}", preparedStatement);
+      }
+    }
+    return target.resolve(operands);
+  }
+}
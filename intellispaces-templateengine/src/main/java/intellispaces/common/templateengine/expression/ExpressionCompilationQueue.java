@@ -0,0 +1,213 @@
+package intellispaces.common.templateengine.expression;
+
+import intellispaces.common.base.exception.UnexpectedViolationException;
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.expression.compilation.CompileFunctions;
+import intellispaces.common.templateengine.expression.interpretation.InterpretFunctions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Queue of expressions whose compilation is postponed.
+ *
+ * <p>Identical prepared statements are enqueued once, so every distinct expression is compiled once.
+ * Queues created by {@link #fork()} share the enqueued expressions, but keep own statements,
+ * what allows to find out which statements are used by particular template.
+ *
+ * <p>Queue of the {@link CompilationMode#Interpreted interpreted} mode interprets expressions,
+ * queue of other modes compiles them.
+ *
+ * <p>The queue is thread-safe.
+ */
+public final class ExpressionCompilationQueue {
+  private final CompilationMode compilationMode;
+  private final Map<String, DeferredCompiledExpression> expressions;
+  private final Set<String> statements = ConcurrentHashMap.newKeySet();
+
+  private ExpressionCompilationQueue(
+      CompilationMode compilationMode, Map<String, DeferredCompiledExpression> expressions
+  ) {
+    this.compilationMode = compilationMode;
+    this.expressions = expressions;
+  }
+
+  /**
+   * Creates queue of the {@link CompilationMode#Lazy lazy} compilation mode.
+   */
+  public static ExpressionCompilationQueue create() {
+    return create(CompilationMode.Lazy);
+  }
+
+  /**
+   * Creates queue of given compilation mode.
+   *
+   * @param compilationMode {@link CompilationMode#Lazy} or {@link CompilationMode#Interpreted} mode.
+   * @return created queue.
+   */
+  public static ExpressionCompilationQueue create(CompilationMode compilationMode) {
+    if (compilationMode == CompilationMode.Eager) {
+      throw UnexpectedViolationException.withMessage("Expressions of mode {0} are not postponed", compilationMode);
+    }
+    return new ExpressionCompilationQueue(compilationMode, new ConcurrentHashMap<>());
+  }
+
+  /**
+   * Creates queue sharing enqueued expressions with this queue.
+   */
+  public ExpressionCompilationQueue fork() {
+    return new ExpressionCompilationQueue(compilationMode, expressions);
+  }
+
+  /**
+   * Compilation mode of the expressions enqueued via this queue.
+   */
+  public CompilationMode compilationMode() {
+    return compilationMode;
+  }
+
+  /**
+   * Prepared statements enqueued via this queue.
+   */
+  public Set<String> statements() {
+    return Collections.unmodifiableSet(statements);
+  }
+
+  /**
+   * Number of distinct expressions enqueued via all forks of the queue.
+   */
+  public int numExpressions() {
+    return expressions.size();
+  }
+
+  /**
+   * Returns compiled expression whose compilation is postponed.
+   *
+   * <p>Expression is compiled by {@link #compile} or on first resolving.
+   *
+   * @param preparedStatement prepared expression statement.
+   * @return compiled expression.
+   */
+  public CompiledExpression enqueue(String preparedStatement) {
+    statements.add(preparedStatement);
+    return expressions.computeIfAbsent(
+        preparedStatement, statement -> new DeferredCompiledExpression(statement, compilationMode)
+    );
+  }
+
+  /**
+   * Enqueues interned expression parsed via another queue of the same compilation mode.
+   *
+   * <p>Postponed compilation of the interned expression is shared, so the expression is compiled
+   * by this queue unless it is already compiled. Its compilation errors are reported by this queue too.
+   *
+   * @param expression interned expression.
+   */
+  void enqueue(Expression expression) {
+    statements.add(expression.preparedStatement());
+    if (expression.compiledExpression() instanceof DeferredCompiledExpression deferredExpression) {
+      expressions.putIfAbsent(expression.preparedStatement(), deferredExpression);
+    }
+  }
+
+  /**
+   * Compiles all enqueued expressions which are not compiled yet.
+   *
+   * <p>Expressions are compiled in batches, one compilation task per batch.
+   * When batch fails, its expressions are compiled one by one to find out invalid ones.
+   *
+   * @param executor executor to compile batches.
+   * @return compilation errors by prepared statements.
+   * @throws ParseTemplateException throws when compilation is interrupted.
+   */
+  public Map<String, ParseTemplateException> compile(ExecutorService executor) throws ParseTemplateException {
+    if (compilationMode == CompilationMode.Interpreted
+        || ParseExpressionFunctions.defaultCompilationMode() == CompilationMode.Interpreted) {
+      return interpret();
+    }
+    List<DeferredCompiledExpression> pendingExpressions = expressions.values().stream()
+        .filter(e -> !e.isCompiled())
+        .toList();
+
+    List<Callable<Map<String, ParseTemplateException>>> tasks = new ArrayList<>();
+    for (int fromIndex = 0; fromIndex < pendingExpressions.size(); fromIndex += BATCH_SIZE) {
+      List<DeferredCompiledExpression> batch = pendingExpressions.subList(
+          fromIndex, Math.min(fromIndex + BATCH_SIZE, pendingExpressions.size())
+      );
+      tasks.add(() -> compileBatch(batch));
+    }
+
+    var errors = new HashMap<String, ParseTemplateException>();
+    try {
+      for (Future<Map<String, ParseTemplateException>> future : executor.invokeAll(tasks)) {
+        errors.putAll(future.get());
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw UnexpectedViolationException.withCauseAndMessage(e.getCause(), "Failed to compile expressions");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw ParseTemplateException.withCauseAndMessage(e, "Expression compilation is interrupted");
+    }
+    return errors;
+  }
+
+  /**
+   * Interprets all enqueued expressions which are not compiled yet.
+   *
+   * @return interpretation errors by prepared statements.
+   */
+  public Map<String, ParseTemplateException> interpret() {
+    var errors = new HashMap<String, ParseTemplateException>();
+    for (DeferredCompiledExpression expression : expressions.values()) {
+      if (!expression.isCompiled()) {
+        try {
+          expression.setCompiledExpression(InterpretFunctions.interpretExpression(expression.preparedStatement()));
+        } catch (ParseTemplateException e) {
+          expression.setCompilationError(e);
+          errors.put(expression.preparedStatement(), e);
+        }
+      }
+    }
+    return errors;
+  }
+
+  private static Map<String, ParseTemplateException> compileBatch(List<DeferredCompiledExpression> batch) {
+    List<String> batchStatements = batch.stream()
+        .map(DeferredCompiledExpression::preparedStatement)
+        .toList();
+    try {
+      List<CompiledExpression> compiledExpressions = CompileFunctions.compileExpressions(batchStatements);
+      for (int index = 0; index < batch.size(); index++) {
+        batch.get(index).setCompiledExpression(
+            ParseExpressionFunctions.cacheCompiledExpression(batchStatements.get(index), compiledExpressions.get(index))
+        );
+      }
+      return Map.of();
+    } catch (ParseTemplateException e) {
+      var errors = new HashMap<String, ParseTemplateException>();
+      for (DeferredCompiledExpression expression : batch) {
+        try {
+          expression.setCompiledExpression(ParseExpressionFunctions.compileExpression(expression.preparedStatement()));
+        } catch (ParseTemplateException ex) {
+          expression.setCompilationError(ex);
+          errors.put(expression.preparedStatement(), ex);
+        }
+      }
+      return errors;
+    }
+  }
+
+  private static final int BATCH_SIZE = 256;
+}
@@ -0,0 +1,111 @@
+package intellispaces.common.templateengine.expression;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table of interned expressions.
+ *
+ * <p>Identical expression statements of all templates parsed in the same compilation mode share
+ * one expression instance with its compiled form and operands. Expressions are keyed by statement
+ * and compilation mode, so expressions compiled immediately, compiled on first resolving and interpreted
+ * are not mixed. Expressions are referred weakly, so the expression is removed from the table
+ * when no template uses it.
+ *
+ * <p>The table is thread-safe.
+ */
+public final class ExpressionInternTable {
+  private final Map<InternKey, WeakExpressionReference> expressions = new ConcurrentHashMap<>();
+  private final ReferenceQueue<Expression> referenceQueue = new ReferenceQueue<>();
+
+  private ExpressionInternTable() {}
+
+  public static ExpressionInternTable create() {
+    return new ExpressionInternTable();
+  }
+
+  /**
+   * Common table of the engine.
+   */
+  public static ExpressionInternTable common() {
+    return COMMON;
+  }
+
+  /**
+   * Returns interned expression by statement and compilation mode.
+   *
+   * @param statement expression statement.
+   * @param compilationMode expression compilation mode.
+   * @return interned expression or <code>null</code> if expression is not interned.
+   */
+  public Expression get(String statement, CompilationMode compilationMode) {
+    WeakExpressionReference reference = expressions.get(new InternKey(statement, compilationMode));
+    return reference != null ? reference.get() : null;
+  }
+
+  /**
+   * Returns interned expression with the same statement and compilation mode.
+   *
+   * <p>Given expression is interned when table does not contain expression with the same statement
+   * and compilation mode yet.
+   *
+   * @param expression the expression.
+   * @param compilationMode expression compilation mode.
+   * @return interned expression.
+   */
+  public Expression intern(Expression expression, CompilationMode compilationMode) {
+    purge();
+    var key = new InternKey(expression.statement(), compilationMode);
+    while (true) {
+      var reference = new WeakExpressionReference(key, expression, referenceQueue);
+      WeakExpressionReference existingReference = expressions.putIfAbsent(key, reference);
+      if (existingReference == null) {
+        return expression;
+      }
+      Expression existingExpression = existingReference.get();
+      if (existingExpression != null) {
+        return existingExpression;
+      }
+      expressions.remove(key, existingReference);
+    }
+  }
+
+  /**
+   * Number of the interned expressions.
+   */
+  public int size() {
+    purge();
+    return expressions.size();
+  }
+
+  /**
+   * Removes all interned expressions.
+   *
+   * <p>Expressions already used by templates are not changed.
+   */
+  public void clear() {
+    expressions.clear();
+  }
+
+  private void purge() {
+    WeakExpressionReference reference;
+    while ((reference = (WeakExpressionReference) referenceQueue.poll()) != null) {
+      expressions.remove(reference.key, reference);
+    }
+  }
+
+  private static final class WeakExpressionReference extends WeakReference<Expression> {
+    private final InternKey key;
+
+    WeakExpressionReference(InternKey key, Expression expression, ReferenceQueue<Expression> referenceQueue) {
+      super(expression, referenceQueue);
+      this.key = key;
+    }
+  }
+
+  private record InternKey(String statement, CompilationMode compilationMode) {}
+
+  private static final ExpressionInternTable COMMON = new ExpressionInternTable();
+}
@@ -3,6 +3,7 @@ package intellispaces.common.templateengine.expression;
 import intellispaces.common.base.exception.UnexpectedViolationException;
 import intellispaces.common.templateengine.exception.ParseTemplateException;
 import intellispaces.common.templateengine.expression.compilation.CompileFunctions;
+import intellispaces.common.templateengine.expression.interpretation.InterpretFunctions;
 import intellispaces.common.templateengine.expression.value.BooleanValues;
 import intellispaces.common.templateengine.expression.value.IntegerValues;
 import intellispaces.common.templateengine.expression.value.ListValues;
@@ -13,8 +14,11 @@ import intellispaces.common.templateengine.expression.value.Value;
 import intellispaces.common.templateengine.expression.value.VoidValues;
 import intellispaces.common.templateengine.source.SourceFunctions;
 import intellispaces.common.base.text.TextFunctions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +34,17 @@ public final class ParseExpressionFunctions {
 
   private ParseExpressionFunctions() {}
 
+  /**
+   * Default expression compilation mode.
+   *
+   * <p>Mode is defined by system property <code>intellispaces.templateengine.compilation</code>.
+   * When property is not set or its value is not a mode name, mode is {@link CompilationMode#Eager} or
+   * {@link CompilationMode#Interpreted} if Java compiler is not available.
+   */
+  public static CompilationMode defaultCompilationMode() {
+    return DEFAULT_COMPILATION_MODE;
+  }
+
   /**
    * Parses expression.
    *
@@ -38,17 +53,52 @@ public final class ParseExpressionFunctions {
    * @throws ParseTemplateException throws when expression can't be parsed.
    */
   public static Expression parseExpression(String statement) throws ParseTemplateException {
+    return parseExpression(statement, null);
+  }
+
+  /**
+   * Parses expression.
+   *
+   * <p>Expressions are interned in the {@link ExpressionInternTable#common() common table} by statement and
+   * compilation mode. Interned expression whose compilation is postponed is enqueued to given queue,
+   * so the queue compiles it and reports its compilation errors.
+   *
+   * @param statement expression statement.
+   * @param compilationQueue queue to postpone expression compilation or <code>null</code> to compile immediately.
+   * @return parsed expression.
+   * @throws ParseTemplateException throws when expression can't be parsed.
+   */
+  public static Expression parseExpression(
+      String statement, ExpressionCompilationQueue compilationQueue
+  ) throws ParseTemplateException {
+    CompilationMode compilationMode = (compilationQueue != null
+        ? compilationQueue.compilationMode()
+        : CompilationMode.Eager);
+    Expression internedExpression = ExpressionInternTable.common().get(statement, compilationMode);
+    if (internedExpression != null) {
+      if (compilationQueue != null) {
+        compilationQueue.enqueue(internedExpression);
+      }
+      return internedExpression;
+    }
     ValidateExpressionFunctions.validateExpression(statement);
 
     List<Operand> operands = new ArrayList<>();
     String preparedStatement = prepareStatement(statement, operands);
-    CompiledExpression compiledExpression = compileExpression(preparedStatement);
-    return Expressions.build()
+    CompiledExpression compiledExpression = (compilationQueue != null
+        ? compilationQueue.enqueue(preparedStatement)
+        : compileExpression(preparedStatement));
+    Expression expression = Expressions.build()
         .statement(statement)
         .preparedStatement(preparedStatement)
         .compiledExpression(compiledExpression)
         .operands(operands)
         .get();
+    internedExpression = ExpressionInternTable.common().intern(expression, compilationMode);
+    if (internedExpression != expression && compilationQueue != null) {
+      compilationQueue.enqueue(internedExpression);
+    }
+    return internedExpression;
   }
 
   private static String prepareStatement(String statement, List<Operand> operands) throws ParseTemplateException {
@@ -295,7 +345,7 @@ public final class ParseExpressionFunctions {
     return value.contains(".");
   }
 
-  private static CompiledExpression compileExpression(
+  static CompiledExpression compileExpression(
       String preparedStatement
   ) throws ParseTemplateException {
     synchronized (STATEMENTS_CACHE) {
@@ -305,16 +355,47 @@ public final class ParseExpressionFunctions {
           .orElse(null);
       CompiledExpression compiledExpression = (key != null ? STATEMENTS_CACHE.get(key) : null);
       if (compiledExpression == null) {
-        compiledExpression = CompileFunctions.compileExpression(preparedStatement);
+        compiledExpression = (DEFAULT_COMPILATION_MODE == CompilationMode.Interpreted
+            ? InterpretFunctions.interpretExpression(preparedStatement)
+            : CompileFunctions.compileExpression(preparedStatement));
         STATEMENTS_CACHE.put(new StatementKey(preparedStatement), compiledExpression);
       }
       return compiledExpression;
     }
   }
 
+  static CompiledExpression cacheCompiledExpression(String preparedStatement, CompiledExpression compiledExpression) {
+    synchronized (STATEMENTS_CACHE) {
+      STATEMENTS_CACHE.put(new StatementKey(preparedStatement), compiledExpression);
+      return compiledExpression;
+    }
+  }
+
   private record ValueAndWording(Value value, String wording) {}
 
   private record StatementKey(String statement) {}
 
   private static final Map<StatementKey, CompiledExpression> STATEMENTS_CACHE = new WeakHashMap<>();
+
+  private static CompilationMode readDefaultCompilationMode() {
+    CompilationMode mode = CompileFunctions.isCompilerAvailable() ? CompilationMode.Eager : CompilationMode.Interpreted;
+    String property = System.getProperty(COMPILATION_MODE_PROPERTY);
+    if (property == null) {
+      return mode;
+    }
+    for (CompilationMode compilationMode : CompilationMode.values()) {
+      if (compilationMode.name().equals(property)) {
+        return compilationMode;
+      }
+    }
+    LOG.warn("Invalid value of system property {}: {}. Expected one of {}. Mode {} is used",
+        COMPILATION_MODE_PROPERTY, property, Arrays.toString(CompilationMode.values()), mode);
+    return mode;
+  }
+
+  private static final Logger LOG = LoggerFactory.getLogger(ParseExpressionFunctions.class);
+
+  private static final String COMPILATION_MODE_PROPERTY = "intellispaces.templateengine.compilation";
+
+  private static final CompilationMode DEFAULT_COMPILATION_MODE = readDefaultCompilationMode();
 }
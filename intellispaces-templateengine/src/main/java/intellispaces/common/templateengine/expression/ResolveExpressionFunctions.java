@@ -1,9 +1,6 @@
 package intellispaces.common.templateengine.expression;
 
-import intellispaces.common.base.exception.UnexpectedViolationException;
 import intellispaces.common.templateengine.exception.ResolveTemplateException;
-import intellispaces.common.templateengine.expression.value.ListValue;
-import intellispaces.common.templateengine.expression.value.MapValue;
 import intellispaces.common.templateengine.expression.value.StringValue;
 import intellispaces.common.templateengine.expression.value.Value;
 import intellispaces.common.templateengine.expression.value.ValueFunctions;
@@ -21,6 +18,21 @@ public interface ResolveExpressionFunctions {
     return convertToString(value);
   }
 
+  /**
+   * Resolves expression and appends string representation of the result to string builder.
+   *
+   * @param expression the expression.
+   * @param variables variables.
+   * @param sb output string builder.
+   * @throws ResolveTemplateException throws if expression can't be resolved.
+   */
+  static void resolveExpressionToString(
+      Expression expression, Map<String, Value> variables, StringBuilder sb
+  ) throws ResolveTemplateException {
+    Value value = resolveExpression(expression, variables);
+    ValueFunctions.appendValue(value, sb);
+  }
+
   static boolean resolveExpressionToBoolean(
       Expression expression, Map<String, Value> variables
   ) throws ResolveTemplateException {
@@ -67,60 +79,11 @@ public interface ResolveExpressionFunctions {
   }
 
   private static String convertToString(Value value) throws ResolveTemplateException {
-    return convertToString(value, false);
-  }
-
-  private static String convertToString(Value value, boolean isNested) throws ResolveTemplateException {
-    if (value.type() == ValueTypes.Void) {
-      return "void";
-    } else if (
-        value.type() == ValueTypes.Boolean || value.type() == ValueTypes.Integer || value.type() == ValueTypes.Real
-    ) {
-      return ValueFunctions.castToString(value.origin());
-    } else if (value.type() == ValueTypes.String) {
-      String string = ((StringValue) value.origin()).get();
-      return isNested ? "\"" + string + "\"" : string;
-    } else if (value.type() == ValueTypes.List) {
-      List<Value> list = ((ListValue) value.origin()).get();
-      return convertToString(list);
-    } else if (value.type() == ValueTypes.Map) {
-      Map<Value, Value> map = ((MapValue) value.origin()).get();
-      return convertToString(map);
-    } else {
-      throw UnexpectedViolationException.withMessage("Unsupported value type: {0}", value.typename().get());
+    if (value.type() == ValueTypes.String) {
+      return ((StringValue) value.origin()).get();
     }
-  }
-
-  private static String convertToString(List<Value> list) throws ResolveTemplateException {
     var sb = new StringBuilder();
-    sb.append("[");
-    var first = true;
-    for (Value value : list) {
-      if (!first) {
-        sb.append(",");
-      }
-      first = false;
-      sb.append(convertToString(value, true));
-    }
-    sb.append("]");
-    return sb.toString();
-  }
-
-  private static String convertToString(Map<Value, Value> map) throws ResolveTemplateException {
-    var sb = new StringBuilder();
-    sb.append("[");
-    var first = true;
-    for (Map.Entry<Value, Value> entry : map.entrySet()) {
-      if (!first) {
-        sb.append(",");
-      }
-      first = false;
-
-      String key = convertToString(entry.getKey(), true);
-      String value = convertToString(entry.getValue(), true);
-      sb.append(key).append(":").append(value);
-    }
-    sb.append("]");
+    ValueFunctions.appendValue(value, sb);
     return sb.toString();
   }
 }
@@ -20,6 +20,7 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Paths;
 import java.security.CodeSource;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -28,11 +29,31 @@ import java.util.UUID;
  * Expression compilation functions.
  */
 public final class CompileFunctions {
-  private static final JavaCompiler COMPILER = ToolProvider.getSystemJavaCompiler();
+  private static final JavaCompiler COMPILER = findCompiler();
   private static final Logger LOG = LoggerFactory.getLogger(CompileFunctions.class);
 
   private CompileFunctions() {}
 
+  /**
+   * Checks that Java compiler is available.
+   *
+   * <p>Compiler is not available in JRE without <code>jdk.compiler</code> module and in GraalVM native image.
+   */
+  public static boolean isCompilerAvailable() {
+    return COMPILER != null;
+  }
+
+  private static JavaCompiler findCompiler() {
+    if (System.getProperty(NATIVE_IMAGE_CODE_PROPERTY) != null) {
+      return null;
+    }
+    try {
+      return ToolProvider.getSystemJavaCompiler();
+    } catch (RuntimeException | LinkageError e) {
+      return null;
+    }
+  }
+
   public static CompiledExpression compileExpression(String statement) throws ParseTemplateException {
     String className = "CompiledExpression" + UUID.randomUUID().toString().replace("-", "");
     String classSource = makeCompiledExpressionSource(className, statement);
@@ -40,6 +61,35 @@ public final class CompileFunctions {
     return getCompiledExpression(className, fileObjects);
   }
 
+  /**
+   * Compiles several expressions in one compilation task.
+   *
+   * <p>Compilation fails entirely if any of the statements is invalid.
+   *
+   * @param statements prepared expression statements.
+   * @return compiled expressions in order of the statements.
+   * @throws ParseTemplateException throws when some expression can't be compiled.
+   */
+  public static List<CompiledExpression> compileExpressions(List<String> statements) throws ParseTemplateException {
+    LOG.trace("Compile {} expressions", statements.size());
+    List<String> classNames = new ArrayList<>(statements.size());
+    List<SourceFileObject> sourceFileObjects = new ArrayList<>(statements.size());
+    for (String statement : statements) {
+      String className = "CompiledExpression" + UUID.randomUUID().toString().replace("-", "");
+      classNames.add(className);
+      sourceFileObjects.add(new SourceFileObject(className, makeCompiledExpressionSource(className, statement)));
+    }
+    List<CompiledFileObject> fileObjects = compileExpressionClasses(
+        sourceFileObjects, String.join(", ", statements)
+    );
+    var classLoader = new ExpressionClassLoader(fileObjects, CompileFunctions.class.getClassLoader());
+    List<CompiledExpression> compiledExpressions = new ArrayList<>(statements.size());
+    for (String className : classNames) {
+      compiledExpressions.add(getCompiledExpression(className, classLoader));
+    }
+    return compiledExpressions;
+  }
+
   private static String makeCompiledExpressionSource(String className, String statement) {
     return
         "public class " + className + " implements " + CompiledExpression.class.getName() + " {\n" +
@@ -53,16 +103,25 @@ public final class CompileFunctions {
       String className, String classSource, String statement
   ) throws ParseTemplateException {
     LOG.trace("Compile expression: {}", statement);
-    var sourceFileObject = new SourceFileObject(className, classSource);
+    return compileExpressionClasses(List.of(new SourceFileObject(className, classSource)), statement);
+  }
+
+  private static List<CompiledFileObject> compileExpressionClasses(
+      List<SourceFileObject> sourceFileObjects, String statements
+  ) throws ParseTemplateException {
+    if (COMPILER == null) {
+      throw ParseTemplateException.withMessage("Failed to compile expression: {0}. Java compiler is not available",
+          statements);
+    }
     var fileManager = new ExpressionJavaFileManager(COMPILER.getStandardFileManager(null, null, null));
     List<String> compileOptions = makeCompileOptions();
     var diagnosticListener = new CompileDiagnosticListener();
     JavaCompiler.CompilationTask compilerTask = COMPILER.getTask(
-        null, fileManager, diagnosticListener, compileOptions, null, List.of(sourceFileObject)
+        null, fileManager, diagnosticListener, compileOptions, null, sourceFileObjects
     );
     if (!compilerTask.call()) {
       throw ParseTemplateException.withMessage("Failed to compile expression: {0}. Reason(s):\n{1}",
-          statement, diagnosticListener.getMessage());
+          statements, diagnosticListener.getMessage());
     }
     return fileManager.getGeneratedOutputFiles();
   }
@@ -71,6 +130,12 @@ public final class CompileFunctions {
       String className, List<CompiledFileObject> fileObjects
   ) throws ParseTemplateException {
     var classLoader = new ExpressionClassLoader(fileObjects, CompileFunctions.class.getClassLoader());
+    return getCompiledExpression(className, classLoader);
+  }
+
+  private static CompiledExpression getCompiledExpression(
+      String className, ClassLoader classLoader
+  ) throws ParseTemplateException {
     try {
       Class<?> aClass = classLoader.loadClass(className);
       return (CompiledExpression) aClass.getConstructor().newInstance();
@@ -153,4 +218,6 @@ public final class CompileFunctions {
       return sb.toString();
     }
   }
+
+  private static final String NATIVE_IMAGE_CODE_PROPERTY = "org.graalvm.nativeimage.imagecode";
 }
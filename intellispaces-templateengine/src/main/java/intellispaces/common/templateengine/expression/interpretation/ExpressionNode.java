@@ -0,0 +1,19 @@
+package intellispaces.common.templateengine.expression.interpretation;
+
+import intellispaces.common.templateengine.exception.ResolveTemplateException;
+import intellispaces.common.templateengine.expression.value.Value;
+
+/**
+ * Node of the interpreted expression tree.
+ */
+interface ExpressionNode {
+
+  /**
+   * Resolves node to value.
+   *
+   * @param operands expression operand values.
+   * @return resolved value.
+   * @throws ResolveTemplateException throws when node can't be resolved.
+   */
+  Value resolve(Value[] operands) throws ResolveTemplateException;
+}
@@ -0,0 +1,157 @@
+package intellispaces.common.templateengine.expression.interpretation;
+
+import intellispaces.common.base.text.TextFunctions;
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.expression.CompiledExpression;
+import intellispaces.common.templateengine.source.SourceFunctions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Expression interpretation functions.
+ *
+ * <p>Prepared statement is parsed to the tree of operands and value method invocations.
+ * Interpretation does not generate classes and does not use reflection,
+ * so it works where Java compiler is not available, for example, in GraalVM native image.
+ */
+public final class InterpretFunctions {
+
+  private InterpretFunctions() {}
+
+  /**
+   * Makes interpreted expression.
+   *
+   * @param preparedStatement prepared expression statement.
+   * @return interpreted expression.
+   * @throws ParseTemplateException throws when statement can't be interpreted.
+   */
+  public static CompiledExpression interpretExpression(String preparedStatement) throws ParseTemplateException {
+    var parser = new StatementParser(preparedStatement);
+    ExpressionNode root = parser.readExpression();
+    parser.skipGaps();
+    if (!parser.isEnd()) {
+      throw parser.unexpectedChar();
+    }
+    return new InterpretedExpression(preparedStatement, root);
+  }
+
+  private static final class StatementParser {
+    private final String statement;
+    private int offset;
+
+    StatementParser(String statement) {
+      this.statement = statement;
+    }
+
+    ExpressionNode readExpression() throws ParseTemplateException {
+      skipGaps();
+      ExpressionNode node = readPrimary();
+      skipGaps();
+      while (!isEnd() && statement.charAt(offset) == '.') {
+        offset++;
+        skipGaps();
+        String methodName = readWord();
+        skipGaps();
+        expect('(');
+        List<ExpressionNode> arguments = readArguments();
+        ValueMethod method = ValueMethod.find(methodName, arguments.size());
+        if (method == null) {
+          throw ParseTemplateException.withMessage("Failed to interpret expression {0}. " +
+              "Unknown method {1} with {2} argument(s)", statement, methodName, arguments.size());
+        }
+        node = new InvocationNode(node, method, arguments.toArray(new ExpressionNode[0]));
+        skipGaps();
+      }
+      return node;
+    }
+
+    private ExpressionNode readPrimary() throws ParseTemplateException {
+      if (statement.startsWith(OPERANDS_ARRAY, offset)) {
+        offset += OPERANDS_ARRAY.length();
+        skipGaps();
+        expect('[');
+        skipGaps();
+        int operandIndex = readIndex();
+        skipGaps();
+        expect(']');
+        return new OperandNode(operandIndex);
+      }
+      if (!isEnd() && statement.charAt(offset) == '(') {
+        offset++;
+        ExpressionNode node = readExpression();
+        expect(')');
+        return node;
+      }
+      throw unexpectedChar();
+    }
+
+    private List<ExpressionNode> readArguments() throws ParseTemplateException {
+      List<ExpressionNode> arguments = new ArrayList<>(2);
+      skipGaps();
+      if (!isEnd() && statement.charAt(offset) == ')') {
+        offset++;
+        return arguments;
+      }
+      while (true) {
+        arguments.add(readExpression());
+        if (!isEnd() && statement.charAt(offset) == ',') {
+          offset++;
+        } else {
+          expect(')');
+          return arguments;
+        }
+      }
+    }
+
+    private String readWord() throws ParseTemplateException {
+      int beginOffset = offset;
+      while (!isEnd() && SourceFunctions.isWordChar(statement.charAt(offset))) {
+        offset++;
+      }
+      if (beginOffset == offset) {
+        throw unexpectedChar();
+      }
+      return statement.substring(beginOffset, offset);
+    }
+
+    private int readIndex() throws ParseTemplateException {
+      int beginOffset = offset;
+      while (!isEnd() && Character.isDigit(statement.charAt(offset))) {
+        offset++;
+      }
+      if (beginOffset == offset) {
+        throw unexpectedChar();
+      }
+      return Integer.parseInt(statement, beginOffset, offset, 10);
+    }
+
+    private void expect(char expectedChar) throws ParseTemplateException {
+      if (isEnd() || statement.charAt(offset) != expectedChar) {
+        throw unexpectedChar();
+      }
+      offset++;
+    }
+
+    void skipGaps() {
+      while (!isEnd() && TextFunctions.isGapChar(statement.charAt(offset))) {
+        offset++;
+      }
+    }
+
+    boolean isEnd() {
+      return offset >= statement.length();
+    }
+
+    ParseTemplateException unexpectedChar() {
+      if (isEnd()) {
+        return ParseTemplateException.withMessage("Failed to interpret expression {0}. Unexpected end of expression",
+            statement);
+      }
+      return ParseTemplateException.withMessage("Failed to interpret expression {0}. Unexpected character ''{1}'' " +
+          "at position {2}", statement, statement.charAt(offset), offset);
+    }
+  }
+
+  private static final String OPERANDS_ARRAY = "operands";
+}
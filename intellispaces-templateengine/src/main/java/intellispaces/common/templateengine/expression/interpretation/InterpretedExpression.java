@@ -0,0 +1,28 @@
+package intellispaces.common.templateengine.expression.interpretation;
+
+import intellispaces.common.templateengine.exception.ResolveTemplateException;
+import intellispaces.common.templateengine.expression.CompiledExpression;
+import intellispaces.common.templateengine.expression.value.Value;
+
+/**
+ * Expression resolved by interpretation of the expression tree.
+ */
+final class InterpretedExpression implements CompiledExpression {
+  private final String preparedStatement;
+  private final ExpressionNode root;
+
+  InterpretedExpression(String preparedStatement, ExpressionNode root) {
+    this.preparedStatement = preparedStatement;
+    this.root = root;
+  }
+
+  @Override
+  public Value resolve(Value[] operands) throws ResolveTemplateException {
+    return root.resolve(operands);
+  }
+
+  @Override
+  public String toString() {
+    return preparedStatement;
+  }
+}
@@ -0,0 +1,29 @@
+package intellispaces.common.templateengine.expression.interpretation;
+
+import intellispaces.common.templateengine.exception.ResolveTemplateException;
+import intellispaces.common.templateengine.expression.value.Value;
+
+/**
+ * Invocation of the value method.
+ */
+final class InvocationNode implements ExpressionNode {
+  private final ExpressionNode target;
+  private final ValueMethod method;
+  private final ExpressionNode[] arguments;
+
+  InvocationNode(ExpressionNode target, ValueMethod method, ExpressionNode[] arguments) {
+    this.target = target;
+    this.method = method;
+    this.arguments = arguments;
+  }
+
+  @Override
+  public Value resolve(Value[] operands) throws ResolveTemplateException {
+    Value targetValue = target.resolve(operands);
+    var argumentValues = new Value[arguments.length];
+    for (int index = 0; index < arguments.length; index++) {
+      argumentValues[index] = arguments[index].resolve(operands);
+    }
+    return method.invoke(targetValue, argumentValues);
+  }
+}
@@ -0,0 +1,19 @@
+package intellispaces.common.templateengine.expression.interpretation;
+
+import intellispaces.common.templateengine.expression.value.Value;
+
+/**
+ * Reference to expression operand.
+ */
+final class OperandNode implements ExpressionNode {
+  private final int operandIndex;
+
+  OperandNode(int operandIndex) {
+    this.operandIndex = operandIndex;
+  }
+
+  @Override
+  public Value resolve(Value[] operands) {
+    return operands[operandIndex];
+  }
+}
@@ -0,0 +1,142 @@
+package intellispaces.common.templateengine.expression.interpretation;
+
+import intellispaces.common.base.exception.UnexpectedViolationException;
+import intellispaces.common.templateengine.exception.ResolveTemplateException;
+import intellispaces.common.templateengine.expression.value.Value;
+
+/**
+ * Value methods available in interpreted expressions.
+ *
+ * <p>Methods are invoked directly, without reflection.
+ */
+enum ValueMethod {
+  Origin("origin", 0),
+  Typename("typename", 0),
+  IsVoid("isVoid", 0),
+  AsBoolean("asBoolean", 0),
+  AsInteger("asInteger", 0),
+  AsReal("asReal", 0),
+  AsString("asString", 0),
+  AsList("asList", 0),
+  AsMap("asMap", 0),
+  Eq("eq", 1),
+  EqAnyOf("eqAnyOf", 2),
+  IsEmpty("isEmpty", 0),
+  IsNotEmpty("isNotEmpty", 0),
+  IsBlank("isBlank", 0),
+  IsNotBlank("isNotBlank", 0),
+  CapitalizeFirstLetter("capitalizeFirstLetter", 0),
+  Concat("concat", 1),
+  Invert("invert", 0),
+  Get("get", 1),
+  Find("find", 1),
+  Slice("slice", 2),
+  Filter("filter", 1),
+  FilterByValue("filter", 2),
+  Map("map", 1),
+  Limit("limit", 1),
+  Skip("skip", 1),
+  SortBy("sortBy", 1),
+  Distinct("distinct", 0),
+  Reverse("reverse", 0),
+  Index("index", 0),
+  IsFirst("isFirst", 0),
+  IsNotFirst("isNotFirst", 0),
+  IsLast("isLast", 0),
+  IsNotLast("isNotLast", 0),
+  Size("size", 0);
+
+  private final String methodName;
+  private final int numArguments;
+
+  ValueMethod(String methodName, int numArguments) {
+    this.methodName = methodName;
+    this.numArguments = numArguments;
+  }
+
+  static ValueMethod find(String methodName, int numArguments) {
+    for (ValueMethod method : values()) {
+      if (method.methodName.equals(methodName) && method.numArguments == numArguments) {
+        return method;
+      }
+    }
+    return null;
+  }
+
+  Value invoke(Value target, Value[] arguments) throws ResolveTemplateException {
+    switch (this) {
+      case Origin:
+        return target.origin();
+      case Typename:
+        return target.typename();
+      case IsVoid:
+        return target.isVoid();
+      case AsBoolean:
+        return target.asBoolean();
+      case AsInteger:
+        return target.asInteger();
+      case AsReal:
+        return target.asReal();
+      case AsString:
+        return target.asString();
+      case AsList:
+        return target.asList();
+      case AsMap:
+        return target.asMap();
+      case Eq:
+        return target.eq(arguments[0]);
+      case EqAnyOf:
+        return target.eqAnyOf(arguments[0], arguments[1]);
+      case IsEmpty:
+        return target.isEmpty();
+      case IsNotEmpty:
+        return target.isNotEmpty();
+      case IsBlank:
+        return target.isBlank();
+      case IsNotBlank:
+        return target.isNotBlank();
+      case CapitalizeFirstLetter:
+        return target.capitalizeFirstLetter();
+      case Concat:
+        return target.concat(arguments[0]);
+      case Invert:
+        return target.invert();
+      case Get:
+        return target.get(arguments[0]);
+      case Find:
+        return target.find(arguments[0]);
+      case Slice:
+        return target.slice(arguments[0], arguments[1]);
+      case Filter:
+        return target.filter(arguments[0]);
+      case FilterByValue:
+        return target.filter(arguments[0], arguments[1]);
+      case Map:
+        return target.map(arguments[0]);
+      case Limit:
+        return target.limit(arguments[0]);
+      case Skip:
+        return target.skip(arguments[0]);
+      case SortBy:
+        return target.sortBy(arguments[0]);
+      case Distinct:
+        return target.distinct();
+      case Reverse:
+        return target.reverse();
+      case Index:
+        return target.index();
+      case IsFirst:
+        return target.isFirst();
+      case IsNotFirst:
+        return target.isNotFirst();
+      case IsLast:
+        return target.isLast();
+      case IsNotLast:
+        return target.isNotLast();
+      case Size:
+        return target.size();
+      default:
+        throw UnexpectedViolationException.withMessage("Unsupported value method {0}", methodName);
+    }
+  }
+}
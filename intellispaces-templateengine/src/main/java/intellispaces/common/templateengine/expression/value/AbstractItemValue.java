@@ -0,0 +1,237 @@
+package intellispaces.common.templateengine.expression.value;
+
+import intellispaces.common.templateengine.exception.NotApplicableOperationException;
+import intellispaces.common.templateengine.exception.ResolveTemplateException;
+
+/**
+ * Base class of the item values.
+ *
+ * <p>Item value is element of the list, string or map extended with element index and element position flags.
+ * Value operations are delegated to the element.
+ */
+abstract class AbstractItemValue implements Value {
+
+  /**
+   * Element of the item.
+   */
+  abstract Value element();
+
+  /**
+   * Flag of the first element or <code>null</code> if flag is not defined.
+   */
+  abstract BooleanValue first();
+
+  /**
+   * Flag of the last element or <code>null</code> if flag is not defined.
+   */
+  abstract BooleanValue last();
+
+  @Override
+  public Value origin() {
+    return element().origin();
+  }
+
+  @Override
+  public BooleanValue eqAnyOf(Value value1, Value value2) throws ResolveTemplateException {
+    return element().eqAnyOf(value1, value2);
+  }
+
+  @Override
+  public BooleanValue isFirst() throws ResolveTemplateException {
+    BooleanValue first = first();
+    if (first == null) {
+      throw NotApplicableOperationException.withMessage("Operation ''isFirst'' is not applicable for this value");
+    }
+    return first;
+  }
+
+  @Override
+  public BooleanValue isNotFirst() throws ResolveTemplateException {
+    BooleanValue first = first();
+    if (first == null) {
+      throw NotApplicableOperationException.withMessage("Operation ''isNotFirst'' is not applicable for this value");
+    }
+    return first.invert();
+  }
+
+  @Override
+  public BooleanValue isLast() throws ResolveTemplateException {
+    BooleanValue last = last();
+    if (last == null) {
+      throw NotApplicableOperationException.withMessage("Operation ''isLast'' is not applicable for this value");
+    }
+    return last;
+  }
+
+  @Override
+  public BooleanValue isNotLast() throws ResolveTemplateException {
+    BooleanValue last = last();
+    if (last == null) {
+      throw NotApplicableOperationException.withMessage("Operation ''isNotLast'' is not applicable for this value");
+    }
+    return last.invert();
+  }
+
+  @Override
+  public ValueType type() {
+    return element().type();
+  }
+
+  @Override
+  public StringValue typename() {
+    return element().typename();
+  }
+
+  @Override
+  public BooleanValue asBoolean() throws ResolveTemplateException {
+    return element().asBoolean();
+  }
+
+  @Override
+  public IntegerValue asInteger() throws ResolveTemplateException {
+    return element().asInteger();
+  }
+
+  @Override
+  public RealValue asReal() throws ResolveTemplateException {
+    return element().asReal();
+  }
+
+  @Override
+  public StringValue asString() throws ResolveTemplateException {
+    return element().asString();
+  }
+
+  @Override
+  public ListValue asList() throws ResolveTemplateException {
+    return element().asList();
+  }
+
+  @Override
+  public MapValue asMap() throws ResolveTemplateException {
+    return element().asMap();
+  }
+
+  @Override
+  public BooleanValue eq(Value other) throws ResolveTemplateException {
+    return element().eq(other);
+  }
+
+  @Override
+  public BooleanValue isVoid() {
+    return element().isVoid();
+  }
+
+  @Override
+  public BooleanValue isEmpty() throws ResolveTemplateException {
+    return element().isEmpty();
+  }
+
+  @Override
+  public BooleanValue isNotEmpty() throws ResolveTemplateException {
+    return element().isNotEmpty();
+  }
+
+  @Override
+  public BooleanValue isBlank() throws ResolveTemplateException {
+    return element().isBlank();
+  }
+
+  @Override
+  public BooleanValue isNotBlank() throws ResolveTemplateException {
+    return element().isNotBlank();
+  }
+
+  @Override
+  public StringValue capitalizeFirstLetter() throws ResolveTemplateException {
+    return element().capitalizeFirstLetter();
+  }
+
+  @Override
+  public StringValue concat(Value value) throws ResolveTemplateException {
+    return element().concat(value);
+  }
+
+  @Override
+  public Value invert() throws ResolveTemplateException {
+    return element().invert();
+  }
+
+  @Override
+  public Value get(Value key) throws ResolveTemplateException {
+    return element().get(key);
+  }
+
+  @Override
+  public Value find(Value element) throws ResolveTemplateException {
+    return element().find(element);
+  }
+
+  @Override
+  public Value slice(Value beginIndex, Value endIndex) throws ResolveTemplateException {
+    return element().slice(beginIndex, endIndex);
+  }
+
+  @Override
+  public Value filter(Value key) throws ResolveTemplateException {
+    return element().filter(key);
+  }
+
+  @Override
+  public Value filter(Value key, Value value) throws ResolveTemplateException {
+    return element().filter(key, value);
+  }
+
+  @Override
+  public Value map(Value key) throws ResolveTemplateException {
+    return element().map(key);
+  }
+
+  @Override
+  public Value limit(Value limit) throws ResolveTemplateException {
+    return element().limit(limit);
+  }
+
+  @Override
+  public Value skip(Value number) throws ResolveTemplateException {
+    return element().skip(number);
+  }
+
+  @Override
+  public Value sortBy(Value key) throws ResolveTemplateException {
+    return element().sortBy(key);
+  }
+
+  @Override
+  public Value distinct() throws ResolveTemplateException {
+    return element().distinct();
+  }
+
+  @Override
+  public Value reverse() throws ResolveTemplateException {
+    return element().reverse();
+  }
+
+  @Override
+  public IntegerValue size() throws ResolveTemplateException {
+    return element().size();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!Value.class.isInstance(o)) {
+      return false;
+    }
+    Value that = (Value) o;
+    return element().origin().equals(that.origin());
+  }
+
+  @Override
+  public int hashCode() {
+    // Consistent with equality by origin values
+    return element().origin().hashCode();
+  }
+}
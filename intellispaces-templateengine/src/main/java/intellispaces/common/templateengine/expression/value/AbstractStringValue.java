@@ -0,0 +1,231 @@
+package intellispaces.common.templateengine.expression.value;
+
+import intellispaces.common.base.text.TextFunctions;
+import intellispaces.common.templateengine.exception.IrregularValueTypeException;
+import intellispaces.common.templateengine.exception.ResolveTemplateException;
+
+/**
+ * Base class of the string values.
+ *
+ * <p>Operations are performed on characters of the value, so string values backed by slices of the other strings
+ * are not materialized to {@link String} until {@link #get()} is called.
+ */
+abstract class AbstractStringValue extends AbstractValue implements StringValue {
+  private int hashCode;
+
+  /**
+   * Number of the characters.
+   */
+  abstract int length();
+
+  abstract char charAt(int index);
+
+  /**
+   * Backing string, or <code>null</code> if value is not backed by single string.
+   */
+  abstract String source();
+
+  /**
+   * Offset of the value in the backing string.
+   */
+  abstract int offset();
+
+  /**
+   * Returns value of the characters range without copying of the characters.
+   */
+  abstract AbstractStringValue subValue(int beginIndex, int endIndex);
+
+  /**
+   * Appends characters of the value to string builder.
+   */
+  abstract void appendTo(StringBuilder sb);
+
+  /**
+   * Returns index of the first occurrence of the string or -1 if there is no such occurrence.
+   */
+  int indexOf(String string) {
+    return get().indexOf(string);
+  }
+
+  @Override
+  public ValueType type() {
+    return ValueTypes.String;
+  }
+
+  @Override
+  public Value origin() {
+    return this;
+  }
+
+  @Override
+  public StringValue asString() {
+    return this;
+  }
+
+  @Override
+  public BooleanValue isEmpty() {
+    return BooleanValues.of(length() == 0);
+  }
+
+  @Override
+  public BooleanValue isNotEmpty() throws ResolveTemplateException {
+    return BooleanValues.of(length() != 0);
+  }
+
+  @Override
+  public BooleanValue isBlank() {
+    return BooleanValues.of(isBlankChars());
+  }
+
+  @Override
+  public BooleanValue isNotBlank() throws ResolveTemplateException {
+    return BooleanValues.of(!isBlankChars());
+  }
+
+  private boolean isBlankChars() {
+    for (int index = 0; index < length(); index++) {
+      if (!Character.isWhitespace(charAt(index))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Value find(Value element) throws ResolveTemplateException {
+    final String subString;
+    if (element.type() == ValueTypes.String) {
+      subString = ((StringValue) element).get();
+    } else if (element.type() == ValueTypes.Integer) {
+      subString = (Integer.toString(((IntegerValue) element).get()));
+    } else if (element.type() == ValueTypes.Real) {
+      subString = NumberFormatFunctions.appendReal(((RealValue) element).get(), new StringBuilder(24)).toString();
+    } else if (element.type() == ValueTypes.Boolean) {
+      subString = (Boolean.toString(((BooleanValue) element).get()));
+    } else {
+      throw IrregularValueTypeException.withMessage("Invalid argument value type: {0}. " +
+          "Expected string, integer, real or boolean", typename().get());
+    }
+
+    int index = indexOf(subString);
+    if (index < 0) {
+      return VoidValues.get();
+    }
+    return ItemValues.build()
+        .value(subValue(index, index + subString.length()))
+        .index(index)
+        .get();
+  }
+
+  @Override
+  public Value get(Value key) throws ResolveTemplateException {
+    if (key.type() != ValueTypes.Integer) {
+      throw IrregularValueTypeException.withMessage("Invalid index type: {0}. " +
+          "Expected integer value", key.typename().get());
+    }
+    int index = ((IntegerValue) key).get();
+    if (index < 0 || index >= length()) {
+      return ItemValues.build()
+          .value(VoidValues.get())
+          .index((IntegerValue) key)
+          .get();
+    }
+    return ItemValues.build()
+        .value(StringValues.of(charAt(index)))
+        .index((IntegerValue) key)
+        .first(index == 0)
+        .last(index == length() - 1)
+        .get();
+  }
+
+  @Override
+  public Value slice(Value beginIndex, Value endIndex) throws ResolveTemplateException {
+    int begin = Math.max(0, Math.min(sliceIndex(beginIndex), length()));
+    int end = Math.max(begin, Math.min(sliceIndex(endIndex), length()));
+    if (begin == 0 && end == length()) {
+      return this;
+    }
+    return subValue(begin, end);
+  }
+
+  @Override
+  public StringValue capitalizeFirstLetter() {
+    return StringValues.of(TextFunctions.capitalizeFirstLetter(get()));
+  }
+
+  @Override
+  public StringValue concat(Value value) throws ResolveTemplateException {
+    StringValue string = value.asString();
+    if (!(string instanceof AbstractStringValue)) {
+      string = StringValues.of(string.get());
+    }
+    return StringRopeValue.concat(this, (AbstractStringValue) string);
+  }
+
+  @Override
+  boolean equalsValue(Value other) {
+    return other.type() == ValueTypes.String && contentEquals((StringValue) other);
+  }
+
+  boolean contentEquals(StringValue other) {
+    if (!(other instanceof AbstractStringValue)) {
+      return get().equals(other.get());
+    }
+    var that = (AbstractStringValue) other;
+    int length = length();
+    if (length != that.length()) {
+      return false;
+    }
+    if (hashCode != 0 && that.hashCode != 0 && hashCode != that.hashCode) {
+      return false;
+    }
+    String source = source();
+    String thatSource = that.source();
+    if (source != null && thatSource != null) {
+      return source.regionMatches(offset(), thatSource, that.offset(), length);
+    }
+    for (int index = 0; index < length; index++) {
+      if (charAt(index) != that.charAt(index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o instanceof Value) {
+      // Wrapped values are equal to their origins
+      o = ((Value) o).origin();
+    }
+    if (!StringValue.class.isInstance(o)) {
+      return false;
+    }
+    return contentEquals((StringValue) o);
+  }
+
+  @Override
+  public int hashCode() {
+    // Value is immutable, so hash code is computed once
+    int hashCode = this.hashCode;
+    if (hashCode == 0) {
+      hashCode = hashOf(charsHashCode());
+      this.hashCode = hashCode;
+    }
+    return hashCode;
+  }
+
+  /**
+   * Hash code of the characters equal to hash code of the {@link String}.
+   */
+  int charsHashCode() {
+    int hashCode = 0;
+    for (int index = 0; index < length(); index++) {
+      hashCode = 31 * hashCode + charAt(index);
+    }
+    return hashCode;
+  }
+}
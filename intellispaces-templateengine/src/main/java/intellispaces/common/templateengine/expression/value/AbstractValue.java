@@ -1,5 +1,6 @@
 package intellispaces.common.templateengine.expression.value;
 
+import intellispaces.common.templateengine.exception.IrregularValueTypeException;
 import intellispaces.common.templateengine.exception.NotApplicableOperationException;
 import intellispaces.common.templateengine.exception.ResolveTemplateException;
 
@@ -7,7 +8,11 @@ abstract class AbstractValue implements Value {
 
   @Override
   public StringValue typename() {
-    return StringValues.of(type().typename());
+    ValueType type = type();
+    if (type instanceof ValueTypes) {
+      return TYPENAMES[((ValueTypes) type).ordinal()];
+    }
+    return StringValues.of(type.typename());
   }
 
   @Override
@@ -40,9 +45,34 @@ abstract class AbstractValue implements Value {
     return MapValues.of(ValueFunctions.castToMap(this));
   }
 
+  @Override
+  public BooleanValue eq(Value other) throws ResolveTemplateException {
+    return BooleanValues.of(equalsValue(other.origin()));
+  }
+
   @Override
   public BooleanValue eqAnyOf(Value value1, Value value2) throws ResolveTemplateException {
-    return BooleanValues.of(eq(value1).get() || eq(value2).get());
+    return BooleanValues.of(equalsValue(value1.origin()) || equalsValue(value2.origin()));
+  }
+
+  /**
+   * Checks that this value is equal to other value in terms of the operation <code>eq</code>.
+   *
+   * @param other other origin value.
+   * @return <code>true</code> if values are equal and <code>false</code> otherwise.
+   */
+  abstract boolean equalsValue(Value other);
+
+  /**
+   * Returns hash code of the value with one component.
+   *
+   * <p>The result is equal to <code>Objects.hash(component)</code>, but varargs array is not allocated.
+   *
+   * @param componentHashCode hash code of the component.
+   * @return hash code of the value.
+   */
+  static int hashOf(int componentHashCode) {
+    return 31 + componentHashCode;
   }
 
   @Override
@@ -80,6 +110,12 @@ abstract class AbstractValue implements Value {
         "value type {0}. Expected string", typename().get());
   }
 
+  @Override
+  public StringValue concat(Value value) throws ResolveTemplateException {
+    throw NotApplicableOperationException.withMessage("Operation ''concat'' is not applicable for " +
+        "value type {0}. Expected string", typename().get());
+  }
+
   @Override
   public Value invert() throws ResolveTemplateException {
     throw NotApplicableOperationException.withMessage("Operation ''invert'' is not applicable for " +
@@ -98,6 +134,68 @@ abstract class AbstractValue implements Value {
         "value type {0}. Expected string or list", typename().get());
   }
 
+  @Override
+  public Value slice(Value beginIndex, Value endIndex) throws ResolveTemplateException {
+    throw NotApplicableOperationException.withMessage("Operation ''slice'' is not applicable for " +
+        "value type {0}. Expected string or list", typename().get());
+  }
+
+  @Override
+  public Value filter(Value key) throws ResolveTemplateException {
+    throw NotApplicableOperationException.withMessage("Operation ''filter'' is not applicable for " +
+        "value type {0}. Expected list or map", typename().get());
+  }
+
+  @Override
+  public Value filter(Value key, Value value) throws ResolveTemplateException {
+    throw NotApplicableOperationException.withMessage("Operation ''filter'' is not applicable for " +
+        "value type {0}. Expected list or map", typename().get());
+  }
+
+  @Override
+  public Value map(Value key) throws ResolveTemplateException {
+    throw NotApplicableOperationException.withMessage("Operation ''map'' is not applicable for " +
+        "value type {0}. Expected list or map", typename().get());
+  }
+
+  @Override
+  public Value limit(Value limit) throws ResolveTemplateException {
+    throw NotApplicableOperationException.withMessage("Operation ''limit'' is not applicable for " +
+        "value type {0}. Expected list or map", typename().get());
+  }
+
+  @Override
+  public Value skip(Value number) throws ResolveTemplateException {
+    throw NotApplicableOperationException.withMessage("Operation ''skip'' is not applicable for " +
+        "value type {0}. Expected list or map", typename().get());
+  }
+
+  @Override
+  public Value sortBy(Value key) throws ResolveTemplateException {
+    throw NotApplicableOperationException.withMessage("Operation ''sortBy'' is not applicable for " +
+        "value type {0}. Expected list or map", typename().get());
+  }
+
+  @Override
+  public Value distinct() throws ResolveTemplateException {
+    throw NotApplicableOperationException.withMessage("Operation ''distinct'' is not applicable for " +
+        "value type {0}. Expected list or map", typename().get());
+  }
+
+  @Override
+  public Value reverse() throws ResolveTemplateException {
+    throw NotApplicableOperationException.withMessage("Operation ''reverse'' is not applicable for " +
+        "value type {0}. Expected list or map", typename().get());
+  }
+
+  static int sliceIndex(Value index) throws ResolveTemplateException {
+    if (index.type() != ValueTypes.Integer) {
+      throw IrregularValueTypeException.withMessage("Invalid slice index type: {0}. " +
+          "Expected integer value", index.typename().get());
+    }
+    return ((IntegerValue) index.origin()).get();
+  }
+
   @Override
   public IntegerValue index() throws ResolveTemplateException {
     throw NotApplicableOperationException.withMessage("Operation ''index'' is not applicable for this value");
@@ -127,4 +225,12 @@ abstract class AbstractValue implements Value {
   public IntegerValue size() throws ResolveTemplateException {
     throw NotApplicableOperationException.withMessage("Operation ''size'' is not applicable for this value");
   }
+
+  private static final StringValue[] TYPENAMES = new StringValue[ValueTypes.values().length];
+
+  static {
+    for (ValueTypes type : ValueTypes.values()) {
+      TYPENAMES[type.ordinal()] = StringValues.of(type.typename());
+    }
+  }
 }
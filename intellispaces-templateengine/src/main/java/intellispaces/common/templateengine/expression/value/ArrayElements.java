@@ -0,0 +1,417 @@
+package intellispaces.common.templateengine.expression.value;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Elements of the list value backed by array.
+ *
+ * <p>Elements are stored as primitives or strings and are wrapped into values only on access.
+ * Searching and comparison of the elements of the same kind are performed directly on arrays.
+ * Hash codes and equality are consistent with the list of wrapped values.
+ */
+abstract class ArrayElements extends AbstractList<Value> implements RandomAccess {
+  final int offset;
+  final int length;
+
+  ArrayElements(int offset, int length) {
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * Creates elements backed by copy of the integer array.
+   *
+   * <p>List values are immutable, so elements do not share array with the caller.
+   */
+  static ArrayElements of(int[] array) {
+    return new IntElements(array.clone(), 0, array.length);
+  }
+
+  static ArrayElements of(double[] array) {
+    return new RealElements(array.clone(), 0, array.length);
+  }
+
+  static ArrayElements of(boolean[] array) {
+    return new BooleanElements(array.clone(), 0, array.length);
+  }
+
+  /**
+   * Creates elements backed by copy of the string array.
+   *
+   * @param array string array.
+   * @return elements or <code>null</code> if array contains <code>null</code> element.
+   */
+  static ArrayElements of(String[] array) {
+    for (String string : array) {
+      if (string == null) {
+        return null;
+      }
+    }
+    return new StringElements(array.clone(), 0, array.length);
+  }
+
+  /**
+   * Creates elements of the homogeneous list of Java objects.
+   *
+   * @param list list of Java objects.
+   * @return elements or <code>null</code> if list is empty or not homogeneous.
+   */
+  static ArrayElements of(List<?> list) {
+    int size = list.size();
+    if (size == 0) {
+      return null;
+    }
+    Object first = list.get(0);
+    if (first instanceof Integer) {
+      int[] array = new int[size];
+      for (int index = 0; index < size; index++) {
+        Object element = list.get(index);
+        if (!(element instanceof Integer)) {
+          return null;
+        }
+        array[index] = (Integer) element;
+      }
+      return new IntElements(array, 0, size);
+    } else if (first instanceof Double) {
+      double[] array = new double[size];
+      for (int index = 0; index < size; index++) {
+        Object element = list.get(index);
+        if (!(element instanceof Double)) {
+          return null;
+        }
+        array[index] = (Double) element;
+      }
+      return new RealElements(array, 0, size);
+    } else if (first instanceof Boolean) {
+      boolean[] array = new boolean[size];
+      for (int index = 0; index < size; index++) {
+        Object element = list.get(index);
+        if (!(element instanceof Boolean)) {
+          return null;
+        }
+        array[index] = (Boolean) element;
+      }
+      return new BooleanElements(array, 0, size);
+    } else if (first instanceof String) {
+      String[] array = new String[size];
+      for (int index = 0; index < size; index++) {
+        Object element = list.get(index);
+        if (!(element instanceof String)) {
+          return null;
+        }
+        array[index] = (String) element;
+      }
+      return new StringElements(array, 0, size);
+    }
+    return null;
+  }
+
+  /**
+   * Wraps element to value.
+   */
+  abstract Value wrap(int index);
+
+  /**
+   * Returns index of the element equal to the given value, or -1 if there is no such element.
+   */
+  abstract int indexOfValue(Value value);
+
+  /**
+   * Checks that element of this elements is equal to element of other elements of the same kind.
+   */
+  abstract boolean elementEquals(int index, ArrayElements other, int otherIndex);
+
+  /**
+   * Hash code of the element, equal to hash code of the wrapped element, computed without boxing.
+   */
+  abstract int elementHashCode(int index);
+
+  abstract ArrayElements range(int fromIndex, int toIndex);
+
+  /**
+   * Appends string representation of the nested element to string builder without wrapping it to value.
+   */
+  abstract void appendElement(int index, StringBuilder sb);
+
+  @Override
+  public Value get(int index) {
+    Objects.checkIndex(index, length);
+    return wrap(index);
+  }
+
+  @Override
+  public int size() {
+    return length;
+  }
+
+  @Override
+  public int indexOf(Object o) {
+    if (!(o instanceof Value)) {
+      return -1;
+    }
+    return indexOfValue(((Value) o).origin());
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return indexOf(o) >= 0;
+  }
+
+  @Override
+  public List<Value> subList(int fromIndex, int toIndex) {
+    Objects.checkFromToIndex(fromIndex, toIndex, length);
+    return range(fromIndex, toIndex);
+  }
+
+  /**
+   * Returns index of the first occurrence of the elements of the same kind.
+   *
+   * @param target searched elements.
+   * @return index of the first occurrence or -1 if there is no such occurrence.
+   */
+  int indexOfSubElements(ArrayElements target) {
+    int maxIndex = length - target.length;
+    for (int index = 0; index <= maxIndex; index++) {
+      int targetIndex = 0;
+      while (targetIndex < target.length && elementEquals(index + targetIndex, target, targetIndex)) {
+        targetIndex++;
+      }
+      if (targetIndex == target.length) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  boolean isSameKind(Object o) {
+    return o != null && o.getClass() == getClass();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!isSameKind(o)) {
+      return super.equals(o);
+    }
+    ArrayElements other = (ArrayElements) o;
+    if (length != other.length) {
+      return false;
+    }
+    for (int index = 0; index < length; index++) {
+      if (!elementEquals(index, other, index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hashCode = 1;
+    for (int index = 0; index < length; index++) {
+      hashCode = 31 * hashCode + elementHashCode(index);
+    }
+    return hashCode;
+  }
+
+  static final class IntElements extends ArrayElements {
+    private final int[] array;
+
+    IntElements(int[] array, int offset, int length) {
+      super(offset, length);
+      this.array = array;
+    }
+
+    @Override
+    Value wrap(int index) {
+      return IntegerValues.of(array[offset + index]);
+    }
+
+    @Override
+    int indexOfValue(Value value) {
+      if (value.type() != ValueTypes.Integer) {
+        return -1;
+      }
+      int element = ((IntegerValue) value).get();
+      for (int index = 0; index < length; index++) {
+        if (array[offset + index] == element) {
+          return index;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    boolean elementEquals(int index, ArrayElements other, int otherIndex) {
+      IntElements that = (IntElements) other;
+      return array[offset + index] == that.array[that.offset + otherIndex];
+    }
+
+    @Override
+    int elementHashCode(int index) {
+      return AbstractValue.hashOf(Integer.hashCode(array[offset + index]));
+    }
+
+    @Override
+    ArrayElements range(int fromIndex, int toIndex) {
+      return new IntElements(array, offset + fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    void appendElement(int index, StringBuilder sb) {
+      NumberFormatFunctions.appendInteger(array[offset + index], sb);
+    }
+  }
+
+  static final class RealElements extends ArrayElements {
+    private final double[] array;
+
+    RealElements(double[] array, int offset, int length) {
+      super(offset, length);
+      this.array = array;
+    }
+
+    @Override
+    Value wrap(int index) {
+      return RealValues.of(array[offset + index]);
+    }
+
+    @Override
+    int indexOfValue(Value value) {
+      if (value.type() != ValueTypes.Real) {
+        return -1;
+      }
+      double element = ((RealValue) value).get();
+      for (int index = 0; index < length; index++) {
+        if (array[offset + index] == element) {
+          return index;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    boolean elementEquals(int index, ArrayElements other, int otherIndex) {
+      RealElements that = (RealElements) other;
+      return array[offset + index] == that.array[that.offset + otherIndex];
+    }
+
+    @Override
+    int elementHashCode(int index) {
+      return AbstractValue.hashOf(Double.hashCode(array[offset + index]));
+    }
+
+    @Override
+    ArrayElements range(int fromIndex, int toIndex) {
+      return new RealElements(array, offset + fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    void appendElement(int index, StringBuilder sb) {
+      NumberFormatFunctions.appendReal(array[offset + index], sb);
+    }
+  }
+
+  static final class BooleanElements extends ArrayElements {
+    private final boolean[] array;
+
+    BooleanElements(boolean[] array, int offset, int length) {
+      super(offset, length);
+      this.array = array;
+    }
+
+    @Override
+    Value wrap(int index) {
+      return BooleanValues.of(array[offset + index]);
+    }
+
+    @Override
+    int indexOfValue(Value value) {
+      if (value.type() != ValueTypes.Boolean) {
+        return -1;
+      }
+      boolean element = ((BooleanValue) value).get();
+      for (int index = 0; index < length; index++) {
+        if (array[offset + index] == element) {
+          return index;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    boolean elementEquals(int index, ArrayElements other, int otherIndex) {
+      BooleanElements that = (BooleanElements) other;
+      return array[offset + index] == that.array[that.offset + otherIndex];
+    }
+
+    @Override
+    int elementHashCode(int index) {
+      return AbstractValue.hashOf(Boolean.hashCode(array[offset + index]));
+    }
+
+    @Override
+    ArrayElements range(int fromIndex, int toIndex) {
+      return new BooleanElements(array, offset + fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    void appendElement(int index, StringBuilder sb) {
+      sb.append(array[offset + index]);
+    }
+  }
+
+  static final class StringElements extends ArrayElements {
+    private final String[] array;
+
+    StringElements(String[] array, int offset, int length) {
+      super(offset, length);
+      this.array = array;
+    }
+
+    @Override
+    Value wrap(int index) {
+      return StringValues.of(array[offset + index]);
+    }
+
+    @Override
+    int indexOfValue(Value value) {
+      if (value.type() != ValueTypes.String) {
+        return -1;
+      }
+      String element = ((StringValue) value).get();
+      for (int index = 0; index < length; index++) {
+        if (array[offset + index].equals(element)) {
+          return index;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    boolean elementEquals(int index, ArrayElements other, int otherIndex) {
+      StringElements that = (StringElements) other;
+      return array[offset + index].equals(that.array[that.offset + otherIndex]);
+    }
+
+    @Override
+    int elementHashCode(int index) {
+      return AbstractValue.hashOf(array[offset + index].hashCode());
+    }
+
+    @Override
+    ArrayElements range(int fromIndex, int toIndex) {
+      return new StringElements(array, offset + fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    void appendElement(int index, StringBuilder sb) {
+      sb.append('"').append(array[offset + index]).append('"');
+    }
+  }
+}
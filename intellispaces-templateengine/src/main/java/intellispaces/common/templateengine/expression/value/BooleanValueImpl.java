@@ -1,7 +1,5 @@
 package intellispaces.common.templateengine.expression.value;
 
-import java.util.Objects;
-
 class BooleanValueImpl extends AbstractValue implements BooleanValue {
  private final boolean value;
 
@@ -30,11 +28,8 @@ class BooleanValueImpl extends AbstractValue implements BooleanValue {
   }
 
   @Override
-  public BooleanValue eq(Value other) {
-    if (other.type() == ValueTypes.Boolean) {
-      return BooleanValues.of(get() == ((BooleanValue) other).get());
-    }
-    return BooleanValues.of(false);
+  boolean equalsValue(Value other) {
+    return other.type() == ValueTypes.Boolean && get() == ((BooleanValue) other).get();
   }
 
   public BooleanValue invert() {
@@ -46,6 +41,10 @@ class BooleanValueImpl extends AbstractValue implements BooleanValue {
     if (this == o) {
       return true;
     }
+    if (o instanceof Value) {
+      // Wrapped values are equal to their origins
+      o = ((Value) o).origin();
+    }
     if (!BooleanValue.class.isInstance(o)) {
      return false;
     }
@@ -55,6 +54,9 @@ class BooleanValueImpl extends AbstractValue implements BooleanValue {
 
   @Override
   public int hashCode() {
-    return Objects.hash(value);
+    return hashOf(Boolean.hashCode(value));
   }
+
+  static final BooleanValue TRUE = new BooleanValueImpl(true);
+  static final BooleanValue FALSE = new BooleanValueImpl(false);
 }
@@ -2,7 +2,12 @@ package intellispaces.common.templateengine.expression.value;
 
 public interface BooleanValues {
 
+  /**
+   * Returns canonical boolean value.
+   *
+   * <p>Boolean values are immutable, so only two instances exist.
+   */
   static BooleanValue of(boolean value) {
-    return new BooleanValueImpl(value);
+    return value ? BooleanValueImpl.TRUE : BooleanValueImpl.FALSE;
   }
 }
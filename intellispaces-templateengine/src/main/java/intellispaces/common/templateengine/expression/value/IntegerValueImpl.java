@@ -2,8 +2,6 @@ package intellispaces.common.templateengine.expression.value;
 
 import intellispaces.common.templateengine.exception.ResolveTemplateException;
 
-import java.util.Objects;
-
 class IntegerValueImpl extends AbstractValue implements IntegerValue {
   private final int value;
 
@@ -32,13 +30,13 @@ class IntegerValueImpl extends AbstractValue implements IntegerValue {
   }
 
   @Override
-  public BooleanValue eq(Value other) {
+  boolean equalsValue(Value other) {
     if (other.type() == ValueTypes.Integer) {
-      return BooleanValues.of(get() == ((IntegerValue) other).get());
+      return get() == ((IntegerValue) other).get();
     } else if (other.type() == ValueTypes.Real) {
-      return BooleanValues.of(get() == ((RealValue) other).get());
+      return get() == ((RealValue) other).get();
     }
-    return BooleanValues.of(false);
+    return false;
   }
 
   @Override
@@ -51,6 +49,10 @@ class IntegerValueImpl extends AbstractValue implements IntegerValue {
     if (this == o) {
       return true;
     }
+    if (o instanceof Value) {
+      // Wrapped values are equal to their origins
+      o = ((Value) o).origin();
+    }
     if (!IntegerValue.class.isInstance(o)) {
       return false;
     }
@@ -60,6 +62,16 @@ class IntegerValueImpl extends AbstractValue implements IntegerValue {
 
   @Override
   public int hashCode() {
-    return Objects.hash(get());
+    return hashOf(Integer.hashCode(value));
+  }
+
+  static final int CACHE_LOW = -128;
+  static final int CACHE_HIGH = 1024;
+  static final IntegerValue[] CACHE = new IntegerValue[CACHE_HIGH - CACHE_LOW + 1];
+
+  static {
+    for (int index = 0; index < CACHE.length; index++) {
+      CACHE[index] = new IntegerValueImpl(CACHE_LOW + index);
+    }
   }
 }
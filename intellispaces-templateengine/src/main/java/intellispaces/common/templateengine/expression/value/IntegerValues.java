@@ -2,7 +2,15 @@ package intellispaces.common.templateengine.expression.value;
 
 public interface IntegerValues {
 
+  /**
+   * Returns integer value.
+   *
+   * <p>Small integer values, such as indexes and sizes, are taken from cache.
+   */
   static IntegerValue of(int value) {
+    if (value >= IntegerValueImpl.CACHE_LOW && value <= IntegerValueImpl.CACHE_HIGH) {
+      return IntegerValueImpl.CACHE[value - IntegerValueImpl.CACHE_LOW];
+    }
     return new IntegerValueImpl(value);
   }
 }
@@ -0,0 +1,73 @@
+package intellispaces.common.templateengine.expression.value;
+
+/**
+ * Reusable item value of the foreach loop.
+ *
+ * <p>The cursor is created once per loop and moved to the next element on each iteration,
+ * so iterations do not allocate item values. The cursor must not escape the iteration.
+ * When item is captured, for example, is assigned to variable, the {@link #snapshot() snapshot} should be taken.
+ */
+public final class ItemCursor extends AbstractItemValue {
+  private Value element;
+  private int index;
+  private boolean first;
+  private boolean last;
+
+  ItemCursor() {}
+
+  /**
+   * Moves cursor to the element.
+   *
+   * @param element the element.
+   * @param index index of the element.
+   * @param last flag of the last element.
+   */
+  public void move(Value element, int index, boolean last) {
+    this.element = element;
+    this.index = index;
+    this.first = (index == 0);
+    this.last = last;
+  }
+
+  /**
+   * Returns immutable item value equal to current state of the cursor.
+   */
+  public Value snapshot() {
+    return ItemValues.build()
+        .value(element)
+        .index(index)
+        .first(first)
+        .last(last)
+        .get();
+  }
+
+  /**
+   * Returns immutable snapshot if the value is the item cursor, otherwise returns value as is.
+   *
+   * @param value the value.
+   * @return value that can be captured.
+   */
+  public static Value capture(Value value) {
+    return value instanceof ItemCursor ? ((ItemCursor) value).snapshot() : value;
+  }
+
+  @Override
+  Value element() {
+    return element;
+  }
+
+  @Override
+  BooleanValue first() {
+    return BooleanValues.of(first);
+  }
+
+  @Override
+  BooleanValue last() {
+    return BooleanValues.of(last);
+  }
+
+  @Override
+  public IntegerValue index() {
+    return IntegerValues.of(index);
+  }
+}
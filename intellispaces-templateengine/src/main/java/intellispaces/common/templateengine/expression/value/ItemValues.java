@@ -5,4 +5,8 @@ public interface ItemValues {
   static ItemValueBuilder build() {
     return new ItemValueBuilder();
   }
+
+  static ItemCursor cursor() {
+    return new ItemCursor();
+  }
 }
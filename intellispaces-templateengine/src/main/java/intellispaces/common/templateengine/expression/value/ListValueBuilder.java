@@ -1,6 +1,5 @@
 package intellispaces.common.templateengine.expression.value;
 
-import intellispaces.common.base.collection.ArraysFunctions;
 import intellispaces.common.base.exception.UnexpectedViolationException;
 import intellispaces.common.base.function.Functions;
 
@@ -32,22 +31,23 @@ public final class ListValueBuilder {
   }
 
   public ListValueBuilder value(boolean... elements) {
-    this.list = toValueList(ArraysFunctions.wrap(elements));
+    this.list = ArrayElements.of(elements);
     return this;
   }
 
   public ListValueBuilder value(int... elements) {
-    this.list = toValueList(ArraysFunctions.wrap(elements));
+    this.list = ArrayElements.of(elements);
     return this;
   }
 
   public ListValueBuilder value(double... elements) {
-    this.list = toValueList(ArraysFunctions.wrap(elements));
+    this.list = ArrayElements.of(elements);
     return this;
   }
 
   public ListValueBuilder value(String... elements) {
-    this.list = toValueList(elements);
+    List<Value> stringElements = ArrayElements.of(elements);
+    this.list = (stringElements != null ? stringElements : toValueList(elements));
     return this;
   }
 
@@ -63,6 +63,10 @@ public final class ListValueBuilder {
 
   private static void validate(List<? extends Value> list) {
     Objects.requireNonNull(list);
+    if (list instanceof ArrayElements) {
+      // Array elements cannot contain void value
+      return;
+    }
     if (list.stream().anyMatch(v -> v.isVoid().get())) {
       throw UnexpectedViolationException.withMessage("List cannot be contain void value");
     }
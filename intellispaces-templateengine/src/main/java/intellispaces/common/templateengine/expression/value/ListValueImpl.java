@@ -9,6 +9,7 @@ import java.util.Objects;
 
 class ListValueImpl extends AbstractValue implements ListValue {
   private final List<Value> list;
+  private int hashCode;
 
   ListValueImpl(List<Value> list) {
     this.list = list;
@@ -24,11 +25,24 @@ class ListValueImpl extends AbstractValue implements ListValue {
     return list;
   }
 
+  /**
+   * Returns size of the list.
+   *
+   * <p>Elements of the pipeline operations are computed, and errors of the operations are thrown
+   * as covered exceptions.
+   */
   @Override
   public IntegerValue size() {
     return IntegerValues.of(list.size());
   }
 
+  /**
+   * Returns elements of the list, computing elements of the pipeline operations.
+   */
+  private List<Value> elements() throws ResolveTemplateException {
+    return PipelineElements.elementsOf(list);
+  }
+
   @Override
   public Value origin() {
     return this;
@@ -40,70 +54,164 @@ class ListValueImpl extends AbstractValue implements ListValue {
   }
 
   @Override
-  public BooleanValue eq(Value other) {
-    if (other.type() == ValueTypes.List) {
-      return BooleanValues.of(Objects.equals(get(), ((ListValue) other).get()));
+  public BooleanValue eq(Value other) throws ResolveTemplateException {
+    computeElements(other);
+    return super.eq(other);
+  }
+
+  @Override
+  public BooleanValue eqAnyOf(Value value1, Value value2) throws ResolveTemplateException {
+    computeElements(value1);
+    computeElements(value2);
+    return super.eqAnyOf(value1, value2);
+  }
+
+  /**
+   * Computes elements of this list and of the compared list, so errors of pipeline operations are not
+   * thrown by the comparison as covered exceptions.
+   */
+  private void computeElements(Value other) throws ResolveTemplateException {
+    elements();
+    Value origin = other.origin();
+    if (origin.type() == ValueTypes.List) {
+      PipelineElements.elementsOf(((ListValue) origin).get());
     }
-    return BooleanValues.of(false);
   }
 
   @Override
-  public BooleanValue isEmpty() {
-    return BooleanValues.of(get().isEmpty());
+  boolean equalsValue(Value other) {
+    return other.type() == ValueTypes.List && (other == this || get().equals(((ListValue) other).get()));
   }
 
   @Override
-  public BooleanValue isNotEmpty() {
-    return BooleanValues.of(!get().isEmpty());
+  public BooleanValue isEmpty() throws ResolveTemplateException {
+    return BooleanValues.of(PipelineElements.isEmpty(list));
   }
 
   @Override
-  public Value find(Value element) {
+  public BooleanValue isNotEmpty() throws ResolveTemplateException {
+    return BooleanValues.of(!PipelineElements.isEmpty(list));
+  }
+
+  @Override
+  public Value find(Value element) throws ResolveTemplateException {
     final List<Value> subList;
     if (element.type() == ValueTypes.List) {
-      subList = ((ListValue) element).get();
+      subList = PipelineElements.elementsOf(((ListValue) element).get());
     } else {
       subList = List.of(element);
     }
     Objects.requireNonNull(subList);
 
-    int index = Collections.indexOfSubList(get(), subList);
+    List<Value> elements = elements();
+    int index = indexOfSubList(elements, subList);
     if (index < 0) {
       return VoidValues.get();
     }
     return ItemValues.build()
-        .value(get().subList(index, index + subList.size()))
+        .value(elements.subList(index, index + subList.size()))
         .index(index)
         .get();
   }
 
+  private static int indexOfSubList(List<Value> list, List<Value> subList) {
+    if (list instanceof ArrayElements) {
+      ArrayElements elements = (ArrayElements) list;
+      if (subList.size() == 1) {
+        return elements.indexOf(subList.get(0));
+      }
+      if (elements.isSameKind(subList)) {
+        return elements.indexOfSubElements((ArrayElements) subList);
+      }
+    }
+    return Collections.indexOfSubList(list, subList);
+  }
+
   @Override
   public Value get(Value key) throws ResolveTemplateException {
     if (key.type() != ValueTypes.Integer) {
       throw IrregularValueTypeException.withMessage("Invalid index type: {0}. Expected integer value", key.typename().get());
     }
     int index = ((IntegerValue) key).get();
-    if (index < 0 || index >= get().size()) {
+    List<Value> elements = elements();
+    if (index < 0 || index >= elements.size()) {
       return ItemValues.build()
           .value(VoidValues.get())
           .index((IntegerValue) key)
           .get();
     }
 
-    Value element = get().get(index);
+    Value element = elements.get(index);
     return ItemValues.build()
         .value(element)
         .index((IntegerValue) key)
         .first(index == 0)
-        .last(index == get().size() - 1)
+        .last(index == elements.size() - 1)
         .get();
   }
 
+  @Override
+  public Value slice(Value beginIndex, Value endIndex) throws ResolveTemplateException {
+    List<Value> elements = elements();
+    int size = elements.size();
+    int begin = Math.max(0, Math.min(sliceIndex(beginIndex), size));
+    int end = Math.max(begin, Math.min(sliceIndex(endIndex), size));
+    if (begin == 0 && end == size) {
+      return this;
+    }
+    // Sublist is the view of this list
+    return new ListValueImpl(elements.subList(begin, end));
+  }
+
+  @Override
+  public Value filter(Value key) {
+    return new ListValueImpl(PipelineElements.filter(get(), key));
+  }
+
+  @Override
+  public Value filter(Value key, Value value) {
+    return new ListValueImpl(PipelineElements.filter(get(), key, value));
+  }
+
+  @Override
+  public Value map(Value key) {
+    return new ListValueImpl(PipelineElements.map(get(), key));
+  }
+
+  @Override
+  public Value limit(Value limit) throws ResolveTemplateException {
+    return new ListValueImpl(PipelineElements.limit(get(), ValueFunctions.castToInteger(limit.origin())));
+  }
+
+  @Override
+  public Value skip(Value number) throws ResolveTemplateException {
+    return new ListValueImpl(PipelineElements.skip(get(), ValueFunctions.castToInteger(number.origin())));
+  }
+
+  @Override
+  public Value sortBy(Value key) {
+    return new ListValueImpl(PipelineElements.sortBy(get(), key));
+  }
+
+  @Override
+  public Value distinct() {
+    return new ListValueImpl(PipelineElements.distinct(get()));
+  }
+
+  @Override
+  public Value reverse() {
+    return new ListValueImpl(PipelineElements.reverse(get()));
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
       return true;
     }
+    if (o instanceof Value) {
+      // Wrapped values are equal to their origins
+      o = ((Value) o).origin();
+    }
     if (!ListValue.class.isInstance(o)) {
       return false;
     }
@@ -113,6 +221,12 @@ class ListValueImpl extends AbstractValue implements ListValue {
 
   @Override
   public int hashCode() {
-    return Objects.hash(get());
+    // Value is immutable, so hash code is computed once
+    int hashCode = this.hashCode;
+    if (hashCode == 0) {
+      hashCode = hashOf(get().hashCode());
+      this.hashCode = hashCode;
+    }
+    return hashCode;
   }
 }
@@ -1,11 +1,7 @@
 package intellispaces.common.templateengine.expression.value;
 
-import intellispaces.common.base.collection.ArraysFunctions;
-
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.DoubleStream;
-import java.util.stream.IntStream;
 
 public final class ListValues {
 
@@ -24,19 +20,23 @@ public final class ListValues {
   }
 
   public static ListValue of(boolean... elements) {
-    return ListValueBuilder.build(ArraysFunctions.wrap(elements));
+    return ListValueBuilder.build(ArrayElements.of(elements));
   }
 
   public static ListValue of(int... elements) {
-    return ListValueBuilder.build(IntStream.of(elements).boxed().toArray());
+    return ListValueBuilder.build(ArrayElements.of(elements));
   }
 
   public static ListValue of(double... elements) {
-    return ListValueBuilder.build(DoubleStream.of(elements).boxed().toArray());
+    return ListValueBuilder.build(ArrayElements.of(elements));
   }
 
   public static ListValue of(String... elements) {
-    return ListValueBuilder.build(elements);
+    List<Value> stringElements = ArrayElements.of(elements);
+    if (stringElements == null) {
+      return ListValueBuilder.build(elements);
+    }
+    return ListValueBuilder.build(stringElements);
   }
 
   public static ListValue of(Value... elements) {
@@ -2,14 +2,22 @@ package intellispaces.common.templateengine.expression.value;
 
 import intellispaces.common.templateengine.exception.ResolveTemplateException;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 class MapValueImpl extends AbstractValue implements MapValue {
-  private final Map<Value, Value> map;
+  /**
+   * Entries of the map copied to lookup index. Index is immutable, so changes of the source map are not seen.
+   */
+  private final ValueHashMap map;
+  private int hashCode;
 
   MapValueImpl(Map<Value, Value> map) {
-    this.map = map;
+    this.map = ValueHashMap.of(map);
   }
 
   @Override
@@ -33,11 +41,8 @@ class MapValueImpl extends AbstractValue implements MapValue {
   }
 
   @Override
-  public BooleanValue eq(Value other) {
-    if (other.type() == ValueTypes.Map) {
-      return BooleanValues.of(Objects.equals(get(), ((MapValue) other).get()));
-    }
-    return BooleanValues.of(false);
+  boolean equalsValue(Value other) {
+    return other.type() == ValueTypes.Map && (other == this || get().equals(((MapValue) other).get()));
   }
 
   @Override
@@ -52,11 +57,85 @@ class MapValueImpl extends AbstractValue implements MapValue {
 
   @Override
   public Value get(Value key) throws ResolveTemplateException {
-    Value value = get().get(key);
+    Value origin = key.origin();
+    Value value;
+    if (origin.type() == ValueTypes.String) {
+      value = map.getByString(((StringValue) origin).get());
+    } else {
+      value = map.get(origin);
+    }
     if (value == null) {
       return VoidValues.get();
     }
-    return get().get(key);
+    return value;
+  }
+
+  @Override
+  public Value filter(Value key) throws ResolveTemplateException {
+    return selectEntries(PipelineElements.filter(entryValues(), key));
+  }
+
+  @Override
+  public Value filter(Value key, Value value) throws ResolveTemplateException {
+    return selectEntries(PipelineElements.filter(entryValues(), key, value));
+  }
+
+  @Override
+  public Value map(Value key) throws ResolveTemplateException {
+    Map<Value, Value> values = new LinkedHashMap<>();
+    for (int index = 0; index < map.size(); index++) {
+      values.put(map.keyAt(index), map.valueAt(index).get(key).origin());
+    }
+    return new MapValueImpl(values);
+  }
+
+  @Override
+  public Value limit(Value limit) throws ResolveTemplateException {
+    return selectEntries(PipelineElements.limit(entryValues(), ValueFunctions.castToInteger(limit.origin())));
+  }
+
+  @Override
+  public Value skip(Value number) throws ResolveTemplateException {
+    return selectEntries(PipelineElements.skip(entryValues(), ValueFunctions.castToInteger(number.origin())));
+  }
+
+  @Override
+  public Value sortBy(Value key) throws ResolveTemplateException {
+    return selectEntries(PipelineElements.sortBy(entryValues(), key));
+  }
+
+  @Override
+  public Value distinct() throws ResolveTemplateException {
+    return selectEntries(PipelineElements.distinct(entryValues()));
+  }
+
+  @Override
+  public Value reverse() throws ResolveTemplateException {
+    return selectEntries(PipelineElements.reverse(entryValues()));
+  }
+
+  /**
+   * Returns values of the entries as items, which indexes refer to entries.
+   */
+  private List<Value> entryValues() {
+    List<Value> entryValues = new ArrayList<>(map.size());
+    for (int index = 0; index < map.size(); index++) {
+      entryValues.add(ItemValues.build()
+          .value(map.valueAt(index))
+          .index(index)
+          .get());
+    }
+    return entryValues;
+  }
+
+  private MapValue selectEntries(List<Value> entryValues) throws ResolveTemplateException {
+    Map<Value, Value> values = new LinkedHashMap<>();
+    Iterator<Value> iterator = entryValues.iterator();
+    while (ValueFunctions.hasNextElement(iterator)) {
+      int index = ValueFunctions.nextElement(iterator).index().get();
+      values.put(map.keyAt(index), map.valueAt(index));
+    }
+    return new MapValueImpl(values);
   }
 
   @Override
@@ -64,6 +143,10 @@ class MapValueImpl extends AbstractValue implements MapValue {
     if (this == o) {
       return true;
     }
+    if (o instanceof Value) {
+      // Wrapped values are equal to their origins
+      o = ((Value) o).origin();
+    }
     if (!MapValue.class.isInstance(o)) {
       return false;
     }
@@ -73,6 +156,12 @@ class MapValueImpl extends AbstractValue implements MapValue {
 
   @Override
   public int hashCode() {
-    return Objects.hash(get());
+    // Value is immutable, so hash code is computed once
+    int hashCode = this.hashCode;
+    if (hashCode == 0) {
+      hashCode = hashOf(get().hashCode());
+      this.hashCode = hashCode;
+    }
+    return hashCode;
   }
 }
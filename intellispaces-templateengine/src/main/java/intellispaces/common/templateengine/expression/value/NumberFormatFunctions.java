@@ -0,0 +1,111 @@
+package intellispaces.common.templateengine.expression.value;
+
+/**
+ * Functions to write numbers to string builder.
+ *
+ * <p>Digits are written directly to string builder without intermediate strings.
+ * Output is identical to {@link Integer#toString(int)} and {@link Double#toString(double)}.
+ */
+final class NumberFormatFunctions {
+
+  private NumberFormatFunctions() {}
+
+  static StringBuilder appendInteger(int value, StringBuilder sb) {
+    // Builder writes digits of integer in place
+    return sb.append(value);
+  }
+
+  /**
+   * Appends real number to string builder.
+   *
+   * <p>Numbers in plain notation range <code>[10<sup>-3</sup>, 10<sup>7</sup>)</code> having at most 15 significant
+   * digits, i.e. typical prices, amounts and percents, are written by the fast path. The fast path looks for the
+   * least number of fraction digits, whose decimal is rounded back to the same double. Such shortest decimal
+   * is unique, and it is the decimal chosen by {@link Double#toString(double)}.
+   * Other numbers are written by the builder itself.
+   *
+   * @param value real number.
+   * @param sb string builder.
+   * @return string builder.
+   */
+  static StringBuilder appendReal(double value, StringBuilder sb) {
+    double absValue = Math.abs(value);
+    if (!(absValue >= MIN_PLAIN_VALUE && absValue < MAX_PLAIN_VALUE)) {
+      // Zero, NaN, infinity and numbers in computerized scientific notation
+      return sb.append(value);
+    }
+    long integerPart = (long) absValue;
+    long digits = integerPart;
+    int numFractionDigits = 0;
+    if (integerPart != absValue) {
+      // Decimal having fewer fraction digits has also the maximal number of fraction digits with trailing zeros,
+      // so numbers with more significant digits are rejected by single check
+      int maxFractionDigits = MAX_FAST_DIGITS - numDigits(integerPart);
+      if (roundTripDigits(absValue, maxFractionDigits) < 0) {
+        return sb.append(value);
+      }
+      do {
+        numFractionDigits++;
+        digits = roundTripDigits(absValue, numFractionDigits);
+      } while (digits < 0);
+    }
+
+    if (value < 0) {
+      sb.append('-');
+    }
+    if (numFractionDigits == 0) {
+      return sb.append(integerPart).append(".0");
+    }
+    long fraction = digits - integerPart * POWERS_OF_TEN[numFractionDigits];
+    sb.append(integerPart).append('.');
+    for (long bound = POWERS_OF_TEN[numFractionDigits - 1]; fraction < bound; bound /= 10) {
+      sb.append('0');
+    }
+    return sb.append(fraction);
+  }
+
+  /**
+   * Returns digits of the decimal having given number of fraction digits, which is rounded to the same double.
+   *
+   * @return digits of the decimal or -1 if there is no such decimal.
+   */
+  private static long roundTripDigits(double absValue, int numFractionDigits) {
+    double powerOfTen = POWERS_OF_TEN[numFractionDigits];
+    double scaledValue = absValue * powerOfTen;
+    long digits = (long) (scaledValue + 0.5);
+    // Scaled value of the matching decimal is within a couple of ulps from integer, so division is rarely needed.
+    // Both operands of the division are exact, so quotient is the double nearest to the decimal
+    if (Math.abs(scaledValue - digits) <= scaledValue * SCALED_VALUE_TOLERANCE && digits / powerOfTen == absValue) {
+      return digits;
+    }
+    return -1;
+  }
+
+  private static int numDigits(long value) {
+    int numDigits = 0;
+    while (value > 0) {
+      numDigits++;
+      value /= 10;
+    }
+    return numDigits;
+  }
+
+  private static final double MIN_PLAIN_VALUE = 1e-3;
+  private static final double MAX_PLAIN_VALUE = 1e7;
+
+  /**
+   * Up to 15 significant digits the decimal grid is coarser than doubles, so rounding of the scaled value is exact.
+   */
+  private static final int MAX_FAST_DIGITS = 15;
+
+  /**
+   * Relative tolerance of the scaled value, several times greater than rounding errors of the scaling.
+   */
+  private static final double SCALED_VALUE_TOLERANCE = 1e-15;
+
+  private static final long[] POWERS_OF_TEN = {
+      1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+      10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+      1_000_000_000_000_000L
+  };
+}
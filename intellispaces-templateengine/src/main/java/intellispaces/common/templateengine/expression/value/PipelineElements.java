@@ -0,0 +1,456 @@
+package intellispaces.common.templateengine.expression.value;
+
+import intellispaces.common.base.function.FunctionFunctions;
+import intellispaces.common.base.function.Functions;
+import intellispaces.common.templateengine.exception.ResolveTemplateException;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Lazy elements of the list value produced by pipeline operation.
+ *
+ * <p>Each operation wraps elements of the previous one. Iterator of the elements pulls source elements
+ * one by one through all operations, so a chain of operations is fused into a single pass, and
+ * intermediate lists are not allocated. Iteration stops as soon as the consumer stops, so
+ * <code>$rows.filter("active").limit(10)</code> touches only elements preceding tenth active one.
+ * Only sorting and reversing of the non-indexed elements buffer elements.
+ *
+ * <p>Indexed access materializes the elements once.
+ *
+ * <p>Arguments of the operations are captured by their {@link Value#origin() origins} when operation is built,
+ * so the pipeline does not depend on later changes of the reused item cursor.
+ *
+ * <p>Errors of the element operations are thrown by iterator as covered exceptions.
+ * Consumers uncover them by {@link ValueFunctions#hasNextElement(Iterator)}, {@link ValueFunctions#nextElement(Iterator)}
+ * and {@link #elementsOf(List)}.
+ */
+abstract class PipelineElements extends AbstractList<Value> {
+  final List<Value> source;
+  private List<Value> elements;
+  private int emptiness;
+
+  PipelineElements(List<Value> source) {
+    this.source = source;
+  }
+
+  static List<Value> filter(List<Value> source, Value key) {
+    Value filterKey = key.origin();
+    return new FilterElements(source, Functions.coveredThrowableFunction(element -> isTrue(element, filterKey)));
+  }
+
+  static List<Value> filter(List<Value> source, Value key, Value value) {
+    Value filterKey = key.origin();
+    Value filterValue = value.origin();
+    return new FilterElements(
+        source, Functions.coveredThrowableFunction(element -> isEqual(element, filterKey, filterValue))
+    );
+  }
+
+  static List<Value> map(List<Value> source, Value key) {
+    Value mapKey = key.origin();
+    return new MapElements(source, Functions.coveredThrowableFunction(element -> element.get(mapKey).origin()));
+  }
+
+  static List<Value> limit(List<Value> source, int limit) {
+    return new LimitElements(source, Math.max(limit, 0));
+  }
+
+  static List<Value> skip(List<Value> source, int numSkipped) {
+    return new SkipElements(source, Math.max(numSkipped, 0));
+  }
+
+  static List<Value> sortBy(List<Value> source, Value key) {
+    return new SortElements(source, key.origin());
+  }
+
+  static List<Value> distinct(List<Value> source) {
+    return new DistinctElements(source);
+  }
+
+  static List<Value> reverse(List<Value> source) {
+    return new ReverseElements(source);
+  }
+
+  /**
+   * Returns fused iterator of the elements.
+   */
+  abstract Iterator<Value> pipelineIterator();
+
+  @Override
+  public Iterator<Value> iterator() {
+    List<Value> elements = this.elements;
+    return elements != null ? elements.iterator() : pipelineIterator();
+  }
+
+  @Override
+  public Value get(int index) {
+    return elements().get(index);
+  }
+
+  @Override
+  public int size() {
+    return elements().size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    List<Value> elements = this.elements;
+    if (elements != null) {
+      return elements.isEmpty();
+    }
+    // Only the first element is computed, and the result is remembered
+    int emptiness = this.emptiness;
+    if (emptiness == UNKNOWN_EMPTINESS) {
+      emptiness = pipelineIterator().hasNext() ? NOT_EMPTY : EMPTY;
+      this.emptiness = emptiness;
+    }
+    return emptiness == EMPTY;
+  }
+
+  /**
+   * Returns elements of the list.
+   *
+   * <p>Elements of the pipeline operations are materialized, and errors of the operations are uncovered.
+   *
+   * @param list list of the values.
+   * @return list of the values.
+   * @throws ResolveTemplateException throws if element of the pipeline operation can't be computed.
+   */
+  static List<Value> elementsOf(List<Value> list) throws ResolveTemplateException {
+    if (list instanceof PipelineElements) {
+      return FunctionFunctions.applyAndUncoverIfCovered(
+          PipelineElements::elements, (PipelineElements) list, ResolveTemplateException.class
+      );
+    }
+    return list;
+  }
+
+  /**
+   * Checks that the list is empty.
+   *
+   * <p>Errors of the pipeline operations are uncovered.
+   */
+  static boolean isEmpty(List<Value> list) throws ResolveTemplateException {
+    return FunctionFunctions.applyAndUncoverIfCovered(List::isEmpty, list, ResolveTemplateException.class);
+  }
+
+  private List<Value> elements() {
+    List<Value> elements = this.elements;
+    if (elements == null) {
+      var list = new ArrayList<Value>();
+      pipelineIterator().forEachRemaining(list::add);
+      elements = Collections.unmodifiableList(list);
+      this.elements = elements;
+    }
+    return elements;
+  }
+
+  private static boolean isTrue(Value element, Value key) throws ResolveTemplateException {
+    Value value = element.get(key).origin();
+    return value.type() != ValueTypes.Void && ValueFunctions.castToBoolean(value);
+  }
+
+  private static boolean isEqual(Value element, Value key, Value value) throws ResolveTemplateException {
+    return element.get(key).eq(value).get();
+  }
+
+  /**
+   * Iterator, which computes next element in advance.
+   */
+  private abstract static class LookAheadIterator implements Iterator<Value> {
+    private Value next;
+
+    /**
+     * Computes next element.
+     *
+     * @return next element or <code>null</code> if there are no more elements.
+     */
+    abstract Value computeNext();
+
+    @Override
+    public boolean hasNext() {
+      if (next == null) {
+        next = computeNext();
+      }
+      return next != null;
+    }
+
+    @Override
+    public Value next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Value value = next;
+      next = null;
+      return value;
+    }
+  }
+
+  private static final class FilterElements extends PipelineElements {
+    private final Function<Value, Boolean> predicate;
+
+    FilterElements(List<Value> source, Function<Value, Boolean> predicate) {
+      super(source);
+      this.predicate = predicate;
+    }
+
+    @Override
+    Iterator<Value> pipelineIterator() {
+      Iterator<Value> sourceIterator = source.iterator();
+      return new LookAheadIterator() {
+        @Override
+        Value computeNext() {
+          while (sourceIterator.hasNext()) {
+            Value element = sourceIterator.next();
+            if (predicate.apply(element)) {
+              return element;
+            }
+          }
+          return null;
+        }
+      };
+    }
+  }
+
+  private static final class MapElements extends PipelineElements {
+    private final Function<Value, Value> mapper;
+
+    MapElements(List<Value> source, Function<Value, Value> mapper) {
+      super(source);
+      this.mapper = mapper;
+    }
+
+    @Override
+    Iterator<Value> pipelineIterator() {
+      Iterator<Value> sourceIterator = source.iterator();
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return sourceIterator.hasNext();
+        }
+
+        @Override
+        public Value next() {
+          return mapper.apply(sourceIterator.next());
+        }
+      };
+    }
+  }
+
+  private static final class LimitElements extends PipelineElements {
+    private final int limit;
+
+    LimitElements(List<Value> source, int limit) {
+      super(source);
+      this.limit = limit;
+    }
+
+    @Override
+    Iterator<Value> pipelineIterator() {
+      Iterator<Value> sourceIterator = source.iterator();
+      return new Iterator<>() {
+        private int count;
+
+        @Override
+        public boolean hasNext() {
+          // Source is not touched after the limit is reached
+          return count < limit && sourceIterator.hasNext();
+        }
+
+        @Override
+        public Value next() {
+          if (count >= limit) {
+            throw new NoSuchElementException();
+          }
+          count++;
+          return sourceIterator.next();
+        }
+      };
+    }
+  }
+
+  private static final class SkipElements extends PipelineElements {
+    private final int numSkipped;
+
+    SkipElements(List<Value> source, int numSkipped) {
+      super(source);
+      this.numSkipped = numSkipped;
+    }
+
+    @Override
+    Iterator<Value> pipelineIterator() {
+      if (source instanceof RandomAccess) {
+        return source.subList(Math.min(numSkipped, source.size()), source.size()).iterator();
+      }
+      Iterator<Value> sourceIterator = source.iterator();
+      for (int index = 0; index < numSkipped && sourceIterator.hasNext(); index++) {
+        sourceIterator.next();
+      }
+      return sourceIterator;
+    }
+  }
+
+  private static final class DistinctElements extends PipelineElements {
+
+    DistinctElements(List<Value> source) {
+      super(source);
+    }
+
+    @Override
+    Iterator<Value> pipelineIterator() {
+      Iterator<Value> sourceIterator = source.iterator();
+      Set<Value> seenElements = new HashSet<>();
+      return new LookAheadIterator() {
+        @Override
+        Value computeNext() {
+          while (sourceIterator.hasNext()) {
+            Value element = sourceIterator.next();
+            if (seenElements.add(element.origin())) {
+              return element;
+            }
+          }
+          return null;
+        }
+      };
+    }
+  }
+
+  private static final class ReverseElements extends PipelineElements {
+
+    ReverseElements(List<Value> source) {
+      super(source);
+    }
+
+    @Override
+    Iterator<Value> pipelineIterator() {
+      // Indexed source is read backward without buffering
+      List<Value> elements = source instanceof RandomAccess ? source : Arrays.asList(source.toArray(new Value[0]));
+      return new Iterator<>() {
+        private int index = elements.size() - 1;
+
+        @Override
+        public boolean hasNext() {
+          return index >= 0;
+        }
+
+        @Override
+        public Value next() {
+          if (index < 0) {
+            throw new NoSuchElementException();
+          }
+          return elements.get(index--);
+        }
+      };
+    }
+  }
+
+  private static final class SortElements extends PipelineElements {
+    private final Function<SortElements, Value[]> sorter;
+    private final Value key;
+
+    SortElements(List<Value> source, Value key) {
+      super(source);
+      this.key = key;
+      this.sorter = Functions.coveredThrowableFunction(SortElements::sort);
+    }
+
+    @Override
+    Iterator<Value> pipelineIterator() {
+      return Arrays.asList(sorter.apply(this)).iterator();
+    }
+
+    private Value[] sort() throws ResolveTemplateException {
+      Value[] elements = source.toArray(new Value[0]);
+      SortEntry[] entries = new SortEntry[elements.length];
+      Value firstSortKey = null;
+      int kind = VOID_SORT_KEY;
+      for (int index = 0; index < elements.length; index++) {
+        Value sortKey = elements[index].get(key).origin();
+        int sortKeyKind = sortKeyKind(sortKey);
+        if (sortKeyKind != VOID_SORT_KEY) {
+          if (kind == VOID_SORT_KEY) {
+            firstSortKey = sortKey;
+            kind = sortKeyKind;
+          } else if (kind != sortKeyKind) {
+            throw ResolveTemplateException.withMessage("Sort keys of type {0} and {1} cannot be compared",
+                firstSortKey.typename().get(), sortKey.typename().get());
+          }
+        }
+        entries[index] = new SortEntry(sortKey, sortKeyKind, elements[index]);
+      }
+
+      // Sorting is stable, void keys are ordered last
+      Arrays.sort(entries, PipelineElements::compare);
+      for (int index = 0; index < entries.length; index++) {
+        elements[index] = entries[index].element;
+      }
+      return elements;
+    }
+  }
+
+  private static int sortKeyKind(Value sortKey) throws ResolveTemplateException {
+    if (sortKey.type() == ValueTypes.Void) {
+      return VOID_SORT_KEY;
+    } else if (sortKey.type() == ValueTypes.Integer || sortKey.type() == ValueTypes.Real) {
+      return NUMBER_SORT_KEY;
+    } else if (sortKey.type() == ValueTypes.String) {
+      return STRING_SORT_KEY;
+    } else if (sortKey.type() == ValueTypes.Boolean) {
+      return BOOLEAN_SORT_KEY;
+    }
+    throw ResolveTemplateException.withMessage("Sort key of type {0} is not comparable. " +
+        "Expected integer, real, string or boolean", sortKey.typename().get());
+  }
+
+  private static int compare(SortEntry entry1, SortEntry entry2) {
+    if (entry1.kind == VOID_SORT_KEY || entry2.kind == VOID_SORT_KEY) {
+      return Boolean.compare(entry1.kind == VOID_SORT_KEY, entry2.kind == VOID_SORT_KEY);
+    }
+    switch (entry1.kind) {
+      case NUMBER_SORT_KEY:
+        if (entry1.key.type() == ValueTypes.Integer && entry2.key.type() == ValueTypes.Integer) {
+          return Integer.compare(((IntegerValue) entry1.key).get(), ((IntegerValue) entry2.key).get());
+        }
+        return Double.compare(toDouble(entry1.key), toDouble(entry2.key));
+      case STRING_SORT_KEY:
+        return ((StringValue) entry1.key).get().compareTo(((StringValue) entry2.key).get());
+      default:
+        return Boolean.compare(((BooleanValue) entry1.key).get(), ((BooleanValue) entry2.key).get());
+    }
+  }
+
+  private static double toDouble(Value number) {
+    return number.type() == ValueTypes.Integer ? ((IntegerValue) number).get() : ((RealValue) number).get();
+  }
+
+  private static final class SortEntry {
+    final Value key;
+    final int kind;
+    final Value element;
+
+    SortEntry(Value key, int kind, Value element) {
+      this.key = key;
+      this.kind = kind;
+      this.element = element;
+    }
+  }
+
+  private static final int UNKNOWN_EMPTINESS = 0;
+  private static final int EMPTY = 1;
+  private static final int NOT_EMPTY = 2;
+
+  private static final int VOID_SORT_KEY = 0;
+  private static final int NUMBER_SORT_KEY = 1;
+  private static final int STRING_SORT_KEY = 2;
+  private static final int BOOLEAN_SORT_KEY = 3;
+}
@@ -2,8 +2,6 @@ package intellispaces.common.templateengine.expression.value;
 
 import intellispaces.common.templateengine.exception.ResolveTemplateException;
 
-import java.util.Objects;
-
 class RealValueImpl extends AbstractValue implements RealValue {
   private final double value;
 
@@ -31,13 +29,13 @@ class RealValueImpl extends AbstractValue implements RealValue {
   }
 
   @Override
-  public BooleanValue eq(Value other) {
+  boolean equalsValue(Value other) {
     if (other.type() == ValueTypes.Real) {
-      return BooleanValues.of(get() == ((RealValue) other).get());
+      return get() == ((RealValue) other).get();
     } else if (other.type() == ValueTypes.Integer) {
-      return BooleanValues.of(get() == ((IntegerValue) other).get());
+      return get() == ((IntegerValue) other).get();
     }
-    return BooleanValues.of(false);
+    return false;
   }
 
   @Override
@@ -50,6 +48,10 @@ class RealValueImpl extends AbstractValue implements RealValue {
     if (this == o) {
       return true;
     }
+    if (o instanceof Value) {
+      // Wrapped values are equal to their origins
+      o = ((Value) o).origin();
+    }
     if (!RealValue.class.isInstance(o)) {
       return false;
     }
@@ -59,6 +61,6 @@ class RealValueImpl extends AbstractValue implements RealValue {
 
   @Override
   public int hashCode() {
-    return Objects.hash(get());
+    return hashOf(Double.hashCode(get()));
   }
 }
@@ -0,0 +1,145 @@
+package intellispaces.common.templateengine.expression.value;
+
+import intellispaces.common.templateengine.exception.ResolveTemplateException;
+
+import java.util.ArrayDeque;
+
+/**
+ * String value represented by concatenation of two string values.
+ *
+ * <p>Concatenation does not copy characters of the large values, so string accumulated by repeated concatenation
+ * is built in linear time. The {@link String} is materialized only when it is requested by {@link #get()}.
+ * Rope is appended to string builder by walking its segments.
+ *
+ * <p>Materialized string replaces the segments, so the rope does not keep its text twice.
+ * The string is published before the segments are cleared, so the rope that has no segments
+ * always has the string.
+ */
+final class StringRopeValue extends AbstractStringValue {
+  private AbstractStringValue left;
+  private AbstractStringValue right;
+  private final int length;
+  private volatile String value;
+
+  private StringRopeValue(AbstractStringValue left, AbstractStringValue right, int length) {
+    this.left = left;
+    this.right = right;
+    this.length = length;
+  }
+
+  static AbstractStringValue concat(
+      AbstractStringValue left, AbstractStringValue right
+  ) throws ResolveTemplateException {
+    if (right.length() == 0) {
+      return left;
+    }
+    if (left.length() == 0) {
+      return right;
+    }
+    long length = (long) left.length() + right.length();
+    if (length > Integer.MAX_VALUE) {
+      throw ResolveTemplateException.withMessage("String is too long to concatenate: {0}", length);
+    }
+    if (length <= MAX_LEAF_LENGTH) {
+      return flatConcat(left, right, (int) length);
+    }
+    if (left instanceof StringRopeValue && right.length() < MAX_LEAF_LENGTH) {
+      // Short tails are merged, so ropes accumulated by small pieces do not consist of tiny segments
+      var rope = (StringRopeValue) left;
+      AbstractStringValue ropeLeft = rope.left;
+      AbstractStringValue ropeRight = rope.right;
+      // Materialized rope has no segments
+      if (ropeLeft != null && ropeRight != null) {
+        int tailLength = ropeRight.length() + right.length();
+        if (tailLength <= MAX_LEAF_LENGTH) {
+          return new StringRopeValue(ropeLeft, flatConcat(ropeRight, right, tailLength), (int) length);
+        }
+      }
+    }
+    return new StringRopeValue(left, right, (int) length);
+  }
+
+  private static AbstractStringValue flatConcat(AbstractStringValue left, AbstractStringValue right, int length) {
+    var sb = new StringBuilder(length);
+    left.appendTo(sb);
+    right.appendTo(sb);
+    return new StringValueImpl(sb.toString());
+  }
+
+  @Override
+  public String get() {
+    String value = this.value;
+    if (value == null) {
+      var sb = new StringBuilder(length);
+      appendTo(sb);
+      value = sb.toString();
+      this.value = value;
+      left = null;
+      right = null;
+    }
+    return value;
+  }
+
+  @Override
+  int length() {
+    return length;
+  }
+
+  @Override
+  char charAt(int index) {
+    return get().charAt(index);
+  }
+
+  @Override
+  String source() {
+    // Materialized rope is backed by single string
+    return value;
+  }
+
+  @Override
+  int offset() {
+    return 0;
+  }
+
+  @Override
+  AbstractStringValue subValue(int beginIndex, int endIndex) {
+    return new StringSliceValue(get(), beginIndex, endIndex - beginIndex);
+  }
+
+  @Override
+  void appendTo(StringBuilder sb) {
+    String value = this.value;
+    if (value != null) {
+      sb.append(value);
+      return;
+    }
+    sb.ensureCapacity(sb.length() + length);
+
+    // Repeated concatenation builds deep trees, so segments are walked without recursion
+    var pendingSegments = new ArrayDeque<AbstractStringValue>();
+    AbstractStringValue segment = this;
+    while (true) {
+      AbstractStringValue segmentLeft = null;
+      AbstractStringValue segmentRight = null;
+      if (segment instanceof StringRopeValue && ((StringRopeValue) segment).value == null) {
+        segmentLeft = ((StringRopeValue) segment).left;
+        segmentRight = ((StringRopeValue) segment).right;
+      }
+      if (segmentLeft != null && segmentRight != null) {
+        pendingSegments.push(segmentRight);
+        segment = segmentLeft;
+      } else {
+        segment.appendTo(sb);
+        if (pendingSegments.isEmpty()) {
+          return;
+        }
+        segment = pendingSegments.pop();
+      }
+    }
+  }
+
+  /**
+   * Values not longer than this length are concatenated by copying.
+   */
+  static final int MAX_LEAF_LENGTH = 64;
+}
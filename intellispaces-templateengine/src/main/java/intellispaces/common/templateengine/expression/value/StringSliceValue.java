@@ -0,0 +1,72 @@
+package intellispaces.common.templateengine.expression.value;
+
+/**
+ * String value backed by characters range of the other string.
+ *
+ * <p>Slice refers to source string without copying of the characters.
+ * The {@link String} is materialized only when it is requested by {@link #get()}.
+ */
+final class StringSliceValue extends AbstractStringValue {
+  private final String source;
+  private final int offset;
+  private final int length;
+  private String value;
+
+  StringSliceValue(String source, int offset, int length) {
+    this.source = source;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  @Override
+  public String get() {
+    String value = this.value;
+    if (value == null) {
+      value = source.substring(offset, offset + length);
+      this.value = value;
+    }
+    return value;
+  }
+
+  @Override
+  int length() {
+    return length;
+  }
+
+  @Override
+  char charAt(int index) {
+    return source.charAt(offset + index);
+  }
+
+  @Override
+  String source() {
+    return source;
+  }
+
+  @Override
+  int offset() {
+    return offset;
+  }
+
+  @Override
+  AbstractStringValue subValue(int beginIndex, int endIndex) {
+    return new StringSliceValue(source, offset + beginIndex, endIndex - beginIndex);
+  }
+
+  @Override
+  void appendTo(StringBuilder sb) {
+    sb.append(source, offset, offset + length);
+  }
+
+  @Override
+  int indexOf(String string) {
+    // Search is limited by the slice, so it does not depend on the length of the source string
+    int lastIndex = offset + length - string.length();
+    for (int index = offset; index <= lastIndex; index++) {
+      if (source.regionMatches(index, string, 0, string.length())) {
+        return index - offset;
+      }
+    }
+    return -1;
+  }
+}
@@ -1,131 +1,65 @@
 package intellispaces.common.templateengine.expression.value;
 
-import intellispaces.common.templateengine.exception.IrregularValueTypeException;
-import intellispaces.common.templateengine.exception.ResolveTemplateException;
-import intellispaces.common.base.text.TextFunctions;
-
-import java.util.Objects;
-
-class StringValueImpl extends AbstractValue implements StringValue {
+class StringValueImpl extends AbstractStringValue {
   private final String value;
 
   StringValueImpl(String value) {
     this.value = value;
   }
 
-  @Override
-  public ValueType type() {
-    return ValueTypes.String;
-  }
-
   public String get() {
     return value;
   }
 
   @Override
-  public Value origin() {
-    return this;
+  int length() {
+    return value.length();
   }
 
   @Override
-  public StringValue asString() {
-    return this;
+  char charAt(int index) {
+    return value.charAt(index);
   }
 
   @Override
-  public BooleanValue eq(Value other) {
-    if (other.type() == ValueTypes.String) {
-      return BooleanValues.of(Objects.equals(get(), ((StringValue) other).get()));
-    }
-    return BooleanValues.of(false);
-  }
-
-  @Override
-  public BooleanValue isEmpty() {
-    return BooleanValues.of(get() == null || get().isEmpty());
+  String source() {
+    return value;
   }
 
   @Override
-  public BooleanValue isNotEmpty() throws ResolveTemplateException {
-    return BooleanValues.of(get() != null && !get().isEmpty());
+  int offset() {
+    return 0;
   }
 
   @Override
-  public BooleanValue isBlank() {
-    return BooleanValues.of(get() == null || get().isBlank());
+  AbstractStringValue subValue(int beginIndex, int endIndex) {
+    return new StringSliceValue(value, beginIndex, endIndex - beginIndex);
   }
 
   @Override
-  public BooleanValue isNotBlank() throws ResolveTemplateException {
-    return BooleanValues.of(get() != null && !get().isBlank());
+  void appendTo(StringBuilder sb) {
+    sb.append(value);
   }
 
   @Override
-  public Value find(Value element) throws ResolveTemplateException {
-    final String subString;
-    if (element.type() == ValueTypes.String) {
-      subString = ((StringValue) element).get();
-    } else if (element.type() == ValueTypes.Integer) {
-      subString = (Integer.toString(((IntegerValue) element).get()));
-    } else if (element.type() == ValueTypes.Real) {
-      subString = (Double.toString(((RealValue) element).get()));
-    } else if (element.type() == ValueTypes.Boolean) {
-      subString = (Boolean.toString(((BooleanValue) element).get()));
-    } else {
-      throw IrregularValueTypeException.withMessage("Invalid argument value type: {0}. " +
-          "Expected string, integer, real or boolean", typename().get());
-    }
-
-    int index = get().indexOf(subString);
-    if (index < 0) {
-      return VoidValues.get();
-    }
-    return ItemValues.build()
-        .value(subString)
-        .index(index)
-        .get();
+  int indexOf(String string) {
+    return value.indexOf(string);
   }
 
   @Override
-  public Value get(Value key) throws ResolveTemplateException {
-    if (key.type() != ValueTypes.Integer) {
-      throw IrregularValueTypeException.withMessage("Invalid index type: {0}. " +
-          "Expected integer value", key.typename().get());
-    }
-    int index = ((IntegerValue) key).get();
-    if (index < 0 || index >= get().length()) {
-      return ItemValues.build()
-          .value(VoidValues.get())
-          .index((IntegerValue) key)
-          .get();
-    }
-    return ItemValues.build()
-        .value("" + get().charAt(index))
-        .index((IntegerValue) key)
-        .first(index == 0)
-        .last(index == get().length() - 1)
-        .get();
+  int charsHashCode() {
+    // String caches own hash code
+    return value.hashCode();
   }
 
-  @Override
-  public StringValue capitalizeFirstLetter() {
-    return StringValues.of(TextFunctions.capitalizeFirstLetter(get()));
-  }
+  /**
+   * Values of the ASCII characters.
+   */
+  static final StringValue[] ASCII_CHARS = new StringValue[128];
 
-  @Override
-  public boolean equals(Object o) {
-    if (this == o) {
-      return true;
-    }
-    if (!StringValue.class.isInstance(o)) {
-      return false;
+  static {
+    for (char ch = 0; ch < ASCII_CHARS.length; ch++) {
+      ASCII_CHARS[ch] = new StringValueImpl(String.valueOf(ch));
     }
-    StringValue other = (StringValue) o;
-    return Objects.equals(get(), other.get());
-  }
-
-  @Override
-  public int hashCode() {
-    return Objects.hash(get());
   }
 }
@@ -5,11 +5,30 @@ import java.util.Objects;
 public interface StringValues {
 
   static StringValue of(char ch) {
-    return new StringValueImpl("" + ch);
+    if (ch < StringValueImpl.ASCII_CHARS.length) {
+      return StringValueImpl.ASCII_CHARS[ch];
+    }
+    return new StringValueImpl(String.valueOf(ch));
   }
 
   static StringValue of(String string) {
     Objects.requireNonNull(string);
     return new StringValueImpl(string);
   }
+
+  /**
+   * Returns string value of the characters range without copying of the characters.
+   *
+   * @param string source string.
+   * @param beginIndex the beginning index, inclusive.
+   * @param endIndex the ending index, exclusive.
+   * @return string value.
+   */
+  static StringValue of(String string, int beginIndex, int endIndex) {
+    Objects.checkFromToIndex(beginIndex, endIndex, string.length());
+    if (beginIndex == 0 && endIndex == string.length()) {
+      return new StringValueImpl(string);
+    }
+    return new StringSliceValue(string, beginIndex, endIndex - beginIndex);
+  }
 }
@@ -7,8 +7,10 @@ import intellispaces.common.base.function.RunnableFunctions;
 import intellispaces.common.templateengine.exception.ResolveTemplateException;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 
 public interface ValueFunctions {
 
@@ -34,6 +36,14 @@ public interface ValueFunctions {
       return StringValues.of((String) object);
     } else if (object instanceof List) {
       return listToValue((List<?>) object);
+    } else if (object instanceof int[]) {
+      return ListValues.of((int[]) object);
+    } else if (object instanceof double[]) {
+      return ListValues.of((double[]) object);
+    } else if (object instanceof boolean[]) {
+      return ListValues.of((boolean[]) object);
+    } else if (object instanceof String[]) {
+      return ListValues.of((String[]) object);
     } else if (object instanceof Map) {
       return mapToValue((Map<?, ?>) object);
     }
@@ -42,6 +52,10 @@ public interface ValueFunctions {
   }
 
   private static ListValue listToValue(List<?> list) throws ResolveTemplateException {
+    List<Value> arrayElements = ArrayElements.of(list);
+    if (arrayElements != null) {
+      return ListValueBuilder.build(arrayElements);
+    }
     List<Value> values = FunctionFunctions.applyAndUncoverIfCovered(
         (s) -> s
           .map(Functions.coveredThrowableFunction(ValueFunctions::objectToValue))
@@ -99,6 +113,144 @@ public interface ValueFunctions {
     throw UnexpectedViolationException.withMessage("Unsupported value type: {0}", value.typename().get());
   }
 
+  /**
+   * Checks that iterator of the list value elements has more elements.
+   *
+   * <p>Elements of the pipeline operations are computed by iterator, so errors of these computations are uncovered.
+   *
+   * @param iterator iterator of the elements.
+   * @return <code>true</code> if iterator has more elements.
+   * @throws ResolveTemplateException throws if next element can't be computed.
+   */
+  static boolean hasNextElement(Iterator<Value> iterator) throws ResolveTemplateException {
+    return FunctionFunctions.applyAndUncoverIfCovered(Iterator::hasNext, iterator, ResolveTemplateException.class);
+  }
+
+  /**
+   * Returns next element of the list value elements iterator.
+   *
+   * @param iterator iterator of the elements.
+   * @return next element.
+   * @throws ResolveTemplateException throws if next element can't be computed.
+   */
+  static Value nextElement(Iterator<Value> iterator) throws ResolveTemplateException {
+    return FunctionFunctions.applyAndUncoverIfCovered(Iterator::next, iterator, ResolveTemplateException.class);
+  }
+
+  /**
+   * Appends string representation of the value to string builder.
+   *
+   * <p>Nested values are written directly to string builder without intermediate strings.
+   *
+   * @param value the value.
+   * @param sb string builder.
+   */
+  static void appendValue(Value value, StringBuilder sb) throws ResolveTemplateException {
+    if (value.type() == ValueTypes.List) {
+      // Elements of the pipeline operations are computed while list is appended
+      RunnableFunctions.runAndUncoverIfCovered(() -> appendValue(value, false, sb), ResolveTemplateException.class);
+    } else {
+      appendValue(value, false, sb);
+    }
+  }
+
+  private static void appendValue(Value value, boolean isNested, StringBuilder sb) {
+    if (value.type() == ValueTypes.Void) {
+      sb.append("void");
+    } else if (value.type() == ValueTypes.Boolean) {
+      sb.append(((BooleanValue) value.origin()).get());
+    } else if (value.type() == ValueTypes.Integer) {
+      NumberFormatFunctions.appendInteger(((IntegerValue) value.origin()).get(), sb);
+    } else if (value.type() == ValueTypes.Real) {
+      NumberFormatFunctions.appendReal(((RealValue) value.origin()).get(), sb);
+    } else if (value.type() == ValueTypes.String) {
+      if (isNested) {
+        sb.append('"');
+      }
+      appendString((StringValue) value.origin(), sb);
+      if (isNested) {
+        sb.append('"');
+      }
+    } else if (value.type() == ValueTypes.List) {
+      appendList(((ListValue) value.origin()).get(), sb);
+    } else if (value.type() == ValueTypes.Map) {
+      appendMap((MapValue) value.origin(), sb);
+    } else {
+      throw UnexpectedViolationException.withMessage("Unsupported value type: {0}", value.typename().get());
+    }
+  }
+
+  private static void appendString(StringValue value, StringBuilder sb) {
+    if (value instanceof AbstractStringValue) {
+      // Slices are appended without materialization
+      ((AbstractStringValue) value).appendTo(sb);
+    } else {
+      sb.append(value.get());
+    }
+  }
+
+  private static void appendList(List<Value> list, StringBuilder sb) {
+    sb.append('[');
+    if (list instanceof ArrayElements) {
+      // Elements are appended without wrapping to values
+      var elements = (ArrayElements) list;
+      for (int index = 0; index < elements.size(); index++) {
+        if (index != 0) {
+          sb.append(',');
+        }
+        elements.appendElement(index, sb);
+      }
+    } else if (list instanceof RandomAccess) {
+      // Indexed access does not allocate iterator
+      for (int index = 0; index < list.size(); index++) {
+        if (index != 0) {
+          sb.append(',');
+        }
+        appendValue(list.get(index), true, sb);
+      }
+    } else {
+      var first = true;
+      for (Value value : list) {
+        if (!first) {
+          sb.append(',');
+        }
+        first = false;
+        appendValue(value, true, sb);
+      }
+    }
+    sb.append(']');
+  }
+
+  private static void appendMap(MapValue mapValue, StringBuilder sb) {
+    sb.append('[');
+    if (mapValue.get() instanceof ValueHashMap) {
+      // Indexed access does not allocate iterator and entries
+      ValueHashMap valueHashMap = (ValueHashMap) mapValue.get();
+      for (int index = 0; index < valueHashMap.size(); index++) {
+        if (index != 0) {
+          sb.append(',');
+        }
+        appendEntry(valueHashMap.keyAt(index), valueHashMap.valueAt(index), sb);
+      }
+    } else {
+      var first = true;
+      for (Map.Entry<Value, Value> entry : mapValue.get().entrySet()) {
+        if (!first) {
+          sb.append(',');
+        }
+        first = false;
+        appendEntry(entry.getKey(), entry.getValue(), sb);
+      }
+    }
+    sb.append(']');
+  }
+
+  private static void appendEntry(Value key, Value value, StringBuilder sb) {
+    appendValue(key, true, sb);
+    sb.append(':');
+    appendValue(value, true, sb);
+  }
+
   /**
    * Soft casting of the value to boolean primitive.
    *
@@ -218,7 +370,7 @@ public interface ValueFunctions {
     } else if (value.type() == ValueTypes.Integer) {
       return Integer.toString(((IntegerValue) value).get());
     } else if (value.type() == ValueTypes.Real) {
-      return Double.toString(((RealValue) value).get());
+      return NumberFormatFunctions.appendReal(((RealValue) value).get(), new StringBuilder(24)).toString();
     } else {
       throw ResolveTemplateException.withMessage("Value of type {0} cannot be casted to string",
           value.type().typename());
@@ -0,0 +1,177 @@
+package intellispaces.common.templateengine.expression.value;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable map of the values based on open addressing.
+ *
+ * <p>Entries are stored in arrays in order of the source map, so iteration order is preserved.
+ * Hash codes of the keys are computed once and cached in the slots of the table. Keys are stored as {@link Value#origin() origin} values,
+ * so item values and unwrapped values address the same entry.
+ *
+ * <p>String keys are also stored as {@link String}s, so they can be looked up without wrapping
+ * the key to value.
+ */
+final class ValueHashMap extends AbstractMap<Value, Value> {
+  private final Value[] keys;
+  private final Value[] values;
+  private final int[] hashes;
+  private final String[] stringKeys;
+  private final int[] table;
+  private final int mask;
+  private final int shift;
+  private int size;
+  private Set<Map.Entry<Value, Value>> entrySet;
+
+  private ValueHashMap(int capacity) {
+    keys = new Value[capacity];
+    values = new Value[capacity];
+    stringKeys = new String[capacity];
+    int tableSize = Integer.highestOneBit(Math.max(capacity * 2, 2) - 1) << 1;
+    table = new int[tableSize];
+    hashes = new int[tableSize];
+    mask = tableSize - 1;
+    shift = Integer.numberOfLeadingZeros(tableSize) + 1;
+  }
+
+  static ValueHashMap of(Map<Value, Value> map) {
+    if (map instanceof ValueHashMap) {
+      return (ValueHashMap) map;
+    }
+    var valueHashMap = new ValueHashMap(map.size());
+    for (Map.Entry<Value, Value> entry : map.entrySet()) {
+      valueHashMap.add(entry.getKey().origin(), entry.getValue());
+    }
+    return valueHashMap;
+  }
+
+  private void add(Value key, Value value) {
+    int hash = key.hashCode();
+    int slot = slot(hash);
+    while (table[slot] != 0) {
+      int index = table[slot] - 1;
+      if (hashes[slot] == hash && keys[index].equals(key)) {
+        values[index] = value;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[size] = key;
+    values[size] = value;
+    hashes[slot] = hash;
+    if (key.type() == ValueTypes.String) {
+      stringKeys[size] = ((StringValue) key).get();
+    }
+    // Table stores entry index plus one, so zero is the empty slot
+    table[slot] = ++size;
+  }
+
+  /**
+   * Returns value of the string key.
+   *
+   * @param key string key.
+   * @return value or <code>null</code> if map does not contain the key.
+   */
+  Value getByString(String key) {
+    // Hash code of the string value
+    int hash = AbstractValue.hashOf(key.hashCode());
+    int slot = slot(hash);
+    while (table[slot] != 0) {
+      int index = table[slot] - 1;
+      if (hashes[slot] == hash && key.equals(stringKeys[index])) {
+        return values[index];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return null;
+  }
+
+  private int slot(int hash) {
+    // Fibonacci hashing scatters close hash codes, such as hash codes of the similar strings
+    return (hash * 0x9E3779B9) >>> shift;
+  }
+
+  private int indexOf(Object o) {
+    if (!(o instanceof Value)) {
+      return -1;
+    }
+    Value key = ((Value) o).origin();
+    int hash = key.hashCode();
+    int slot = slot(hash);
+    while (table[slot] != 0) {
+      int index = table[slot] - 1;
+      if (hashes[slot] == hash && keys[index].equals(key)) {
+        return index;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  @Override
+  public Value get(Object key) {
+    int index = indexOf(key);
+    return index >= 0 ? values[index] : null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  Value keyAt(int index) {
+    return keys[index];
+  }
+
+  Value valueAt(int index) {
+    return values[index];
+  }
+
+  @Override
+  public Set<Map.Entry<Value, Value>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+
+  private final class EntrySet extends AbstractSet<Map.Entry<Value, Value>> {
+
+    @Override
+    public Iterator<Map.Entry<Value, Value>> iterator() {
+      return new Iterator<>() {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+          return index < size;
+        }
+
+        @Override
+        public Map.Entry<Value, Value> next() {
+          if (index >= size) {
+            throw new NoSuchElementException();
+          }
+          Map.Entry<Value, Value> entry = new SimpleImmutableEntry<>(keys[index], values[index]);
+          index++;
+          return entry;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
@@ -10,10 +10,7 @@ class VoidValueImpl extends AbstractValue implements VoidValue {
   }
 
   @Override
-  public BooleanValue eq(Value other) {
-    if (other.type() == ValueTypes.Void) {
-      return BooleanValues.of(true);
-    }
-    return BooleanValues.of(false);
+  boolean equalsValue(Value other) {
+    return other.type() == ValueTypes.Void;
   }
 }
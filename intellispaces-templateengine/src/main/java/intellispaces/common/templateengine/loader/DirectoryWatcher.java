@@ -0,0 +1,124 @@
+package intellispaces.common.templateengine.loader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Watcher of files in directory trees.
+ *
+ * <p>Listener is called on the watcher thread.
+ */
+final class DirectoryWatcher implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(DirectoryWatcher.class);
+
+  private final WatchService watchService;
+  private final Map<WatchKey, WatchedDirectory> watchedDirectories = new ConcurrentHashMap<>();
+  private final Listener listener;
+  private final Thread thread;
+
+  DirectoryWatcher(List<Path> rootDirectories, Listener listener) throws IOException {
+    this.watchService = rootDirectories.get(0).getFileSystem().newWatchService();
+    this.listener = listener;
+    for (Path rootDirectory : rootDirectories) {
+      registerTree(rootDirectory, rootDirectory);
+    }
+    this.thread = new Thread(this::watch, "template-directory-watcher");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  private void registerTree(Path rootDirectory, Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (Path path : paths.filter(Files::isDirectory).toList()) {
+        WatchKey key = path.register(
+            watchService,
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY,
+            StandardWatchEventKinds.ENTRY_DELETE
+        );
+        watchedDirectories.put(key, new WatchedDirectory(rootDirectory, path));
+      }
+    }
+  }
+
+  private void watch() {
+    while (true) {
+      WatchKey key;
+      try {
+        key = watchService.take();
+      } catch (InterruptedException | ClosedWatchServiceException e) {
+        return;
+      }
+      WatchedDirectory watchedDirectory = watchedDirectories.get(key);
+      if (watchedDirectory != null) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+          handleEvent(watchedDirectory, event);
+        }
+      }
+      if (!key.reset()) {
+        watchedDirectories.remove(key);
+      }
+    }
+  }
+
+  private void handleEvent(WatchedDirectory watchedDirectory, WatchEvent<?> event) {
+    try {
+      if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+        listener.overflowed();
+        return;
+      }
+      Path path = watchedDirectory.directory().resolve((Path) event.context());
+      if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+        registerTree(watchedDirectory.rootDirectory(), path);
+      } else {
+        listener.fileChanged(watchedDirectory.rootDirectory(), path);
+      }
+    } catch (Exception e) {
+      LOG.warn("Failed to handle change of template directory " + watchedDirectory.directory(), e);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      watchService.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to close template directory watcher", e);
+    }
+    thread.interrupt();
+  }
+
+  interface Listener {
+
+    /**
+     * Called when file is created, modified or deleted.
+     *
+     * @param rootDirectory watched root directory.
+     * @param path the file path.
+     */
+    void fileChanged(Path rootDirectory, Path path);
+
+    /**
+     * Called when some changes may be lost.
+     */
+    void overflowed();
+  }
+
+  private record WatchedDirectory(Path rootDirectory, Path directory) {}
+}
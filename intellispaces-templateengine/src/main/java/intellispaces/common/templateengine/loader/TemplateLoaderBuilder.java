@@ -0,0 +1,92 @@
+package intellispaces.common.templateengine.loader;
+
+import intellispaces.common.base.exception.UnexpectedViolationException;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+public final class TemplateLoaderBuilder {
+  private final List<Path> directories = new ArrayList<>();
+  private String classpathPrefix;
+  private ClassLoader classLoader;
+  private Charset charset = StandardCharsets.UTF_8;
+  private boolean hotReload;
+  private Consumer<String> reloadListener;
+
+  TemplateLoaderBuilder() {}
+
+  /**
+   * Adds directory to search templates in.
+   *
+   * <p>Directories are searched in order of addition, before the classpath.
+   */
+  public TemplateLoaderBuilder directory(Path directory) {
+    this.directories.add(directory);
+    return this;
+  }
+
+  /**
+   * Enables to search templates in classpath.
+   *
+   * @param prefix resource name prefix, for example <code>templates/</code>.
+   */
+  public TemplateLoaderBuilder classpath(String prefix) {
+    this.classpathPrefix = prefix;
+    return this;
+  }
+
+  public TemplateLoaderBuilder classLoader(ClassLoader classLoader) {
+    this.classLoader = classLoader;
+    return this;
+  }
+
+  public TemplateLoaderBuilder charset(Charset charset) {
+    this.charset = charset;
+    return this;
+  }
+
+  /**
+   * Enables to re-parse templates when template files in directories are changed.
+   */
+  public TemplateLoaderBuilder hotReload(boolean hotReload) {
+    this.hotReload = hotReload;
+    return this;
+  }
+
+  /**
+   * Sets listener called with template name after the template is reloaded.
+   *
+   * <p>Listener is called on the watcher thread. Listener exceptions are logged and do not stop reloading.
+   * The listener is used by tests to wait for reloading.
+   */
+  TemplateLoaderBuilder reloadListener(Consumer<String> reloadListener) {
+    this.reloadListener = reloadListener;
+    return this;
+  }
+
+  public TemplateLoader get() {
+    validate();
+    return new TemplateLoaderImpl(
+        directories.stream()
+            .map(d -> d.toAbsolutePath().normalize())
+            .toList(),
+        classpathPrefix,
+        classLoader != null ? classLoader : TemplateLoaderBuilder.class.getClassLoader(),
+        charset,
+        hotReload,
+        reloadListener
+    );
+  }
+
+  private void validate() {
+    Objects.requireNonNull(charset);
+    if (directories.isEmpty() && classpathPrefix == null) {
+      throw UnexpectedViolationException.withMessage("Template directory or classpath should be defined");
+    }
+  }
+}
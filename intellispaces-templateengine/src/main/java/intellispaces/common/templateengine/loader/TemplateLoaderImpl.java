@@ -0,0 +1,167 @@
+package intellispaces.common.templateengine.loader;
+
+import intellispaces.common.base.exception.UnexpectedViolationException;
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.template.Template;
+import intellispaces.common.templateengine.template.Templates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Template loader.
+ *
+ * <p>Every template name is mapped to the entry which parses the template on first request.
+ * When the template file is changed, the entry re-parses the template on the watcher thread
+ * and replaces the template reference. Renders started before keep using the previous template.
+ */
+class TemplateLoaderImpl implements TemplateLoader {
+  private static final Logger LOG = LoggerFactory.getLogger(TemplateLoaderImpl.class);
+
+  private final List<Path> directories;
+  private final String classpathPrefix;
+  private final ClassLoader classLoader;
+  private final Charset charset;
+  private final Consumer<String> reloadListener;
+  private final Map<String, TemplateEntry> entries = new ConcurrentHashMap<>();
+  private final DirectoryWatcher watcher;
+
+  TemplateLoaderImpl(
+      List<Path> directories,
+      String classpathPrefix,
+      ClassLoader classLoader,
+      Charset charset,
+      boolean hotReload,
+      Consumer<String> reloadListener
+  ) {
+    this.directories = directories;
+    this.classpathPrefix = classpathPrefix;
+    this.classLoader = classLoader;
+    this.charset = charset;
+    this.reloadListener = reloadListener;
+    this.watcher = (hotReload && !directories.isEmpty() ? createWatcher(directories) : null);
+  }
+
+  private DirectoryWatcher createWatcher(List<Path> directories) {
+    try {
+      return new DirectoryWatcher(directories, new DirectoryWatcher.Listener() {
+        @Override
+        public void fileChanged(Path rootDirectory, Path path) {
+          onFileChanged(rootDirectory, path);
+        }
+
+        @Override
+        public void overflowed() {
+          entries.values().forEach(TemplateEntry::reload);
+        }
+      });
+    } catch (IOException e) {
+      throw UnexpectedViolationException.withCauseAndMessage(e, "Failed to watch template directories");
+    }
+  }
+
+  @Override
+  public Template get(String name) throws ParseTemplateException {
+    return entries.computeIfAbsent(name, TemplateEntry::new).get();
+  }
+
+  @Override
+  public void close() {
+    if (watcher != null) {
+      watcher.close();
+    }
+  }
+
+  private void onFileChanged(Path rootDirectory, Path path) {
+    String name = rootDirectory.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+    TemplateEntry entry = entries.get(name);
+    if (entry == null) {
+      return;
+    }
+    if (Files.exists(path)) {
+      entry.reload();
+    } else {
+      // Template will be resolved again on next request
+      entries.remove(name, entry);
+    }
+  }
+
+  private Template load(String name) throws ParseTemplateException {
+    for (Path directory : directories) {
+      Path path = directory.resolve(name).normalize();
+      if (path.startsWith(directory) && Files.isRegularFile(path)) {
+        // Watched files are edited in place, so source is not memory-mapped
+        return Templates.of(path, charset);
+      }
+    }
+    if (classpathPrefix != null) {
+      InputStream inputStream = classLoader.getResourceAsStream(classpathPrefix + name);
+      if (inputStream != null) {
+        try (Reader reader = new InputStreamReader(inputStream, charset)) {
+          return Templates.of(reader);
+        } catch (IOException e) {
+          throw ParseTemplateException.withCauseAndMessage(e, "Failed to read template {0}", name);
+        }
+      }
+    }
+    throw ParseTemplateException.withMessage("Template {0} is not found", name);
+  }
+
+  private final class TemplateEntry {
+    private final String name;
+    private volatile Template template;
+
+    TemplateEntry(String name) {
+      this.name = name;
+    }
+
+    Template get() throws ParseTemplateException {
+      Template currentTemplate = template;
+      if (currentTemplate == null) {
+        synchronized (this) {
+          currentTemplate = template;
+          if (currentTemplate == null) {
+            currentTemplate = load(name);
+            template = currentTemplate;
+          }
+        }
+      }
+      return currentTemplate;
+    }
+
+    void reload() {
+      if (template == null) {
+        // Template is not requested yet
+        return;
+      }
+      try {
+        Template newTemplate = load(name);
+        synchronized (this) {
+          template = newTemplate;
+        }
+        LOG.debug("Template {} is reloaded", name);
+      } catch (ParseTemplateException e) {
+        LOG.warn("Failed to reload template " + name + ", previous version is kept", e);
+        return;
+      }
+      if (reloadListener != null) {
+        try {
+          reloadListener.accept(name);
+        } catch (RuntimeException e) {
+          LOG.warn("Reload listener failed on template " + name, e);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package intellispaces.common.templateengine.loader;
+
+public interface TemplateLoaders {
+
+  static TemplateLoaderBuilder build() {
+    return new TemplateLoaderBuilder();
+  }
+}
@@ -0,0 +1,39 @@
+package intellispaces.common.templateengine.program;
+
+/**
+ * Opcodes of the template program.
+ *
+ * <p>Every instruction is the opcode followed by its operands. Operands are indexes
+ * in the constant pools of the program or addresses in the code array.
+ * <pre>
+ *   TEXT            text
+ *   PRINT           expression, indentation
+ *   TEXT_PRINT_TEXT text, expression, indentation, text
+ *   SET             name, expression
+ *   LOOP_BEGIN      name, expression, exit address
+ *   LOOP_NEXT       body address
+ *   BRANCH          expression, address when condition is false
+ *   JUMP            address
+ *   FORMAT_BEGIN
+ *   FORMAT_END      format flags
+ *   HALT
+ * </pre>
+ */
+final class Opcodes {
+
+  private Opcodes() {}
+
+  static final int TEXT = 0;
+  static final int PRINT = 1;
+  static final int TEXT_PRINT_TEXT = 2;
+  static final int SET = 3;
+  static final int LOOP_BEGIN = 4;
+  static final int LOOP_NEXT = 5;
+  static final int BRANCH = 6;
+  static final int JUMP = 7;
+  static final int FORMAT_BEGIN = 8;
+  static final int FORMAT_END = 9;
+  static final int HALT = 10;
+
+  static final int FORMAT_NOBR = 1;
+}
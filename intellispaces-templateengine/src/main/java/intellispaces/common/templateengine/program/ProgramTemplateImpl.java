@@ -0,0 +1,38 @@
+package intellispaces.common.templateengine.program;
+
+import intellispaces.common.templateengine.element.TemplateElement;
+import intellispaces.common.templateengine.exception.ResolveTemplateException;
+import intellispaces.common.templateengine.expression.value.Value;
+import intellispaces.common.templateengine.expression.value.ValueFunctions;
+import intellispaces.common.templateengine.template.Template;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template resolved by the template program.
+ */
+class ProgramTemplateImpl implements Template {
+  private final List<TemplateElement> elements;
+  private final TemplateProgram program;
+
+  ProgramTemplateImpl(List<TemplateElement> elements, TemplateProgram program) {
+    this.elements = elements;
+    this.program = program;
+  }
+
+  @Override
+  public List<TemplateElement> elements() {
+    return elements;
+  }
+
+  @Override
+  public String resolve(Map<String, Object> variables) throws ResolveTemplateException {
+    Map<String, Value> values = new HashMap<>();
+    for (Map.Entry<String, Object> entry : variables.entrySet()) {
+      values.put(entry.getKey(), ValueFunctions.objectToValue(entry.getValue()));
+    }
+    return program.execute(values);
+  }
+}
@@ -0,0 +1,162 @@
+package intellispaces.common.templateengine.program;
+
+import intellispaces.common.base.exception.UnexpectedViolationException;
+import intellispaces.common.templateengine.arena.TextArenas;
+import intellispaces.common.templateengine.element.ElementFunctions;
+import intellispaces.common.templateengine.exception.ResolveTemplateException;
+import intellispaces.common.templateengine.expression.Expression;
+import intellispaces.common.templateengine.expression.ResolveExpressionFunctions;
+import intellispaces.common.templateengine.expression.value.ItemCursor;
+import intellispaces.common.templateengine.expression.value.ItemValues;
+import intellispaces.common.templateengine.expression.value.Value;
+import intellispaces.common.templateengine.expression.value.ValueFunctions;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template compiled to flat instruction array.
+ *
+ * <p>Program is executed by single interpreter loop, see {@link Opcodes}.
+ * Texts, expressions and variable names are kept in the constant pools.
+ * Texts of the text arena are appended by bulk copy.
+ */
+final class TemplateProgram {
+  private final int[] code;
+  private final CharSequence[] texts;
+  private final Expression[] expressions;
+  private final String[] names;
+
+  TemplateProgram(int[] code, CharSequence[] texts, Expression[] expressions, String[] names) {
+    this.code = code;
+    this.texts = texts;
+    this.expressions = expressions;
+    this.names = names;
+  }
+
+  String execute(Map<String, Value> variables) throws ResolveTemplateException {
+    var sb = new StringBuilder();
+    Map<String, Value> scope = variables;
+    LoopFrame loop = null;
+    int[] formatMarks = new int[4];
+    int numFormatMarks = 0;
+    int pc = 0;
+    while (true) {
+      switch (code[pc]) {
+        case Opcodes.TEXT:
+          TextArenas.append(sb, texts[code[pc + 1]]);
+          pc += 2;
+          break;
+        case Opcodes.PRINT:
+          print(sb, expressions[code[pc + 1]], code[pc + 2], scope);
+          pc += 3;
+          break;
+        case Opcodes.TEXT_PRINT_TEXT:
+          TextArenas.append(sb, texts[code[pc + 1]]);
+          print(sb, expressions[code[pc + 2]], code[pc + 3], scope);
+          TextArenas.append(sb, texts[code[pc + 4]]);
+          pc += 5;
+          break;
+        case Opcodes.SET:
+          scope.put(names[code[pc + 1]], ItemCursor.capture(
+              ResolveExpressionFunctions.resolveExpression(expressions[code[pc + 2]], scope)));
+          pc += 3;
+          break;
+        case Opcodes.LOOP_BEGIN:
+          List<Value> values = ResolveExpressionFunctions.resolveExpressionToList(expressions[code[pc + 2]], scope);
+          Iterator<Value> iterator = values != null ? values.iterator() : null;
+          if (iterator == null || !ValueFunctions.hasNextElement(iterator)) {
+            pc = code[pc + 3];
+          } else {
+            loop = new LoopFrame(loop, scope, names[code[pc + 1]], iterator);
+            scope = loop.itemScope;
+            loop.putItem();
+            pc += 4;
+          }
+          break;
+        case Opcodes.LOOP_NEXT:
+          loop.index++;
+          if (ValueFunctions.hasNextElement(loop.iterator)) {
+            loop.putItem();
+            pc = code[pc + 1];
+          } else {
+            scope = loop.outerScope;
+            loop = loop.outer;
+            pc += 2;
+          }
+          break;
+        case Opcodes.BRANCH:
+          if (ResolveExpressionFunctions.resolveExpressionToBoolean(expressions[code[pc + 1]], scope)) {
+            pc += 3;
+          } else {
+            pc = code[pc + 2];
+          }
+          break;
+        case Opcodes.JUMP:
+          pc = code[pc + 1];
+          break;
+        case Opcodes.FORMAT_BEGIN:
+          if (numFormatMarks == formatMarks.length) {
+            formatMarks = Arrays.copyOf(formatMarks, numFormatMarks * 2);
+          }
+          formatMarks[numFormatMarks++] = sb.length();
+          pc += 1;
+          break;
+        case Opcodes.FORMAT_END:
+          int mark = formatMarks[--numFormatMarks];
+          if ((code[pc + 1] & Opcodes.FORMAT_NOBR) != 0) {
+            ElementFunctions.removeLinebreaks(sb, mark);
+          }
+          pc += 2;
+          break;
+        case Opcodes.HALT:
+          return sb.toString();
+        default:
+          throw UnexpectedViolationException.withMessage("Unknown opcode {0} at address {1}", code[pc], pc);
+      }
+    }
+  }
+
+  private static void print(
+      StringBuilder sb, Expression expression, int indentation, Map<String, Value> scope
+  ) throws ResolveTemplateException {
+    int mark = sb.length();
+    ResolveExpressionFunctions.resolveExpressionToString(expression, scope, sb);
+    ElementFunctions.indent(sb, mark, indentation);
+  }
+
+  /**
+   * State of the executed loop.
+   *
+   * <p>Loop body is executed in own scope, which is a copy of the outer scope.
+   * Elements are pulled one ahead to detect the last element, so lazy elements are computed in single pass.
+   */
+  private static final class LoopFrame {
+    private final LoopFrame outer;
+    private final Map<String, Value> outerScope;
+    private final Map<String, Value> itemScope;
+    private final String itemName;
+    private final ItemCursor cursor;
+    private final Iterator<Value> iterator;
+    private int index;
+
+    LoopFrame(LoopFrame outer, Map<String, Value> outerScope, String itemName, Iterator<Value> iterator) {
+      this.outer = outer;
+      this.outerScope = outerScope;
+      this.itemScope = new HashMap<>(outerScope);
+      this.itemName = itemName;
+      this.cursor = ItemValues.cursor();
+      this.iterator = iterator;
+    }
+
+    void putItem() throws ResolveTemplateException {
+      Value value = ValueFunctions.nextElement(iterator);
+      cursor.move(value, index, !ValueFunctions.hasNextElement(iterator));
+      // Cursor is put on each iteration, because item variable can be reassigned in the loop body
+      itemScope.put(itemName, cursor);
+    }
+  }
+}
@@ -0,0 +1,188 @@
+package intellispaces.common.templateengine.program;
+
+import intellispaces.common.base.exception.UnexpectedViolationException;
+import intellispaces.common.templateengine.element.MarkerFormatType;
+import intellispaces.common.templateengine.element.MarkerFormatTypes;
+import intellispaces.common.templateengine.element.MarkerPrint;
+import intellispaces.common.templateengine.element.MarkerSet;
+import intellispaces.common.templateengine.element.StatementForeach;
+import intellispaces.common.templateengine.element.StatementFormat;
+import intellispaces.common.templateengine.element.StatementWhen;
+import intellispaces.common.templateengine.element.StatementWhenBranch;
+import intellispaces.common.templateengine.element.TemplateElement;
+import intellispaces.common.templateengine.element.TemplateElementType;
+import intellispaces.common.templateengine.element.TemplateElementTypes;
+import intellispaces.common.templateengine.element.TextElement;
+import intellispaces.common.templateengine.expression.Expression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiler of the template element tree to the template program.
+ */
+final class TemplateProgramCompiler {
+  private int[] code = new int[64];
+  private int codeLength;
+  private final List<CharSequence> texts = new ArrayList<>();
+  private final Map<String, Integer> textIndexes = new HashMap<>();
+  private final List<Expression> expressions = new ArrayList<>();
+  private final Map<Expression, Integer> expressionIndexes = new IdentityHashMap<>();
+  private final List<String> names = new ArrayList<>();
+  private final Map<String, Integer> nameIndexes = new HashMap<>();
+
+  TemplateProgram compile(List<TemplateElement> elements) {
+    compileElements(elements);
+    emit(Opcodes.HALT);
+    return new TemplateProgram(
+        Arrays.copyOf(code, codeLength),
+        texts.toArray(new CharSequence[0]),
+        expressions.toArray(new Expression[0]),
+        names.toArray(new String[0])
+    );
+  }
+
+  private void compileElements(List<TemplateElement> elements) {
+    int index = 0;
+    while (index < elements.size()) {
+      if (isTextPrintText(elements, index)) {
+        MarkerPrint marker = (MarkerPrint) elements.get(index + 1);
+        emit(Opcodes.TEXT_PRINT_TEXT);
+        emit(textIndex(((TextElement) elements.get(index)).text()));
+        emit(expressionIndex(marker.outputExpression()));
+        emit(marker.indentation());
+        emit(textIndex(((TextElement) elements.get(index + 2)).text()));
+        index += 3;
+      } else {
+        compileElement(elements.get(index));
+        index++;
+      }
+    }
+  }
+
+  private static boolean isTextPrintText(List<TemplateElement> elements, int index) {
+    return index + 2 < elements.size()
+        && elements.get(index).type() == TemplateElementTypes.Text
+        && elements.get(index + 1).type() == TemplateElementTypes.MarkerPrint
+        && elements.get(index + 2).type() == TemplateElementTypes.Text;
+  }
+
+  private void compileElement(TemplateElement element) {
+    TemplateElementType type = element.type();
+    if (type == TemplateElementTypes.Text) {
+      CharSequence text = ((TextElement) element).text();
+      if (text.length() > 0) {
+        emit(Opcodes.TEXT);
+        emit(textIndex(text));
+      }
+    } else if (type == TemplateElementTypes.MarkerPrint) {
+      MarkerPrint marker = (MarkerPrint) element;
+      emit(Opcodes.PRINT);
+      emit(expressionIndex(marker.outputExpression()));
+      emit(marker.indentation());
+    } else if (type == TemplateElementTypes.MarkerSet) {
+      MarkerSet marker = (MarkerSet) element;
+      emit(Opcodes.SET);
+      emit(nameIndex(marker.valueName()));
+      emit(expressionIndex(marker.valueExpression()));
+    } else if (type == TemplateElementTypes.StatementFormat) {
+      compileFormat((StatementFormat) element);
+    } else if (type == TemplateElementTypes.StatementForeach) {
+      compileForeach((StatementForeach) element);
+    } else if (type == TemplateElementTypes.StatementWhen) {
+      compileWhen((StatementWhen) element);
+    } else if (type == TemplateElementTypes.MarkerFormat
+        || type == TemplateElementTypes.MarkerForeach
+        || type == TemplateElementTypes.MarkerWhen
+        || type == TemplateElementTypes.MarkerElse
+        || type == TemplateElementTypes.MarkerEnd
+    ) {
+      // Single markers are resolved to empty string
+    } else {
+      throw UnexpectedViolationException.withMessage("Unsupported template element type {0}", type.name());
+    }
+  }
+
+  private void compileFormat(StatementFormat statement) {
+    int flags = 0;
+    for (MarkerFormatType formatType : statement.types()) {
+      if (MarkerFormatTypes.nobr.name().equals(formatType.name())) {
+        flags |= Opcodes.FORMAT_NOBR;
+      }
+    }
+    emit(Opcodes.FORMAT_BEGIN);
+    compileElements(statement.subElements());
+    emit(Opcodes.FORMAT_END);
+    emit(flags);
+  }
+
+  private void compileForeach(StatementForeach statement) {
+    emit(Opcodes.LOOP_BEGIN);
+    emit(nameIndex(statement.itemName()));
+    emit(expressionIndex(statement.collectionExpression()));
+    int exitAddressOperand = emit(0);
+    int bodyAddress = codeLength;
+    compileElements(statement.subElements());
+    emit(Opcodes.LOOP_NEXT);
+    emit(bodyAddress);
+    code[exitAddressOperand] = codeLength;
+  }
+
+  private void compileWhen(StatementWhen statement) {
+    List<Integer> endAddressOperands = new ArrayList<>();
+    for (StatementWhenBranch branch : statement.branches()) {
+      emit(Opcodes.BRANCH);
+      emit(expressionIndex(branch.condition()));
+      int nextBranchAddressOperand = emit(0);
+      compileElements(branch.subElements());
+      emit(Opcodes.JUMP);
+      endAddressOperands.add(emit(0));
+      code[nextBranchAddressOperand] = codeLength;
+    }
+    if (statement.defaultBranch() != null) {
+      compileElements(statement.defaultBranch().subElements());
+    }
+    for (int operand : endAddressOperands) {
+      code[operand] = codeLength;
+    }
+  }
+
+  /**
+   * Appends value to the code.
+   *
+   * @return address of the value.
+   */
+  private int emit(int value) {
+    if (codeLength == code.length) {
+      code = Arrays.copyOf(code, codeLength * 2);
+    }
+    code[codeLength] = value;
+    return codeLength++;
+  }
+
+  private int textIndex(CharSequence text) {
+    return textIndexes.computeIfAbsent(text.toString(), t -> {
+      // Original text is kept, it can be the arena text
+      texts.add(text);
+      return texts.size() - 1;
+    });
+  }
+
+  private int expressionIndex(Expression expression) {
+    return expressionIndexes.computeIfAbsent(expression, e -> {
+      expressions.add(e);
+      return expressions.size() - 1;
+    });
+  }
+
+  private int nameIndex(String name) {
+    return nameIndexes.computeIfAbsent(name, n -> {
+      names.add(n);
+      return names.size() - 1;
+    });
+  }
+}
@@ -0,0 +1,26 @@
+package intellispaces.common.templateengine.program;
+
+import intellispaces.common.templateengine.template.Template;
+
+/**
+ * Functions to compile templates to programs.
+ *
+ * <p>Element tree is flattened to the instruction array executed by single interpreter loop,
+ * without virtual call per element. Sequences of text, print marker and text are fused
+ * to one instruction.
+ */
+public final class TemplateProgramFunctions {
+
+  private TemplateProgramFunctions() {}
+
+  /**
+   * Compiles template to program.
+   *
+   * @param template the template.
+   * @return template resolved by program. Template elements are kept as is.
+   */
+  public static Template compileTemplate(Template template) {
+    TemplateProgram program = new TemplateProgramCompiler().compile(template.elements());
+    return new ProgramTemplateImpl(template.elements(), program);
+  }
+}
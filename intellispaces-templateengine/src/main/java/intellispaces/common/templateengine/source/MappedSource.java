@@ -0,0 +1,39 @@
+package intellispaces.common.templateengine.source;
+
+import intellispaces.common.templateengine.source.slice.Slices;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Template source over memory-mapped single-byte encoded file.
+ */
+class MappedSource implements CharSequence {
+  private final ByteBuffer buffer;
+
+  MappedSource(ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  @Override
+  public int length() {
+    return buffer.limit();
+  }
+
+  @Override
+  public char charAt(int index) {
+    return (char) (buffer.get(index) & 0xFF);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    Objects.checkFromToIndex(start, end, length());
+    return Slices.of(this, start, end - start);
+  }
+
+  @Override
+  public String toString() {
+    return StandardCharsets.ISO_8859_1.decode(buffer.duplicate()).toString();
+  }
+}
@@ -0,0 +1,141 @@
+package intellispaces.common.templateengine.source;
+
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Functions to read template source.
+ *
+ * <p>Sources are read into char sequences which are referenced by template blocks and text elements in place,
+ * without intermediate strings.
+ */
+public final class ReadSourceFunctions {
+
+  private ReadSourceFunctions() {}
+
+  /**
+   * Files equal or greater than this size are memory-mapped by {@link #readMappedSource(Path, Charset)}.
+   */
+  public static final long MEMORY_MAPPING_THRESHOLD = 1024 * 1024;
+
+  /**
+   * Reads template source from file into heap.
+   *
+   * <p>Files are never memory-mapped, so the source does not change when the file is changed or truncated in place.
+   *
+   * @param path the file path.
+   * @param charset file charset.
+   * @return template source.
+   * @throws ParseTemplateException throws when file can't be read.
+   */
+  public static CharSequence readSource(Path path, Charset charset) throws ParseTemplateException {
+    try {
+      return Files.readString(path, charset);
+    } catch (IOException e) {
+      throw ParseTemplateException.withCauseAndMessage(e, "Failed to read template file {0}", path);
+    }
+  }
+
+  /**
+   * Reads template source from file, memory-mapping large files.
+   *
+   * <p>Files equal or greater than {@link #MEMORY_MAPPING_THRESHOLD} are memory-mapped. When the file content
+   * is single-byte compatible (US-ASCII, ISO-8859-1 or ASCII-only UTF-8), the mapped bytes are used
+   * as template source in place, so heap usage does not depend on template size.
+   *
+   * <p>The file must not be changed while the source or templates parsed from it are in use.
+   * Changing the file in place changes the source, truncating the file makes reading of the source fail.
+   *
+   * @param path the file path.
+   * @param charset file charset.
+   * @return template source.
+   * @throws ParseTemplateException throws when file can't be read.
+   */
+  public static CharSequence readMappedSource(Path path, Charset charset) throws ParseTemplateException {
+    try {
+      long size = Files.size(path);
+      if (size < MEMORY_MAPPING_THRESHOLD) {
+        return Files.readString(path, charset);
+      }
+      if (size > Integer.MAX_VALUE) {
+        throw ParseTemplateException.withMessage("Template file {0} is too large: {1} bytes", path, size);
+      }
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        if (isSingleByteSource(buffer, charset)) {
+          return new MappedSource(buffer);
+        }
+        return charset.decode(buffer);
+      }
+    } catch (IOException e) {
+      throw ParseTemplateException.withCauseAndMessage(e, "Failed to read template file {0}", path);
+    }
+  }
+
+  /**
+   * Reads template source from reader.
+   *
+   * @param reader the reader.
+   * @return template source.
+   * @throws ParseTemplateException throws when source can't be read.
+   */
+  public static CharSequence readSource(Reader reader) throws ParseTemplateException {
+    char[] chars = new char[READ_BUFFER_SIZE];
+    int length = 0;
+    try {
+      int numChars;
+      while ((numChars = reader.read(chars, length, chars.length - length)) >= 0) {
+        length += numChars;
+        if (length == chars.length) {
+          chars = Arrays.copyOf(chars, chars.length * 2);
+        }
+      }
+    } catch (IOException e) {
+      throw ParseTemplateException.withCauseAndMessage(e, "Failed to read template source");
+    }
+    return CharBuffer.wrap(chars, 0, length);
+  }
+
+  /**
+   * Reads template source from byte channel.
+   *
+   * @param channel the byte channel.
+   * @param charset source charset.
+   * @return template source.
+   * @throws ParseTemplateException throws when source can't be read.
+   */
+  public static CharSequence readSource(ReadableByteChannel channel, Charset charset) throws ParseTemplateException {
+    return readSource(Channels.newReader(channel, charset.newDecoder(), -1));
+  }
+
+  private static boolean isSingleByteSource(MappedByteBuffer buffer, Charset charset) {
+    if (StandardCharsets.ISO_8859_1.equals(charset)) {
+      return true;
+    }
+    if (!StandardCharsets.US_ASCII.equals(charset) && !StandardCharsets.UTF_8.equals(charset)) {
+      return false;
+    }
+    int limit = buffer.limit();
+    for (int ind = 0; ind < limit; ind++) {
+      if (buffer.get(ind) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static final int READ_BUFFER_SIZE = 8192;
+}
@@ -7,6 +7,8 @@ import static java.lang.Character.isLetter;
 
 /**
  * Template source text functions.
+ *
+ * <p>Functions accept any char sequence, including slices of the template source, and do not copy characters.
  */
 public interface SourceFunctions {
 
@@ -14,17 +16,16 @@ public interface SourceFunctions {
     return isLetter(ch) || isDigit(ch) || (ch == '_');
   }
 
-  static boolean isBeginWithLinebreakIgnoreBlanks(String string) {
-    char[] chars = string.toCharArray();
-    int length = chars.length;
+  static boolean isBeginWithLinebreakIgnoreBlanks(CharSequence string) {
+    int length = string.length();
     if (length > 0) {
       int index = 0;
-      while (index < length && TextFunctions.isGapChar(chars[index])) {
+      while (index < length && TextFunctions.isGapChar(string.charAt(index))) {
         index++;
       }
       if (
-          (index < length && chars[index] == '\n') ||
-              (index + 1 < length && chars[index] == '\r' && chars[index + 1] == '\n')
+          (index < length && string.charAt(index) == '\n') ||
+              (index + 1 < length && string.charAt(index) == '\r' && string.charAt(index + 1) == '\n')
       ) {
         return true;
       }
@@ -32,18 +33,17 @@ public interface SourceFunctions {
     return false;
   }
 
-  static boolean isEndWithLinebreakIgnoreBlanks(String string) {
-    char[] chars = string.toCharArray();
-    int length = chars.length;
+  static boolean isEndWithLinebreakIgnoreBlanks(CharSequence string) {
+    int length = string.length();
     if (length > 0) {
-      int index = chars.length - 1;
-      while (index >= 0 && TextFunctions.isGapChar(chars[index])) {
+      int index = length - 1;
+      while (index >= 0 && TextFunctions.isGapChar(string.charAt(index))) {
         index--;
       }
       if (
-          (index >= 0 && chars[index] == '\n')
-              || (index - 1 >= 0 && chars[index - 1] == '\r' && chars[index] == '\n')
-              || (index - 1 >= 0 && chars[index - 1] == '\n' && chars[index] == '\r')
+          (index >= 0 && string.charAt(index) == '\n')
+              || (index - 1 >= 0 && string.charAt(index - 1) == '\r' && string.charAt(index) == '\n')
+              || (index - 1 >= 0 && string.charAt(index - 1) == '\n' && string.charAt(index) == '\r')
       ) {
         return true;
       }
@@ -51,49 +51,47 @@ public interface SourceFunctions {
     return false;
   }
 
-  static String removeLastGaps(String string) {
-    char[] chars = string.toCharArray();
-    int length = chars.length;
+  static CharSequence removeLastGaps(CharSequence string) {
+    int length = string.length();
     if (length > 0) {
-      int index = chars.length - 1;
-      while (index >= 0 && TextFunctions.isGapChar(chars[index])) {
+      int index = length - 1;
+      while (index >= 0 && TextFunctions.isGapChar(string.charAt(index))) {
         index--;
       }
-      return string.substring(0, index + 1);
+      return string.subSequence(0, index + 1);
     }
     return string;
   }
 
-  static String removeFirstBlanksAndLinebreak(String string) {
-    char[] chars = string.toCharArray();
-    int length = chars.length;
+  static CharSequence removeFirstBlanksAndLinebreak(CharSequence string) {
+    int length = string.length();
     if (length > 0) {
       int index = 0;
-      while (index < length && TextFunctions.isGapChar(chars[index])) {
+      while (index < length && TextFunctions.isGapChar(string.charAt(index))) {
         index++;
       }
       if (
-          index + 1 < length &&
-              ((chars[index] == '\r' && chars[index + 1] == '\n') || (chars[index] == '\n' && chars[index + 1] == '\r'))
+          index + 1 < length && (
+              (string.charAt(index) == '\r' && string.charAt(index + 1) == '\n') ||
+              (string.charAt(index) == '\n' && string.charAt(index + 1) == '\r'))
       ) {
-        return string.substring(index + 2);
-      } else if (index < length && chars[index] == '\n') {
-        return string.substring(index + 1);
+        return string.subSequence(index + 2, length);
+      } else if (index < length && string.charAt(index) == '\n') {
+        return string.subSequence(index + 1, length);
       }
     }
     return string;
   }
 
-  static String getTailBeforeLinebreak(String string) {
-    char[] chars = string.toCharArray();
-    int length = chars.length;
+  static CharSequence getTailBeforeLinebreak(CharSequence string) {
+    int length = string.length();
     if (length > 0) {
-      int index = chars.length - 1;
-      while (index >= 0 && (chars[index] != '\n' && chars[index] != '\r')) {
+      int index = length - 1;
+      while (index >= 0 && (string.charAt(index) != '\n' && string.charAt(index) != '\r')) {
         index--;
       }
-      if (index >= 0 && index != chars.length - 1) {
-        return string.substring(index + 1);
+      if (index >= 0 && index != length - 1) {
+        return string.subSequence(index + 1, length);
       }
     }
     return "";
@@ -2,9 +2,12 @@ package intellispaces.common.templateengine.source.block;
 
 import intellispaces.common.templateengine.source.position.Position;
 
+import java.util.Objects;
+
 public final class BlockBuilder {
   private Position position;
-  private String value;
+  private CharSequence source;
+  private int length;
   private boolean marker;
 
   BlockBuilder() {}
@@ -14,8 +17,13 @@ public final class BlockBuilder {
     return this;
   }
 
-  public BlockBuilder value(String value) {
-    this.value = value;
+  public BlockBuilder source(CharSequence source) {
+    this.source = source;
+    return this;
+  }
+
+  public BlockBuilder length(int length) {
+    this.length = length;
     return this;
   }
 
@@ -25,6 +33,13 @@ public final class BlockBuilder {
   }
 
   public Block get() {
-    return new BlockImpl(position, value, marker);
+    validate();
+    return new BlockImpl(position, source, length, marker);
+  }
+
+  private void validate() {
+    Objects.requireNonNull(position);
+    Objects.requireNonNull(source);
+    Objects.checkFromIndexSize(position.offset(), length, source.length());
   }
 }
@@ -1,15 +1,18 @@
 package intellispaces.common.templateengine.source.block;
 
 import intellispaces.common.templateengine.source.position.Position;
+import intellispaces.common.templateengine.source.slice.Slices;
 
 class BlockImpl implements Block {
   private final Position position;
-  private final String value;
+  private final CharSequence source;
+  private final int length;
   private final boolean marker;
 
-  BlockImpl(Position position, String value, boolean marker) {
+  BlockImpl(Position position, CharSequence source, int length, boolean marker) {
     this.position = position;
-    this.value = value;
+    this.source = source;
+    this.length = length;
     this.marker = marker;
   }
 
@@ -19,8 +22,12 @@ class BlockImpl implements Block {
   }
 
   @Override
-  public String value() {
-    return value;
+  public CharSequence value() {
+    if (isMarker()) {
+      // Exclude start and finish double curly braces
+      return Slices.of(source, position.offset() + 2, length - 4);
+    }
+    return wording();
   }
 
   @Override
@@ -30,11 +37,11 @@ class BlockImpl implements Block {
 
   @Override
   public int length() {
-    return wording().length();
+    return length;
   }
 
   @Override
-  public String wording() {
-    return isMarker() ? "{{" + value() + "}}" : value();
+  public CharSequence wording() {
+    return Slices.of(source, position.offset(), length);
   }
 }
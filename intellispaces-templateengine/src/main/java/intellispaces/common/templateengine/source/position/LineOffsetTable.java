@@ -0,0 +1,71 @@
+package intellispaces.common.templateengine.source.position;
+
+import java.util.Arrays;
+
+/**
+ * Table of line start offsets of the template source.
+ *
+ * <p>The table allows to compute row and column of the source position on demand by binary search.
+ * Recognized line breaks are <code>\n</code>, <code>\r\n</code> and single <code>\r</code>.
+ */
+public final class LineOffsetTable {
+  private final int[] lineOffsets;
+
+  private LineOffsetTable(int[] lineOffsets) {
+    this.lineOffsets = lineOffsets;
+  }
+
+  /**
+   * Builds line offset table.
+   *
+   * @param source template source.
+   * @return line offset table.
+   */
+  public static LineOffsetTable of(CharSequence source) {
+    int[] offsets = new int[16];
+    int numLines = 1;
+    int length = source.length();
+    for (int ind = 0; ind < length; ind++) {
+      char curChar = source.charAt(ind);
+      if (curChar == '\r' && ind + 1 < length && source.charAt(ind + 1) == '\n') {
+        ind++;
+      } else if (curChar != '\n' && curChar != '\r') {
+        continue;
+      }
+      if (numLines == offsets.length) {
+        offsets = Arrays.copyOf(offsets, numLines * 2);
+      }
+      offsets[numLines++] = ind + 1;
+    }
+    return new LineOffsetTable(Arrays.copyOf(offsets, numLines));
+  }
+
+  /**
+   * Number of source lines.
+   */
+  public int lineCount() {
+    return lineOffsets.length;
+  }
+
+  /**
+   * Row number of the offset. The first row number is 1.
+   */
+  public int row(int offset) {
+    int index = Arrays.binarySearch(lineOffsets, offset);
+    return index >= 0 ? index + 1 : -index - 1;
+  }
+
+  /**
+   * Column number of the offset. The first column number is 1.
+   */
+  public int column(int offset) {
+    return offset - lineOffsets[row(offset) - 1] + 1;
+  }
+
+  /**
+   * Position of the offset. Row and column are computed on demand.
+   */
+  public Position position(int offset) {
+    return new LinePositionImpl(this, offset);
+  }
+}
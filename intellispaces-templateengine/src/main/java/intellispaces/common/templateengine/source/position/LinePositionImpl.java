@@ -0,0 +1,29 @@
+package intellispaces.common.templateengine.source.position;
+
+/**
+ * Position that keeps offset only and computes row and column via line offset table.
+ */
+class LinePositionImpl implements Position {
+  private final LineOffsetTable lineOffsetTable;
+  private final int offset;
+
+  LinePositionImpl(LineOffsetTable lineOffsetTable, int offset) {
+    this.lineOffsetTable = lineOffsetTable;
+    this.offset = offset;
+  }
+
+  @Override
+  public int offset() {
+    return offset;
+  }
+
+  @Override
+  public int row() {
+    return lineOffsetTable.row(offset);
+  }
+
+  @Override
+  public int column() {
+    return lineOffsetTable.column(offset);
+  }
+}
@@ -0,0 +1,62 @@
+package intellispaces.common.templateengine.source.position;
+
+import java.util.Arrays;
+
+/**
+ * Side table of source positions.
+ *
+ * <p>Positions are packed to the integer array by three values: offset, row and column.
+ * Position object is created on demand only, for example, to report error.
+ */
+public final class PositionTable {
+  private int[] values;
+  private int size;
+
+  private PositionTable(int capacity) {
+    this.values = new int[capacity * VALUES_PER_POSITION];
+  }
+
+  public static PositionTable create() {
+    return new PositionTable(16);
+  }
+
+  /**
+   * Adds position to the table.
+   *
+   * @param position the position.
+   * @return index of the position in table.
+   */
+  public int add(Position position) {
+    if ((size + 1) * VALUES_PER_POSITION > values.length) {
+      values = Arrays.copyOf(values, values.length * 2);
+    }
+    int base = size * VALUES_PER_POSITION;
+    values[base] = position.offset();
+    values[base + 1] = position.row();
+    values[base + 2] = position.column();
+    return size++;
+  }
+
+  /**
+   * Returns position by index.
+   */
+  public Position get(int index) {
+    int base = index * VALUES_PER_POSITION;
+    return Positions.of(values[base], values[base + 1], values[base + 2]);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Releases unused capacity of the table.
+   */
+  public void trimToSize() {
+    if (values.length != size * VALUES_PER_POSITION) {
+      values = Arrays.copyOf(values, size * VALUES_PER_POSITION);
+    }
+  }
+
+  private static final int VALUES_PER_POSITION = 3;
+}
@@ -6,8 +6,23 @@ public interface Positions {
     return new PositionImpl(offset, row, column);
   }
 
+  /**
+   * Returns position that is not changed later.
+   *
+   * <p>Mutable positions are copied, other positions are immutable and are returned as is.
+   */
   static Position of(Position other) {
-    return of(other.offset(), other.row(), other.column());
+    if (other instanceof MutablePosition) {
+      return of(other.offset(), other.row(), other.column());
+    }
+    return other;
+  }
+
+  /**
+   * Returns position which row and column are computed on demand.
+   */
+  static Position of(LineOffsetTable lineOffsetTable, int offset) {
+    return lineOffsetTable.position(offset);
   }
 
   static MutablePosition mutable() {
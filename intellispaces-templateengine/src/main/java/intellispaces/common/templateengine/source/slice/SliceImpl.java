@@ -0,0 +1,52 @@
+package intellispaces.common.templateengine.source.slice;
+
+import java.util.Objects;
+
+class SliceImpl implements CharSequence {
+  private final CharSequence source;
+  private final int offset;
+  private final int length;
+  private String string;
+
+  SliceImpl(CharSequence source, int offset, int length) {
+    this.source = source;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  CharSequence source() {
+    return source;
+  }
+
+  int offset() {
+    return offset;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    Objects.checkIndex(index, length);
+    return source.charAt(offset + index);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    Objects.checkFromToIndex(start, end, length);
+    return new SliceImpl(source, offset + start, end - start);
+  }
+
+  @Override
+  public String toString() {
+    // Materialize string on demand only
+    String s = string;
+    if (s == null) {
+      s = new StringBuilder(length).append(source, offset, offset + length).toString();
+      string = s;
+    }
+    return s;
+  }
+}
@@ -0,0 +1,24 @@
+package intellispaces.common.templateengine.source.slice;
+
+import java.util.Objects;
+
+public interface Slices {
+
+  /**
+   * Creates char sequence slice of the source without copying of characters.
+   *
+   * @param source the source.
+   * @param offset slice offset in the source.
+   * @param length slice length.
+   * @return the slice.
+   */
+  static CharSequence of(CharSequence source, int offset, int length) {
+    Objects.requireNonNull(source);
+    Objects.checkFromIndexSize(offset, length, source.length());
+    if (source instanceof SliceImpl) {
+      SliceImpl slice = (SliceImpl) source;
+      return new SliceImpl(slice.source(), slice.offset() + offset, length);
+    }
+    return new SliceImpl(source, offset, length);
+  }
+}
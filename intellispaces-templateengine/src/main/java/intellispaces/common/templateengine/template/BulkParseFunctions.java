@@ -0,0 +1,201 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.base.exception.UnexpectedViolationException;
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.expression.ExpressionCompilationQueue;
+import intellispaces.common.templateengine.source.ReadSourceFunctions;
+import intellispaces.common.templateengine.source.block.Block;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Functions to parse many templates at once.
+ *
+ * <p>Templates are parsed in three phases, each phase is executed on the executor for all templates:
+ * <ol>
+ *   <li>lex - template sources are read and split into text blocks;</li>
+ *   <li>analyze - text blocks are analyzed to template elements and statements,
+ *   expression compilation is postponed;</li>
+ *   <li>compile - distinct expressions of all templates are compiled in batches.</li>
+ * </ol>
+ *
+ * <p>Errors do not interrupt parsing of other templates, they are collected by template names.
+ */
+public final class BulkParseFunctions {
+
+  private BulkParseFunctions() {}
+
+  /**
+   * Parses templates.
+   *
+   * @param sources template sources by template names.
+   * @param executor executor to parse templates.
+   * @return parsed templates and parsing errors.
+   * @throws ParseTemplateException throws when parsing is interrupted.
+   */
+  public static BulkParseResult parseTemplates(
+      Map<String, ? extends CharSequence> sources, ExecutorService executor
+  ) throws ParseTemplateException {
+    Map<String, SourceReader> sourceReaders = new LinkedHashMap<>();
+    sources.forEach((name, source) -> sourceReaders.put(name, () -> source));
+    return parseTemplates0(sourceReaders, executor);
+  }
+
+  /**
+   * Parses template files of the directory and its subdirectories.
+   *
+   * <p>Template name is the file path relative to the directory, with forward slashes as name separators.
+   *
+   * @param directory the directory.
+   * @param charset template file charset.
+   * @param executor executor to parse templates.
+   * @return parsed templates and parsing errors.
+   * @throws ParseTemplateException throws when directory can't be read or parsing is interrupted.
+   */
+  public static BulkParseResult parseTemplates(
+      Path directory, Charset charset, ExecutorService executor
+  ) throws ParseTemplateException {
+    Map<String, SourceReader> sourceReaders = new LinkedHashMap<>();
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths.filter(Files::isRegularFile)
+          .sorted()
+          .forEach(path -> sourceReaders.put(
+              makeTemplateName(directory, path),
+              () -> ReadSourceFunctions.readSource(path, charset)
+          ));
+    } catch (IOException e) {
+      throw ParseTemplateException.withCauseAndMessage(e, "Failed to read template directory {0}", directory);
+    }
+    return parseTemplates0(sourceReaders, executor);
+  }
+
+  private static String makeTemplateName(Path directory, Path path) {
+    return directory.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+  }
+
+  private static BulkParseResult parseTemplates0(
+      Map<String, SourceReader> sourceReaders, ExecutorService executor
+  ) throws ParseTemplateException {
+    Map<String, ParseTemplateException> errors = new ConcurrentHashMap<>();
+
+    long startTime = System.nanoTime();
+    Map<String, List<Block>> blocks = invokeAll(
+        executor, sourceReaders, (name, reader) -> TemplateFunctions.split(reader.read()), errors
+    );
+    Duration lexTime = Duration.ofNanos(System.nanoTime() - startTime);
+
+    var compilationQueue = ExpressionCompilationQueue.create();
+    Map<String, ExpressionCompilationQueue> templateCompilationQueues = new HashMap<>();
+    blocks.keySet().forEach(name -> templateCompilationQueues.put(name, compilationQueue.fork()));
+
+    startTime = System.nanoTime();
+    Map<String, Template> templates = invokeAll(
+        executor,
+        blocks,
+        (name, templateBlocks) -> Templates.of(
+            TemplateFunctions.analyzeStatements(
+                TemplateFunctions.glueElements(
+                    TemplateFunctions.analyzeElements(templateBlocks, templateCompilationQueues.get(name))))),
+        errors
+    );
+    Duration analyzeTime = Duration.ofNanos(System.nanoTime() - startTime);
+
+    startTime = System.nanoTime();
+    Map<String, ParseTemplateException> compilationErrors = compilationQueue.compile(executor);
+    Duration compileTime = Duration.ofNanos(System.nanoTime() - startTime);
+
+    if (!compilationErrors.isEmpty()) {
+      for (String name : new ArrayList<>(templates.keySet())) {
+        templateCompilationQueues.get(name).statements().stream()
+            .map(compilationErrors::get)
+            .filter(Objects::nonNull)
+            .findFirst()
+            .ifPresent(e -> {
+              templates.remove(name);
+              errors.put(name, e);
+            });
+      }
+    }
+
+    return BulkParseResults.build()
+        .templates(templates)
+        .errors(errors)
+        .numExpressions(compilationQueue.numExpressions())
+        .lexTime(lexTime)
+        .analyzeTime(analyzeTime)
+        .compileTime(compileTime)
+        .get();
+  }
+
+  /**
+   * Executes the task for every entry of the map on the executor.
+   *
+   * @return task results by entry keys, except failed ones.
+   */
+  private static <S, R> Map<String, R> invokeAll(
+      ExecutorService executor,
+      Map<String, S> arguments,
+      Task<S, R> task,
+      Map<String, ParseTemplateException> errors
+  ) throws ParseTemplateException {
+    List<String> names = new ArrayList<>(arguments.keySet());
+    List<Callable<R>> callables = new ArrayList<>(names.size());
+    for (String name : names) {
+      S argument = arguments.get(name);
+      callables.add(() -> {
+        try {
+          return task.execute(name, argument);
+        } catch (ParseTemplateException e) {
+          errors.put(name, e);
+          return null;
+        }
+      });
+    }
+
+    Map<String, R> results = new LinkedHashMap<>();
+    try {
+      List<Future<R>> futures = executor.invokeAll(callables);
+      for (int index = 0; index < futures.size(); index++) {
+        R result = futures.get(index).get();
+        if (result != null) {
+          results.put(names.get(index), result);
+        }
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw UnexpectedViolationException.withCauseAndMessage(e.getCause(), "Failed to parse templates");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw ParseTemplateException.withCauseAndMessage(e, "Template parsing is interrupted");
+    }
+    return results;
+  }
+
+  @FunctionalInterface
+  private interface SourceReader {
+    CharSequence read() throws ParseTemplateException;
+  }
+
+  @FunctionalInterface
+  private interface Task<S, R> {
+    R execute(String name, S argument) throws ParseTemplateException;
+  }
+}
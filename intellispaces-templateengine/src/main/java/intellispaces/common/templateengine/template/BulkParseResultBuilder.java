@@ -0,0 +1,63 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+
+public final class BulkParseResultBuilder {
+  private Map<String, Template> templates;
+  private Map<String, ParseTemplateException> errors;
+  private int numExpressions;
+  private Duration lexTime;
+  private Duration analyzeTime;
+  private Duration compileTime;
+
+  BulkParseResultBuilder() {}
+
+  public BulkParseResultBuilder templates(Map<String, Template> templates) {
+    this.templates = templates;
+    return this;
+  }
+
+  public BulkParseResultBuilder errors(Map<String, ParseTemplateException> errors) {
+    this.errors = errors;
+    return this;
+  }
+
+  public BulkParseResultBuilder numExpressions(int numExpressions) {
+    this.numExpressions = numExpressions;
+    return this;
+  }
+
+  public BulkParseResultBuilder lexTime(Duration lexTime) {
+    this.lexTime = lexTime;
+    return this;
+  }
+
+  public BulkParseResultBuilder analyzeTime(Duration analyzeTime) {
+    this.analyzeTime = analyzeTime;
+    return this;
+  }
+
+  public BulkParseResultBuilder compileTime(Duration compileTime) {
+    this.compileTime = compileTime;
+    return this;
+  }
+
+  public BulkParseResult get() {
+    validate();
+    return new BulkParseResultImpl(
+        Map.copyOf(templates), Map.copyOf(errors), numExpressions, lexTime, analyzeTime, compileTime
+    );
+  }
+
+  private void validate() {
+    Objects.requireNonNull(templates);
+    Objects.requireNonNull(errors);
+    Objects.requireNonNull(lexTime);
+    Objects.requireNonNull(analyzeTime);
+    Objects.requireNonNull(compileTime);
+  }
+}
@@ -0,0 +1,61 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+
+import java.time.Duration;
+import java.util.Map;
+
+class BulkParseResultImpl implements BulkParseResult {
+  private final Map<String, Template> templates;
+  private final Map<String, ParseTemplateException> errors;
+  private final int numExpressions;
+  private final Duration lexTime;
+  private final Duration analyzeTime;
+  private final Duration compileTime;
+
+  BulkParseResultImpl(
+      Map<String, Template> templates,
+      Map<String, ParseTemplateException> errors,
+      int numExpressions,
+      Duration lexTime,
+      Duration analyzeTime,
+      Duration compileTime
+  ) {
+    this.templates = templates;
+    this.errors = errors;
+    this.numExpressions = numExpressions;
+    this.lexTime = lexTime;
+    this.analyzeTime = analyzeTime;
+    this.compileTime = compileTime;
+  }
+
+  @Override
+  public Map<String, Template> templates() {
+    return templates;
+  }
+
+  @Override
+  public Map<String, ParseTemplateException> errors() {
+    return errors;
+  }
+
+  @Override
+  public int numExpressions() {
+    return numExpressions;
+  }
+
+  @Override
+  public Duration lexTime() {
+    return lexTime;
+  }
+
+  @Override
+  public Duration analyzeTime() {
+    return analyzeTime;
+  }
+
+  @Override
+  public Duration compileTime() {
+    return compileTime;
+  }
+}
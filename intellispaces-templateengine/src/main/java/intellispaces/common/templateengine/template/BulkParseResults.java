@@ -0,0 +1,8 @@
+package intellispaces.common.templateengine.template;
+
+public interface BulkParseResults {
+
+  static BulkParseResultBuilder build() {
+    return new BulkParseResultBuilder();
+  }
+}
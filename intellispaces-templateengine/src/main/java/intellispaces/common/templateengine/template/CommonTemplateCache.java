@@ -0,0 +1,16 @@
+package intellispaces.common.templateengine.template;
+
+/**
+ * Holder of the common template cache.
+ */
+final class CommonTemplateCache {
+
+  private CommonTemplateCache() {}
+
+  private static final String CACHE_SIZE_PROPERTY = "intellispaces.templateengine.cache.size";
+  private static final int DEFAULT_CACHE_SIZE = 1024;
+
+  static final TemplateCache INSTANCE = TemplateCaches.build()
+      .maxSize(Integer.getInteger(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE))
+      .get();
+}
@@ -0,0 +1,174 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.base.exception.UnexpectedViolationException;
+import intellispaces.common.templateengine.element.TemplateElement;
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.expression.ExpressionCompilationQueue;
+import intellispaces.common.templateengine.source.block.Block;
+import intellispaces.common.templateengine.source.position.LineOffsetTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Functions to parse very large template in parallel.
+ *
+ * <p>The source is divided into chunks at the open double curly braces <code>{{</code>.
+ * Blocks and elements of the chunks are read and analyzed on the fork-join pool.
+ * Then elements are glued and statements are analyzed sequentially on the whole element list,
+ * so the result is identical to sequential parsing.
+ */
+final class ParallelParseFunctions {
+
+  private ParallelParseFunctions() {}
+
+  /**
+   * Sources equal or longer than this length are parsed in parallel.
+   */
+  static final int PARALLEL_PARSING_THRESHOLD = 1024 * 1024;
+
+  static Template parseTemplate(
+      CharSequence source, ExpressionCompilationQueue compilationQueue
+  ) throws ParseTemplateException {
+    int parallelism = ForkJoinPool.getCommonPoolParallelism();
+    int chunkSize = Math.max(MIN_CHUNK_SIZE, source.length() / (parallelism * CHUNKS_PER_THREAD));
+    return parseTemplate(source, chunkSize, compilationQueue);
+  }
+
+  static Template parseTemplate(
+      CharSequence source, int chunkSize, ExpressionCompilationQueue compilationQueue
+  ) throws ParseTemplateException {
+    LineOffsetTable lineOffsetTable = LineOffsetTable.of(source);
+    int[] bounds = getChunkBounds(source, chunkSize);
+
+    List<Block> blocks = splitChunks(source, lineOffsetTable, bounds);
+    if (blocks == null) {
+      // Some marker crosses the chunk bound
+      blocks = TemplateFunctions.split(source, lineOffsetTable);
+    }
+
+    List<TemplateElement> elements = analyzeChunks(blocks, chunkSize, compilationQueue);
+    return Templates.of(
+        TemplateFunctions.analyzeStatements(
+            TemplateFunctions.glueElements(elements)));
+  }
+
+  private static int[] getChunkBounds(CharSequence source, int chunkSize) {
+    int length = source.length();
+    int[] bounds = new int[length / chunkSize + 2];
+    int numBounds = 1;
+    int offset = chunkSize;
+    while (offset < length) {
+      offset = indexOfOpenDoubleCurlyBraces(source, offset);
+      if (offset < 0) {
+        break;
+      }
+      bounds[numBounds++] = offset;
+      offset += chunkSize;
+    }
+    bounds[numBounds++] = length;
+    return Arrays.copyOf(bounds, numBounds);
+  }
+
+  private static int indexOfOpenDoubleCurlyBraces(CharSequence source, int fromOffset) {
+    int length = source.length();
+    for (int offset = fromOffset; offset + 1 < length; offset++) {
+      if (source.charAt(offset) == '{' && source.charAt(offset + 1) == '{') {
+        return offset;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Splits chunks to text blocks.
+   *
+   * @return list of the text blocks or <code>null</code> if blocks of some chunk do not finish exactly on the chunk bound.
+   */
+  private static List<Block> splitChunks(
+      CharSequence source, LineOffsetTable lineOffsetTable, int[] bounds
+  ) throws ParseTemplateException {
+    List<Callable<List<Block>>> tasks = new ArrayList<>(bounds.length - 1);
+    for (int ind = 0; ind < bounds.length - 1; ind++) {
+      int beginOffset = bounds[ind];
+      int endOffset = bounds[ind + 1];
+      tasks.add(() -> TemplateFunctions.split(source, lineOffsetTable, beginOffset, endOffset));
+    }
+
+    List<List<Block>> chunks = invokeAll(tasks);
+    List<Block> blocks = new ArrayList<>();
+    for (int ind = 0; ind < chunks.size(); ind++) {
+      List<Block> chunkBlocks = chunks.get(ind);
+      if (!chunkBlocks.isEmpty()) {
+        Block lastBlock = chunkBlocks.get(chunkBlocks.size() - 1);
+        if (lastBlock.position().offset() + lastBlock.length() != bounds[ind + 1]) {
+          return null;
+        }
+      }
+      blocks.addAll(chunkBlocks);
+    }
+    return blocks;
+  }
+
+  private static List<TemplateElement> analyzeChunks(
+      List<Block> blocks, int chunkSize, ExpressionCompilationQueue compilationQueue
+  ) throws ParseTemplateException {
+    // Elements are referenced by element contexts, so list should be filled in place
+    List<TemplateElement> elements = Arrays.asList(new TemplateElement[blocks.size()]);
+    List<Callable<Void>> tasks = new ArrayList<>();
+    int beginIndex = 0;
+    while (beginIndex < blocks.size()) {
+      int fromIndex = beginIndex;
+      int toIndex = fromIndex;
+      int numChars = 0;
+      while (toIndex < blocks.size() && numChars < chunkSize) {
+        numChars += blocks.get(toIndex++).length();
+      }
+      int endIndex = toIndex;
+      tasks.add(() -> {
+        for (int index = fromIndex; index < endIndex; index++) {
+          elements.set(index, TemplateFunctions.analyzeElement(blocks.get(index), elements, index, compilationQueue));
+        }
+        return null;
+      });
+      beginIndex = endIndex;
+    }
+    invokeAll(tasks);
+    return elements;
+  }
+
+  private static <T> List<T> invokeAll(List<Callable<T>> tasks) throws ParseTemplateException {
+    List<Future<T>> futures = ForkJoinPool.commonPool().invokeAll(tasks);
+    List<T> results = new ArrayList<>(futures.size());
+    for (Future<T> future : futures) {
+      try {
+        results.add(future.get());
+      } catch (ExecutionException e) {
+        // Fork-join pool can wrap checked exception of the task
+        Throwable cause = e.getCause();
+        while (cause != null && !(cause instanceof ParseTemplateException) && cause.getCause() != null) {
+          cause = cause.getCause();
+        }
+        if (cause instanceof ParseTemplateException) {
+          throw (ParseTemplateException) cause;
+        }
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw UnexpectedViolationException.withCauseAndMessage(e.getCause(), "Failed to parse template chunk");
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw ParseTemplateException.withCauseAndMessage(e, "Template parsing is interrupted");
+      }
+    }
+    return results;
+  }
+
+  private static final int MIN_CHUNK_SIZE = 64 * 1024;
+  private static final int CHUNKS_PER_THREAD = 4;
+}
@@ -0,0 +1,168 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.base.exception.UnexpectedViolationException;
+import intellispaces.common.templateengine.arena.TextArena;
+import intellispaces.common.templateengine.arena.TextArenas;
+import intellispaces.common.templateengine.element.ElementContexts;
+import intellispaces.common.templateengine.element.ElseMarkers;
+import intellispaces.common.templateengine.element.EndMarkers;
+import intellispaces.common.templateengine.element.ForeachMarkers;
+import intellispaces.common.templateengine.element.ForeachStatements;
+import intellispaces.common.templateengine.element.FormatMarkers;
+import intellispaces.common.templateengine.element.FormatStatements;
+import intellispaces.common.templateengine.element.MarkerElse;
+import intellispaces.common.templateengine.element.MarkerForeach;
+import intellispaces.common.templateengine.element.MarkerFormat;
+import intellispaces.common.templateengine.element.MarkerPrint;
+import intellispaces.common.templateengine.element.MarkerSet;
+import intellispaces.common.templateengine.element.MarkerWhen;
+import intellispaces.common.templateengine.element.PrintMarkers;
+import intellispaces.common.templateengine.element.SetMarkers;
+import intellispaces.common.templateengine.element.StatementForeach;
+import intellispaces.common.templateengine.element.StatementFormat;
+import intellispaces.common.templateengine.element.StatementWhen;
+import intellispaces.common.templateengine.element.StatementWhenBranch;
+import intellispaces.common.templateengine.element.TemplateElement;
+import intellispaces.common.templateengine.element.TemplateElementContext;
+import intellispaces.common.templateengine.element.TemplateElementTypes;
+import intellispaces.common.templateengine.element.TextElement;
+import intellispaces.common.templateengine.element.TextElements;
+import intellispaces.common.templateengine.element.WhenBranchStatements;
+import intellispaces.common.templateengine.element.WhenMarkers;
+import intellispaces.common.templateengine.element.WhenStatements;
+import intellispaces.common.templateengine.source.position.PositionTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Functions to make slim templates.
+ *
+ * <p>Slim template keeps only what is needed to resolve it. Element contexts do not refer
+ * to the list of the source elements, indentations of the print markers are precomputed,
+ * positions of all elements are kept in one side table, and texts are deduplicated in the text arena.
+ */
+public final class SlimTemplateFunctions {
+
+  private SlimTemplateFunctions() {}
+
+  /**
+   * Makes slim copy of the template.
+   *
+   * @param template the template.
+   * @return slim template.
+   */
+  public static Template slimTemplate(Template template) {
+    return slimTemplate(template, TextArenas.common());
+  }
+
+  /**
+   * Makes slim copy of the template.
+   *
+   * @param template the template.
+   * @param textArena arena to store texts.
+   * @return slim template.
+   */
+  public static Template slimTemplate(Template template, TextArena textArena) {
+    var positions = PositionTable.create();
+    List<TemplateElement> elements = slimElements(template.elements(), positions, textArena);
+    positions.trimToSize();
+    return Templates.of(elements);
+  }
+
+  private static List<TemplateElement> slimElements(
+      List<TemplateElement> elements, PositionTable positions, TextArena textArena
+  ) {
+    List<TemplateElement> slimElements = new ArrayList<>(elements.size());
+    for (TemplateElement element : elements) {
+      slimElements.add(slimElement(element, positions, textArena));
+    }
+    return slimElements;
+  }
+
+  private static TemplateElement slimElement(TemplateElement element, PositionTable positions, TextArena textArena) {
+    TemplateElementContext context = ElementContexts.slim(positions, positions.add(element.context().position()));
+    if (element.type() == TemplateElementTypes.Text) {
+      return TextElements.build()
+          .context(context)
+          .text(textArena.intern(((TextElement) element).text()))
+          .get();
+    } else if (element.type() == TemplateElementTypes.MarkerPrint) {
+      MarkerPrint marker = (MarkerPrint) element;
+      return PrintMarkers.build()
+          .context(context)
+          .outputExpression(marker.outputExpression())
+          .indentation(marker.indentation())
+          .get();
+    } else if (element.type() == TemplateElementTypes.MarkerSet) {
+      MarkerSet marker = (MarkerSet) element;
+      return SetMarkers.build()
+          .context(context)
+          .valueName(marker.valueName())
+          .valueExpression(marker.valueExpression())
+          .get();
+    } else if (element.type() == TemplateElementTypes.MarkerFormat) {
+      return FormatMarkers.build()
+          .context(context)
+          .types(((MarkerFormat) element).types())
+          .get();
+    } else if (element.type() == TemplateElementTypes.MarkerForeach) {
+      MarkerForeach marker = (MarkerForeach) element;
+      return ForeachMarkers.build()
+          .context(context)
+          .itemName(marker.itemName())
+          .collectionExpression(marker.collectionExpression())
+          .get();
+    } else if (element.type() == TemplateElementTypes.MarkerWhen) {
+      return WhenMarkers.build()
+          .context(context)
+          .condition(((MarkerWhen) element).condition())
+          .get();
+    } else if (element.type() == TemplateElementTypes.MarkerElse) {
+      return ElseMarkers.build()
+          .context(context)
+          .condition(((MarkerElse) element).condition())
+          .get();
+    } else if (element.type() == TemplateElementTypes.MarkerEnd) {
+      return EndMarkers.build()
+          .context(context)
+          .get();
+    } else if (element.type() == TemplateElementTypes.StatementFormat) {
+      StatementFormat statement = (StatementFormat) element;
+      return FormatStatements.build()
+          .context(context)
+          .types(statement.types())
+          .subElements(slimElements(statement.subElements(), positions, textArena))
+          .get();
+    } else if (element.type() == TemplateElementTypes.StatementForeach) {
+      StatementForeach statement = (StatementForeach) element;
+      return ForeachStatements.build()
+          .context(context)
+          .itemName(statement.itemName())
+          .collectionExpression(statement.collectionExpression())
+          .subElements(slimElements(statement.subElements(), positions, textArena))
+          .get();
+    } else if (element.type() == TemplateElementTypes.StatementWhen) {
+      StatementWhen statement = (StatementWhen) element;
+      List<StatementWhenBranch> branches = new ArrayList<>(statement.branches().size());
+      for (StatementWhenBranch branch : statement.branches()) {
+        branches.add(slimBranch(branch, positions, textArena));
+      }
+      return WhenStatements.build()
+          .context(context)
+          .branches(branches)
+          .defaultBranch(statement.defaultBranch() != null ? slimBranch(statement.defaultBranch(), positions, textArena) : null)
+          .get();
+    }
+    throw UnexpectedViolationException.withMessage("Unsupported template element type {0}", element.type().name());
+  }
+
+  private static StatementWhenBranch slimBranch(
+      StatementWhenBranch branch, PositionTable positions, TextArena textArena
+  ) {
+    return WhenBranchStatements.build()
+        .condition(branch.condition())
+        .subElements(slimElements(branch.subElements(), positions, textArena))
+        .get();
+  }
+}
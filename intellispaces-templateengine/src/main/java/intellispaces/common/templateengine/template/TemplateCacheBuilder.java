@@ -0,0 +1,27 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.base.exception.UnexpectedViolationException;
+
+public final class TemplateCacheBuilder {
+  private int maxSize = DEFAULT_MAX_SIZE;
+
+  TemplateCacheBuilder() {}
+
+  public TemplateCacheBuilder maxSize(int maxSize) {
+    this.maxSize = maxSize;
+    return this;
+  }
+
+  public TemplateCache get() {
+    validate();
+    return new TemplateCacheImpl(maxSize);
+  }
+
+  private void validate() {
+    if (maxSize < 0) {
+      throw UnexpectedViolationException.withMessage("Maximum cache size should not be negative: {0}", maxSize);
+    }
+  }
+
+  private static final int DEFAULT_MAX_SIZE = 1024;
+}
@@ -0,0 +1,220 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.base.exception.UnexpectedViolationException;
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.expression.CompilationMode;
+import intellispaces.common.templateengine.expression.ParseExpressionFunctions;
+
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.lang.ref.SoftReference;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Template cache.
+ *
+ * <p>Templates are keyed by SHA-256 digest of the source, expression compilation mode and slim mode.
+ * Key does not refer to the source, so the cache does not keep sources of the templates.
+ * Digest is compared on every lookup, so a different source is parsed instead of being taken from the cache.
+ *
+ * <p>Recently used templates are referenced strongly in access order.
+ * Evicted templates are referenced softly until garbage collector reclaims them.
+ */
+class TemplateCacheImpl implements TemplateCache {
+  private final int maxSize;
+  private final Map<TemplateKey, Template> templates;
+  private final Map<TemplateKey, SoftTemplateReference> softTemplates = new HashMap<>();
+  private final ReferenceQueue<Template> referenceQueue = new ReferenceQueue<>();
+  private final Map<TemplateKey, CompletableFuture<Template>> loadings = new HashMap<>();
+  private long hitCount;
+  private long missCount;
+
+  TemplateCacheImpl(int maxSize) {
+    this.maxSize = maxSize;
+    this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<TemplateKey, Template> eldest) {
+        if (size() > TemplateCacheImpl.this.maxSize) {
+          softTemplates.put(
+              eldest.getKey(), new SoftTemplateReference(eldest.getKey(), eldest.getValue(), referenceQueue)
+          );
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  @Override
+  public Template get(String source) throws ParseTemplateException {
+    return get(source, ParseExpressionFunctions.defaultCompilationMode());
+  }
+
+  /**
+   * Returns parsed template from cache or parses the template source in given compilation mode.
+   *
+   * @param source template source.
+   * @param compilationMode expression compilation mode.
+   * @return parsed template.
+   * @throws ParseTemplateException throws when template can't be parsed.
+   */
+  Template get(String source, CompilationMode compilationMode) throws ParseTemplateException {
+    TemplateKey key = TemplateKey.of(source, compilationMode);
+    CompletableFuture<Template> loading;
+    synchronized (this) {
+      Template template = getCachedTemplate(key);
+      if (template != null) {
+        hitCount++;
+        return template;
+      }
+      loading = loadings.get(key);
+      if (loading != null) {
+        hitCount++;
+      } else {
+        missCount++;
+        loadings.put(key, new CompletableFuture<>());
+      }
+    }
+    if (loading != null) {
+      return awaitLoading(loading);
+    }
+    return load(source, key);
+  }
+
+  private Template getCachedTemplate(TemplateKey key) {
+    purgeSoftTemplates();
+    Template template = templates.get(key);
+    if (template == null) {
+      SoftTemplateReference reference = softTemplates.remove(key);
+      template = (reference != null ? reference.get() : null);
+      if (template != null) {
+        templates.put(key, template);
+      }
+    }
+    return template;
+  }
+
+  private Template load(String source, TemplateKey key) throws ParseTemplateException {
+    Template template = null;
+    Throwable exception = null;
+    try {
+      template = TemplateFunctions.parseTemplate(source, key.compilationMode());
+      return template;
+    } catch (ParseTemplateException | RuntimeException | Error e) {
+      exception = e;
+      throw e;
+    } finally {
+      CompletableFuture<Template> loading;
+      synchronized (this) {
+        loading = loadings.remove(key);
+        if (template != null) {
+          templates.put(key, template);
+        }
+      }
+      if (template != null) {
+        loading.complete(template);
+      } else {
+        loading.completeExceptionally(exception);
+      }
+    }
+  }
+
+  private Template awaitLoading(CompletableFuture<Template> loading) throws ParseTemplateException {
+    try {
+      return loading.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ParseTemplateException) {
+        throw (ParseTemplateException) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw UnexpectedViolationException.withCauseAndMessage(e.getCause(), "Failed to parse template");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw ParseTemplateException.withCauseAndMessage(e, "Template parsing is interrupted");
+    }
+  }
+
+  private void purgeSoftTemplates() {
+    SoftTemplateReference reference;
+    while ((reference = (SoftTemplateReference) referenceQueue.poll()) != null) {
+      softTemplates.remove(reference.key, reference);
+    }
+  }
+
+  @Override
+  public int maxSize() {
+    return maxSize;
+  }
+
+  @Override
+  public synchronized int size() {
+    return templates.size();
+  }
+
+  @Override
+  public synchronized long hitCount() {
+    return hitCount;
+  }
+
+  @Override
+  public synchronized long missCount() {
+    return missCount;
+  }
+
+  @Override
+  public synchronized void clear() {
+    templates.clear();
+    softTemplates.clear();
+  }
+
+  private static final class SoftTemplateReference extends SoftReference<Template> {
+    private final TemplateKey key;
+
+    SoftTemplateReference(TemplateKey key, Template template, ReferenceQueue<Template> referenceQueue) {
+      super(template, referenceQueue);
+      this.key = key;
+    }
+  }
+
+  private record TemplateKey(ByteBuffer digest, CompilationMode compilationMode, boolean slim) {
+
+    static TemplateKey of(String source, CompilationMode compilationMode) {
+      MessageDigest messageDigest = newMessageDigest();
+      // Characters are digested as UTF-16 code units, so unpaired surrogates are not replaced on encoding
+      byte[] buffer = new byte[2 * Math.min(source.length(), DIGEST_BUFFER_CHARS)];
+      for (int start = 0; start < source.length(); start += DIGEST_BUFFER_CHARS) {
+        int end = Math.min(start + DIGEST_BUFFER_CHARS, source.length());
+        int length = 0;
+        for (int index = start; index < end; index++) {
+          char ch = source.charAt(index);
+          buffer[length++] = (byte) ch;
+          buffer[length++] = (byte) (ch >>> 8);
+        }
+        messageDigest.update(buffer, 0, length);
+      }
+      return new TemplateKey(
+          ByteBuffer.wrap(messageDigest.digest()), compilationMode, TemplateFunctions.isSlimTemplates()
+      );
+    }
+
+    private static MessageDigest newMessageDigest() {
+      try {
+        return MessageDigest.getInstance(DIGEST_ALGORITHM);
+      } catch (NoSuchAlgorithmException e) {
+        throw UnexpectedViolationException.withCauseAndMessage(e, "Message digest {0} is not available",
+            DIGEST_ALGORITHM);
+      }
+    }
+  }
+
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+  private static final int DIGEST_BUFFER_CHARS = 1024;
+}
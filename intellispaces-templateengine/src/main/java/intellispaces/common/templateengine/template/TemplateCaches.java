@@ -0,0 +1,18 @@
+package intellispaces.common.templateengine.template;
+
+public interface TemplateCaches {
+
+  static TemplateCacheBuilder build() {
+    return new TemplateCacheBuilder();
+  }
+
+  /**
+   * Returns common template cache.
+   *
+   * <p>Maximum size of the common cache can be set by system property
+   * <code>intellispaces.templateengine.cache.size</code>.
+   */
+  static TemplateCache common() {
+    return CommonTemplateCache.INSTANCE;
+  }
+}
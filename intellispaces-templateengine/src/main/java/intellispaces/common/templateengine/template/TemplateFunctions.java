@@ -32,13 +32,15 @@ import intellispaces.common.templateengine.element.WhenMarkers;
 import intellispaces.common.templateengine.element.WhenStatements;
 import intellispaces.common.templateengine.exception.ParseTemplateException;
 import intellispaces.common.templateengine.exception.ResolveTemplateException;
+import intellispaces.common.templateengine.expression.CompilationMode;
+import intellispaces.common.templateengine.expression.ExpressionCompilationQueue;
 import intellispaces.common.templateengine.expression.ParseExpressionFunctions;
 import intellispaces.common.templateengine.expression.value.Value;
 import intellispaces.common.templateengine.expression.value.ValueFunctions;
 import intellispaces.common.templateengine.source.SourceFunctions;
 import intellispaces.common.templateengine.source.block.Block;
 import intellispaces.common.templateengine.source.block.Blocks;
-import intellispaces.common.templateengine.source.position.MutablePosition;
+import intellispaces.common.templateengine.source.position.LineOffsetTable;
 import intellispaces.common.templateengine.source.position.Position;
 import intellispaces.common.templateengine.source.position.Positions;
 
@@ -58,6 +60,13 @@ public final class TemplateFunctions {
 
   private TemplateFunctions() {}
 
+  /**
+   * Checks that parsed templates are made slim.
+   */
+  static boolean isSlimTemplates() {
+    return SLIM_TEMPLATES;
+  }
+
   /**
    * Parse template.
    *
@@ -65,12 +74,41 @@ public final class TemplateFunctions {
    * @return parsed template.
    * @throws ParseTemplateException throws when template can't be parsed.
    */
-  public static Template parseTemplate(String source) throws ParseTemplateException {
-    return Templates.of(
-        analyzeStatements(
-            glueElements(
-                analyzeElements(
-                    split(source)))));
+  public static Template parseTemplate(CharSequence source) throws ParseTemplateException {
+    return parseTemplate(source, ParseExpressionFunctions.defaultCompilationMode());
+  }
+
+  /**
+   * Parse template.
+   *
+   * @param source template source.
+   * @param compilationMode expression compilation mode.
+   * @return parsed template.
+   * @throws ParseTemplateException throws when template can't be parsed.
+   */
+  public static Template parseTemplate(
+      CharSequence source, CompilationMode compilationMode
+  ) throws ParseTemplateException {
+    ExpressionCompilationQueue compilationQueue = (compilationMode != CompilationMode.Eager
+        ? ExpressionCompilationQueue.create(compilationMode)
+        : null);
+    final Template template;
+    if (source.length() >= ParallelParseFunctions.PARALLEL_PARSING_THRESHOLD) {
+      template = ParallelParseFunctions.parseTemplate(source, compilationQueue);
+    } else {
+      template = Templates.of(
+          analyzeStatements(
+              glueElements(
+                  analyzeElements(
+                      split(source), compilationQueue))));
+    }
+    if (compilationMode == CompilationMode.Interpreted) {
+      Map<String, ParseTemplateException> errors = compilationQueue.interpret();
+      if (!errors.isEmpty()) {
+        throw errors.values().iterator().next();
+      }
+    }
+    return SLIM_TEMPLATES ? SlimTemplateFunctions.slimTemplate(template) : template;
   }
 
   /**
@@ -91,7 +129,7 @@ public final class TemplateFunctions {
 
     var sb = new StringBuilder();
     for (TemplateElement element : template.elements()) {
-      sb.append(element.resolve(values));
+      element.resolve(values, sb);
     }
     return sb.toString();
   }
@@ -99,18 +137,50 @@ public final class TemplateFunctions {
   /**
    * Splits template source into text blocks using markers.
    *
+   * <p>Blocks refer to the source and do not copy its characters.
+   *
+   * @param source template source.
+   * @return list of text blocks.
+   */
+  public static List<Block> split(CharSequence source) {
+    return split(source, LineOffsetTable.of(source));
+  }
+
+  /**
+   * Splits template source into text blocks using markers.
+   *
+   * <p>Block positions keep offset only, row and column are computed via line offset table on demand.
+   *
    * @param source template source.
+   * @param lineOffsetTable line offset table of the source.
    * @return list of text blocks.
    */
-  public static List<Block> split(String source) {
+  public static List<Block> split(CharSequence source, LineOffsetTable lineOffsetTable) {
+    return split(source, lineOffsetTable, 0, source.length());
+  }
+
+  /**
+   * Splits part of the template source into text blocks using markers.
+   *
+   * <p>Blocks are read while block begins before the end offset, so the last block can exceed the end offset.
+   *
+   * @param source template source.
+   * @param lineOffsetTable line offset table of the source.
+   * @param beginOffset offset of the first block.
+   * @param endOffset end offset.
+   * @return list of text blocks.
+   */
+  static List<Block> split(CharSequence source, LineOffsetTable lineOffsetTable, int beginOffset, int endOffset) {
     List<Block> blocks = new ArrayList<>();
-    char[] chars = source.toCharArray();
-    MutablePosition curPosition = Positions.mutable(0, 1, 1);
-    Block block = readBlock(chars, curPosition);
+    int offset = beginOffset;
+    Block block = readBlock(source, Positions.of(lineOffsetTable, offset));
     while (block != null && block.length() > 0) {
-      movePosition(curPosition, block, chars);
+      offset += block.length();
       blocks.add(block);
-      block = readBlock(chars, curPosition);
+      if (offset >= endOffset) {
+        break;
+      }
+      block = readBlock(source, Positions.of(lineOffsetTable, offset));
     }
     return blocks;
   }
@@ -118,19 +188,20 @@ public final class TemplateFunctions {
   /**
    * Reads text block.
    *
-   * @param source template source chars.
+   * @param source template source.
    * @param position read position.
    * @return text block or <code>null</code>.
    */
-  public static Block readBlock(char[] source, Position position) {
-    if (position.offset() > source.length) {
+  public static Block readBlock(CharSequence source, Position position) {
+    int length = source.length();
+    if (position.offset() > length) {
       return null;
     }
     boolean marker = false;
     int curOffset = position.offset();
     if (isOpenDoubleCurlyBraces(source, curOffset)) {
       curOffset += 2;
-      while (curOffset < source.length) {
+      while (curOffset < length) {
         if (isCloseDoubleCurlyBraces(source, curOffset)) {
           marker = true;
           curOffset += 2;
@@ -139,7 +210,7 @@ public final class TemplateFunctions {
         curOffset++;
       }
     } else {
-      while (curOffset < source.length) {
+      while (curOffset < length) {
         if (isOpenDoubleCurlyBraces(source, curOffset)) {
           break;
         }
@@ -149,94 +220,84 @@ public final class TemplateFunctions {
     return Blocks.build()
         .position(Positions.of(position))
         .marker(marker)
-        .value(readElementValue(marker, source, position.offset(), curOffset - position.offset()))
+        .source(source)
+        .length(curOffset - position.offset())
         .get();
   }
 
-  private static boolean isOpenDoubleCurlyBraces(char[] source, int offset) {
-    return offset + 1 < source.length && source[offset] == OPEN_CURLY_BRACE && source[offset + 1] == OPEN_CURLY_BRACE;
-  }
-
-  private static boolean isCloseDoubleCurlyBraces(char[] source, int offset) {
-    return offset + 1 < source.length && source[offset] == CLOSE_CURLY_BRACE && source[offset + 1] == CLOSE_CURLY_BRACE;
-  }
-
-  private static String readElementValue(boolean marker, char[] source, int offset, int numChars) {
-    if (marker) {
-      // Exclude start and finish double curly braces
-      return makeString(source, offset + 2, numChars - 4);
-    } else {
-      return makeString(source, offset, numChars);
-    }
+  private static boolean isOpenDoubleCurlyBraces(CharSequence source, int offset) {
+    return offset + 1 < source.length()
+        && source.charAt(offset) == OPEN_CURLY_BRACE && source.charAt(offset + 1) == OPEN_CURLY_BRACE;
   }
 
-  private static String makeString(char[] source, int position, int numChars) {
-    return new String(source, position, numChars);
-  }
-
-  private static void movePosition(MutablePosition position, Block block, char[] source) {
-    int row = position.row();
-    int column = position.column();
-    for (int i = 0; i < block.length(); i++) {
-      char curChar = source[position.offset() + i];
-      if (curChar == '\r') {
-        row++;
-        column = 1;
-      } else if (curChar != '\n') {
-        column++;
-      }
-    }
-    position.set(position.offset() + block.length(), row, column);
+  private static boolean isCloseDoubleCurlyBraces(CharSequence source, int offset) {
+    return offset + 1 < source.length()
+        && source.charAt(offset) == CLOSE_CURLY_BRACE && source.charAt(offset + 1) == CLOSE_CURLY_BRACE;
   }
 
   /**
    * Analyzes and maps text blocks to template elements.
    *
    * @param blocks list of text blocks.
+   * @param compilationQueue queue to postpone expression compilation or <code>null</code> to compile immediately.
    * @return list of template elements.
    * @throws ParseTemplateException throws when template can't be parsed.
    */
-  private static List<TemplateElement> analyzeElements(
-      List<Block> blocks
+  static List<TemplateElement> analyzeElements(
+      List<Block> blocks, ExpressionCompilationQueue compilationQueue
   ) throws ParseTemplateException {
     List<TemplateElement> elements = new ArrayList<>(blocks.size());
     int elementIndex = 0;
     for (Block block : blocks) {
-      if (block.isMarker()) {
-        TemplateElement marker = analyzeMarker(block, elements, elementIndex);
-        elements.add(marker);
-      } else {
-        elements.add(TextElements.build()
-            .context(ElementContexts.build()
-                .position(block.position())
-                .templateElements(elements)
-                .elementIndex(elementIndex)
-                .get())
-            .text(block.wording())
-            .get());
-      }
+      elements.add(analyzeElement(block, elements, elementIndex, compilationQueue));
       elementIndex++;
     }
     return elements;
   }
 
+  /**
+   * Analyzes and maps text block to template element.
+   *
+   * @param block the text block.
+   * @param elements list of all template elements.
+   * @param elementIndex index of the element in list of all template elements.
+   * @param compilationQueue queue to postpone expression compilation or <code>null</code> to compile immediately.
+   * @return template element.
+   * @throws ParseTemplateException throws when template can't be parsed.
+   */
+  static TemplateElement analyzeElement(
+      Block block, List<TemplateElement> elements, int elementIndex, ExpressionCompilationQueue compilationQueue
+  ) throws ParseTemplateException {
+    if (block.isMarker()) {
+      return analyzeMarker(block, elements, elementIndex, compilationQueue);
+    }
+    return TextElements.build()
+        .context(ElementContexts.build()
+            .position(block.position())
+            .templateElements(elements)
+            .elementIndex(elementIndex)
+            .get())
+        .text(block.wording())
+        .get();
+  }
+
   private static TemplateElement analyzeMarker(
-      Block block, List<TemplateElement> elements, int elementIndex
+      Block block, List<TemplateElement> elements, int elementIndex, ExpressionCompilationQueue compilationQueue
   ) throws ParseTemplateException {
     // Marker <print>
-    MarkerPrint markerPrint = asMarkerPrint(block, elements, elementIndex);
+    MarkerPrint markerPrint = asMarkerPrint(block, elements, elementIndex, compilationQueue);
     if (markerPrint != null) {
       return markerPrint;
     }
 
     // Short marker <print>
-    MarkerPrint shortMarkerPrint = asShortMarkerPrint(block, elements, elementIndex);
+    MarkerPrint shortMarkerPrint = asShortMarkerPrint(block, elements, elementIndex, compilationQueue);
     if (shortMarkerPrint != null) {
       return shortMarkerPrint;
     }
 
     // Marker <set>
-    MarkerSet markerSet = asMarkerSet(block, elements, elementIndex);
+    MarkerSet markerSet = asMarkerSet(block, elements, elementIndex, compilationQueue);
     if (markerSet != null) {
       return markerSet;
     }
@@ -248,19 +309,19 @@ public final class TemplateFunctions {
     }
 
     // Marker <foreach>
-    MarkerForeach markerForeach = asMarkerForeach(block, elements, elementIndex);
+    MarkerForeach markerForeach = asMarkerForeach(block, elements, elementIndex, compilationQueue);
     if (markerForeach != null) {
       return markerForeach;
     }
 
     // Marker <when>
-    MarkerWhen markerWhen = asMarkerWhen(block, elements, elementIndex);
+    MarkerWhen markerWhen = asMarkerWhen(block, elements, elementIndex, compilationQueue);
     if (markerWhen != null) {
       return markerWhen;
     }
 
     // Marker <else>
-    MarkerElse markerElse = asMarkerElse(block, elements, elementIndex);
+    MarkerElse markerElse = asMarkerElse(block, elements, elementIndex, compilationQueue);
     if (markerElse != null) {
       return markerElse;
     }
@@ -276,7 +337,7 @@ public final class TemplateFunctions {
   }
 
   private static MarkerPrint asMarkerPrint(
-      Block block, List<TemplateElement> elements, int elementIndex
+      Block block, List<TemplateElement> elements, int elementIndex, ExpressionCompilationQueue compilationQueue
   ) throws ParseTemplateException {
     Matcher matcher = MARKER_PRINT_PATTERN.matcher(block.value());
     if (matcher.matches()) {
@@ -286,14 +347,14 @@ public final class TemplateFunctions {
               .templateElements(elements)
               .elementIndex(elementIndex)
               .get())
-          .outputExpression(ParseExpressionFunctions.parseExpression(matcher.group(1).trim()))
+          .outputExpression(ParseExpressionFunctions.parseExpression(matcher.group(1).trim(), compilationQueue))
           .get();
     }
     return null;
   }
 
   private static MarkerPrint asShortMarkerPrint(
-      Block block, List<TemplateElement> elements, int elementIndex
+      Block block, List<TemplateElement> elements, int elementIndex, ExpressionCompilationQueue compilationQueue
   ) throws ParseTemplateException {
     Matcher matcher = MARKER_PRINT_SHORT_PATTERN.matcher(block.value());
     if (matcher.matches()) {
@@ -303,14 +364,14 @@ public final class TemplateFunctions {
               .templateElements(elements)
               .elementIndex(elementIndex)
               .get())
-          .outputExpression(ParseExpressionFunctions.parseExpression(matcher.group(1).trim()))
+          .outputExpression(ParseExpressionFunctions.parseExpression(matcher.group(1).trim(), compilationQueue))
           .get();
     }
     return null;
   }
 
   private static MarkerSet asMarkerSet(
-      Block block, List<TemplateElement> elements, int elementIndex
+      Block block, List<TemplateElement> elements, int elementIndex, ExpressionCompilationQueue compilationQueue
   ) throws ParseTemplateException {
     Matcher matcher = MARKER_SET_PATTERN.matcher(block.wording());
     if (matcher.matches()) {
@@ -321,7 +382,7 @@ public final class TemplateFunctions {
               .elementIndex(elementIndex)
               .get())
           .valueName(matcher.group(1).trim())
-          .valueExpression(ParseExpressionFunctions.parseExpression(matcher.group(2).trim()))
+          .valueExpression(ParseExpressionFunctions.parseExpression(matcher.group(2).trim(), compilationQueue))
           .get();
     }
     return null;
@@ -350,7 +411,7 @@ public final class TemplateFunctions {
   }
 
   private static MarkerForeach asMarkerForeach(
-      Block block, List<TemplateElement> elements, int elementIndex
+      Block block, List<TemplateElement> elements, int elementIndex, ExpressionCompilationQueue compilationQueue
   ) throws ParseTemplateException {
     Matcher matcher = MARKER_FOREACH_PATTERN.matcher(block.wording());
     if (matcher.matches()) {
@@ -361,14 +422,14 @@ public final class TemplateFunctions {
               .elementIndex(elementIndex)
               .get())
           .itemName(matcher.group(1))
-          .collectionExpression(ParseExpressionFunctions.parseExpression(matcher.group(2).trim()))
+          .collectionExpression(ParseExpressionFunctions.parseExpression(matcher.group(2).trim(), compilationQueue))
           .get();
     }
     return null;
   }
 
   private static MarkerWhen asMarkerWhen(
-      Block block, List<TemplateElement> elements, int elementIndex
+      Block block, List<TemplateElement> elements, int elementIndex, ExpressionCompilationQueue compilationQueue
   ) throws ParseTemplateException {
     Matcher matcher = MARKER_WHEN_PATTERN.matcher(block.wording());
     if (matcher.matches()) {
@@ -378,14 +439,14 @@ public final class TemplateFunctions {
               .templateElements(elements)
               .elementIndex(elementIndex)
               .get())
-          .condition(ParseExpressionFunctions.parseExpression(matcher.group(1).trim()))
+          .condition(ParseExpressionFunctions.parseExpression(matcher.group(1).trim(), compilationQueue))
           .get();
     }
     return null;
   }
 
   private static MarkerElse asMarkerElse(
-      Block block, List<TemplateElement> elements, int elementIndex
+      Block block, List<TemplateElement> elements, int elementIndex, ExpressionCompilationQueue compilationQueue
   ) throws ParseTemplateException {
     Matcher matcher = MARKER_ELSE_PATTERN.matcher(block.wording());
     if (matcher.matches()) {
@@ -396,7 +457,9 @@ public final class TemplateFunctions {
               .templateElements(elements)
               .elementIndex(elementIndex)
               .get())
-          .condition(condition != null ? ParseExpressionFunctions.parseExpression(condition.trim()) : null)
+          .condition(condition != null
+              ? ParseExpressionFunctions.parseExpression(condition.trim(), compilationQueue)
+              : null)
           .get();
     }
     return null;
@@ -418,7 +481,7 @@ public final class TemplateFunctions {
     return null;
   }
 
-  private static List<TemplateElement> glueElements(List<TemplateElement> elements) {
+  static List<TemplateElement> glueElements(List<TemplateElement> elements) {
     List<TemplateElement> result = new ArrayList<>(elements);
     for (int ind = 0; ind < elements.size(); ind++) {
       if (isOneLineHiddenElement(elements, ind)) {
@@ -485,7 +548,7 @@ public final class TemplateFunctions {
         || TemplateElementTypes.MarkerEnd == elementType;
   }
 
-  private static List<TemplateElement> analyzeStatements(
+  static List<TemplateElement> analyzeStatements(
       List<TemplateElement> elements
   ) throws ParseTemplateException {
     return analyzeStatements(elements.listIterator(), elements);
@@ -648,6 +711,7 @@ public final class TemplateFunctions {
   private static final char OPEN_CURLY_BRACE = '{';
   private static final char CLOSE_CURLY_BRACE = '}';
   private static final String IDENTIFIER_CHARS = "\\w";
+
   private static final String EXPRESSION_CHARS = " \\t\\w\\.,:\\(\\)\\[\\]\"'";
 
   private static final Pattern MARKER_SET_PATTERN = Pattern.compile(
@@ -666,4 +730,11 @@ public final class TemplateFunctions {
       "\\{\\{else[ \\t]*(when[ \\t]+([\\$" + EXPRESSION_CHARS + "]+))?\\}\\}");
   private static final Pattern MARKER_END_PATTERN = Pattern.compile(
       "\\{\\{end[ \\t\\w]*\\}\\}");
+
+  /**
+   * Production mode. When enabled, parsed templates are made slim.
+   *
+   * @see SlimTemplateFunctions
+   */
+  private static final boolean SLIM_TEMPLATES = Boolean.getBoolean("intellispaces.templateengine.slim");
 }
@@ -2,7 +2,14 @@ package intellispaces.common.templateengine.template;
 
 import intellispaces.common.templateengine.element.TemplateElement;
 import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.expression.CompilationMode;
+import intellispaces.common.templateengine.source.ReadSourceFunctions;
 
+import java.io.Reader;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.List;
 
 public interface Templates {
@@ -11,6 +18,63 @@ public interface Templates {
     return TemplateFunctions.parseTemplate(source);
   }
 
+  static Template of(CharSequence source) throws ParseTemplateException {
+    return TemplateFunctions.parseTemplate(source);
+  }
+
+  static Template of(CharSequence source, CompilationMode compilationMode) throws ParseTemplateException {
+    return TemplateFunctions.parseTemplate(source, compilationMode);
+  }
+
+  static Template of(Path path) throws ParseTemplateException {
+    return of(path, StandardCharsets.UTF_8);
+  }
+
+  static Template of(Path path, Charset charset) throws ParseTemplateException {
+    return TemplateFunctions.parseTemplate(ReadSourceFunctions.readSource(path, charset));
+  }
+
+  static Template ofMapped(Path path) throws ParseTemplateException {
+    return ofMapped(path, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Parses template from file, memory-mapping large file.
+   *
+   * <p>Text of the large ASCII file is not copied into heap, template refers to the mapped file.
+   * The file must not be changed while the template is in use. Changing the file in place changes
+   * template output, truncating the file makes template resolving fail.
+   *
+   * @param path the file path.
+   * @param charset file charset.
+   * @return parsed template.
+   * @throws ParseTemplateException throws when template can't be read or parsed.
+   */
+  static Template ofMapped(Path path, Charset charset) throws ParseTemplateException {
+    return TemplateFunctions.parseTemplate(ReadSourceFunctions.readMappedSource(path, charset));
+  }
+
+  static Template of(Reader reader) throws ParseTemplateException {
+    return TemplateFunctions.parseTemplate(ReadSourceFunctions.readSource(reader));
+  }
+
+  static Template of(ReadableByteChannel channel) throws ParseTemplateException {
+    return of(channel, StandardCharsets.UTF_8);
+  }
+
+  static Template of(ReadableByteChannel channel, Charset charset) throws ParseTemplateException {
+    return TemplateFunctions.parseTemplate(ReadSourceFunctions.readSource(channel, charset));
+  }
+
+  /**
+   * Returns slim copy of the template.
+   *
+   * @see SlimTemplateFunctions
+   */
+  static Template slim(Template template) {
+    return SlimTemplateFunctions.slimTemplate(template);
+  }
+
   static Template of(List<TemplateElement> elements) {
     return new TemplateImpl(elements != null ? List.copyOf(elements) : List.of());
   }
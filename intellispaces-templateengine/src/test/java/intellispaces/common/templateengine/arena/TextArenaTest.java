@@ -0,0 +1,138 @@
+package intellispaces.common.templateengine.arena;
+
+import intellispaces.common.templateengine.element.TemplateElement;
+import intellispaces.common.templateengine.element.TextElement;
+import intellispaces.common.templateengine.template.SlimTemplateFunctions;
+import intellispaces.common.templateengine.template.Template;
+import intellispaces.common.templateengine.template.Templates;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TextArena}.
+ */
+public class TextArenaTest {
+
+  @Test
+  public void testIntern_whenEqualTexts() {
+    // Given
+    TextArena arena = TextArena.heap();
+
+    // When
+    CharSequence text1 = arena.intern("License header");
+    CharSequence text2 = arena.intern(new StringBuilder("License header"));
+    CharSequence text3 = arena.intern("Other text");
+
+    // Then
+    assertThat(text1).isSameAs(text2);
+    assertThat(text1.toString()).isEqualTo("License header");
+    assertThat(text3.toString()).isEqualTo("Other text");
+    assertThat(arena.numTexts()).isEqualTo(2);
+    assertThat(arena.numChars()).isEqualTo(24);
+  }
+
+  @Test
+  public void testIntern_whenOffHeap() {
+    // Given
+    TextArena arena = TextArena.offHeap();
+    String largeText = "x".repeat(100_000);
+
+    // When
+    CharSequence text = arena.intern("Text");
+    CharSequence large = arena.intern(largeText);
+
+    // Then
+    assertThat(arena.isOffHeap()).isTrue();
+    assertThat(text.toString()).isEqualTo("Text");
+    assertThat(text.charAt(2)).isEqualTo('x');
+    assertThat(large.toString()).isEqualTo(largeText);
+    assertThat(arena.intern(largeText)).isSameAs(large);
+  }
+
+  @Test
+  public void testIntern_whenManyTexts() {
+    // Given
+    TextArena arena = TextArena.heap();
+
+    // When
+    List<CharSequence> texts = new ArrayList<>();
+    for (int index = 0; index < 10_000; index++) {
+      texts.add(arena.intern("Text " + index));
+    }
+
+    // Then
+    assertThat(arena.numTexts()).isEqualTo(10_000);
+    assertThat(arena.intern("Text 1234")).isSameAs(texts.get(1234));
+    assertThat(arena.numTexts()).isEqualTo(texts.size());
+  }
+
+  @Test
+  public void testIntern_whenTextsAreNotUsed() {
+    // Given
+    TextArena arena = TextArena.heap();
+    CharSequence usedText = arena.intern("Used text");
+    List<Reference<ArenaText>> references = new ArrayList<>();
+    for (int index = 0; index < 10; index++) {
+      references.add(arena.referenceOf(arena.intern("Reloaded text " + index)));
+    }
+
+    // When
+    // Reference is cleared and enqueued as garbage collector does it for unreachable text
+    references.forEach(Reference::enqueue);
+
+    // Then
+    assertThat(references).allSatisfy(reference -> assertThat(reference).isInstanceOf(WeakReference.class));
+    assertThat(arena.numTexts()).isEqualTo(1);
+    assertThat(arena.numChars()).isEqualTo(usedText.length());
+    assertThat(arena.intern("Used text")).isSameAs(usedText);
+    CharSequence reloadedText = arena.intern("Reloaded text 1");
+    assertThat(arena.numTexts()).isEqualTo(2);
+    assertThat(reloadedText.toString()).isEqualTo("Reloaded text 1");
+    assertThat(arena.referenceOf(reloadedText)).isNotSameAs(references.get(1));
+  }
+
+  @Test
+  public void testAppend() {
+    // Given
+    TextArena heapArena = TextArena.heap();
+    TextArena offHeapArena = TextArena.offHeap();
+    var sb = new StringBuilder();
+
+    // When
+    TextArenas.append(sb, heapArena.intern("abc"));
+    TextArenas.append(sb, offHeapArena.intern("def"));
+    TextArenas.append(sb, "ghi");
+
+    // Then
+    assertThat(sb.toString()).isEqualTo("abcdefghi");
+  }
+
+  @Test
+  public void testSlimTemplates_shareTexts() throws Exception {
+    // Given
+    TextArena arena = TextArena.offHeap();
+    Template template1 = Templates.of("// License header\n{{$name}} {}");
+    Template template2 = Templates.of("// License header\n{{$name}}();");
+
+    // When
+    Template slimTemplate1 = SlimTemplateFunctions.slimTemplate(template1, arena);
+    Template slimTemplate2 = SlimTemplateFunctions.slimTemplate(template2, arena);
+
+    // Then
+    assertThat(firstText(slimTemplate1)).isSameAs(firstText(slimTemplate2));
+    assertThat(slimTemplate1.resolve(Map.of("name", "A"))).isEqualTo("// License header\nA {}");
+    assertThat(slimTemplate2.resolve(Map.of("name", "B"))).isEqualTo("// License header\nB();");
+  }
+
+  private static CharSequence firstText(Template template) {
+    TemplateElement element = template.elements().get(0);
+    return ((TextElement) element).text();
+  }
+}
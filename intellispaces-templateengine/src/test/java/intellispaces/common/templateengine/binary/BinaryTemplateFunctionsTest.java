@@ -0,0 +1,107 @@
+package intellispaces.common.templateengine.binary;
+
+import intellispaces.common.base.resource.ResourceFunctions;
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.template.Template;
+import intellispaces.common.templateengine.template.Templates;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link BinaryTemplateFunctions}.
+ */
+public class BinaryTemplateFunctionsTest {
+
+  @Test
+  public void testWriteAndReadTemplate_whenDemo() throws Exception {
+    // Given
+    String source = ResourceFunctions.readResourceAsString(
+        BinaryTemplateFunctionsTest.class, "/demo.template").orElseThrow();
+    Map<String, Object> variables = new HashMap<>();
+    variables.put("str1", "This is string variable str1");
+    variables.put("str2", "abc");
+    variables.put("int1", 123);
+    variables.put("real1", 123.45);
+    variables.put("bool1", true);
+    variables.put("bool2", false);
+    variables.put("list1", List.of("item1", "item2", "item3"));
+    variables.put("map1", Map.of("key1", "value1", "key2", "value2", "key3", "value3"));
+    Template template = Templates.of(source);
+
+    // When
+    byte[] bytes = BinaryTemplateFunctions.writeTemplate(template);
+    Template restoredTemplate = BinaryTemplateFunctions.readTemplate(bytes);
+
+    // Then
+    assertThat(restoredTemplate.elements()).hasSize(template.elements().size());
+    assertThat(restoredTemplate.resolve(variables)).isEqualTo(template.resolve(variables));
+  }
+
+  @Test
+  public void testWriteAndReadTemplate_whenPrintIndentationAndLiterals() throws Exception {
+    // Given
+    String source = """
+        Header
+          {{$lines}}
+        {{set list = ["a", "b"]}}
+        {{for item : $list}}
+        - {{$item}} {{print [1: 2.5].get(1)}} {{print void}}
+        {{end}}
+        """;
+    Template template = Templates.of(source);
+    Map<String, Object> variables = Map.of("lines", "line1\nline2");
+
+    // When
+    byte[] bytes = BinaryTemplateFunctions.writeTemplate(template);
+    Template restoredTemplate = BinaryTemplateFunctions.readTemplate(bytes);
+
+    // Then
+    assertThat(restoredTemplate.resolve(variables)).isEqualTo(template.resolve(variables));
+  }
+
+  @Test
+  public void testWriteAndReadTemplate_whenFile() throws Exception {
+    // Given
+    Template template = Templates.of("{{when $flag}}Yes, {{$name}}{{else}}No, {{$name}}{{end}}");
+    Path path = Files.createTempFile("template", ".bin");
+    Files.write(path, BinaryTemplateFunctions.writeTemplate(template));
+
+    // When
+    Template restoredTemplate = BinaryTemplateFunctions.readTemplate(path);
+
+    // Then
+    assertThat(restoredTemplate.resolve(Map.of("flag", true, "name", "Alice"))).isEqualTo("Yes, Alice");
+    assertThat(restoredTemplate.resolve(Map.of("flag", false, "name", "Bob"))).isEqualTo("No, Bob");
+  }
+
+  @Test
+  public void testWriteTemplate_whenRepeatedTexts() throws Exception {
+    // Given
+    String source = "Repeated text fragment. {{$value}}".repeat(100);
+    Template template = Templates.of(source);
+
+    // When
+    byte[] bytes = BinaryTemplateFunctions.writeTemplate(template);
+
+    // Then
+    assertThat(bytes.length).isLessThan(source.length());
+  }
+
+  @Test
+  public void testReadTemplate_whenInvalidData() {
+    assertThatThrownBy(() -> BinaryTemplateFunctions.readTemplate(new byte[] { 1, 2, 3, 4, 5, 6 }))
+        .isExactlyInstanceOf(ParseTemplateException.class)
+        .hasMessage("Invalid binary template. Unexpected magic number 1020304");
+    assertThatThrownBy(() -> BinaryTemplateFunctions.readTemplate(new byte[] { 0x49, 0x54 }))
+        .isExactlyInstanceOf(ParseTemplateException.class)
+        .hasMessage("Invalid binary template. Unexpected end of data");
+  }
+}
@@ -0,0 +1,80 @@
+package intellispaces.common.templateengine.binary;
+
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.template.Template;
+import intellispaces.common.templateengine.template.TemplateBundle;
+import intellispaces.common.templateengine.template.Templates;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link TemplateBundleFunctions}.
+ */
+public class TemplateBundleFunctionsTest {
+
+  @Test
+  public void testWriteAndOpenBundle() throws Exception {
+    // Given
+    Map<String, Template> templates = new LinkedHashMap<>();
+    templates.put("greeting", Templates.of("Hello, {{$name}}!"));
+    templates.put("dir/farewell", Templates.of("Bye, {{$name.capitalizeFirstLetter()}}."));
+    Path path = Files.createTempFile("templates", ".bundle");
+    try {
+      Files.write(path, TemplateBundleFunctions.writeBundle(templates));
+
+      // When
+      TemplateBundle bundle = TemplateBundleFunctions.openBundle(path);
+
+      // Then
+      assertThat(bundle.names()).containsOnly("greeting", "dir/farewell");
+      assertThat(bundle.get("greeting").resolve(Map.of("name", "world"))).isEqualTo("Hello, world!");
+      assertThat(bundle.get("dir/farewell").resolve(Map.of("name", "world"))).isEqualTo("Bye, World.");
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  @Test
+  public void testGet_whenRequestedTwice() throws Exception {
+    // Given
+    byte[] bytes = TemplateBundleFunctions.writeBundle(Map.of("name", Templates.of("Text {{$a}}")));
+    TemplateBundle bundle = TemplateBundleFunctions.openBundle(ByteBuffer.wrap(bytes));
+
+    // When
+    Template template1 = bundle.get("name");
+    Template template2 = bundle.get("name");
+
+    // Then
+    assertThat(template1).isSameAs(template2);
+  }
+
+  @Test
+  public void testGet_whenTemplateIsNotFound() throws Exception {
+    // Given
+    byte[] bytes = TemplateBundleFunctions.writeBundle(Map.of("name", Templates.of("Text")));
+    TemplateBundle bundle = TemplateBundleFunctions.openBundle(ByteBuffer.wrap(bytes));
+
+    // When, Then
+    assertThatThrownBy(() -> bundle.get("unknown"))
+        .isInstanceOf(ParseTemplateException.class)
+        .hasMessage("Template unknown is not found in bundle");
+  }
+
+  @Test
+  public void testOpenBundle_whenInvalidData() {
+    // Given
+    byte[] bytes = new byte[] { 1, 2, 3 };
+
+    // When, Then
+    assertThatThrownBy(() -> TemplateBundleFunctions.openBundle(ByteBuffer.wrap(bytes)))
+        .isInstanceOf(ParseTemplateException.class);
+  }
+}
@@ -0,0 +1,91 @@
+package intellispaces.common.templateengine.expression;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ExpressionInternTable}.
+ */
+public class ExpressionInternTableTest {
+
+  @Test
+  public void testIntern_whenSameStatement() throws Exception {
+    // Given
+    ExpressionInternTable table = ExpressionInternTable.create();
+    Expression expression1 = ParseExpressionFunctions.parseExpression("$list.isNotEmpty()", null);
+    Expression expression2 = Expressions.build()
+        .statement(expression1.statement())
+        .preparedStatement(expression1.preparedStatement())
+        .compiledExpression(expression1.compiledExpression())
+        .operands(expression1.operands())
+        .get();
+
+    // When
+    Expression internedExpression1 = table.intern(expression1, CompilationMode.Eager);
+    Expression internedExpression2 = table.intern(expression2, CompilationMode.Eager);
+
+    // Then
+    assertThat(internedExpression1).isSameAs(expression1);
+    assertThat(internedExpression2).isSameAs(expression1);
+    assertThat(table.get("$list.isNotEmpty()", CompilationMode.Eager)).isSameAs(expression1);
+    assertThat(table.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testGet_whenNotInterned() {
+    // Given
+    ExpressionInternTable table = ExpressionInternTable.create();
+
+    // When
+    Expression expression = table.get("$list.isNotEmpty()", CompilationMode.Eager);
+
+    // Then
+    assertThat(expression).isNull();
+  }
+
+  @Test
+  public void testParseExpression_whenSameStatement() throws Exception {
+    // When
+    Expression expression1 = ParseExpressionFunctions.parseExpression("$name.capitalizeFirstLetter()");
+    Expression expression2 = ParseExpressionFunctions.parseExpression("$name.capitalizeFirstLetter()");
+
+    // Then
+    assertThat(expression2).isSameAs(expression1);
+  }
+
+  @Test
+  public void testParseExpression_whenSameStatementIsPostponed() throws Exception {
+    // Given
+    ExpressionCompilationQueue compilationQueue1 = ExpressionCompilationQueue.create(CompilationMode.Interpreted);
+    ExpressionCompilationQueue compilationQueue2 = ExpressionCompilationQueue.create(CompilationMode.Interpreted);
+
+    // When
+    Expression expression1 = ParseExpressionFunctions.parseExpression("$name.isBlank()", compilationQueue1);
+    Expression expression2 = ParseExpressionFunctions.parseExpression("$name.isBlank()", compilationQueue2);
+    Expression lazyExpression = ParseExpressionFunctions.parseExpression(
+        "$name.isBlank()", ExpressionCompilationQueue.create(CompilationMode.Lazy)
+    );
+
+    // Then
+    assertThat(expression2).isSameAs(expression1);
+    assertThat(lazyExpression).isNotSameAs(expression1);
+    assertThat(compilationQueue2.statements()).containsExactly(expression1.preparedStatement());
+    assertThat(compilationQueue2.interpret()).isEmpty();
+  }
+
+  @Test
+  public void testParseExpression_whenInterpretationOfInternedExpressionFails() throws Exception {
+    // Given
+    ExpressionCompilationQueue compilationQueue1 = ExpressionCompilationQueue.create(CompilationMode.Interpreted);
+    ExpressionCompilationQueue compilationQueue2 = ExpressionCompilationQueue.create(CompilationMode.Interpreted);
+    Expression expression = ParseExpressionFunctions.parseExpression("$name.unknownMethod()", compilationQueue1);
+
+    // When
+    ParseExpressionFunctions.parseExpression("$name.unknownMethod()", compilationQueue2);
+
+    // Then
+    assertThat(compilationQueue1.interpret()).containsOnlyKeys(expression.preparedStatement());
+    assertThat(compilationQueue2.interpret()).containsOnlyKeys(expression.preparedStatement());
+  }
+}
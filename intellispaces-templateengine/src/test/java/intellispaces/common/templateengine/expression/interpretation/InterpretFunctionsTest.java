@@ -0,0 +1,86 @@
+package intellispaces.common.templateengine.expression.interpretation;
+
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.expression.CompiledExpression;
+import intellispaces.common.templateengine.expression.value.BooleanValue;
+import intellispaces.common.templateengine.expression.value.IntegerValues;
+import intellispaces.common.templateengine.expression.value.ListValues;
+import intellispaces.common.templateengine.expression.value.StringValue;
+import intellispaces.common.templateengine.expression.value.StringValues;
+import intellispaces.common.templateengine.expression.value.Value;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link InterpretFunctions}.
+ */
+public class InterpretFunctionsTest {
+
+  @Test
+  public void testInterpretExpression_whenOperand() throws Exception {
+    // Given
+    Value value = StringValues.of("abc");
+
+    // When
+    CompiledExpression expression = InterpretFunctions.interpretExpression("operands[0]");
+
+    // Then
+    assertThat(expression.resolve(new Value[] { value })).isSameAs(value);
+  }
+
+  @Test
+  public void testInterpretExpression_whenInvocationChain() throws Exception {
+    // Given
+    Value[] operands = new Value[] {
+        ListValues.of(List.of(StringValues.of("abc"), StringValues.of("def"))),
+        IntegerValues.of(1)
+    };
+
+    // When
+    CompiledExpression expression = InterpretFunctions.interpretExpression(
+        "operands[0].get(operands[1]).capitalizeFirstLetter()"
+    );
+
+    // Then
+    assertThat(((StringValue) expression.resolve(operands)).get()).isEqualTo("Def");
+  }
+
+  @Test
+  public void testInterpretExpression_whenSeveralArgumentsAndParentheses() throws Exception {
+    // Given
+    Value[] operands = new Value[] { IntegerValues.of(124), IntegerValues.of(123), StringValues.of("") };
+
+    // When
+    CompiledExpression expression = InterpretFunctions.interpretExpression(
+        "(operands[0]).eqAnyOf(operands[1], operands[0]) .eq( operands[2].isEmpty() )"
+    );
+
+    // Then
+    assertThat(((BooleanValue) expression.resolve(operands)).get()).isTrue();
+  }
+
+  @Test
+  public void testInterpretExpression_whenUnknownMethod() {
+    assertThatThrownBy(() -> InterpretFunctions.interpretExpression("operands[0].eq()"))
+        .isExactlyInstanceOf(ParseTemplateException.class)
+        .hasMessage("Failed to interpret expression operands[0].eq(). Unknown method eq with 0 argument(s)");
+  }
+
+  @Test
+  public void testInterpretExpression_whenUnexpectedCharacter() {
+    assertThatThrownBy(() -> InterpretFunctions.interpretExpression("operands[0] + operands[1]"))
+        .isExactlyInstanceOf(ParseTemplateException.class)
+        .hasMessage("Failed to interpret expression operands[0] + operands[1]. Unexpected character '+' at position 12");
+  }
+
+  @Test
+  public void testInterpretExpression_whenUnexpectedEnd() {
+    assertThatThrownBy(() -> InterpretFunctions.interpretExpression("operands[0].isEmpty("))
+        .isExactlyInstanceOf(ParseTemplateException.class)
+        .hasMessage("Failed to interpret expression operands[0].isEmpty(. Unexpected end of expression");
+  }
+}
@@ -0,0 +1,37 @@
+package intellispaces.common.templateengine.expression.value;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark of the bytes allocated while nested values are appended to string builder.
+ *
+ * <p>Benchmark is not a unit test and it is not run by surefire. It is started by the main method.
+ * Allocated bytes are measured by {@link com.sun.management.ThreadMXBean}, so the result depends on JVM.
+ */
+public class AppendValueBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    List<Object> rows = new ArrayList<>();
+    for (int index = 0; index < 1000; index++) {
+      rows.add(Map.of("id", index, "name", "row" + index, "tags", List.of("a", "b")));
+    }
+    Value value = ValueFunctions.objectToValue(rows);
+    var sb = new StringBuilder();
+    ValueFunctions.appendValue(value, sb);
+    var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    for (int iteration = 0; iteration < 100; iteration++) {
+      sb.setLength(0);
+      ValueFunctions.appendValue(value, sb);
+    }
+
+    sb.setLength(0);
+    long bytes = threadBean.getThreadAllocatedBytes(threadId);
+    ValueFunctions.appendValue(value, sb);
+    bytes = threadBean.getThreadAllocatedBytes(threadId) - bytes;
+    System.out.println("Appended chars: " + sb.length() + ", allocated bytes: " + bytes);
+  }
+}
@@ -24,6 +24,25 @@ public class BooleanValueTest {
     assertThat(BooleanValues.of(true).typename().get()).isEqualTo(ValueTypes.Boolean.typename());
   }
 
+  @Test
+  public void testOf_whenSameValue() {
+    assertThat(BooleanValues.of(true)).isSameAs(BooleanValues.of(true));
+    assertThat(BooleanValues.of(false)).isSameAs(BooleanValues.of(false));
+    assertThat(BooleanValues.of(true)).isNotEqualTo(BooleanValues.of(false));
+  }
+
+  @Test
+  public void testOperations_thenCanonicalValues() throws Exception {
+    assertThat(BooleanValues.of(true).invert()).isSameAs(BooleanValues.of(false));
+    assertThat(IntegerValues.of(1).eq(IntegerValues.of(2))).isSameAs(BooleanValues.of(false));
+    assertThat(IntegerValues.of(100_000).eq(IntegerValues.of(100_000))).isSameAs(BooleanValues.of(true));
+  }
+
+  @Test
+  public void testTypename_whenSameType() {
+    assertThat(BooleanValues.of(true).typename()).isSameAs(BooleanValues.of(false).typename());
+  }
+
   @Test
   public void testAsBoolean() throws ResolveTemplateException {
     BooleanValue booleanValue = BooleanValues.of(true);
@@ -110,7 +129,7 @@ public class BooleanValueTest {
       MapValue mapValue = booleanValue.asMap();
 
       // Then
-      assertThat(mapValue.get()).isSameAs(expectedValue);
+      assertThat(mapValue.get()).isEqualTo(expectedValue);
       castFunctions.verify(() -> ValueFunctions.castToMap(same(booleanValue)), Mockito.times(1));
     }
   }
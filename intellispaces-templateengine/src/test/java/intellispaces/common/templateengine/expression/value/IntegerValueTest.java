@@ -24,6 +24,21 @@ public class IntegerValueTest {
     assertThat(IntegerValues.of(123).typename().get()).isEqualTo(ValueTypes.Integer.typename());
   }
 
+  @Test
+  public void testOf_whenSmallValue() {
+    assertThat(IntegerValues.of(0)).isSameAs(IntegerValues.of(0));
+    assertThat(IntegerValues.of(-128)).isSameAs(IntegerValues.of(-128));
+    assertThat(IntegerValues.of(1024)).isSameAs(IntegerValues.of(1024));
+    assertThat(IntegerValues.of(1024).get()).isEqualTo(1024);
+  }
+
+  @Test
+  public void testOf_whenLargeValue() {
+    assertThat(IntegerValues.of(100_000)).isEqualTo(IntegerValues.of(100_000));
+    assertThat(IntegerValues.of(100_000).hashCode()).isEqualTo(IntegerValues.of(100_000).hashCode());
+    assertThat(IntegerValues.of(-129).get()).isEqualTo(-129);
+  }
+
   @Test
   public void testAsBoolean() throws Exception {
     // Given
@@ -110,7 +125,7 @@ public class IntegerValueTest {
       MapValue mapValue = integerValue.asMap();
 
       // Then
-      assertThat(mapValue.get()).isSameAs(expectedValue);
+      assertThat(mapValue.get()).isEqualTo(expectedValue);
       castFunctions.verify(() -> ValueFunctions.castToMap(same(integerValue)), Mockito.times(1));
     }
   }
@@ -130,6 +145,16 @@ public class IntegerValueTest {
     assertThat(IntegerValues.of(0).eq(VoidValues.get()).get()).isFalse();
   }
 
+  @Test
+  public void testEq_whenItemValue() throws ResolveTemplateException {
+    Value item = ItemValues.build().value(123).index(0).get();
+
+    assertThat(IntegerValues.of(123).eq(item).get()).isTrue();
+    assertThat(RealValues.of(123.0).eq(item).get()).isTrue();
+    assertThat(IntegerValues.of(125).eqAnyOf(IntegerValues.of(1), item).get()).isFalse();
+    assertThat(IntegerValues.of(123).eqAnyOf(IntegerValues.of(1), item).get()).isTrue();
+  }
+
   @Test
   public void testIsVoid() {
     assertThat(IntegerValues.of(123).isVoid().get()).isFalse();
@@ -190,6 +215,33 @@ public class IntegerValueTest {
         .hasMessage("Operation 'find' is not applicable for value type integer. Expected string or list");
   }
 
+  @Test
+  public void testConcat() {
+    assertThatThrownBy(() -> IntegerValues.of(123).concat(StringValues.of("a")))
+        .isExactlyInstanceOf(NotApplicableOperationException.class)
+        .hasMessage("Operation 'concat' is not applicable for value type integer. Expected string");
+  }
+
+  @Test
+  public void testSlice() {
+    assertThatThrownBy(() -> IntegerValues.of(123).slice(IntegerValues.of(0), IntegerValues.of(1)))
+        .isExactlyInstanceOf(NotApplicableOperationException.class)
+        .hasMessage("Operation 'slice' is not applicable for value type integer. Expected string or list");
+  }
+
+  @Test
+  public void testPipeline() {
+    assertThatThrownBy(() -> IntegerValues.of(123).filter(StringValues.of("a")))
+        .isExactlyInstanceOf(NotApplicableOperationException.class)
+        .hasMessage("Operation 'filter' is not applicable for value type integer. Expected list or map");
+    assertThatThrownBy(() -> IntegerValues.of(123).sortBy(StringValues.of("a")))
+        .isExactlyInstanceOf(NotApplicableOperationException.class)
+        .hasMessage("Operation 'sortBy' is not applicable for value type integer. Expected list or map");
+    assertThatThrownBy(() -> IntegerValues.of(123).reverse())
+        .isExactlyInstanceOf(NotApplicableOperationException.class)
+        .hasMessage("Operation 'reverse' is not applicable for value type integer. Expected list or map");
+  }
+
   @Test
   public void testIndex() {
     assertThatThrownBy(() -> IntegerValues.of(123).index())
@@ -0,0 +1,65 @@
+package intellispaces.common.templateengine.expression.value;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ItemCursor}.
+ */
+public class ItemCursorTest {
+
+  @Test
+  public void testMove() throws Exception {
+    // Given
+    ItemCursor cursor = ItemValues.cursor();
+
+    // When
+    cursor.move(StringValues.of("a"), 0, false);
+
+    // Then
+    assertThat(cursor.asString().get()).isEqualTo("a");
+    assertThat(cursor.index().get()).isEqualTo(0);
+    assertThat(cursor.isFirst().get()).isTrue();
+    assertThat(cursor.isLast().get()).isFalse();
+
+    // When
+    cursor.move(StringValues.of("b"), 1, true);
+
+    // Then
+    assertThat(cursor.asString().get()).isEqualTo("b");
+    assertThat(cursor.index().get()).isEqualTo(1);
+    assertThat(cursor.isNotFirst().get()).isTrue();
+    assertThat(cursor.isNotLast().get()).isFalse();
+  }
+
+  @Test
+  public void testSnapshot() throws Exception {
+    // Given
+    ItemCursor cursor = ItemValues.cursor();
+    cursor.move(StringValues.of("a"), 0, false);
+
+    // When
+    Value snapshot = ItemCursor.capture(cursor);
+    cursor.move(StringValues.of("b"), 1, true);
+
+    // Then
+    assertThat(snapshot).isNotSameAs(cursor);
+    assertThat(snapshot.asString().get()).isEqualTo("a");
+    assertThat(snapshot.index().get()).isEqualTo(0);
+    assertThat(snapshot.isFirst().get()).isTrue();
+    assertThat(snapshot.isLast().get()).isFalse();
+  }
+
+  @Test
+  public void testCapture_whenNotCursor() {
+    // Given
+    Value value = StringValues.of("a");
+
+    // When
+    Value capturedValue = ItemCursor.capture(value);
+
+    // Then
+    assertThat(capturedValue).isSameAs(value);
+  }
+}
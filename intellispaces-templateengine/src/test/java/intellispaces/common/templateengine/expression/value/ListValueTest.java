@@ -7,8 +7,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -110,7 +114,7 @@ public class ListValueTest {
       MapValue mapValue = listValue.asMap();
 
       // Then
-      assertThat(mapValue.get()).isSameAs(expectedValue);
+      assertThat(mapValue.get()).isEqualTo(expectedValue);
       castFunctions.verify(() -> ValueFunctions.castToMap(same(listValue)), Mockito.times(1));
     }
   }
@@ -197,6 +201,152 @@ public class ListValueTest {
         .hasMessage("Operation 'invert' is not applicable for value type list. Expected boolean, integer or real");
   }
 
+  @Test
+  public void testPipeline() throws Exception {
+    ListValue rows = (ListValue) ValueFunctions.objectToValue(List.of(
+        Map.of("name", "c", "active", true, "group", 1),
+        Map.of("name", "a", "active", false, "group", 2),
+        Map.of("name", "d", "active", true, "group", 2),
+        Map.of("name", "b", "active", true, "group", 1)));
+
+    assertThat(rows.filter(StringValues.of("active")).map(StringValues.of("name")))
+        .isEqualTo(ListValues.of("c", "d", "b"));
+    assertThat(rows.filter(StringValues.of("group"), IntegerValues.of(2)).map(StringValues.of("name")))
+        .isEqualTo(ListValues.of("a", "d"));
+    assertThat(rows.sortBy(StringValues.of("name")).map(StringValues.of("name")))
+        .isEqualTo(ListValues.of("a", "b", "c", "d"));
+    assertThat(rows.sortBy(StringValues.of("group")).map(StringValues.of("name")))
+        .isEqualTo(ListValues.of("c", "b", "a", "d"));
+    assertThat(rows.map(StringValues.of("group")).distinct()).isEqualTo(ListValues.of(1, 2));
+    assertThat(rows.map(StringValues.of("name")).skip(IntegerValues.of(1)).limit(IntegerValues.of(2)))
+        .isEqualTo(ListValues.of("a", "d"));
+    assertThat(rows.map(StringValues.of("name")).reverse()).isEqualTo(ListValues.of("b", "d", "a", "c"));
+    assertThat(rows.filter(StringValues.of("active")).reverse().map(StringValues.of("name")))
+        .isEqualTo(ListValues.of("b", "d", "c"));
+    assertThat(rows.limit(IntegerValues.of(-1)).isEmpty().get()).isTrue();
+    assertThat(rows.skip(IntegerValues.of(10)).isEmpty().get()).isTrue();
+  }
+
+  @Test
+  public void testPipeline_whenLimit_thenSourceIsReadPartially() throws Exception {
+    // Given
+    var numReads = new int[1];
+    List<Value> source = new AbstractList<>() {
+      @Override
+      public Value get(int index) {
+        numReads[0]++;
+        return IntegerValues.of(index);
+      }
+
+      @Override
+      public int size() {
+        return 1_000_000;
+      }
+    };
+
+    // When
+    Value pipeline = new ListValueImpl(source)
+        .skip(IntegerValues.of(2))
+        .distinct()
+        .limit(IntegerValues.of(3));
+    List<Value> elements = new ArrayList<>();
+    Iterator<Value> iterator = ((ListValue) pipeline).get().iterator();
+    while (ValueFunctions.hasNextElement(iterator)) {
+      elements.add(ValueFunctions.nextElement(iterator));
+    }
+
+    // Then
+    assertThat(elements).containsExactly(IntegerValues.of(2), IntegerValues.of(3), IntegerValues.of(4));
+    assertThat(numReads[0]).isEqualTo(5);
+  }
+
+  @Test
+  public void testPipeline_whenEmptinessIsChecked_thenFirstElementIsComputedOnce() throws Exception {
+    // Given
+    var numReads = new int[1];
+    List<Value> source = new AbstractList<>() {
+      @Override
+      public Value get(int index) {
+        numReads[0]++;
+        return IntegerValues.of(index);
+      }
+
+      @Override
+      public int size() {
+        return 1_000;
+      }
+    };
+    Value pipeline = new ListValueImpl(source).distinct();
+
+    // When
+    boolean isEmpty = pipeline.isEmpty().get();
+    boolean isNotEmpty = pipeline.isNotEmpty().get();
+
+    // Then
+    assertThat(isEmpty).isFalse();
+    assertThat(isNotEmpty).isTrue();
+    assertThat(numReads[0]).isEqualTo(1);
+  }
+
+  @Test
+  public void testPipeline_whenOperationFails_thenErrorIsUncovered() throws Exception {
+    Value pipeline = ListValues.of(1, 2).filter(StringValues.of("a"));
+    String message = "Operation 'get' is not applicable for value type integer. Expected map, list or string";
+
+    // Size keeps signature of the list value, so error is thrown as covered exception
+    assertThatThrownBy(pipeline::size)
+        .hasRootCauseExactlyInstanceOf(NotApplicableOperationException.class)
+        .hasRootCauseMessage(message);
+    assertThatThrownBy(pipeline::isEmpty)
+        .isExactlyInstanceOf(NotApplicableOperationException.class)
+        .hasMessage(message);
+    assertThatThrownBy(() -> pipeline.get(IntegerValues.of(0)))
+        .isExactlyInstanceOf(NotApplicableOperationException.class)
+        .hasMessage(message);
+    assertThatThrownBy(() -> pipeline.slice(IntegerValues.of(0), IntegerValues.of(1)))
+        .isExactlyInstanceOf(NotApplicableOperationException.class)
+        .hasMessage(message);
+    assertThatThrownBy(() -> ListValues.of(1, 2).eq(pipeline))
+        .isExactlyInstanceOf(NotApplicableOperationException.class)
+        .hasMessage(message);
+    assertThatThrownBy(() -> ListValues.of(1, 2).find(pipeline))
+        .isExactlyInstanceOf(NotApplicableOperationException.class)
+        .hasMessage(message);
+  }
+
+  @Test
+  public void testPipeline_whenInvalidKeys() throws Exception {
+    ListValue list = ListValues.of(1, 2);
+    Iterator<Value> iterator = ((ListValue) list.filter(StringValues.of("a"))).get().iterator();
+
+    assertThatThrownBy(() -> ValueFunctions.hasNextElement(iterator))
+        .isExactlyInstanceOf(NotApplicableOperationException.class)
+        .hasMessage("Operation 'get' is not applicable for value type integer. Expected map, list or string");
+    assertThatThrownBy(() -> ValueFunctions.appendValue(
+        ValueFunctions.objectToValue(List.of(Map.of("k", 1), Map.of("k", "a"))).sortBy(StringValues.of("k")),
+        new StringBuilder()))
+        .isExactlyInstanceOf(ResolveTemplateException.class)
+        .hasMessage("Sort keys of type integer and string cannot be compared");
+    assertThatThrownBy(() -> list.limit(StringValues.of("a")))
+        .isExactlyInstanceOf(ResolveTemplateException.class)
+        .hasMessage("String a cannot be casted to integer");
+  }
+
+  @Test
+  public void testSlice() throws Exception {
+    ListValue list = ListValues.of(1, 2, 3, 4);
+
+    assertThat(list.slice(IntegerValues.of(1), IntegerValues.of(3))).isEqualTo(ListValues.of(2, 3));
+    assertThat(list.slice(IntegerValues.of(0), IntegerValues.of(4))).isSameAs(list);
+    assertThat(list.slice(IntegerValues.of(-1), IntegerValues.of(9))).isSameAs(list);
+    assertThat(list.slice(IntegerValues.of(3), IntegerValues.of(1)).isEmpty().get()).isTrue();
+    assertThat(ListValues.of("a", "b", "c").slice(IntegerValues.of(1), IntegerValues.of(3)).find(StringValues.of("c"))
+        .index().get()).isEqualTo(1);
+    assertThatThrownBy(() -> list.slice(IntegerValues.of(1), RealValues.of(2.0)))
+        .isExactlyInstanceOf(IrregularValueTypeException.class)
+        .hasMessage("Invalid slice index type: real. Expected integer value");
+  }
+
   @Test
   public void testGet() throws Exception {
     assertThatThrownBy(() -> ListValues.of(1, 2, 3).get(BooleanValues.of(true)))
@@ -330,6 +480,74 @@ public class ListValueTest {
     assertThat(value2.isVoid().get()).isTrue();
   }
 
+  @Test
+  public void testFind_whenIntArray() throws ResolveTemplateException {
+    ListValue list = ListValues.of(1, 2, 3, 2, 3);
+
+    assertThat(list.find(IntegerValues.of(4)).isVoid().get()).isTrue();
+    assertThat(list.find(RealValues.of(2.0)).isVoid().get()).isTrue();
+    assertThat(list.find(IntegerValues.of(3)).index().get()).isEqualTo(2);
+    assertThat(list.find(ListValues.of(2, 3)).index().get()).isEqualTo(1);
+    assertThat(list.find(ListValues.of(3, 4)).isVoid().get()).isTrue();
+    assertThat(ValueFunctions.valueToObject(list.find(ListValues.of(3, 2)))).isEqualTo(List.of(3, 2));
+    assertThat(list.find(ListValues.of(IntegerValues.of(2), IntegerValues.of(3))).index().get()).isEqualTo(1);
+  }
+
+  @Test
+  public void testEq_whenArraysAndValues() throws ResolveTemplateException {
+    assertThat(ListValues.of(1, 2).eq(ListValues.of(IntegerValues.of(1), IntegerValues.of(2))).get()).isTrue();
+    assertThat(ListValues.of(1, 2).eq(ListValues.of(1, 2)).get()).isTrue();
+    assertThat(ListValues.of(1, 2).eq(ListValues.of(1.0, 2.0)).get()).isFalse();
+    assertThat(ListValues.of(1.5, 2.5).eq(ListValues.of(RealValues.of(1.5), RealValues.of(2.5))).get()).isTrue();
+    assertThat(ListValues.of(true, false).eq(ListValues.of(BooleanValues.of(true), BooleanValues.of(false))).get())
+        .isTrue();
+    assertThat(ListValues.of("a", "b").eq(ListValues.of(StringValues.of("a"), StringValues.of("b"))).get()).isTrue();
+    assertThat(ListValues.of("a", "b").eq(ListValues.of("a", "c")).get()).isFalse();
+  }
+
+  @Test
+  public void testHashCode_whenArraysAndValues() {
+    assertThat(ListValues.of(1, 2000).hashCode())
+        .isEqualTo(ListValues.of(IntegerValues.of(1), IntegerValues.of(2000)).hashCode());
+    assertThat(ListValues.of(1.5, 2.5).hashCode())
+        .isEqualTo(ListValues.of(RealValues.of(1.5), RealValues.of(2.5)).hashCode());
+    assertThat(ListValues.of(true, false).hashCode())
+        .isEqualTo(ListValues.of(BooleanValues.of(true), BooleanValues.of(false)).hashCode());
+    assertThat(ListValues.of("a", "b").hashCode())
+        .isEqualTo(ListValues.of(StringValues.of("a"), StringValues.of("b")).hashCode());
+  }
+
+  @Test
+  public void testObjectToValue_whenArraysAndHomogeneousLists() throws ResolveTemplateException {
+    assertThat(ValueFunctions.objectToValue(new int[] { 1, 2 })).isEqualTo(ListValues.of(1, 2));
+    assertThat(ValueFunctions.objectToValue(new double[] { 1.5 })).isEqualTo(ListValues.of(1.5));
+    assertThat(ValueFunctions.objectToValue(new boolean[] { true })).isEqualTo(ListValues.of(true));
+    assertThat(ValueFunctions.objectToValue(new String[] { "a" })).isEqualTo(ListValues.of("a"));
+    assertThat(ValueFunctions.objectToValue(List.of(1, 2)).asList().get()).isInstanceOf(ArrayElements.class);
+    assertThat(ValueFunctions.objectToValue(List.of("a", "b")).asList().get()).isInstanceOf(ArrayElements.class);
+    assertThat(ValueFunctions.objectToValue(List.of(1, "b")).asList().get()).isNotInstanceOf(ArrayElements.class);
+    assertThat(ValueFunctions.valueToObject(ValueFunctions.objectToValue(List.of(1, 2)))).isEqualTo(List.of(1, 2));
+  }
+
+  @Test
+  public void testObjectToValue_whenArrayIsChanged() throws ResolveTemplateException {
+    // Given
+    int[] integers = { 1, 2 };
+    String[] strings = { "a", "b" };
+    Value integerList = ValueFunctions.objectToValue(integers);
+    Value stringList = ListValues.of(strings);
+    int hashCode = integerList.hashCode();
+
+    // When
+    integers[0] = 3;
+    strings[0] = "c";
+
+    // Then
+    assertThat(integerList).isEqualTo(ListValues.of(1, 2));
+    assertThat(integerList.hashCode()).isEqualTo(hashCode);
+    assertThat(stringList).isEqualTo(ListValues.of("a", "b"));
+  }
+
   @Test
   public void testIndex() {
     assertThatThrownBy(() -> ListValues.of("a", "b", "c").index())
@@ -10,6 +10,7 @@ import org.mockito.Mockito;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -116,6 +117,23 @@ public class MapValueTest {
     assertThat(mapValue.asMap()).isSameAs(mapValue);
   }
 
+  @Test
+  public void testGet_whenSourceMapIsChanged() throws Exception {
+    // Given
+    Map<Value, Value> map = new LinkedHashMap<>();
+    map.put(StringValues.of("a"), IntegerValues.of(1));
+    MapValue mapValue = MapValues.of(map);
+    int hashCode = mapValue.hashCode();
+
+    // When
+    map.put(StringValues.of("b"), IntegerValues.of(2));
+
+    // Then
+    assertThat(mapValue.get()).isEqualTo(Map.of(StringValues.of("a"), IntegerValues.of(1)));
+    assertThat(mapValue.get(StringValues.of("b")).isVoid().get()).isTrue();
+    assertThat(mapValue.hashCode()).isEqualTo(hashCode);
+  }
+
   @Test
   public void testEq() throws ResolveTemplateException {
     assertThat(MapValues.empty().eq(MapValues.empty()).get()).isTrue();
@@ -134,6 +152,34 @@ public class MapValueTest {
     assertThat(MapValues.of("", "").eq(VoidValues.get()).get()).isFalse();
   }
 
+  @Test
+  public void testPipeline() throws Exception {
+    // Given
+    var map = new LinkedHashMap<String, Object>();
+    map.put("x", Map.of("rank", 3, "active", true));
+    map.put("y", Map.of("rank", 1, "active", false));
+    map.put("z", Map.of("rank", 2, "active", true));
+    Value mapValue = ValueFunctions.objectToValue(map);
+
+    // When
+    Value ranks = mapValue.map(StringValues.of("rank"));
+    Value activeRanks = mapValue.filter(StringValues.of("active")).map(StringValues.of("rank"));
+    Value sortedRanks = mapValue.sortBy(StringValues.of("rank")).map(StringValues.of("rank"));
+    Value firstRanks = mapValue.limit(IntegerValues.of(2)).map(StringValues.of("rank"));
+
+    // Then
+    assertThat(ranks).isEqualTo(ValueFunctions.objectToValue(Map.of("x", 3, "y", 1, "z", 2)));
+    assertThat(activeRanks).isEqualTo(ValueFunctions.objectToValue(Map.of("x", 3, "z", 2)));
+    assertThat(((MapValue) sortedRanks).get().keySet()).containsExactly(
+        StringValues.of("y"), StringValues.of("z"), StringValues.of("x"));
+    assertThat(((MapValue) firstRanks).get().keySet()).containsExactly(StringValues.of("x"), StringValues.of("y"));
+    assertThat(mapValue.filter(StringValues.of("rank"), IntegerValues.of(2)).get(StringValues.of("z")).isVoid().get())
+        .isFalse();
+    assertThat(mapValue.skip(IntegerValues.of(3)).isEmpty().get()).isTrue();
+    assertThat(((MapValue) mapValue.reverse()).get().keySet()).containsExactly(
+        StringValues.of("z"), StringValues.of("y"), StringValues.of("x"));
+  }
+
   @Test
   public void testIsVoid() throws Exception {
     assertThat(MapValues.of(0, 0).isVoid().get()).isFalse();
@@ -204,6 +250,59 @@ public class MapValueTest {
     assertThat(value2.isVoid().get()).isTrue();
   }
 
+  @Test
+  public void testGet_whenStringAndItemKeys() throws Exception {
+    MapValue mapValue = MapValues.of("a", 1, "b", 2, 3, "c");
+    Value itemKey = ItemValues.build().value("b").index(0).get();
+
+    assertThat(ValueFunctions.valueToObject(mapValue.get(StringValues.of("a")))).isEqualTo(1);
+    assertThat(ValueFunctions.valueToObject(mapValue.get(itemKey))).isEqualTo(2);
+    assertThat(ValueFunctions.valueToObject(mapValue.get(IntegerValues.of(3)))).isEqualTo("c");
+    assertThat(mapValue.get(StringValues.of("c")).isVoid().get()).isTrue();
+    assertThat(mapValue.get(StringValues.of("3")).isVoid().get()).isTrue();
+  }
+
+  @Test
+  public void testEquals_whenWrappedValues() throws Exception {
+    Value stringValue = StringValues.of("b");
+    Value itemValue = ItemValues.build().value("b").index(0).get();
+
+    assertThat(itemValue).isEqualTo(stringValue);
+    assertThat(stringValue).isEqualTo(itemValue);
+    assertThat(itemValue.hashCode()).isEqualTo(stringValue.hashCode());
+    assertThat(MapValues.of(Map.of(itemValue, IntegerValues.of(1))))
+        .isEqualTo(MapValues.of(Map.of(stringValue, IntegerValues.of(1))));
+  }
+
+  @Test
+  public void testGet_whenManyKeys() throws Exception {
+    Map<Value, Value> map = new LinkedHashMap<>();
+    for (int index = 0; index < 1000; index++) {
+      map.put(StringValues.of("key" + index), IntegerValues.of(index));
+    }
+    MapValue mapValue = MapValues.of(map);
+
+    assertThat(mapValue.get()).isEqualTo(map);
+    assertThat(mapValue.get().hashCode()).isEqualTo(map.hashCode());
+    assertThat(List.copyOf(mapValue.get().keySet())).isEqualTo(List.copyOf(map.keySet()));
+    for (int index = 0; index < 1000; index++) {
+      assertThat(mapValue.get(StringValues.of("key" + index))).isEqualTo(IntegerValues.of(index));
+    }
+  }
+
+  @Test
+  public void testGet_whenListAndMapKeys() throws Exception {
+    ListValue listKey = ListValues.of(ListValues.of("a", "b"), MapValues.of("c", 1));
+    MapValue mapKey = MapValues.of(StringValues.of("d"), ListValues.of(1, 2));
+    MapValue mapValue = MapValues.of(Map.of(listKey, IntegerValues.of(1), mapKey, IntegerValues.of(2)));
+
+    assertThat(listKey.hashCode()).isEqualTo(listKey.hashCode());
+    assertThat(mapValue.get(ListValues.of(ListValues.of("a", "b"), MapValues.of("c", 1))))
+        .isEqualTo(IntegerValues.of(1));
+    assertThat(mapValue.get(MapValues.of(StringValues.of("d"), ListValues.of(1, 2)))).isEqualTo(IntegerValues.of(2));
+    assertThat(mapValue.get(MapValues.of(StringValues.of("d"), ListValues.of(1, 3))).isVoid().get()).isTrue();
+  }
+
   @Test
   public void testFind() {
     assertThatThrownBy(() -> MapValues.of(1, "a").find(IntegerValues.of(0)))
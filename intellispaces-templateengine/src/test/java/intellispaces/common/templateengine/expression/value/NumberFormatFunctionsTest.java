@@ -0,0 +1,64 @@
+package intellispaces.common.templateengine.expression.value;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link NumberFormatFunctions}.
+ */
+public class NumberFormatFunctionsTest {
+
+  @Test
+  public void testAppendInteger() {
+    assertThat(NumberFormatFunctions.appendInteger(0, new StringBuilder()).toString()).isEqualTo("0");
+    assertThat(NumberFormatFunctions.appendInteger(-123, new StringBuilder("a")).toString()).isEqualTo("a-123");
+    assertThat(NumberFormatFunctions.appendInteger(Integer.MIN_VALUE, new StringBuilder()).toString())
+        .isEqualTo(Integer.toString(Integer.MIN_VALUE));
+  }
+
+  @Test
+  public void testAppendReal() {
+    assertThat(format(0.0)).isEqualTo("0.0");
+    assertThat(format(-0.0)).isEqualTo("-0.0");
+    assertThat(format(1.0)).isEqualTo("1.0");
+    assertThat(format(-12.5)).isEqualTo("-12.5");
+    assertThat(format(0.001)).isEqualTo("0.001");
+    assertThat(format(0.0105)).isEqualTo("0.0105");
+    assertThat(format(9999999.99)).isEqualTo("9999999.99");
+    assertThat(format(0.1 + 0.2)).isEqualTo("0.30000000000000004");
+    assertThat(format(1e7)).isEqualTo("1.0E7");
+    assertThat(format(1.5e-4)).isEqualTo("1.5E-4");
+    assertThat(format(Double.NaN)).isEqualTo("NaN");
+    assertThat(format(Double.NEGATIVE_INFINITY)).isEqualTo("-Infinity");
+    assertThat(format(Double.MIN_VALUE)).isEqualTo("4.9E-324");
+  }
+
+  @Test
+  public void testAppendReal_whenSampledNumbers_thenIdenticalToDoubleToString() {
+    // Given
+    var random = new Random(17);
+
+    for (int index = 0; index < 200_000; index++) {
+      // When decimal with few fraction digits
+      double decimal = (random.nextInt(100_000_000) - 50_000_000) / POWERS_OF_TEN[random.nextInt(POWERS_OF_TEN.length)];
+      // When decimal with many digits
+      double longDecimal = (long) (random.nextDouble() * 1e15) / POWERS_OF_TEN[random.nextInt(POWERS_OF_TEN.length)];
+      // When arbitrary double
+      double arbitrary = Double.longBitsToDouble(random.nextLong());
+
+      // Then
+      assertThat(format(decimal)).isEqualTo(Double.toString(decimal));
+      assertThat(format(longDecimal)).isEqualTo(Double.toString(longDecimal));
+      assertThat(format(arbitrary)).isEqualTo(Double.toString(arbitrary));
+    }
+  }
+
+  private static String format(double value) {
+    return NumberFormatFunctions.appendReal(value, new StringBuilder()).toString();
+  }
+
+  private static final double[] POWERS_OF_TEN = { 1, 10, 100, 1e3, 1e4, 1e5, 1e6, 1e8, 1e12, 1e17 };
+}
@@ -110,7 +110,7 @@ public class RealValueTest {
       MapValue mapValue = realValue.asMap();
 
       // Then
-      assertThat(mapValue.get()).isSameAs(expectedValue);
+      assertThat(mapValue.get()).isEqualTo(expectedValue);
       castFunctions.verify(() -> ValueFunctions.castToMap(same(realValue)), Mockito.times(1));
     }
   }
@@ -111,7 +111,7 @@ public class StringValueTest {
       MapValue mapValue = stringValue.asMap();
 
       // Then
-      assertThat(mapValue.get()).isSameAs(expectedValue);
+      assertThat(mapValue.get()).isEqualTo(expectedValue);
       castFunctions.verify(() -> ValueFunctions.castToMap(same(stringValue)), Mockito.times(1));
     }
   }
@@ -340,6 +340,110 @@ public class StringValueTest {
         .hasMessage("Operation 'isLast' is not applicable for this value");
   }
 
+  @Test
+  public void testSlice() throws Exception {
+    StringValue string = StringValues.of("abcdef");
+
+    assertThat(string.slice(IntegerValues.of(1), IntegerValues.of(4)).asString().get()).isEqualTo("bcd");
+    assertThat(string.slice(IntegerValues.of(0), IntegerValues.of(6))).isSameAs(string);
+    assertThat(string.slice(IntegerValues.of(-2), IntegerValues.of(2)).asString().get()).isEqualTo("ab");
+    assertThat(string.slice(IntegerValues.of(4), IntegerValues.of(10)).asString().get()).isEqualTo("ef");
+    assertThat(string.slice(IntegerValues.of(4), IntegerValues.of(2)).isEmpty().get()).isTrue();
+    assertThat(string.slice(IntegerValues.of(1), IntegerValues.of(5)).slice(IntegerValues.of(1), IntegerValues.of(3))
+        .asString().get()).isEqualTo("cd");
+    assertThatThrownBy(() -> string.slice(StringValues.of("a"), IntegerValues.of(2)))
+        .isExactlyInstanceOf(IrregularValueTypeException.class)
+        .hasMessage("Invalid slice index type: string. Expected integer value");
+  }
+
+  @Test
+  public void testSlice_whenOperations() throws Exception {
+    Value slice = StringValues.of("xx, abc a ").slice(IntegerValues.of(4), IntegerValues.of(9));
+
+    assertThat(slice.eq(StringValues.of("abc a")).get()).isTrue();
+    assertThat(slice).isEqualTo(StringValues.of("abc a"));
+    assertThat(StringValues.of("abc a")).isEqualTo(slice);
+    assertThat(slice.hashCode()).isEqualTo(StringValues.of("abc a").hashCode());
+    assertThat(slice.isBlank().get()).isFalse();
+    assertThat(StringValues.of("xx, abc a ").slice(IntegerValues.of(3), IntegerValues.of(4)).isBlank().get()).isTrue();
+    assertThat(slice.get(IntegerValues.of(1)).asString().get()).isEqualTo("b");
+    assertThat(slice.get(IntegerValues.of(4)).isLast().get()).isTrue();
+    assertThat(slice.find(StringValues.of("a")).index().get()).isEqualTo(0);
+    assertThat(slice.find(StringValues.of("c a")).index().get()).isEqualTo(2);
+    assertThat(slice.find(StringValues.of("xx")).isVoid().get()).isTrue();
+    assertThat(slice.find(StringValues.of("a ")).isVoid().get()).isTrue();
+    assertThat(slice.find(StringValues.of("")).index().get()).isEqualTo(0);
+    assertThat(StringValues.of("abcabc").slice(IntegerValues.of(1), IntegerValues.of(3))
+        .find(StringValues.of("a")).isVoid().get()).isTrue();
+    assertThat(slice.capitalizeFirstLetter().get()).isEqualTo("Abc a");
+    assertThat(ValueFunctions.valueToObject(slice)).isEqualTo("abc a");
+  }
+
+  @Test
+  public void testConcat() throws Exception {
+    StringValue string = StringValues.of("abc");
+
+    assertThat(string.concat(StringValues.of("def")).get()).isEqualTo("abcdef");
+    assertThat(string.concat(IntegerValues.of(1)).get()).isEqualTo("abc1");
+    assertThat(string.concat(RealValues.of(1.5)).get()).isEqualTo("abc1.5");
+    assertThat(string.concat(BooleanValues.of(true)).get()).isEqualTo("abctrue");
+    assertThat(string.concat(StringValues.of(""))).isSameAs(string);
+    assertThat(string.concat(ListValues.of("d").get(IntegerValues.of(0))).get()).isEqualTo("abcd");
+    assertThatThrownBy(() -> string.concat(ListValues.of(1)))
+        .isExactlyInstanceOf(ResolveTemplateException.class)
+        .hasMessage("Value of type list cannot be casted to string");
+  }
+
+  @Test
+  public void testConcat_whenManyPieces() throws Exception {
+    // Given
+    StringValue string = StringValues.of("");
+    var expected = new StringBuilder();
+
+    // When
+    for (int index = 0; index < 100_000; index++) {
+      string = string.concat(IntegerValues.of(index)).concat(StringValues.of(index % 100 == 0 ? "x".repeat(100) : ","));
+      expected.append(index).append(index % 100 == 0 ? "x".repeat(100) : ",");
+    }
+
+    // Then
+    var sb = new StringBuilder();
+    ValueFunctions.appendValue(string, sb);
+    assertThat(sb.toString()).isEqualTo(expected.toString());
+    assertThat(string.hashCode()).isEqualTo(StringValues.of(expected.toString()).hashCode());
+    assertThat(string).isEqualTo(StringValues.of(expected.toString()));
+    assertThat(string.get()).isEqualTo(expected.toString());
+    assertThat(string.slice(IntegerValues.of(0), IntegerValues.of(5)).asString().get()).isEqualTo("0xxxx");
+    assertThat(string.find(StringValues.of("99999,")).index().get()).isEqualTo(expected.indexOf("99999,"));
+  }
+
+  @Test
+  public void testConcat_whenRopeIsMaterialized() throws Exception {
+    // Given
+    String text = "a".repeat(100);
+    StringValue rope = StringValues.of(text).concat(StringValues.of(text));
+    StringValue outerRope = rope.concat(StringValues.of(text));
+    rope.hashCode();
+
+    // When
+    StringValue string = rope.concat(StringValues.of("b"));
+
+    // Then
+    var sb = new StringBuilder();
+    ValueFunctions.appendValue(outerRope, sb);
+    assertThat(sb.toString()).isEqualTo(text.repeat(3));
+    assertThat(string.get()).isEqualTo(text.repeat(2) + "b");
+    assertThat(rope.slice(IntegerValues.of(99), IntegerValues.of(101)).asString().get()).isEqualTo("aa");
+  }
+
+  @Test
+  public void testOf_whenRange() {
+    assertThat(StringValues.of("abcdef", 2, 4).get()).isEqualTo("cd");
+    assertThat(StringValues.of("abcdef", 2, 4)).isEqualTo(StringValues.of("cd"));
+    assertThatThrownBy(() -> StringValues.of("abcdef", 2, 7))
+        .isExactlyInstanceOf(IndexOutOfBoundsException.class);
+  }
+
   @Test
   public void testIndex() {
     assertThatThrownBy(() -> StringValues.of("abc").index())
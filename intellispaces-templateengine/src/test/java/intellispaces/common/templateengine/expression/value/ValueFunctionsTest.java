@@ -4,6 +4,7 @@ import intellispaces.common.templateengine.exception.ResolveTemplateException;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -392,4 +393,46 @@ public class ValueFunctionsTest {
         IntegerValues.of(1), StringValues.of("a"),
         IntegerValues.of(2), StringValues.of("b")));
   }
+
+  @Test
+  public void testAppendValue() throws Exception {
+    // Given
+    Value value = ValueFunctions.objectToValue(List.of(1, "a", 2.5, true, Map.of("k", List.of("x", "y"))));
+    var sb = new StringBuilder("> ");
+
+    // When
+    ValueFunctions.appendValue(value, sb);
+    ValueFunctions.appendValue(StringValues.of("text"), sb);
+    ValueFunctions.appendValue(VoidValues.get(), sb);
+
+    // Then
+    assertThat(sb.toString()).isEqualTo("> [1,\"a\",2.5,true,[\"k\":[\"x\",\"y\"]]]textvoid");
+  }
+
+  @Test
+  public void testAppendValue_whenNestedValues() throws Exception {
+    // Given
+    List<Object> rows = new ArrayList<>();
+    var expected = new StringBuilder("[");
+    for (int index = 0; index < 1000; index++) {
+      rows.add(Map.of("row", List.of(index, "row" + index, List.of("a", "b"))));
+      if (index != 0) {
+        expected.append(',');
+      }
+      expected.append("[\"row\":[").append(index).append(",\"row").append(index).append("\",[\"a\",\"b\"]]]");
+    }
+    expected.append(']');
+    Value value = ValueFunctions.objectToValue(rows);
+    var sb = new StringBuilder();
+
+    // When
+    ValueFunctions.appendValue(value, sb);
+    String firstResult = sb.toString();
+    sb.setLength(0);
+    ValueFunctions.appendValue(value, sb);
+
+    // Then
+    assertThat(firstResult).isEqualTo(expected.toString());
+    assertThat(sb.toString()).isEqualTo(firstResult);
+  }
 }
@@ -76,7 +76,7 @@ public class VoidValueTest {
       castFunctions.when(() -> ValueFunctions.castToMap(VoidValues.get())).thenReturn(expectedValue);
 
       MapValue mapValue = VoidValues.get().asMap();
-      assertThat(mapValue.get()).isSameAs(expectedValue);
+      assertThat(mapValue.get()).isEqualTo(expectedValue);
       castFunctions.verify(() -> ValueFunctions.castToMap(same(VoidValues.get())), Mockito.times(1));
     }
   }
@@ -0,0 +1,166 @@
+package intellispaces.common.templateengine.loader;
+
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.source.ReadSourceFunctions;
+import intellispaces.common.templateengine.template.Template;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link TemplateLoader}.
+ */
+public class TemplateLoaderTest {
+
+  @Test
+  public void testGet_whenDirectory() throws Exception {
+    // Given
+    Path directory = Files.createTempDirectory("templates");
+    Files.createDirectory(directory.resolve("mail"));
+    Files.writeString(directory.resolve("mail").resolve("greeting.template"), "Hello, {{$name}}!");
+
+    try (TemplateLoader loader = TemplateLoaders.build().directory(directory).get()) {
+      // When
+      Template template1 = loader.get("mail/greeting.template");
+      Template template2 = loader.get("mail/greeting.template");
+
+      // Then
+      assertThat(template2).isSameAs(template1);
+      assertThat(template1.resolve(Map.of("name", "Alice"))).isEqualTo("Hello, Alice!");
+    }
+  }
+
+  @Test
+  public void testGet_whenClasspath() throws Exception {
+    // Given
+    try (TemplateLoader loader = TemplateLoaders.build().classpath("").get()) {
+      // When
+      Template template = loader.get("demo.template");
+
+      // Then
+      assertThat(template.elements()).isNotEmpty();
+    }
+  }
+
+  @Test
+  public void testGet_whenDirectoryOverridesClasspath() throws Exception {
+    // Given
+    Path directory = Files.createTempDirectory("templates");
+    Files.writeString(directory.resolve("demo.template"), "Overridden");
+
+    try (TemplateLoader loader = TemplateLoaders.build().directory(directory).classpath("").get()) {
+      // When
+      Template template = loader.get("demo.template");
+
+      // Then
+      assertThat(template.resolve(Map.of())).isEqualTo("Overridden");
+    }
+  }
+
+  @Test
+  public void testGet_whenNotFound() throws Exception {
+    // Given
+    Path directory = Files.createTempDirectory("templates");
+
+    try (TemplateLoader loader = TemplateLoaders.build().directory(directory).get()) {
+      // Then
+      assertThatThrownBy(() -> loader.get("unknown.template"))
+          .isExactlyInstanceOf(ParseTemplateException.class)
+          .hasMessage("Template unknown.template is not found");
+      assertThatThrownBy(() -> loader.get("../outside.template"))
+          .isExactlyInstanceOf(ParseTemplateException.class)
+          .hasMessage("Template ../outside.template is not found");
+    }
+  }
+
+  @Test
+  public void testGet_whenHotReload() throws Exception {
+    // Given
+    Path directory = Files.createTempDirectory("templates");
+    Path file = directory.resolve("reloadable.template");
+    Files.writeString(file, "Version 1");
+    BlockingQueue<String> reloadedNames = new LinkedBlockingQueue<>();
+
+    try (TemplateLoader loader = TemplateLoaders.build()
+        .directory(directory)
+        .hotReload(true)
+        .reloadListener(reloadedNames::add)
+        .get()
+    ) {
+      Template oldTemplate = loader.get("reloadable.template");
+
+      // When
+      Files.writeString(file, "Version 2");
+      // File can be reloaded several times while it is written
+      Template newTemplate = oldTemplate;
+      while (!"Version 2".equals(newTemplate.resolve(Map.of()))) {
+        assertThat(reloadedNames.poll(30, TimeUnit.SECONDS)).isEqualTo("reloadable.template");
+        newTemplate = loader.get("reloadable.template");
+      }
+
+      // Then
+      assertThat(newTemplate.resolve(Map.of())).isEqualTo("Version 2");
+      assertThat(oldTemplate.resolve(Map.of())).isEqualTo("Version 1");
+    }
+  }
+
+  @Test
+  public void testGet_whenReloadListenerFails() throws Exception {
+    // Given
+    Path directory = Files.createTempDirectory("templates");
+    Path file = directory.resolve("reloadable.template");
+    Files.writeString(file, "Version 1");
+    BlockingQueue<String> reloadedNames = new LinkedBlockingQueue<>();
+
+    try (TemplateLoader loader = TemplateLoaders.build()
+        .directory(directory)
+        .hotReload(true)
+        .reloadListener(name -> {
+          reloadedNames.add(name);
+          throw new IllegalStateException("Listener failure");
+        })
+        .get()
+    ) {
+      Template template = loader.get("reloadable.template");
+
+      // When
+      for (String version : new String[] { "Version 2", "Version 3" }) {
+        Files.writeString(file, version);
+        while (!version.equals(template.resolve(Map.of()))) {
+          assertThat(reloadedNames.poll(30, TimeUnit.SECONDS)).isEqualTo("reloadable.template");
+          template = loader.get("reloadable.template");
+        }
+      }
+
+      // Then
+      assertThat(template.resolve(Map.of())).isEqualTo("Version 3");
+    }
+  }
+
+  @Test
+  public void testGet_whenLargeFileIsChangedInPlace() throws Exception {
+    // Given
+    Path directory = Files.createTempDirectory("templates");
+    Path file = directory.resolve("large.template");
+    String text = "a".repeat((int) ReadSourceFunctions.MEMORY_MAPPING_THRESHOLD);
+    Files.writeString(file, text + "{{$name}}");
+
+    try (TemplateLoader loader = TemplateLoaders.build().directory(directory).get()) {
+      Template template = loader.get("large.template");
+
+      // When
+      Files.writeString(file, "Changed");
+
+      // Then
+      assertThat(template.resolve(Map.of("name", "Alice"))).isEqualTo(text + "Alice");
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package intellispaces.common.templateengine.program;
+
+import intellispaces.common.base.resource.ResourceFunctions;
+import intellispaces.common.templateengine.template.Template;
+import intellispaces.common.templateengine.template.Templates;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TemplateProgramFunctions}.
+ */
+public class TemplateProgramFunctionsTest {
+
+  @Test
+  public void testCompileTemplate_whenDemo() throws Exception {
+    // Given
+    String source = ResourceFunctions.readResourceAsString(
+        TemplateProgramFunctionsTest.class, "/demo.template").orElseThrow();
+    Map<String, Object> variables = new HashMap<>();
+    variables.put("str1", "This is string variable str1");
+    variables.put("str2", "abc");
+    variables.put("int1", 123);
+    variables.put("real1", 123.45);
+    variables.put("bool1", true);
+    variables.put("bool2", false);
+    variables.put("list1", List.of("item1", "item2", "item3"));
+    variables.put("map1", Map.of("key1", "value1", "key2", "value2", "key3", "value3"));
+
+    // When
+    Template program = TemplateProgramFunctions.compileTemplate(Templates.of(source));
+
+    // Then
+    assertThat(program.resolve(variables)).isEqualTo(
+        ResourceFunctions.readResourceAsString(TemplateProgramFunctionsTest.class, "/demo.result").orElseThrow());
+  }
+
+  @Test
+  public void testCompileTemplate_whenNestedStatements() throws Exception {
+    // Given
+    String source = """
+        {{set name = "outer"}}
+        {{for row : $rows}}
+        {{for item : $letters}}
+        {{when $item.isFirst()}}
+        [{{$item.index()}}:{{$item}}
+        {{else when $item.isLast()}}
+        {{$item}}]
+        {{else}}
+        {{$item}}
+        {{end}}
+        {{end}}
+        {{set name = "inner"}}
+        {{end}}
+        {{for x : $empty}}
+        Never
+        {{end}}
+        {{format nobr}}
+        Name: {{$name}}
+        !
+        {{end format}}
+        """;
+    Template template = Templates.of(source);
+    Map<String, Object> variables = Map.of(
+        "rows", List.of(1, 2), "letters", List.of("a", "b", "c"), "empty", List.of()
+    );
+
+    // When
+    Template program = TemplateProgramFunctions.compileTemplate(template);
+
+    // Then
+    assertThat(program.resolve(variables)).isEqualTo(template.resolve(variables));
+  }
+
+  @Test
+  public void testCompileTemplate_whenItemIsReassigned() throws Exception {
+    // Given
+    String source = "{{for item : $list}}{{$item}}{{set item = \"x\"}}{{$item}};{{end}}";
+    Template template = Templates.of(source);
+    Map<String, Object> variables = Map.of("list", List.of("a", "b", "c"));
+
+    // When
+    Template program = TemplateProgramFunctions.compileTemplate(template);
+
+    // Then
+    assertThat(program.resolve(variables)).isEqualTo("ax;bx;cx;");
+    assertThat(program.resolve(variables)).isEqualTo(template.resolve(variables));
+  }
+
+  @Test
+  public void testCompileTemplate_whenMultilinePrint() throws Exception {
+    // Given
+    Template template = Templates.of("Header\n  Value: {{$lines}} end\n");
+    Map<String, Object> variables = Map.of("lines", "line1\nline2");
+
+    // When
+    Template program = TemplateProgramFunctions.compileTemplate(template);
+
+    // Then
+    assertThat(program.resolve(variables)).isEqualTo("Header\n  Value: line1\n         line2 end\n");
+  }
+
+  @Test
+  public void testCompileTemplate_whenItemIsCaptured() throws Exception {
+    // Given
+    String source = "{{for item : $list}}{{when $item.isFirst()}}{{set first = $item}}{{end}}{{$first}}{{end}}";
+
+    // When
+    Template program = TemplateProgramFunctions.compileTemplate(Templates.of(source));
+
+    // Then
+    assertThat(program.resolve(Map.of("list", List.of("a", "b", "c")))).isEqualTo("aaa");
+  }
+}
@@ -1,5 +1,6 @@
 package intellispaces.common.templateengine.source;
 
+import intellispaces.common.templateengine.source.slice.Slices;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -160,4 +161,15 @@ public class SourceFunctionsTest {
     assertThat(SourceFunctions.getTailBeforeLinebreak("abc\n\rcde")).isEqualTo("cde");
 
   }
+
+  @Test
+  public void testFunctions_whenSourceSlice() {
+    CharSequence source = "abc \t\n  def\n  ghi";
+
+    assertThat(SourceFunctions.isEndWithLinebreakIgnoreBlanks(Slices.of(source, 0, 6))).isTrue();
+    assertThat(SourceFunctions.isBeginWithLinebreakIgnoreBlanks(Slices.of(source, 3, 5))).isTrue();
+    assertThat(SourceFunctions.removeLastGaps(Slices.of(source, 0, 5))).hasToString("abc");
+    assertThat(SourceFunctions.removeFirstBlanksAndLinebreak(Slices.of(source, 3, 8))).hasToString("  def");
+    assertThat(SourceFunctions.getTailBeforeLinebreak(Slices.of(source, 0, 11))).hasToString("  def");
+  }
 }
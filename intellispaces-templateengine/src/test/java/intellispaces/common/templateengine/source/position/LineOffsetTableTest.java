@@ -0,0 +1,130 @@
+package intellispaces.common.templateengine.source.position;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link LineOffsetTable}.
+ */
+public class LineOffsetTableTest {
+
+  @Test
+  public void testPosition_whenEmptySource() {
+    // Given
+    LineOffsetTable table = LineOffsetTable.of("");
+
+    // When
+    Position position = table.position(0);
+
+    // Then
+    assertThat(table.lineCount()).isEqualTo(1);
+    assertThat(position.offset()).isEqualTo(0);
+    assertThat(position.row()).isEqualTo(1);
+    assertThat(position.column()).isEqualTo(1);
+  }
+
+  @Test
+  public void testPosition_whenOneLine() {
+    // Given
+    LineOffsetTable table = LineOffsetTable.of("Simple text");
+
+    // Then
+    assertThat(table.lineCount()).isEqualTo(1);
+    assertThat(table.row(7)).isEqualTo(1);
+    assertThat(table.column(7)).isEqualTo(8);
+    assertThat(table.row(11)).isEqualTo(1);
+    assertThat(table.column(11)).isEqualTo(12);
+  }
+
+  @Test
+  public void testPosition_whenLfLinebreaks() {
+    // Given
+    LineOffsetTable table = LineOffsetTable.of("ab\ncd\nef");
+
+    // Then
+    assertThat(table.lineCount()).isEqualTo(3);
+    assertThat(table.row(1)).isEqualTo(1);
+    assertThat(table.column(1)).isEqualTo(2);
+    assertThat(table.row(3)).isEqualTo(2);
+    assertThat(table.column(3)).isEqualTo(1);
+    assertThat(table.row(4)).isEqualTo(2);
+    assertThat(table.column(4)).isEqualTo(2);
+    assertThat(table.row(6)).isEqualTo(3);
+    assertThat(table.column(6)).isEqualTo(1);
+  }
+
+  @Test
+  public void testPosition_whenCrLfLinebreaks() {
+    // Given
+    LineOffsetTable table = LineOffsetTable.of("ab\r\ncd\r\nef");
+
+    // Then
+    assertThat(table.lineCount()).isEqualTo(3);
+    assertThat(table.row(1)).isEqualTo(1);
+    assertThat(table.column(1)).isEqualTo(2);
+    assertThat(table.row(4)).isEqualTo(2);
+    assertThat(table.column(4)).isEqualTo(1);
+    assertThat(table.row(5)).isEqualTo(2);
+    assertThat(table.column(5)).isEqualTo(2);
+    assertThat(table.row(8)).isEqualTo(3);
+    assertThat(table.column(8)).isEqualTo(1);
+  }
+
+  @Test
+  public void testPosition_whenCrLinebreaks() {
+    // Given
+    LineOffsetTable table = LineOffsetTable.of("ab\rcd\ref");
+
+    // Then
+    assertThat(table.lineCount()).isEqualTo(3);
+    assertThat(table.row(1)).isEqualTo(1);
+    assertThat(table.column(1)).isEqualTo(2);
+    assertThat(table.row(3)).isEqualTo(2);
+    assertThat(table.column(3)).isEqualTo(1);
+    assertThat(table.row(4)).isEqualTo(2);
+    assertThat(table.column(4)).isEqualTo(2);
+    assertThat(table.row(6)).isEqualTo(3);
+    assertThat(table.column(6)).isEqualTo(1);
+  }
+
+  @Test
+  public void testPosition_whenDifferentLinebreaks() {
+    // Given
+    LineOffsetTable table = LineOffsetTable.of("ab\ncd\r\nef\rgh");
+
+    // Then
+    assertThat(table.lineCount()).isEqualTo(4);
+
+    assertThat(table.row(0)).isEqualTo(1);
+    assertThat(table.column(0)).isEqualTo(1);
+    assertThat(table.row(2)).isEqualTo(1);
+    assertThat(table.column(2)).isEqualTo(3);
+
+    assertThat(table.row(3)).isEqualTo(2);
+    assertThat(table.column(3)).isEqualTo(1);
+    assertThat(table.row(6)).isEqualTo(2);
+    assertThat(table.column(6)).isEqualTo(4);
+
+    assertThat(table.row(7)).isEqualTo(3);
+    assertThat(table.column(7)).isEqualTo(1);
+
+    assertThat(table.row(10)).isEqualTo(4);
+    assertThat(table.column(11)).isEqualTo(2);
+  }
+
+  @Test
+  public void testPosition_whenManyLines() {
+    // Given
+    String source = "line\n".repeat(1000);
+    LineOffsetTable table = LineOffsetTable.of(source);
+
+    // When
+    Position position = Positions.of(table, 5 * 500 + 2);
+
+    // Then
+    assertThat(table.lineCount()).isEqualTo(1001);
+    assertThat(position.row()).isEqualTo(501);
+    assertThat(position.column()).isEqualTo(3);
+  }
+}
@@ -0,0 +1,92 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BulkParseFunctions}.
+ */
+public class BulkParseFunctionsTest {
+
+  @Test
+  public void testParseTemplates() throws Exception {
+    // Given
+    Map<String, String> sources = Map.of(
+        "greeting", "Hello, {{$name}}!",
+        "farewell", "Goodbye, {{$name}}!",
+        "title", "{{print $name.capitalizeFirstLetter()}}, {{$name}}"
+    );
+
+    // When
+    BulkParseResult result = BulkParseFunctions.parseTemplates(sources, ForkJoinPool.commonPool());
+
+    // Then
+    assertThat(result.errors()).isEmpty();
+    assertThat(result.templates()).containsOnlyKeys("greeting", "farewell", "title");
+    assertThat(result.templates().get("greeting").resolve(Map.of("name", "Alice"))).isEqualTo("Hello, Alice!");
+    assertThat(result.templates().get("farewell").resolve(Map.of("name", "Bob"))).isEqualTo("Goodbye, Bob!");
+    assertThat(result.templates().get("title").resolve(Map.of("name", "eve"))).isEqualTo("Eve, eve");
+    assertThat(result.numExpressions()).isEqualTo(2);
+    assertThat(result.lexTime()).isNotNull();
+    assertThat(result.analyzeTime()).isNotNull();
+    assertThat(result.compileTime()).isNotNull();
+  }
+
+  @Test
+  public void testParseTemplates_whenErrors() throws Exception {
+    // Given
+    Map<String, String> sources = Map.of(
+        "valid", "Hello, {{$name}}!",
+        "invalidMarker", "Hello, {{unknown $name}}!",
+        "invalidExpression", "Hello, {{print $name.unknownMethod()}}!"
+    );
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    // When
+    BulkParseResult result;
+    try {
+      result = BulkParseFunctions.parseTemplates(sources, executor);
+    } finally {
+      executor.shutdown();
+    }
+
+    // Then
+    assertThat(result.templates()).containsOnlyKeys("valid");
+    assertThat(result.errors()).containsOnlyKeys("invalidMarker", "invalidExpression");
+    assertThat(result.errors().get("invalidMarker"))
+        .isExactlyInstanceOf(ParseTemplateException.class)
+        .hasMessage("Invalid template marker at position 1:8");
+    assertThat(result.errors().get("invalidExpression"))
+        .isExactlyInstanceOf(ParseTemplateException.class)
+        .hasMessageContaining("unknownMethod()");
+  }
+
+  @Test
+  public void testParseTemplates_whenDirectory() throws Exception {
+    // Given
+    Path directory = Files.createTempDirectory("templates");
+    Files.writeString(directory.resolve("a.template"), "A: {{$value}}");
+    Files.createDirectory(directory.resolve("nested"));
+    Files.writeString(directory.resolve("nested").resolve("b.template"), "B: {{$value}}");
+
+    // When
+    BulkParseResult result = BulkParseFunctions.parseTemplates(
+        directory, StandardCharsets.UTF_8, ForkJoinPool.commonPool()
+    );
+
+    // Then
+    assertThat(result.errors()).isEmpty();
+    assertThat(result.templates()).containsOnlyKeys("a.template", "nested/b.template");
+    assertThat(result.templates().get("nested/b.template").resolve(Map.of("value", 1))).isEqualTo("B: 1");
+  }
+}
@@ -1,6 +1,8 @@
 package intellispaces.common.templateengine.template;
 
 import intellispaces.common.base.resource.ResourceFunctions;
+import intellispaces.common.templateengine.expression.CompilationMode;
+import intellispaces.common.templateengine.expression.ParseExpressionFunctions;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
@@ -16,6 +18,15 @@ public class DemoTest {
 
   @Test
   public void testDemo() throws Exception {
+    testDemo(ParseExpressionFunctions.defaultCompilationMode());
+  }
+
+  @Test
+  public void testDemo_whenInterpreted() throws Exception {
+    testDemo(CompilationMode.Interpreted);
+  }
+
+  private void testDemo(CompilationMode compilationMode) throws Exception {
     // Given
     String source = ResourceFunctions.readResourceAsString(DemoTest.class, "/demo.template").orElseThrow();
     Map<String, Object> variables = new HashMap<>();
@@ -29,7 +40,7 @@ public class DemoTest {
     variables.put("map1", Map.of("key1", "value1", "key2", "value2", "key3", "value3"));
 
     // When
-    Template template = Templates.of(source);
+    Template template = Templates.of(source, compilationMode);
     String result = template.resolve(variables);
 
     // Then
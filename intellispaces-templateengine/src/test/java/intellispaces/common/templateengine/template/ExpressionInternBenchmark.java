@@ -0,0 +1,51 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.templateengine.expression.CompilationMode;
+import intellispaces.common.templateengine.expression.ExpressionInternTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark of the memory saved by interning of the expressions in synthetic catalogue of templates.
+ *
+ * <p>Benchmark is not a unit test and it is not run by surefire. It is started by the main method.
+ * Retained bytes are estimated by {@link RetainedSizeEstimator}. Catalogue is parsed twice in each compilation mode.
+ * Interning is turned off by clearing of the common intern table before each template is parsed,
+ * so templates do not share expressions with each other.
+ */
+public class ExpressionInternBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    int numTemplates = 200;
+    List<String> sources = new ArrayList<>(numTemplates);
+    for (int index = 0; index < numTemplates; index++) {
+      sources.add("Template " + index + "\n" +
+          "{{when $list.isNotEmpty()}}" +
+          "{{for item : $list}}{{$item}}{{when $item.isNotLast()}}, {{end}}{{end}}" +
+          "{{end}}\n" +
+          "Name: {{$name.capitalizeFirstLetter()}}\n");
+    }
+
+    for (CompilationMode compilationMode : CompilationMode.values()) {
+      long notInternedBytes = RetainedSizeEstimator.estimate(parseTemplates(sources, compilationMode, false));
+      long internedBytes = RetainedSizeEstimator.estimate(parseTemplates(sources, compilationMode, true));
+      System.out.println("Retained bytes of " + numTemplates + " templates in mode " + compilationMode +
+          ": not interned expressions " + notInternedBytes + ", interned expressions " + internedBytes);
+    }
+  }
+
+  private static List<Template> parseTemplates(
+      List<String> sources, CompilationMode compilationMode, boolean intern
+  ) throws Exception {
+    ExpressionInternTable.common().clear();
+    List<Template> templates = new ArrayList<>(sources.size());
+    for (String source : sources) {
+      if (!intern) {
+        ExpressionInternTable.common().clear();
+      }
+      templates.add(Templates.of(source, compilationMode));
+    }
+    return templates;
+  }
+}
@@ -0,0 +1,47 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.templateengine.expression.value.BooleanValues;
+import intellispaces.common.templateengine.expression.value.IntegerValues;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark of the bytes allocated by loop template and by value operations returning canonical values.
+ *
+ * <p>Benchmark is not a unit test and it is not run by surefire. It is started by the main method.
+ * Allocated bytes are measured by {@link com.sun.management.ThreadMXBean}, so the result depends on JVM.
+ */
+public class LoopAllocationBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    Template template = Templates.of("{{for item : $list}}" +
+        "{{when $item.isNotFirst()}}, {{end}}{{$item.index()}}:{{$item}}{{when $item.isNotLast()}};{{end}}" +
+        "{{end}}");
+    List<Integer> list = new ArrayList<>();
+    for (int index = 0; index < 1000; index++) {
+      list.add(index);
+    }
+    Map<String, Object> variables = Map.of("list", list);
+    var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    for (int iteration = 0; iteration < 100; iteration++) {
+      template.resolve(variables);
+    }
+
+    long templateBytes = threadBean.getThreadAllocatedBytes(threadId);
+    template.resolve(variables);
+    templateBytes = threadBean.getThreadAllocatedBytes(threadId) - templateBytes;
+
+    long valueBytes = threadBean.getThreadAllocatedBytes(threadId);
+    for (int index = 0; index < 1000; index++) {
+      BooleanValues.of(index % 2 == 0).invert();
+      IntegerValues.of(index).eq(IntegerValues.of(index + 1));
+    }
+    valueBytes = threadBean.getThreadAllocatedBytes(threadId) - valueBytes;
+    System.out.println("Allocated bytes per loop template resolving: " + templateBytes);
+    System.out.println("Allocated bytes per 1000 boolean and integer operations: " + valueBytes);
+  }
+}
@@ -0,0 +1,37 @@
+package intellispaces.common.templateengine.template;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark of the map lookups in template.
+ *
+ * <p>Benchmark is not a unit test and it is not run by surefire. It is started by the main method.
+ */
+public class MapLookupBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    Template template = Templates.of("{{for key : $keys}}{{print $map[$key]}}{{$map[\"key1\"]}}{{end}}");
+    List<String> keys = new ArrayList<>();
+    Map<String, Object> map = new HashMap<>();
+    for (int index = 0; index < 10_000; index++) {
+      keys.add("key" + index);
+      map.put("key" + index, index % 10);
+    }
+    Map<String, Object> variables = Map.of("keys", keys, "map", map);
+    for (int iteration = 0; iteration < 20; iteration++) {
+      template.resolve(variables);
+    }
+
+    int numIterations = 20;
+    long startTime = System.nanoTime();
+    for (int iteration = 0; iteration < numIterations; iteration++) {
+      template.resolve(variables);
+    }
+    long time = System.nanoTime() - startTime;
+    System.out.println("Map lookup template resolving: " + (time / numIterations / 1000) + " us, " +
+        (time / numIterations / (2 * keys.size())) + " ns per lookup");
+  }
+}
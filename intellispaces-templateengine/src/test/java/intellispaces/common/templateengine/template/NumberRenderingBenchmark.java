@@ -0,0 +1,36 @@
+package intellispaces.common.templateengine.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark of the integer and real number rendering in template.
+ *
+ * <p>Benchmark is not a unit test and it is not run by surefire. It is started by the main method.
+ */
+public class NumberRenderingBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    Template template = Templates.of("{{for row : $rows}}{{$row[0]}};{{$row[1]}};{{$row[2]}}\n{{end}}");
+    List<Object> rows = new ArrayList<>();
+    for (int index = 0; index < 10_000; index++) {
+      double price = (index * 37 % 100_000) / 100.0;
+      double rate = index / 7.0;
+      rows.add(List.of(index, price, rate));
+    }
+    Map<String, Object> variables = Map.of("rows", rows);
+    for (int iteration = 0; iteration < 20; iteration++) {
+      template.resolve(variables);
+    }
+
+    int numIterations = 20;
+    long startTime = System.nanoTime();
+    for (int iteration = 0; iteration < numIterations; iteration++) {
+      template.resolve(variables);
+    }
+    long time = System.nanoTime() - startTime;
+    System.out.println("Number template resolving: " + (time / numIterations / 1000) + " us, " +
+        (time / numIterations / (3 * rows.size())) + " ns per number");
+  }
+}
@@ -0,0 +1,92 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.templateengine.element.StatementForeach;
+import intellispaces.common.templateengine.element.StatementWhen;
+import intellispaces.common.templateengine.element.TemplateElement;
+import intellispaces.common.templateengine.element.TemplateElementTypes;
+import intellispaces.common.templateengine.element.TextElement;
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link ParallelParseFunctions}.
+ */
+public class ParallelParseFunctionsTest {
+
+  @Test
+  public void testParseTemplate_whenSmallChunks() throws Exception {
+    // Given
+    String source = """
+        Header {{$title}}
+        {{for item : $items}}
+          Item {{$item}}:
+          {{when $item.isFirst()}}
+            first
+          {{else}}
+            other
+          {{end}}
+        {{end}}
+        {{set total = $items.size()}}
+        Total: {{$total}}
+        """.repeat(20);
+    Map<String, Object> variables = Map.of("title", "Title", "items", List.of("a", "b", "c"));
+
+    // When
+    Template sequentialTemplate = TemplateFunctions.parseTemplate(source);
+    Template parallelTemplate = ParallelParseFunctions.parseTemplate(source, 50, null);
+
+    // Then
+    assertThat(describe(parallelTemplate.elements())).isEqualTo(describe(sequentialTemplate.elements()));
+    assertThat(parallelTemplate.resolve(variables)).isEqualTo(sequentialTemplate.resolve(variables));
+  }
+
+  @Test
+  public void testParseTemplate_whenTextBlockCrossesChunkBound() throws Exception {
+    // Given
+    String source = "Text {{$name}} ".repeat(10) + "{{ unclosed {{ braces {{ tail";
+
+    // When
+    Template sequentialTemplate = TemplateFunctions.parseTemplate(source);
+    Template parallelTemplate = ParallelParseFunctions.parseTemplate(source, 10, null);
+
+    // Then
+    assertThat(describe(parallelTemplate.elements())).isEqualTo(describe(sequentialTemplate.elements()));
+    assertThat(parallelTemplate.resolve(Map.of("name", "x")))
+        .isEqualTo("Text x ".repeat(10) + "{{ unclosed {{ braces {{ tail");
+  }
+
+  @Test
+  public void testParseTemplate_whenInvalidMarker() {
+    // Given
+    String source = "Text {{$name}}\n".repeat(20) + "{{invalid}}\n" + "Text {{$name}}\n".repeat(20);
+
+    // Then
+    assertThatThrownBy(() -> ParallelParseFunctions.parseTemplate(source, 20, null))
+        .isExactlyInstanceOf(ParseTemplateException.class)
+        .hasMessage("Invalid template marker at position 21:1");
+  }
+
+  private static String describe(List<TemplateElement> elements) {
+    var sb = new StringBuilder();
+    for (TemplateElement element : elements) {
+      sb.append(element.type()).append('@').append(element.context().position().offset()).append(':')
+          .append(element.context().position().row()).append(':').append(element.context().position().column());
+      if (element.type() == TemplateElementTypes.Text) {
+        sb.append('[').append(((TextElement) element).text()).append(']');
+      } else if (element.type() == TemplateElementTypes.StatementForeach) {
+        sb.append('(').append(describe(((StatementForeach) element).subElements())).append(')');
+      } else if (element.type() == TemplateElementTypes.StatementWhen) {
+        ((StatementWhen) element).branches().forEach(b -> sb.append('(').append(describe(b.subElements())).append(')'));
+        sb.append('(').append(describe(((StatementWhen) element).defaultBranch().subElements())).append(')');
+      }
+      sb.append('\n');
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,168 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.templateengine.expression.CompiledExpression;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.CharBuffer;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estimator of the bytes retained by object graph.
+ *
+ * <p>Layout of the 64-bit JVM with compressed references is assumed: 12 bytes of object header,
+ * 4 bytes per reference, objects are aligned by 8 bytes. Fields of the engine classes are walked
+ * by reflection, JDK strings, collections and maps are estimated via their public API.
+ * Compiled expressions are shared by templates, so they are not counted. Chunks of the text arena
+ * are shared too, the characters of the arena text are counted for the text referring them.
+ */
+final class RetainedSizeEstimator {
+  private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+  private final Deque<Object> queue = new ArrayDeque<>();
+  private long bytes;
+
+  private RetainedSizeEstimator() {}
+
+  static long estimate(Object root) {
+    var estimator = new RetainedSizeEstimator();
+    estimator.enqueue(root);
+    while (!estimator.queue.isEmpty()) {
+      estimator.visit(estimator.queue.poll());
+    }
+    return estimator.bytes;
+  }
+
+  private void enqueue(Object object) {
+    if (object == null
+        || object instanceof Class
+        || object instanceof Enum
+        || object instanceof CompiledExpression
+    ) {
+      return;
+    }
+    if (visited.add(object)) {
+      queue.add(object);
+    }
+  }
+
+  private void visit(Object object) {
+    Class<?> aClass = object.getClass();
+    if (aClass.isArray()) {
+      visitArray(object);
+    } else if (isJdkClass(aClass)) {
+      visitJdkObject(object);
+    } else {
+      visitFields(object);
+    }
+  }
+
+  private void visitArray(Object array) {
+    int length = Array.getLength(array);
+    Class<?> componentType = array.getClass().getComponentType();
+    bytes += align(ARRAY_HEADER + (long) length * fieldSize(componentType));
+    if (!componentType.isPrimitive()) {
+      for (int index = 0; index < length; index++) {
+        enqueue(Array.get(array, index));
+      }
+    }
+  }
+
+  private void visitJdkObject(Object object) {
+    if (object instanceof CharSequence) {
+      bytes += align(OBJECT_HEADER + 12) + align(ARRAY_HEADER + ((CharSequence) object).length());
+    } else if (object instanceof Collection) {
+      Collection<?> collection = (Collection<?>) object;
+      bytes += align(OBJECT_HEADER + 12);
+      if (!object.getClass().getName().contains("Unmodifiable")) {
+        bytes += align(ARRAY_HEADER + (long) REFERENCE_SIZE * collection.size());
+      }
+      collection.forEach(this::enqueue);
+    } else if (object instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) object;
+      bytes += align(OBJECT_HEADER + 36) + align(ARRAY_HEADER + 2L * REFERENCE_SIZE * map.size())
+          + (long) MAP_ENTRY_SIZE * map.size();
+      map.forEach((key, value) -> {
+        enqueue(key);
+        enqueue(value);
+      });
+    } else {
+      bytes += align(OBJECT_HEADER + 8);
+    }
+  }
+
+  private void visitFields(Object object) {
+    long size = OBJECT_HEADER;
+    for (Class<?> aClass = object.getClass(); aClass != null && aClass != Object.class; aClass = aClass.getSuperclass()) {
+      // Fields of JDK superclasses, like referent of the weak reference, are counted but not walked
+      boolean jdkClass = isJdkClass(aClass);
+      for (Field field : aClass.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers())) {
+          continue;
+        }
+        size += fieldSize(field.getType());
+        if (!jdkClass && !field.getType().isPrimitive()) {
+          field.setAccessible(true);
+          Object value;
+          try {
+            value = field.get(object);
+          } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+          }
+          if (value instanceof CharBuffer) {
+            size += charBufferSize(object, (CharBuffer) value);
+          } else {
+            enqueue(value);
+          }
+        }
+      }
+    }
+    bytes += align(size);
+  }
+
+  /**
+   * Arena text counts its own characters of the shared chunk, other owners count the whole buffer once.
+   */
+  private long charBufferSize(Object owner, CharBuffer buffer) {
+    if (owner instanceof CharSequence && owner.getClass().getName().equals(ARENA_TEXT_CLASS_NAME)) {
+      return (long) Character.BYTES * ((CharSequence) owner).length();
+    }
+    if (visited.add(buffer)) {
+      return align(OBJECT_HEADER + 36) + align(ARRAY_HEADER + (long) Character.BYTES * buffer.capacity());
+    }
+    return 0;
+  }
+
+  private static boolean isJdkClass(Class<?> aClass) {
+    return aClass.getName().startsWith("java.") || aClass.getName().startsWith("jdk.");
+  }
+
+  private static int fieldSize(Class<?> type) {
+    if (type == long.class || type == double.class) {
+      return 8;
+    } else if (type == int.class || type == float.class) {
+      return 4;
+    } else if (type == short.class || type == char.class) {
+      return 2;
+    } else if (type == byte.class || type == boolean.class) {
+      return 1;
+    }
+    return REFERENCE_SIZE;
+  }
+
+  private static long align(long size) {
+    return (size + 7) & ~7L;
+  }
+
+  private static final int OBJECT_HEADER = 12;
+  private static final int ARRAY_HEADER = 16;
+  private static final int REFERENCE_SIZE = 4;
+  private static final int MAP_ENTRY_SIZE = 32;
+  private static final String ARENA_TEXT_CLASS_NAME = "intellispaces.common.templateengine.arena.ArenaText";
+}
@@ -0,0 +1,21 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.base.resource.ResourceFunctions;
+
+/**
+ * Benchmark of the bytes retained by full and slim element trees of the template.
+ *
+ * <p>Benchmark is not a unit test and it is not run by surefire. It is started by the main method.
+ * Retained bytes are estimated by {@link RetainedSizeEstimator}.
+ */
+public class SlimTemplateBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    String source = ResourceFunctions.readResourceAsString(SlimTemplateBenchmark.class, "/demo.template").orElseThrow();
+    Template template = Templates.of(source);
+
+    long fullBytes = RetainedSizeEstimator.estimate(template);
+    long slimBytes = RetainedSizeEstimator.estimate(SlimTemplateFunctions.slimTemplate(template));
+    System.out.println("Retained bytes per template: full " + fullBytes + ", slim " + slimBytes);
+  }
+}
@@ -0,0 +1,95 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.base.resource.ResourceFunctions;
+import intellispaces.common.templateengine.binary.BinaryTemplateFunctions;
+import intellispaces.common.templateengine.element.TemplateElement;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SlimTemplateFunctions}.
+ */
+public class SlimTemplateFunctionsTest {
+
+  @Test
+  public void testSlimTemplate_whenDemo() throws Exception {
+    // Given
+    Template template = Templates.of(readDemoTemplate());
+    Map<String, Object> variables = new HashMap<>();
+    variables.put("str1", "This is string variable str1");
+    variables.put("str2", "abc");
+    variables.put("int1", 123);
+    variables.put("real1", 123.45);
+    variables.put("bool1", true);
+    variables.put("bool2", false);
+    variables.put("list1", List.of("item1", "item2", "item3"));
+    variables.put("map1", Map.of("key1", "value1", "key2", "value2", "key3", "value3"));
+
+    // When
+    Template slimTemplate = SlimTemplateFunctions.slimTemplate(template);
+
+    // Then
+    assertThat(slimTemplate.resolve(variables)).isEqualTo(template.resolve(variables));
+  }
+
+  @Test
+  public void testSlimTemplate_whenMultilinePrint() throws Exception {
+    // Given
+    Template template = Templates.of("Header\n  Value: {{$lines}}\nFooter");
+    Map<String, Object> variables = Map.of("lines", "line1\nline2");
+
+    // When
+    Template slimTemplate = SlimTemplateFunctions.slimTemplate(template);
+
+    // Then
+    assertThat(slimTemplate.resolve(variables)).isEqualTo("Header\n  Value: line1\n         line2\nFooter");
+    assertThat(BinaryTemplateFunctions.readTemplate(BinaryTemplateFunctions.writeTemplate(slimTemplate))
+        .resolve(variables)).isEqualTo("Header\n  Value: line1\n         line2\nFooter");
+  }
+
+  @Test
+  public void testSlimTemplate_positions() throws Exception {
+    // Given
+    Template template = Templates.of("Text\n{{for item : $list}}\n- {{$item}}\n{{end}}\n");
+
+    // When
+    Template slimTemplate = SlimTemplateFunctions.slimTemplate(template);
+
+    // Then
+    assertThat(slimTemplate.elements()).hasSize(template.elements().size());
+    for (int index = 0; index < template.elements().size(); index++) {
+      TemplateElement element = template.elements().get(index);
+      TemplateElement slimElement = slimTemplate.elements().get(index);
+      assertThat(slimElement.type()).isEqualTo(element.type());
+      assertThat(slimElement.context().position().offset()).isEqualTo(element.context().position().offset());
+      assertThat(slimElement.context().position().row()).isEqualTo(element.context().position().row());
+      assertThat(slimElement.context().position().column()).isEqualTo(element.context().position().column());
+      assertThat(slimElement.context().templateElements()).isEmpty();
+    }
+  }
+
+  /**
+   * Checks that slim element tree retains fewer bytes than full element tree.
+   */
+  @Test
+  public void testSlimTemplate_retainedBytes() throws Exception {
+    // Given
+    Template template = Templates.of(readDemoTemplate());
+
+    // When
+    long fullBytes = RetainedSizeEstimator.estimate(template);
+    long slimBytes = RetainedSizeEstimator.estimate(SlimTemplateFunctions.slimTemplate(template));
+
+    // Then
+    assertThat(slimBytes).isLessThan(fullBytes);
+  }
+
+  private static String readDemoTemplate() throws Exception {
+    return ResourceFunctions.readResourceAsString(SlimTemplateFunctionsTest.class, "/demo.template").orElseThrow();
+  }
+}
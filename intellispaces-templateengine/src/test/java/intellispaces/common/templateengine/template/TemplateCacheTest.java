@@ -0,0 +1,173 @@
+package intellispaces.common.templateengine.template;
+
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.expression.CompilationMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link TemplateCache}.
+ */
+public class TemplateCacheTest {
+
+  @Test
+  public void testGet_whenSameSource() throws Exception {
+    // Given
+    TemplateCache cache = TemplateCaches.build().maxSize(10).get();
+    String source = "Hello, {{$name}}!";
+
+    // When
+    Template template1 = cache.get(source);
+    Template template2 = cache.get(new String(source.toCharArray()));
+
+    // Then
+    assertThat(template2).isSameAs(template1);
+    assertThat(template2.resolve(Map.of("name", "Alice"))).isEqualTo("Hello, Alice!");
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.missCount()).isEqualTo(1L);
+    assertThat(cache.hitCount()).isEqualTo(1L);
+  }
+
+  @Test
+  public void testGet_whenMaxSizeExceeded() throws Exception {
+    // Given
+    TemplateCache cache = TemplateCaches.build().maxSize(2).get();
+
+    // When
+    Template template1 = cache.get("Template 1");
+    cache.get("Template 2");
+    cache.get("Template 3");
+    int size = cache.size();
+    Template evictedTemplate = cache.get("Template 1");
+
+    // Then
+    assertThat(size).isEqualTo(2);
+    assertThat(evictedTemplate).isSameAs(template1);
+    assertThat(cache.missCount()).isEqualTo(3L);
+    assertThat(cache.hitCount()).isEqualTo(1L);
+  }
+
+  @Test
+  public void testGet_whenConcurrentRequests() throws Exception {
+    // Given
+    TemplateCache cache = TemplateCaches.build().get();
+    String source = "Concurrent {{$value}}";
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Callable<Template>> tasks = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      tasks.add(() -> cache.get(source));
+    }
+
+    // When
+    List<Template> templates = new ArrayList<>();
+    try {
+      for (Future<Template> future : executor.invokeAll(tasks)) {
+        templates.add(future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    // Then
+    for (Template template : templates) {
+      assertThat(template).isSameAs(templates.get(0));
+    }
+    assertThat(cache.missCount()).isEqualTo(1L);
+    assertThat(cache.hitCount()).isEqualTo(7L);
+  }
+
+  @Test
+  public void testGet_whenInvalidTemplate() {
+    // Given
+    TemplateCache cache = TemplateCaches.build().get();
+    String source = "{{unknown}}";
+
+    // Then
+    assertThatThrownBy(() -> cache.get(source))
+        .isExactlyInstanceOf(ParseTemplateException.class)
+        .hasMessage("Invalid template marker at position 1:1");
+    assertThatThrownBy(() -> cache.get(source))
+        .isExactlyInstanceOf(ParseTemplateException.class);
+    assertThat(cache.size()).isEqualTo(0);
+    assertThat(cache.missCount()).isEqualTo(2L);
+  }
+
+  @Test
+  public void testGet_whenCompilationModes() throws Exception {
+    // Given
+    var cache = (TemplateCacheImpl) TemplateCaches.build().get();
+    String source = "{{$name.capitalizeFirstLetter()}}";
+
+    // When
+    Template lazyTemplate = cache.get(source, CompilationMode.Lazy);
+    Template interpretedTemplate = cache.get(source, CompilationMode.Interpreted);
+
+    // Then
+    assertThat(interpretedTemplate).isNotSameAs(lazyTemplate);
+    assertThat(cache.get(source, CompilationMode.Lazy)).isSameAs(lazyTemplate);
+    assertThat(interpretedTemplate.resolve(Map.of("name", "alice"))).isEqualTo("Alice");
+    assertThat(cache.missCount()).isEqualTo(2L);
+  }
+
+  @Test
+  public void testGet_whenSourcesOfSameLength() throws Exception {
+    // Given
+    TemplateCache cache = TemplateCaches.build().get();
+
+    // When
+    Template template1 = cache.get("ab");
+    Template template2 = cache.get("ba");
+
+    // Then
+    assertThat(template2).isNotSameAs(template1);
+    assertThat(template1.resolve(Map.of())).isEqualTo("ab");
+    assertThat(template2.resolve(Map.of())).isEqualTo("ba");
+  }
+
+  @Test
+  public void testGet_whenThueMorseSources() throws Exception {
+    // Given
+    TemplateCache cache = TemplateCaches.build().get();
+    StringBuilder source1 = new StringBuilder();
+    StringBuilder source2 = new StringBuilder();
+    for (int index = 0; index < 2048; index++) {
+      boolean odd = Integer.bitCount(index) % 2 != 0;
+      source1.append(odd ? 'b' : 'a');
+      source2.append(odd ? 'a' : 'b');
+    }
+
+    // When
+    Template template1 = cache.get(source1.toString());
+    Template template2 = cache.get(source2.toString());
+
+    // Then
+    assertThat(template2).isNotSameAs(template1);
+    assertThat(template1.resolve(Map.of())).isEqualTo(source1.toString());
+    assertThat(template2.resolve(Map.of())).isEqualTo(source2.toString());
+    assertThat(cache.missCount()).isEqualTo(2L);
+  }
+
+  @Test
+  public void testClear() throws Exception {
+    // Given
+    TemplateCache cache = TemplateCaches.build().get();
+    cache.get("Text");
+
+    // When
+    cache.clear();
+    cache.get("Text");
+
+    // Then
+    assertThat(cache.missCount()).isEqualTo(2L);
+  }
+}
@@ -6,6 +6,7 @@ import intellispaces.common.templateengine.element.StatementForeach;
 import intellispaces.common.templateengine.element.StatementFormat;
 import intellispaces.common.templateengine.element.StatementWhen;
 import intellispaces.common.templateengine.element.TemplateElementTypes;
+import intellispaces.common.templateengine.exception.ParseTemplateException;
 import intellispaces.common.templateengine.expression.value.ValueTypes;
 import intellispaces.common.templateengine.source.block.Block;
 import intellispaces.common.templateengine.source.position.Position;
@@ -16,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Tests for {@link TemplateFunctions}.
@@ -25,7 +27,7 @@ public class TemplateFunctionsTest {
   @Test
   public void testReadBlock_whenEmptySource() {
     // Given
-    char[] source = "".toCharArray();
+    String source = "";
     Position position = Positions.of(0, 1, 1);
 
     // When
@@ -34,8 +36,8 @@ public class TemplateFunctionsTest {
     // Then
     assertThat(block).isNotNull();
     assertThat(block.isMarker()).isFalse();
-    assertThat(block.value()).isEqualTo("");
-    assertThat(block.wording()).isEqualTo("");
+    assertThat(block.value()).hasToString("");
+    assertThat(block.wording()).hasToString("");
     assertThat(block.position().offset()).isEqualTo(0);
     assertThat(block.position().row()).isEqualTo(1);
     assertThat(block.position().column()).isEqualTo(1);
@@ -45,7 +47,7 @@ public class TemplateFunctionsTest {
   @Test
   public void testReadBlock_whenSourceHasNotMarkers_andPositionOnSourceBegin() {
     // Given
-    char[] source = "Simple text".toCharArray();
+    String source = "Simple text";
     Position position = Positions.of(0, 1, 1);
 
     // When
@@ -54,8 +56,8 @@ public class TemplateFunctionsTest {
     // Then
     assertThat(block).isNotNull();
     assertThat(block.isMarker()).isFalse();
-    assertThat(block.value()).isEqualTo("Simple text");
-    assertThat(block.wording()).isEqualTo("Simple text");
+    assertThat(block.value()).hasToString("Simple text");
+    assertThat(block.wording()).hasToString("Simple text");
     assertThat(block.position().offset()).isEqualTo(0);
     assertThat(block.position().row()).isEqualTo(1);
     assertThat(block.position().column()).isEqualTo(1);
@@ -65,7 +67,7 @@ public class TemplateFunctionsTest {
   @Test
   public void testReadBlock_whenSourceHasNotMarkers_andPositionOnSourceEnd() {
     // Given
-    char[] source = "Simple text".toCharArray();
+    String source = "Simple text";
     Position position = Positions.of(11, 1, 12);
 
     // When
@@ -74,8 +76,8 @@ public class TemplateFunctionsTest {
     // Then
     assertThat(block).isNotNull();
     assertThat(block.isMarker()).isFalse();
-    assertThat(block.value()).isEqualTo("");
-    assertThat(block.wording()).isEqualTo("");
+    assertThat(block.value()).hasToString("");
+    assertThat(block.wording()).hasToString("");
     assertThat(block.position().offset()).isEqualTo(11);
     assertThat(block.position().row()).isEqualTo(1);
     assertThat(block.position().column()).isEqualTo(12);
@@ -85,7 +87,7 @@ public class TemplateFunctionsTest {
   @Test
   public void testReadBlock_whenPositionMoreThanSourceLength() {
     // Given
-    char[] source = "Simple text".toCharArray();
+    String source = "Simple text";
     Position position = Positions.of(12, 1, 13);
 
     // When
@@ -98,7 +100,7 @@ public class TemplateFunctionsTest {
   @Test
   public void testReadBlock_whenSourceStartWithMarker_andPositionOnSourceBegin() {
     // Given
-    char[] source = "{{MARKER}} Simple text".toCharArray();
+    String source = "{{MARKER}} Simple text";
     Position position = Positions.of(0, 1, 1);
 
     // When
@@ -107,8 +109,8 @@ public class TemplateFunctionsTest {
     // Then
     assertThat(block).isNotNull();
     assertThat(block.isMarker()).isTrue();
-    assertThat(block.value()).isEqualTo("MARKER");
-    assertThat(block.wording()).isEqualTo("{{MARKER}}");
+    assertThat(block.value()).hasToString("MARKER");
+    assertThat(block.wording()).hasToString("{{MARKER}}");
     assertThat(block.position().offset()).isEqualTo(0);
     assertThat(block.position().row()).isEqualTo(1);
     assertThat(block.position().column()).isEqualTo(1);
@@ -118,7 +120,7 @@ public class TemplateFunctionsTest {
   @Test
   public void testReadBlock_whenSourceStartWithMarker_andPositionAfterMarker() {
     // Given
-    char[] source = "{{MARKER}} Simple text".toCharArray();
+    String source = "{{MARKER}} Simple text";
     Position position = Positions.of(10, 1, 11);
 
     // When
@@ -127,8 +129,8 @@ public class TemplateFunctionsTest {
     // Then
     assertThat(block).isNotNull();
     assertThat(block.isMarker()).isFalse();
-    assertThat(block.value()).isEqualTo(" Simple text");
-    assertThat(block.wording()).isEqualTo(" Simple text");
+    assertThat(block.value()).hasToString(" Simple text");
+    assertThat(block.wording()).hasToString(" Simple text");
     assertThat(block.position().offset()).isEqualTo(10);
     assertThat(block.position().row()).isEqualTo(1);
     assertThat(block.position().column()).isEqualTo(11);
@@ -138,7 +140,7 @@ public class TemplateFunctionsTest {
   @Test
   public void testReadBlock_whenMarkerPlacedInCenter_andPositionOnSourceBegin() {
     // Given
-    char[] source = "Simple {{MARKER}} text".toCharArray();
+    String source = "Simple {{MARKER}} text";
     Position position = Positions.of(0, 1, 1);
 
     // When
@@ -147,8 +149,8 @@ public class TemplateFunctionsTest {
     // Then
     assertThat(block).isNotNull();
     assertThat(block.isMarker()).isFalse();
-    assertThat(block.value()).isEqualTo("Simple ");
-    assertThat(block.wording()).isEqualTo("Simple ");
+    assertThat(block.value()).hasToString("Simple ");
+    assertThat(block.wording()).hasToString("Simple ");
     assertThat(block.position().offset()).isEqualTo(0);
     assertThat(block.position().row()).isEqualTo(1);
     assertThat(block.position().column()).isEqualTo(1);
@@ -158,7 +160,7 @@ public class TemplateFunctionsTest {
   @Test
   public void testReadBlock_whenMarkerPlacedInCenter_andPositionOnMarkerBegin() {
     // Given
-    char[] source = "Simple {{MARKER}} text".toCharArray();
+    String source = "Simple {{MARKER}} text";
     Position position = Positions.of(7, 1, 8);
 
     // When
@@ -167,8 +169,8 @@ public class TemplateFunctionsTest {
     // Then
     assertThat(block).isNotNull();
     assertThat(block.isMarker()).isTrue();
-    assertThat(block.value()).isEqualTo("MARKER");
-    assertThat(block.wording()).isEqualTo("{{MARKER}}");
+    assertThat(block.value()).hasToString("MARKER");
+    assertThat(block.wording()).hasToString("{{MARKER}}");
     assertThat(block.position().offset()).isEqualTo(7);
     assertThat(block.position().row()).isEqualTo(1);
     assertThat(block.position().column()).isEqualTo(8);
@@ -178,7 +180,7 @@ public class TemplateFunctionsTest {
   @Test
   public void testReadBlock_whenSourceStartWithDoubleCurlyBraces() {
     // Given
-    char[] source = "{{Simple text".toCharArray();
+    String source = "{{Simple text";
     Position position = Positions.of(0, 1, 1);
 
     // When
@@ -187,8 +189,8 @@ public class TemplateFunctionsTest {
     // Then
     assertThat(block).isNotNull();
     assertThat(block.isMarker()).isFalse();
-    assertThat(block.value()).isEqualTo("{{Simple text");
-    assertThat(block.wording()).isEqualTo("{{Simple text");
+    assertThat(block.value()).hasToString("{{Simple text");
+    assertThat(block.wording()).hasToString("{{Simple text");
     assertThat(block.position().offset()).isEqualTo(0);
     assertThat(block.position().row()).isEqualTo(1);
     assertThat(block.position().column()).isEqualTo(1);
@@ -206,8 +208,8 @@ public class TemplateFunctionsTest {
     // Then
     assertThat(blocks).hasSize(1);
     assertThat(blocks.get(0).isMarker()).isFalse();
-    assertThat(blocks.get(0).value()).isEqualTo("Simple text");
-    assertThat(blocks.get(0).wording()).isEqualTo("Simple text");
+    assertThat(blocks.get(0).value()).hasToString("Simple text");
+    assertThat(blocks.get(0).wording()).hasToString("Simple text");
     assertThat(blocks.get(0).position().offset()).isEqualTo(0);
     assertThat(blocks.get(0).position().row()).isEqualTo(1);
     assertThat(blocks.get(0).position().column()).isEqualTo(1);
@@ -225,16 +227,16 @@ public class TemplateFunctionsTest {
     // Then
     assertThat(blocks).hasSize(2);
     assertThat(blocks.get(0).isMarker()).isTrue();
-    assertThat(blocks.get(0).value()).isEqualTo("MARKER");
-    assertThat(blocks.get(0).wording()).isEqualTo("{{MARKER}}");
+    assertThat(blocks.get(0).value()).hasToString("MARKER");
+    assertThat(blocks.get(0).wording()).hasToString("{{MARKER}}");
     assertThat(blocks.get(0).position().offset()).isEqualTo(0);
     assertThat(blocks.get(0).position().row()).isEqualTo(1);
     assertThat(blocks.get(0).position().column()).isEqualTo(1);
     assertThat(blocks.get(0).length()).isEqualTo(10);
 
     assertThat(blocks.get(1).isMarker()).isFalse();
-    assertThat(blocks.get(1).value()).isEqualTo("Simple text");
-    assertThat(blocks.get(1).wording()).isEqualTo("Simple text");
+    assertThat(blocks.get(1).value()).hasToString("Simple text");
+    assertThat(blocks.get(1).wording()).hasToString("Simple text");
     assertThat(blocks.get(1).position().offset()).isEqualTo(10);
     assertThat(blocks.get(1).position().row()).isEqualTo(1);
     assertThat(blocks.get(1).position().column()).isEqualTo(11);
@@ -252,24 +254,24 @@ public class TemplateFunctionsTest {
     // Then
     assertThat(blocks).hasSize(3);
     assertThat(blocks.get(0).isMarker()).isFalse();
-    assertThat(blocks.get(0).value()).isEqualTo("Simple ");
-    assertThat(blocks.get(0).wording()).isEqualTo("Simple ");
+    assertThat(blocks.get(0).value()).hasToString("Simple ");
+    assertThat(blocks.get(0).wording()).hasToString("Simple ");
     assertThat(blocks.get(0).position().offset()).isEqualTo(0);
     assertThat(blocks.get(0).position().row()).isEqualTo(1);
     assertThat(blocks.get(0).position().column()).isEqualTo(1);
     assertThat(blocks.get(0).length()).isEqualTo(7);
 
     assertThat(blocks.get(1).isMarker()).isTrue();
-    assertThat(blocks.get(1).value()).isEqualTo("MARKER");
-    assertThat(blocks.get(1).wording()).isEqualTo("{{MARKER}}");
+    assertThat(blocks.get(1).value()).hasToString("MARKER");
+    assertThat(blocks.get(1).wording()).hasToString("{{MARKER}}");
     assertThat(blocks.get(1).position().offset()).isEqualTo(7);
     assertThat(blocks.get(1).position().row()).isEqualTo(1);
     assertThat(blocks.get(1).position().column()).isEqualTo(8);
     assertThat(blocks.get(1).length()).isEqualTo(10);
 
     assertThat(blocks.get(2).isMarker()).isFalse();
-    assertThat(blocks.get(2).value()).isEqualTo(" text");
-    assertThat(blocks.get(2).wording()).isEqualTo(" text");
+    assertThat(blocks.get(2).value()).hasToString(" text");
+    assertThat(blocks.get(2).wording()).hasToString(" text");
     assertThat(blocks.get(2).position().offset()).isEqualTo(17);
     assertThat(blocks.get(2).position().row()).isEqualTo(1);
     assertThat(blocks.get(2).position().column()).isEqualTo(18);
@@ -287,16 +289,16 @@ public class TemplateFunctionsTest {
     // Then
     assertThat(blocks).hasSize(2);
     assertThat(blocks.get(0).isMarker()).isFalse();
-    assertThat(blocks.get(0).value()).isEqualTo("Simple text");
-    assertThat(blocks.get(0).wording()).isEqualTo("Simple text");
+    assertThat(blocks.get(0).value()).hasToString("Simple text");
+    assertThat(blocks.get(0).wording()).hasToString("Simple text");
     assertThat(blocks.get(0).position().offset()).isEqualTo(0);
     assertThat(blocks.get(0).position().row()).isEqualTo(1);
     assertThat(blocks.get(0).position().column()).isEqualTo(1);
     assertThat(blocks.get(0).length()).isEqualTo(11);
 
     assertThat(blocks.get(1).isMarker()).isTrue();
-    assertThat(blocks.get(1).value()).isEqualTo("MARKER");
-    assertThat(blocks.get(1).wording()).isEqualTo("{{MARKER}}");
+    assertThat(blocks.get(1).value()).hasToString("MARKER");
+    assertThat(blocks.get(1).wording()).hasToString("{{MARKER}}");
     assertThat(blocks.get(1).position().offset()).isEqualTo(11);
     assertThat(blocks.get(1).position().row()).isEqualTo(1);
     assertThat(blocks.get(1).position().column()).isEqualTo(12);
@@ -510,4 +512,37 @@ public class TemplateFunctionsTest {
 
     assertThat(statementWhen.defaultBranch()).isNull();
   }
+
+  @Test
+  public void testParseTemplate_whenInvalidMarker_andLfLinebreaks() {
+    // Given
+    String source = "ab{{$name}}\ncd{{invalid}}";
+
+    // Then
+    assertThatThrownBy(() -> TemplateFunctions.parseTemplate(source))
+        .isExactlyInstanceOf(ParseTemplateException.class)
+        .hasMessage("Invalid template marker at position 2:3");
+  }
+
+  @Test
+  public void testParseTemplate_whenInvalidMarker_andCrLfLinebreaks() {
+    // Given
+    String source = "ab{{$name}}\r\ncd{{invalid}}";
+
+    // Then
+    assertThatThrownBy(() -> TemplateFunctions.parseTemplate(source))
+        .isExactlyInstanceOf(ParseTemplateException.class)
+        .hasMessage("Invalid template marker at position 2:3");
+  }
+
+  @Test
+  public void testParseTemplate_whenInvalidMarker_andCrLinebreaks() {
+    // Given
+    String source = "ab{{$name}}\rcd{{invalid}}";
+
+    // Then
+    assertThatThrownBy(() -> TemplateFunctions.parseTemplate(source))
+        .isExactlyInstanceOf(ParseTemplateException.class)
+        .hasMessage("Invalid template marker at position 2:3");
+  }
 }
@@ -1,11 +1,28 @@
 package intellispaces.common.templateengine.template;
 
+import intellispaces.common.templateengine.exception.NotApplicableOperationException;
+import intellispaces.common.templateengine.exception.ParseTemplateException;
+import intellispaces.common.templateengine.exception.ResolveTemplateException;
+import intellispaces.common.templateengine.expression.CompilationMode;
+import intellispaces.common.templateengine.expression.Expression;
+import intellispaces.common.templateengine.expression.ExpressionInternTable;
+import intellispaces.common.templateengine.expression.ParseExpressionFunctions;
+import intellispaces.common.templateengine.source.ReadSourceFunctions;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Tests for {@link Templates}.
@@ -576,4 +593,363 @@ public class TemplatesTest {
     // Then
     assertThat(result).isEqualTo("abc\ndef\n");
   }
+
+  @Test
+  public void testTemplate_whenReader() throws Exception {
+    // Given
+    String source = "Hello, {{$name}}!";
+
+    // When
+    Template template = Templates.of(new StringReader(source));
+    String result = template.resolve(Map.of("name", "world"));
+
+    // Then
+    assertThat(result).isEqualTo("Hello, world!");
+  }
+
+  @Test
+  public void testTemplate_whenByteChannel() throws Exception {
+    // Given
+    byte[] source = "Привет, {{$name}}!".getBytes(StandardCharsets.UTF_8);
+
+    // When
+    Template template = Templates.of(Channels.newChannel(new ByteArrayInputStream(source)));
+    String result = template.resolve(Map.of("name", "мир"));
+
+    // Then
+    assertThat(result).isEqualTo("Привет, мир!");
+  }
+
+  @Test
+  public void testTemplate_whenFile() throws Exception {
+    // Given
+    Path path = Files.createTempFile("template", ".template");
+    Files.writeString(path, "Hello, {{$name}}!");
+
+    // When
+    Template template = Templates.of(path);
+    String result = template.resolve(Map.of("name", "world"));
+    Files.delete(path);
+
+    // Then
+    assertThat(result).isEqualTo("Hello, world!");
+  }
+
+  @Test
+  public void testTemplate_whenLargeFileIsChangedInPlace() throws Exception {
+    // Given
+    String text = "a".repeat((int) ReadSourceFunctions.MEMORY_MAPPING_THRESHOLD);
+    Path path = Files.createTempFile("template", ".template");
+    Files.writeString(path, text + "{{$name}}");
+    Template template = Templates.of(path);
+
+    // When
+    Files.writeString(path, "Changed");
+    String result = template.resolve(Map.of("name", "Alice"));
+    Files.delete(path);
+
+    // Then
+    assertThat(result).isEqualTo(text + "Alice");
+  }
+
+  @Test
+  public void testTemplate_whenLargeMappedFile() throws Exception {
+    // Given
+    String text = "Simple text line\n".repeat(100_000);
+    Path path = Files.createTempFile("template", ".template");
+    Files.writeString(path, text + "{{for item : $list}}{{$item}}{{end}}\n" + text);
+
+    // When
+    Template template = Templates.ofMapped(path);
+    String result = template.resolve(Map.of("list", List.of(1, 2, 3)));
+
+    // Then
+    assertThat(result).isEqualTo(text + "123\n" + text);
+  }
+
+  @Test
+  public void testTemplate_whenLargeNonAsciiMappedFile() throws Exception {
+    // Given
+    String text = "Простой текст\n".repeat(100_000);
+    Path path = Files.createTempFile("template", ".template");
+    Files.writeString(path, text + "{{$name}}");
+
+    // When
+    Template template = Templates.ofMapped(path);
+    String result = template.resolve(Map.of("name", "имя"));
+
+    // Then
+    assertThat(result).isEqualTo(text + "имя");
+  }
+
+  @Test
+  public void testTemplate_whenLazyCompilation() throws Exception {
+    // Given
+    String source = "{{when $flag}}{{$name.capitalizeFirstLetter()}}{{else}}{{$name}}{{end}}";
+
+    // When
+    Template template = Templates.of(source, CompilationMode.Lazy);
+
+    // Then
+    assertThat(template.resolve(Map.of("flag", true, "name", "alice"))).isEqualTo("Alice");
+    assertThat(template.resolve(Map.of("flag", false, "name", "alice"))).isEqualTo("alice");
+  }
+
+  @Test
+  public void testTemplate_whenLazyCompilation_andInvalidExpression() throws Exception {
+    // Given
+    String source = "{{when $flag}}{{$name.unknownMethod()}}{{else}}{{$name}}{{end}}";
+
+    // When
+    Template template = Templates.of(source, CompilationMode.Lazy);
+
+    // Then
+    assertThat(template.resolve(Map.of("flag", false, "name", "alice"))).isEqualTo("alice");
+    assertThatThrownBy(() -> template.resolve(Map.of("flag", true, "name", "alice")))
+        .isExactlyInstanceOf(ResolveTemplateException.class)
+        .hasMessage("Failed to resolve expression $name.unknownMethod()");
+  }
+
+  @Test
+  public void testTemplate_whenLazyCompilation_andInvalidExpression_thenCompilationErrorIsRemembered() throws Exception {
+    // Given
+    Template template = Templates.of("{{$name.unknownMethod()}}", CompilationMode.Lazy);
+    Map<String, Object> variables = Map.of("name", "alice");
+
+    // When
+    Throwable firstError = rootCauseOfResolving(template, variables);
+    Throwable secondError = rootCauseOfResolving(template, variables);
+
+    // Then
+    assertThat(firstError).isInstanceOf(ParseTemplateException.class);
+    assertThat(secondError).isSameAs(firstError);
+  }
+
+  @Test
+  public void testTemplate_whenInterpreted() throws Exception {
+    // Given
+    String source = "{{when $flag}}{{$name.capitalizeFirstLetter()}}{{else}}{{$list[1].eqAnyOf(2, 3)}}{{end}}";
+
+    // When
+    Template template = Templates.of(source, CompilationMode.Interpreted);
+
+    // Then
+    assertThat(template.resolve(Map.of("flag", true, "name", "alice", "list", List.of(1, 2)))).isEqualTo("Alice");
+    assertThat(template.resolve(Map.of("flag", false, "name", "alice", "list", List.of(1, 2)))).isEqualTo("true");
+  }
+
+  @Test
+  public void testTemplate_whenInterpreted_andInvalidExpression() {
+    // Given
+    String source = "{{$name.unknownMethod()}}";
+
+    // When, Then
+    assertThatThrownBy(() -> Templates.of(source, CompilationMode.Interpreted))
+        .isExactlyInstanceOf(ParseTemplateException.class)
+        .hasMessage("Failed to interpret expression operands[0].unknownMethod(). " +
+            "Unknown method unknownMethod with 0 argument(s)");
+  }
+
+  @Test
+  public void testTemplate_whenCatalogue_thenExpressionsAreShared() throws Exception {
+    // Given
+    int numTemplates = 200;
+    List<String> sources = new ArrayList<>(numTemplates);
+    for (int index = 0; index < numTemplates; index++) {
+      sources.add("Template " + index + "\n" +
+          "{{when $list.isNotEmpty()}}" +
+          "{{for item : $list}}{{$item}}{{when $item.isNotLast()}}, {{end}}{{end}}" +
+          "{{end}}\n" +
+          "Name: {{$name.capitalizeFirstLetter()}}\n");
+    }
+
+    // When
+    List<Template> templates = new ArrayList<>(numTemplates);
+    for (String source : sources) {
+      templates.add(Templates.of(source, CompilationMode.Eager));
+    }
+
+    // Then
+    Expression expression = ExpressionInternTable.common().get(
+        "$name.capitalizeFirstLetter()", CompilationMode.Eager
+    );
+    assertThat(expression).isNotNull();
+    assertThat(ParseExpressionFunctions.parseExpression("$name.capitalizeFirstLetter()", null)).isSameAs(expression);
+    assertThat(templates.get(1).resolve(Map.of("list", List.of(1, 2), "name", "alice")))
+        .isEqualTo("Template 1\n1, 2\nName: Alice\n");
+  }
+
+  @Test
+  public void testTemplate_whenCatalogueIsInterpreted_thenExpressionsAreShared() throws Exception {
+    // When
+    Template template1 = Templates.of("A {{$name.capitalizeFirstLetter()}}", CompilationMode.Interpreted);
+    Template template2 = Templates.of("B {{$name.capitalizeFirstLetter()}}", CompilationMode.Interpreted);
+
+    // Then
+    Expression expression = ExpressionInternTable.common().get(
+        "$name.capitalizeFirstLetter()", CompilationMode.Interpreted
+    );
+    assertThat(expression).isNotNull();
+    assertThat(ParseExpressionFunctions.parseExpression("$name.capitalizeFirstLetter()", null))
+        .isNotSameAs(expression);
+    assertThat(template1.resolve(Map.of("name", "alice"))).isEqualTo("A Alice");
+    assertThat(template2.resolve(Map.of("name", "bob"))).isEqualTo("B Bob");
+  }
+
+  @Test
+  public void testTemplate_whenItemIsCaptured() throws Exception {
+    // Given
+    String source = "{{for item : $list}}{{when $item.isFirst()}}{{set first = $item}}{{end}}" +
+        "{{$first}}{{$first.index()}}{{$item.index()}}{{end}}";
+
+    // When
+    Template template = Templates.of(source);
+
+    // Then
+    assertThat(template.resolve(Map.of("list", List.of("a", "b", "c")))).isEqualTo("a00a01a02");
+  }
+
+  @Test
+  public void testTemplate_whenItemIsReassigned() throws Exception {
+    // Given
+    String source = "{{for item : $list}}{{$item}}{{set item = \"x\"}}{{$item}};{{end}}";
+
+    // When
+    Template template = Templates.of(source);
+
+    // Then
+    assertThat(template.resolve(Map.of("list", List.of("a", "b", "c")))).isEqualTo("ax;bx;cx;");
+  }
+
+  @Test
+  public void testTemplate_whenMapLookups() throws Exception {
+    // Given
+    String source = "{{for key : $keys}}{{print $map[$key]}}{{$map[\"key1\"]}}{{end}}";
+    List<String> keys = new ArrayList<>();
+    Map<String, Object> map = new HashMap<>();
+    for (int index = 0; index < 1000; index++) {
+      keys.add("key" + index);
+      map.put("key" + index, index % 10);
+    }
+    Map<String, Object> variables = Map.of("keys", keys, "map", map);
+
+    // When
+    String compiledResult = Templates.of(source).resolve(variables);
+    String interpretedResult = Templates.of(source, CompilationMode.Interpreted).resolve(variables);
+
+    // Then
+    assertThat(compiledResult).startsWith("01112131");
+    assertThat(compiledResult).hasSize(2 * keys.size());
+    assertThat(interpretedResult).isEqualTo(compiledResult);
+  }
+
+  @Test
+  public void testTemplate_whenSlices() throws Exception {
+    // Given
+    String source = "{{for range : $ranges}}{{set word = $text.slice($range[0], $range[1])}}" +
+        "{{$word}}{{$word[0]}}{{$word.find(\"o\").index()}};{{end}}{{$list.slice(1, 3)}}";
+    Map<String, Object> variables = Map.of(
+        "text", "hello world", "ranges", List.of(List.of(0, 5), List.of(6, 11)), "list", List.of("a", "b", "c", "d"));
+
+    // When
+    String compiledResult = Templates.of(source).resolve(variables);
+    String interpretedResult = Templates.of(source, CompilationMode.Interpreted).resolve(variables);
+
+    // Then
+    assertThat(compiledResult).isEqualTo("helloh4;worldw1;[\"b\",\"c\"]");
+    assertThat(interpretedResult).isEqualTo(compiledResult);
+  }
+
+  @Test
+  public void testTemplate_whenPipeline() throws Exception {
+    // Given
+    String source = "{{for row : $rows.filter(\"active\").sortBy(\"name\").limit(2)}}" +
+        "{{$row.index()}}:{{$row[\"name\"]}};{{end}}{{$rows.map(\"id\").reverse()}}";
+    Map<String, Object> variables = Map.of("rows", List.of(
+        Map.of("id", 1, "name", "c", "active", true),
+        Map.of("id", 2, "name", "a", "active", false),
+        Map.of("id", 3, "name", "d", "active", true),
+        Map.of("id", 4, "name", "b", "active", true)));
+
+    // When
+    String compiledResult = Templates.of(source).resolve(variables);
+    String interpretedResult = Templates.of(source, CompilationMode.Interpreted).resolve(variables);
+
+    // Then
+    assertThat(compiledResult).isEqualTo("0:b;1:c;[4,3,2,1]");
+    assertThat(interpretedResult).isEqualTo(compiledResult);
+  }
+
+  @Test
+  public void testTemplate_whenPipelineIsCaptured() throws Exception {
+    // Given
+    String source = "{{for key : $keys}}{{when $key.isFirst()}}{{set selection = $rows.filter(\"type\", $key)}}{{end}}" +
+        "{{when $key.isLast()}}{{$selection.size()}}{{end}}{{end}}";
+    Map<String, Object> variables = Map.of("keys", List.of("a", "b"), "rows", List.of(
+        Map.of("type", "a"), Map.of("type", "b"), Map.of("type", "b")));
+
+    // When
+    String compiledResult = Templates.of(source).resolve(variables);
+    String interpretedResult = Templates.of(source, CompilationMode.Interpreted).resolve(variables);
+
+    // Then
+    assertThat(compiledResult).isEqualTo("1");
+    assertThat(interpretedResult).isEqualTo(compiledResult);
+  }
+
+  @Test
+  public void testTemplate_whenPipelineSizeFails() throws Exception {
+    // Given
+    String source = "{{$list.filter(\"a\").size()}}";
+    Map<String, Object> variables = Map.of("list", List.of(1, 2));
+
+    // When
+    Template compiledTemplate = Templates.of(source);
+    Template interpretedTemplate = Templates.of(source, CompilationMode.Interpreted);
+
+    // Then
+    assertThatThrownBy(() -> compiledTemplate.resolve(variables))
+        .isExactlyInstanceOf(ResolveTemplateException.class)
+        .hasMessage("Failed to resolve expression $list.filter(\"a\").size()")
+        .hasRootCauseExactlyInstanceOf(NotApplicableOperationException.class);
+    assertThatThrownBy(() -> interpretedTemplate.resolve(variables))
+        .isExactlyInstanceOf(ResolveTemplateException.class)
+        .hasMessage("Failed to resolve expression $list.filter(\"a\").size()")
+        .hasRootCauseExactlyInstanceOf(NotApplicableOperationException.class);
+  }
+
+  @Test
+  public void testTemplate_whenConcatenation() throws Exception {
+    // Given
+    String source = "{{set text = \"\"}}{{for item : $list}}" +
+        "{{set text = $text.concat($item).concat(\",\")}}{{when $item.isLast()}}{{$text}}{{end}}{{end}}";
+    List<Integer> list = new ArrayList<>();
+    var expected = new StringBuilder();
+    for (int index = 0; index < 1000; index++) {
+      list.add(index);
+      expected.append(index).append(',');
+    }
+    Map<String, Object> variables = Map.of("list", list);
+
+    // When
+    String compiledResult = Templates.of(source).resolve(variables);
+    String interpretedResult = Templates.of(source, CompilationMode.Interpreted).resolve(variables);
+
+    // Then
+    assertThat(compiledResult).isEqualTo(expected.toString());
+    assertThat(interpretedResult).isEqualTo(compiledResult);
+  }
+
+  private static Throwable rootCauseOfResolving(Template template, Map<String, Object> variables) {
+    try {
+      template.resolve(variables);
+    } catch (ResolveTemplateException e) {
+      Throwable throwable = e;
+      while (throwable.getCause() != null) {
+        throwable = throwable.getCause();
+      }
+      return throwable;
+    }
+    throw new AssertionError("Template is resolved without error");
+  }
 }